@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.message;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests {@link MessagePatternCache}.
+ */
+public class MessagePatternCacheTest {
+
+    /**
+     * Gets a pattern until it is cached: once to make it a candidate, once more if the entry of its slot gets a
+     * second chance.
+     */
+    private static MessagePatternCache.Template getCached(final String pattern) {
+        MessagePatternCache.Template template = null;
+        for (int i = 0; template == null && i < 3; i++) {
+            template = MessagePatternCache.get(pattern);
+        }
+        return template;
+    }
+
+    @Test
+    public void testPatternIsParsedOnce() {
+        final String pattern = "Test message {} {}";
+        final MessagePatternCache.Template template = getCached(pattern);
+        assertNotNull(template);
+        assertEquals(2, template.placeholderCount);
+        assertEquals(13, template.indices[0]);
+        assertEquals(16, template.indices[1]);
+        assertSame(template, MessagePatternCache.get(pattern));
+    }
+
+    @Test
+    public void testPatternSeenOnceIsNotCached() {
+        assertNull(MessagePatternCache.get("Dynamic message " + System.nanoTime() + " {}"));
+    }
+
+    @Test
+    public void testNullPattern() {
+        assertNull(MessagePatternCache.get(null));
+    }
+
+    @Test
+    public void testFrequentPatternIsNotEvictedByDynamicPatterns() {
+        final String pattern = "Frequent message {}";
+        final MessagePatternCache.Template template = getCached(pattern);
+        assertNotNull(template);
+        for (int i = 0; i < 100_000; i++) {
+            MessagePatternCache.get("Dynamic message " + i + " {}");
+            assertSame(template, MessagePatternCache.get(pattern));
+        }
+    }
+
+    @Test
+    public void testCachedMessagesAreFormattedLikeParsedMessages() {
+        final String[] patterns = {"", "a", "{}", "{}{}", "a{}b{}c", "\\{}{}", "{}\\", "{", "}{}{", "{}{}{}{}"};
+        final Object[] args = {"x", "y", new Throwable("t")};
+        for (final String pattern : patterns) {
+            final String expected = ParameterFormatter.format(pattern, args);
+            // the first messages populate the cache, the last ones use it
+            for (int i = 0; i < 4; i++) {
+                assertEquals(expected, new ParameterizedMessage(pattern, args).getFormattedMessage(), pattern);
+                final ReusableParameterizedMessage reusable = new ReusableParameterizedMessage();
+                reusable.set(pattern, args);
+                assertEquals(expected, reusable.getFormattedMessage(), pattern);
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the PersistentStringMap class.
+ */
+public class PersistentStringMapTest {
+
+    @Test
+    public void testWithDoesNotModifyOriginal() {
+        final PersistentStringMap original = PersistentStringMap.empty().with("a", "avalue").with("B", "Bvalue");
+        final PersistentStringMap updated = original.with("3", "3value").with("a", "other");
+
+        assertEquals(2, original.size());
+        assertEquals("avalue", original.getValue("a"));
+        assertFalse(original.containsKey("3"));
+        assertEquals(3, updated.size());
+        assertEquals("other", updated.getValue("a"));
+        assertEquals("3value", updated.getValue("3"));
+    }
+
+    @Test
+    public void testWithoutDoesNotModifyOriginal() {
+        final PersistentStringMap original = PersistentStringMap.empty().with("a", "avalue").with("B", "Bvalue");
+        final PersistentStringMap updated = original.without("a");
+
+        assertEquals(2, original.size());
+        assertEquals(1, updated.size());
+        assertNull(updated.getValue("a"));
+        assertEquals("Bvalue", updated.getValue("B"));
+        assertSame(PersistentStringMap.empty(), updated.without("B"));
+    }
+
+    @Test
+    public void testUnchangedMapIsReturned() {
+        final PersistentStringMap map = PersistentStringMap.empty().with("a", "avalue");
+
+        assertSame(map, map.with("a", "avalue"));
+        assertSame(map, map.without("b"));
+        assertSame(map, map.withAll(null));
+        assertSame(map, PersistentStringMap.copyOf(map));
+        assertSame(map, PersistentStringMap.empty().withAll(map));
+    }
+
+    @Test
+    public void testWithDefaultsKeepsExistingValues() {
+        final PersistentStringMap original = PersistentStringMap.empty().with("a", "avalue").with("B", "Bvalue");
+        final StringMap defaults = new SortedArrayStringMap();
+        defaults.putValue("a", "default");
+        defaults.putValue("c", "cvalue");
+        final PersistentStringMap merged = original.withDefaults(defaults);
+
+        assertEquals(2, original.size());
+        assertEquals(3, merged.size());
+        assertEquals("avalue", merged.getValue("a"));
+        assertEquals("Bvalue", merged.getValue("B"));
+        assertEquals("cvalue", merged.getValue("c"));
+        assertSame(merged, original.withDefaults(defaults));
+        assertSame(original, original.withDefaults(null));
+        assertSame(original, original.withDefaults(PersistentStringMap.empty()));
+        assertEquals(defaults.toMap(), PersistentStringMap.empty().withDefaults(defaults).toMap());
+
+        final PersistentStringMap covered = original.withDefaults(PersistentStringMap.empty().with("a", "default"));
+        assertSame(original, covered);
+    }
+
+    @Test
+    public void testNullKey() {
+        final PersistentStringMap map = PersistentStringMap.empty().with("a", "avalue").with(null, "nullvalue");
+
+        assertEquals("nullvalue", map.getValue(null));
+        assertEquals("{null=nullvalue, a=avalue}", map.toString());
+        assertFalse(map.without(null).containsKey(null));
+    }
+
+    @Test
+    public void testIsAlwaysFrozen() {
+        final PersistentStringMap map = PersistentStringMap.empty().with("a", "avalue");
+
+        assertTrue(map.isFrozen());
+        assertThrows(UnsupportedOperationException.class, () -> map.putValue("b", "bvalue"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> map.putAll(map));
+        assertThrows(UnsupportedOperationException.class, map::clear);
+    }
+
+    @Test
+    public void testRandomUpdatesMatchTreeMap() {
+        final Random random = new Random(42);
+        final TreeMap<String, Object> expected = new TreeMap<>();
+        PersistentStringMap map = PersistentStringMap.empty();
+        for (int i = 0; i < 10_000; i++) {
+            final String key = "key" + random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.without(key);
+            } else {
+                expected.put(key, i);
+                map = map.with(key, i);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        final List<String> keys = new ArrayList<>();
+        map.forEach((key, value) -> {
+            keys.add(key);
+            assertEquals(expected.get(key), value);
+        });
+        assertEquals(new ArrayList<>(expected.keySet()), keys);
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        final PersistentStringMap map = PersistentStringMap.empty().with("a", "avalue").with("B", "Bvalue");
+        final PersistentStringMap other = PersistentStringMap.empty().with("B", "Bvalue").with("a", "avalue");
+
+        assertEquals(map, other);
+        assertEquals(map.hashCode(), other.hashCode());
+        assertFalse(map.equals(other.with("a", "other")));
+        assertEquals(map.toMap(), other.toMap());
+    }
+
+    @Test
+    public void testSerializationReplacesWithSortedArrayStringMap() throws Exception {
+        final PersistentStringMap map = PersistentStringMap.empty().with("a", "avalue").with("B", "Bvalue");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(map);
+        }
+        final Object result;
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            result = in.readObject();
+        }
+
+        assertTrue(result instanceof SortedArrayStringMap);
+        assertTrue(((SortedArrayStringMap) result).isFrozen());
+        assertEquals(map.toMap(), ((SortedArrayStringMap) result).toMap());
+    }
+}
@@ -18,6 +18,7 @@ package org.apache.logging.log4j.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 
 import java.util.ArrayDeque;
@@ -108,6 +109,30 @@ public class StackLocatorUtilTest {
         assertSame(expected, actual);
     }
 
+    @Test
+    public void testCalcLocation() {
+        final StackTraceElement location = FakeLogger.log();
+        assertNotNull(location);
+        assertEquals(StackLocatorUtilTest.class.getName(), location.getClassName());
+        assertEquals("testCalcLocation", location.getMethodName());
+    }
+
+    @Test
+    public void testCalcLocationOfUnknownLogger() {
+        assertNull(StackLocatorUtil.calcLocation("org.example.UnknownLogger"));
+    }
+
+    private static final class FakeLogger {
+
+        static StackTraceElement log() {
+            return logMessage();
+        }
+
+        private static StackTraceElement logMessage() {
+            return StackLocatorUtil.calcLocation(FakeLogger.class.getName());
+        }
+    }
+
     @Test
     public void testLocateClass() {
         final ClassLocator locator = new ClassLocator();
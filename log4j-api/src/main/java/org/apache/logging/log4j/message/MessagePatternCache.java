@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.message;
+
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Bounded cache of the placeholders of the message patterns of {@link ParameterizedMessage} and
+ * {@link ReusableParameterizedMessage}, so that the patterns logged over and over are scanned only once.
+ * <p>
+ * Patterns are looked up by identity, which is cheap and matches the typical use of string literals as patterns.
+ * The cache is a fixed-size table with one entry per slot. Patterns built dynamically are seldom logged twice, so
+ * to keep them from evicting the patterns that are logged frequently:
+ * </p>
+ * <ul>
+ * <li>a pattern is only added to the cache the second time in a row it misses its slot,</li>
+ * <li>an entry that was hit since the previous miss on its slot gets a second chance and is kept.</li>
+ * </ul>
+ * <p>
+ * Races between threads can only cause a pattern to be scanned again.
+ * </p>
+ * <p>
+ * The number of slots is set by the {@value #CACHE_SIZE_PROPERTY} property, 0 disables the cache.
+ * </p>
+ */
+final class MessagePatternCache {
+
+    static final String CACHE_SIZE_PROPERTY = "log4j2.messagePatternCacheSize";
+
+    private static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private static final int MAX_CACHE_SIZE = 1 << 20;
+
+    private static final Template[] TEMPLATES = new Template[readCacheSize()];
+
+    /** The identity hash code of the last pattern that missed each slot. */
+    private static final int[] CANDIDATES = new int[TEMPLATES.length];
+
+    private MessagePatternCache() {
+    }
+
+    private static int readCacheSize() {
+        final int size = PropertiesUtil.getProperties().getIntegerProperty(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE);
+        if (size <= 0) {
+            return 0;
+        }
+        // rounds up to a power of two
+        return Integer.highestOneBit(Math.min(size, MAX_CACHE_SIZE) * 2 - 1);
+    }
+
+    /**
+     * Returns the parsed form of a message pattern if it is cached, or if it is added to the cache.
+     *
+     * @param messagePattern the message pattern.
+     * @return the parsed message pattern, or {@code null} if the pattern is not cached: the caller should parse it
+     * itself.
+     */
+    static Template get(final String messagePattern) {
+        final Template[] templates = TEMPLATES;
+        if (messagePattern == null || templates.length == 0) {
+            return null;
+        }
+        final int hash = System.identityHashCode(messagePattern);
+        final int slot = hash & (templates.length - 1);
+        final Template template = templates[slot];
+        if (template != null) {
+            if (template.messagePattern == messagePattern) {
+                template.referenced = true;
+                return template;
+            }
+            if (template.referenced) {
+                // gives the resident entry a second chance
+                template.referenced = false;
+                return null;
+            }
+        }
+        if (CANDIDATES[slot] != hash) {
+            // admits the pattern the next time it is seen
+            CANDIDATES[slot] = hash;
+            return null;
+        }
+        final Template parsed = Template.parse(messagePattern);
+        templates[slot] = parsed;
+        return parsed;
+    }
+
+    /**
+     * The placeholders of a message pattern, as returned by
+     * {@link ParameterFormatter#countArgumentPlaceholders2(String, int[])}.
+     */
+    static final class Template {
+
+        final String messagePattern;
+
+        final int placeholderCount;
+
+        /** The indices of the placeholders, or -1 as first element if the pattern contains escape characters. */
+        final int[] indices;
+
+        /** Whether the entry was hit since the last miss on its slot. */
+        boolean referenced;
+
+        private Template(final String messagePattern, final int placeholderCount, final int[] indices) {
+            this.messagePattern = messagePattern;
+            this.placeholderCount = placeholderCount;
+            this.indices = indices;
+        }
+
+        private static Template parse(final String messagePattern) {
+            // a pattern of n characters has less than n placeholders and escape characters
+            final int[] indices = new int[Math.max(1, messagePattern.length())];
+            final int placeholderCount = ParameterFormatter.countArgumentPlaceholders2(messagePattern, indices);
+            final int[] trimmed = new int[Math.max(1, placeholderCount)];
+            System.arraycopy(indices, 0, trimmed, 0, trimmed.length);
+            return new Template(messagePattern, placeholderCount, trimmed);
+        }
+    }
+}
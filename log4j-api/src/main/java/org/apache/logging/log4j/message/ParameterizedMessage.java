@@ -129,9 +129,16 @@ public class ParameterizedMessage implements Message, StringBuilderFormattable {
 
     private void init(final String messagePattern) {
         this.messagePattern = messagePattern;
-        final int len = Math.max(1, messagePattern == null ? 0 : messagePattern.length() >> 1); // divide by 2
-        this.indices = new int[len]; // LOG4J2-1542 ensure non-zero array length
-        final int placeholders = ParameterFormatter.countArgumentPlaceholders2(messagePattern, indices);
+        final MessagePatternCache.Template template = MessagePatternCache.get(messagePattern);
+        final int placeholders;
+        if (template != null) {
+            this.indices = template.indices;
+            placeholders = template.placeholderCount;
+        } else {
+            final int len = Math.max(1, messagePattern == null ? 0 : messagePattern.length() >> 1); // divide by 2
+            this.indices = new int[len]; // LOG4J2-1542 ensure non-zero array length
+            placeholders = ParameterFormatter.countArgumentPlaceholders2(messagePattern, indices);
+        }
         initThrowable(argArray, placeholders);
         this.usedCount = Math.min(placeholders, argArray == null ? 0 : argArray.length);
     }
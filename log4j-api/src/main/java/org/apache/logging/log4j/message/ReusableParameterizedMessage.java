@@ -40,7 +40,8 @@ public class ReusableParameterizedMessage implements ReusableMessage, ParameterV
     private String messagePattern;
     private int argCount;
     private int usedCount;
-    private final int[] indices = new int[256];
+    private final int[] indexBuffer = new int[256];
+    private int[] indices = indexBuffer;
     private transient Object[] varargs;
     private transient Object[] params = new Object[MAX_PARMS];
     private transient Throwable throwable;
@@ -125,7 +126,15 @@ public class ReusableParameterizedMessage implements ReusableMessage, ParameterV
         this.varargs = null;
         this.messagePattern = messagePattern;
         this.argCount = argCount;
-        final int placeholderCount = count(messagePattern, indices);
+        final MessagePatternCache.Template template = MessagePatternCache.get(messagePattern);
+        final int placeholderCount;
+        if (template != null) {
+            indices = template.indices;
+            placeholderCount = template.placeholderCount;
+        } else {
+            indices = indexBuffer;
+            placeholderCount = count(messagePattern, indices);
+        }
         initThrowable(paramArray, argCount, placeholderCount);
         this.usedCount = Math.min(placeholderCount, argCount);
     }
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.spi;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.logging.log4j.util.PersistentStringMap;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.apache.logging.log4j.util.StringMap;
+
+/**
+ * {@code PersistentStringMap}-based implementation of the {@code ThreadContextMap} interface. Like
+ * {@link CopyOnWriteSortedArrayThreadContextMap} any particular instance of the data structure is an immutable snapshot
+ * of the ThreadContext, but modifications only copy the O(log N) nodes on the path to the modified key instead of the
+ * whole map.
+ * <p>
+ * Each thread only holds a reference to its current snapshot, and no reference at all while its context is empty, so
+ * the memory cost of a large number of threads (such as virtual threads) is that of their distinct key-value pairs.
+ * Child threads inheriting the context of their parent share its snapshot without copying it.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+class PersistentThreadContextMap implements ReadOnlyThreadContextMap, ObjectThreadContextMap, CopyOnWrite {
+
+    private static volatile boolean inheritableMap;
+
+    /**
+     * Initializes static variables based on system properties. Normally called when this class is initialized by the VM
+     * and when Log4j is reconfigured.
+     */
+    static void init() {
+        inheritableMap = PropertiesUtil.getProperties()
+                .getBooleanProperty(CopyOnWriteSortedArrayThreadContextMap.INHERITABLE_MAP);
+    }
+
+    static {
+        init();
+    }
+
+    private final ThreadLocal<PersistentStringMap> localMap;
+
+    public PersistentThreadContextMap() {
+        // the snapshot of the parent is immutable: the default childValue can share it
+        this.localMap = inheritableMap ? new InheritableThreadLocal<>() : new ThreadLocal<>();
+    }
+
+    private PersistentStringMap getMap() {
+        final PersistentStringMap map = localMap.get();
+        return map == null ? PersistentStringMap.empty() : map;
+    }
+
+    private void setMap(final PersistentStringMap map) {
+        if (map.isEmpty()) {
+            localMap.remove();
+        } else {
+            localMap.set(map);
+        }
+    }
+
+    @Override
+    public void put(final String key, final String value) {
+        putValue(key, value);
+    }
+
+    @Override
+    public void putValue(final String key, final Object value) {
+        setMap(getMap().with(key, value));
+    }
+
+    @Override
+    public void putAll(final Map<String, String> values) {
+        putAllValues(values);
+    }
+
+    @Override
+    public <V> void putAllValues(final Map<String, V> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        PersistentStringMap map = getMap();
+        for (final Map.Entry<String, V> entry : values.entrySet()) {
+            map = map.with(entry.getKey(), entry.getValue());
+        }
+        setMap(map);
+    }
+
+    @Override
+    public String get(final String key) {
+        return (String) getValue(key);
+    }
+
+    @SuppressWarnings("TypeParameterUnusedInFormals") // signature of ObjectThreadContextMap
+    @Override
+    public <V> V getValue(final String key) {
+        final PersistentStringMap map = localMap.get();
+        return map == null ? null : map.<V>getValue(key);
+    }
+
+    @Override
+    public void remove(final String key) {
+        final PersistentStringMap map = localMap.get();
+        if (map != null) {
+            setMap(map.without(key));
+        }
+    }
+
+    @Override
+    public void removeAll(final Iterable<String> keys) {
+        PersistentStringMap map = localMap.get();
+        if (map != null) {
+            for (final String key : keys) {
+                map = map.without(key);
+            }
+            setMap(map);
+        }
+    }
+
+    @Override
+    public void clear() {
+        localMap.remove();
+    }
+
+    @Override
+    public boolean containsKey(final String key) {
+        final PersistentStringMap map = localMap.get();
+        return map != null && map.containsKey(key);
+    }
+
+    @Override
+    public Map<String, String> getCopy() {
+        final PersistentStringMap map = localMap.get();
+        return map == null ? new HashMap<>() : map.toMap();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StringMap getReadOnlyContextData() {
+        return getMap();
+    }
+
+    @Override
+    public Map<String, String> getImmutableMapOrNull() {
+        final PersistentStringMap map = localMap.get();
+        return map == null ? null : Collections.unmodifiableMap(map.toMap());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return localMap.get() == null;
+    }
+
+    @Override
+    public String toString() {
+        return getMap().toString();
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        final PersistentStringMap map = this.localMap.get();
+        result = prime * result + ((map == null) ? 0 : map.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (!(obj instanceof ThreadContextMap)) {
+            return false;
+        }
+        final ThreadContextMap other = (ThreadContextMap) obj;
+        final Map<String, String> map = this.getImmutableMapOrNull();
+        final Map<String, String> otherMap = other.getImmutableMapOrNull();
+        return Objects.equals(map, otherMap);
+    }
+}
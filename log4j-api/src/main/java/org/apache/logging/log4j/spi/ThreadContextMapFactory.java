@@ -28,7 +28,9 @@ import org.apache.logging.log4j.util.ProviderUtil;
  * Creates the ThreadContextMap instance used by the ThreadContext.
  * <p>
  * If {@link Constants#ENABLE_THREADLOCALS Log4j can use ThreadLocals}, a garbage-free StringMap-based context map can
- * be installed by setting system property {@code log4j2.garbagefree.threadContextMap} to {@code true}.
+ * be installed by setting system property {@code log4j2.garbagefree.threadContextMap} to {@code true}, and a context
+ * map backed by persistent immutable maps, which suits applications running many virtual threads, by setting system
+ * property {@code log4j2.persistent.threadContextMap} to {@code true}.
  * </p><p>
  * Furthermore, any custom {@code ThreadContextMap} can be installed by setting system property
  * {@code log4j2.threadContextMap} to the fully qualified class name of the class implementing the
@@ -49,8 +51,10 @@ public final class ThreadContextMapFactory {
     private static final Logger LOGGER = StatusLogger.getLogger();
     private static final String THREAD_CONTEXT_KEY = "log4j2.threadContextMap";
     private static final String GC_FREE_THREAD_CONTEXT_KEY = "log4j2.garbagefree.threadContextMap";
+    private static final String PERSISTENT_THREAD_CONTEXT_KEY = "log4j2.persistent.threadContextMap";
     
     private static boolean GcFreeThreadContextKey;
+    private static boolean PersistentThreadContextKey;
     private static String ThreadContextMapName;
 
     static {
@@ -65,6 +69,7 @@ public final class ThreadContextMapFactory {
         CopyOnWriteSortedArrayThreadContextMap.init();
         GarbageFreeSortedArrayThreadContextMap.init();
         DefaultThreadContextMap.init();
+        PersistentThreadContextMap.init();
         initPrivate();
     }
 
@@ -76,6 +81,7 @@ public final class ThreadContextMapFactory {
         final PropertiesUtil properties = PropertiesUtil.getProperties();
         ThreadContextMapName = properties.getStringProperty(THREAD_CONTEXT_KEY);
         GcFreeThreadContextKey = properties.getBooleanProperty(GC_FREE_THREAD_CONTEXT_KEY);
+        PersistentThreadContextKey = properties.getBooleanProperty(PERSISTENT_THREAD_CONTEXT_KEY);
     }
     
     private ThreadContextMapFactory() {
@@ -125,6 +131,9 @@ public final class ThreadContextMapFactory {
             if (GcFreeThreadContextKey) {
                 return new GarbageFreeSortedArrayThreadContextMap();
             }
+            if (PersistentThreadContextKey) {
+                return new PersistentThreadContextMap();
+            }
             return new CopyOnWriteSortedArrayThreadContextMap();
         }
         return new DefaultThreadContextMap(true);
@@ -0,0 +1,438 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <em>Consider this class private.</em>
+ * Immutable implementation of the {@code StringMap} interface whose updates return a new map that shares most of its
+ * structure with the original one.
+ * <p>
+ * Key-value pairs are held in a persistent balanced binary tree sorted by key, so iteration follows the same order as
+ * in {@link SortedArrayStringMap}:
+ * </p>
+ * <ul>
+ *   <li>{@link #with(String, Object)} and {@link #without(String)} copy only the O(log N) nodes on the path to the
+ *     updated key and leave this map unchanged.</li>
+ *   <li>Any instance is a snapshot that can be handed over to other threads, or kept by a log event, without copying
+ *     it.</li>
+ * </ul>
+ * <p>
+ * Instances are always {@linkplain #isFrozen() frozen}: the mutating methods of the {@code StringMap} interface throw
+ * an {@code UnsupportedOperationException}. Serialization replaces an instance with a frozen
+ * {@code SortedArrayStringMap}.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+public final class PersistentStringMap implements StringMap {
+
+    private static final long serialVersionUID = 1L;
+    private static final String FROZEN = "Frozen collection cannot be modified";
+    private static final PersistentStringMap EMPTY = new PersistentStringMap(null);
+
+    private final transient Node root;
+
+    /** The result of the last call to {@link #withDefaults(ReadOnlyStringMap)}, may be {@code null}. */
+    private transient volatile Merge lastMerge;
+
+    private PersistentStringMap(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty map.
+     *
+     * @return the empty map.
+     */
+    public static PersistentStringMap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a map containing the key-value pairs of the given data structure.
+     *
+     * @param source the key-value pairs to copy, may be {@code null}.
+     * @return the given data structure if it is a {@code PersistentStringMap}, a new map otherwise.
+     */
+    public static PersistentStringMap copyOf(final ReadOnlyStringMap source) {
+        if (source instanceof PersistentStringMap) {
+            return (PersistentStringMap) source;
+        }
+        return EMPTY.withAll(source);
+    }
+
+    /**
+     * Returns a map with the key-value pairs of this map and the given key-value pair.
+     *
+     * @param key the key, may be {@code null}.
+     * @param value the value.
+     * @return a map associating the given key to the given value, which is this map if it already does.
+     */
+    public PersistentStringMap with(final String key, final Object value) {
+        final Node newRoot = put(root, key, value);
+        return newRoot == root ? this : new PersistentStringMap(newRoot);
+    }
+
+    /**
+     * Returns a map with the key-value pairs of this map and of the given data structure. In the case of duplicate
+     * keys, the values of the given data structure win.
+     *
+     * @param source the key-value pairs to add, may be {@code null}.
+     * @return a map with the key-value pairs of both maps.
+     */
+    public PersistentStringMap withAll(final ReadOnlyStringMap source) {
+        if (source == null || source.isEmpty()) {
+            return this;
+        }
+        if (root == null && source instanceof PersistentStringMap) {
+            return (PersistentStringMap) source;
+        }
+        final Node[] result = {root};
+        source.forEach((key, value) -> result[0] = put(result[0], key, value));
+        return result[0] == root ? this : new PersistentStringMap(result[0]);
+    }
+
+    /**
+     * Returns a map with the key-value pairs of this map and the key-value pairs of the given data structure whose keys
+     * this map does not contain.
+     * <p>
+     * The result is remembered: calling this method again with the same data structure returns the same map in
+     * O(1), so a snapshot of the context data combined with constant defaults does not need to be combined anew for
+     * each log event. Otherwise this method takes O(M log N) time, where M is the size of the defaults.
+     * </p>
+     *
+     * @param defaults the key-value pairs to add if their keys are missing, may be {@code null}.
+     * @return a map with the key-value pairs of both maps.
+     */
+    public PersistentStringMap withDefaults(final ReadOnlyStringMap defaults) {
+        if (defaults == null || defaults.isEmpty()) {
+            return this;
+        }
+        if (root == null) {
+            return copyOf(defaults);
+        }
+        final Merge merge = lastMerge;
+        if (merge != null && merge.defaults == defaults) {
+            return merge.result;
+        }
+        final Node[] result = {root};
+        defaults.forEach((key, value) -> {
+            if (find(key) == null) {
+                result[0] = put(result[0], key, value);
+            }
+        });
+        final PersistentStringMap map = result[0] == root ? this : new PersistentStringMap(result[0]);
+        lastMerge = new Merge(defaults, map);
+        return map;
+    }
+
+    /**
+     * Returns a map with the key-value pairs of this map except the one of the given key.
+     *
+     * @param key the key to remove, may be {@code null}.
+     * @return a map without the given key, which is this map if it does not contain the key.
+     */
+    public PersistentStringMap without(final String key) {
+        final Node newRoot = remove(root, key);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? EMPTY : new PersistentStringMap(newRoot);
+    }
+
+    @Override
+    public Map<String, String> toMap() {
+        final Map<String, String> result = new HashMap<>(size());
+        forEach((key, value) -> result.put(key, value == null ? null : String.valueOf(value)));
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(final String key) {
+        return find(key) != null;
+    }
+
+    @Override
+    public <V> void forEach(final BiConsumer<String, ? super V> action) {
+        forEach(root, action);
+    }
+
+    @Override
+    public <V, S> void forEach(final TriConsumer<String, ? super V, S> action, final S state) {
+        forEach(root, action, state);
+    }
+
+    @SuppressWarnings({"unchecked", "TypeParameterUnusedInFormals"}) // signature of ReadOnlyStringMap
+    @Override
+    public <V> V getValue(final String key) {
+        final Node node = find(key);
+        return node == null ? null : (V) node.value;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public int size() {
+        return root == null ? 0 : root.size;
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException(FROZEN);
+    }
+
+    @Override
+    public void freeze() {
+        // always frozen
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return true;
+    }
+
+    @Override
+    public void putAll(final ReadOnlyStringMap source) {
+        throw new UnsupportedOperationException(FROZEN);
+    }
+
+    @Override
+    public void putValue(final String key, final Object value) {
+        throw new UnsupportedOperationException(FROZEN);
+    }
+
+    @Override
+    public void remove(final String key) {
+        throw new UnsupportedOperationException(FROZEN);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof PersistentStringMap)) {
+            return false;
+        }
+        final PersistentStringMap other = (PersistentStringMap) obj;
+        if (size() != other.size()) {
+            return false;
+        }
+        // both trees hold the same keys in the same order when the maps are equal
+        final Object[] entries = new Object[size() * 2];
+        final int[] index = {0};
+        forEach((key, value) -> {
+            entries[index[0]++] = key;
+            entries[index[0]++] = value;
+        });
+        index[0] = 0;
+        final boolean[] equal = {true};
+        other.forEach((key, value) -> {
+            equal[0] &= Objects.equals(key, entries[index[0]++]) && Objects.equals(value, entries[index[0]++]);
+        });
+        return equal[0];
+    }
+
+    @Override
+    public int hashCode() {
+        final int[] result = {0};
+        forEach((key, value) -> result[0] += Objects.hashCode(key) ^ Objects.hashCode(value));
+        return result[0];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(256);
+        sb.append('{');
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=').append(value == this ? "(this map)" : value);
+        });
+        sb.append('}');
+        return sb.toString();
+    }
+
+    private Object writeReplace() {
+        final SortedArrayStringMap result = new SortedArrayStringMap(this);
+        result.freeze();
+        return result;
+    }
+
+    private Node find(final String key) {
+        Node node = root;
+        while (node != null) {
+            final int cmp = compare(key, node.key);
+            if (cmp == 0) {
+                return node;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private static int compare(final String a, final String b) {
+        if (a == null) {
+            return b == null ? 0 : -1;
+        }
+        return b == null ? 1 : a.compareTo(b);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void forEach(final Node node, final BiConsumer<String, ? super V> action) {
+        if (node != null) {
+            forEach(node.left, action);
+            action.accept(node.key, (V) node.value);
+            forEach(node.right, action);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, S> void forEach(final Node node, final TriConsumer<String, ? super V, S> action, final S state) {
+        if (node != null) {
+            forEach(node.left, action, state);
+            action.accept(node.key, (V) node.value, state);
+            forEach(node.right, action, state);
+        }
+    }
+
+    private static Node put(final Node node, final String key, final Object value) {
+        if (node == null) {
+            return new Node(key, value, null, null);
+        }
+        final int cmp = compare(key, node.key);
+        if (cmp < 0) {
+            final Node left = put(node.left, key, value);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (cmp > 0) {
+            final Node right = put(node.right, key, value);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+        return node.value == value ? node : new Node(node.key, value, node.left, node.right);
+    }
+
+    private static Node remove(final Node node, final String key) {
+        if (node == null) {
+            return null;
+        }
+        final int cmp = compare(key, node.key);
+        if (cmp < 0) {
+            final Node left = remove(node.left, key);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (cmp > 0) {
+            final Node right = remove(node.right, key);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node first = node.right;
+        while (first.left != null) {
+            first = first.left;
+        }
+        return balance(first.key, first.value, node.left, removeFirst(node.right));
+    }
+
+    private static Node removeFirst(final Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.key, node.value, removeFirst(node.left), node.right);
+    }
+
+    /**
+     * Creates a node from two subtrees whose heights differ by at most two, rotating them to restore the AVL
+     * invariant.
+     */
+    private static Node balance(final String key, final Object value, final Node left, final Node right) {
+        final int leftHeight = height(left);
+        final int rightHeight = height(right);
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node(left.key, left.value, left.left, new Node(key, value, left.right, right));
+            }
+            final Node pivot = left.right;
+            return new Node(pivot.key, pivot.value,
+                    new Node(left.key, left.value, left.left, pivot.left),
+                    new Node(key, value, pivot.right, right));
+        }
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node(right.key, right.value, new Node(key, value, left, right.left), right.right);
+            }
+            final Node pivot = right.left;
+            return new Node(pivot.key, pivot.value,
+                    new Node(key, value, left, pivot.left),
+                    new Node(right.key, right.value, pivot.right, right.right));
+        }
+        return new Node(key, value, left, right);
+    }
+
+    private static int height(final Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Merge {
+
+        private final ReadOnlyStringMap defaults;
+
+        private final PersistentStringMap result;
+
+        Merge(final ReadOnlyStringMap defaults, final PersistentStringMap result) {
+            this.defaults = defaults;
+            this.result = result;
+        }
+    }
+
+    private static final class Node {
+
+        private final String key;
+
+        private final Object value;
+
+        private final Node left;
+
+        private final Node right;
+
+        private final int height;
+
+        /** The number of key-value pairs of the subtree. */
+        private final int size;
+
+        Node(final String key, final Object value, final Node left, final Node right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = (left == null ? 0 : left.size) + (right == null ? 0 : right.size) + 1;
+        }
+    }
+}
@@ -17,7 +17,9 @@
 package org.apache.logging.log4j.util;
 
 import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -31,6 +33,16 @@ public final class StackLocator {
 
     private final static StackWalker STACK_WALKER = StackWalker.getInstance();
 
+    /**
+     * The number of frames between {@link #calcLocation(String)} and the caller of a method of
+     * {@link org.apache.logging.log4j.spi.AbstractLogger}. The frames are fetched in batches, and the first batch of
+     * the default walker is too small to reach the caller: fetching a second batch costs more than filling a few more
+     * frames in the first one.
+     */
+    private final static int LOCATION_DEPTH = 12;
+
+    private final static StackWalker LOCATION_WALKER = StackWalker.getInstance(Collections.emptySet(), LOCATION_DEPTH);
+
     private final static StackLocator INSTANCE = new StackLocator();
 
     /**
@@ -112,11 +124,23 @@ public final class StackLocator {
 
     }
 
+    @PerformanceSensitive
     public StackTraceElement calcLocation(final String fqcnOfLogger) {
-        return STACK_WALKER.walk(
-                s -> s.dropWhile(f -> !f.getClassName().equals(fqcnOfLogger)) // drop the top frames until we reach the logger
-                        .dropWhile(f -> f.getClassName().equals(fqcnOfLogger)) // drop the logger frames
-                        .findFirst()).map(StackWalker.StackFrame::toStackTraceElement).orElse(null);
+        // a plain loop is measurably cheaper than a stream pipeline, and this runs for every event with location
+        return LOCATION_WALKER.walk(s -> {
+            boolean inLogger = false;
+            for (final Iterator<StackWalker.StackFrame> frames = s.iterator(); frames.hasNext(); ) {
+                final StackWalker.StackFrame frame = frames.next();
+                if (frame.getClassName().equals(fqcnOfLogger)) {
+                    // reached the logger frames
+                    inLogger = true;
+                } else if (inLogger) {
+                    // the first frame after the logger frames is the caller
+                    return frame.toStackTraceElement();
+                }
+            }
+            return null;
+        });
     }
 
     public StackTraceElement getStackTraceElement(final int depth) {
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.core.filter.MarkerFilter;
+import org.apache.logging.log4j.core.filter.ThresholdFilter;
+import org.apache.logging.log4j.message.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that loggers only consult the configuration filter for events it may enable.
+ */
+public class LoggerConfigurationFilterTest {
+
+    private static final Marker MARKER = MarkerManager.getMarker("LoggerConfigurationFilterTest");
+
+    private LoggerContext context;
+
+    @BeforeEach
+    public void setUp() {
+        context = new LoggerContext("LoggerConfigurationFilterTest");
+        context.start(new DefaultConfiguration());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    public void testFilterNotConsultedForDisabledLevels() {
+        final CountingFilter filter = new CountingFilter(Result.NEUTRAL, Result.DENY);
+        addFilter(filter);
+        final Logger logger = context.getLogger("test");
+        assertFalse(logger.isDebugEnabled());
+        assertFalse(logger.isWarnEnabled(MARKER));
+        assertEquals(0, filter.count.get());
+        assertTrue(logger.isErrorEnabled());
+        assertEquals(1, filter.count.get());
+    }
+
+    @Test
+    public void testFilterConsultedWhenItMayAccept() {
+        final CountingFilter filter = new CountingFilter(Result.ACCEPT, Result.NEUTRAL);
+        addFilter(filter);
+        final Logger logger = context.getLogger("test");
+        assertTrue(logger.isDebugEnabled());
+        assertEquals(1, filter.count.get());
+    }
+
+    @Test
+    public void testThresholdFilterAccept() {
+        addFilter(ThresholdFilter.createFilter(Level.INFO, Result.ACCEPT, Result.NEUTRAL));
+        final Logger logger = context.getLogger("test");
+        assertTrue(logger.isInfoEnabled());
+        assertFalse(logger.isDebugEnabled());
+    }
+
+    @Test
+    public void testMarkerFilterAccept() {
+        addFilter(MarkerFilter.createFilter(MARKER.getName(), Result.ACCEPT, Result.NEUTRAL));
+        final Logger logger = context.getLogger("test");
+        assertTrue(logger.isDebugEnabled(MARKER));
+        assertFalse(logger.isDebugEnabled());
+    }
+
+    @Test
+    public void testFilterAddedWithoutUpdatingLoggers() {
+        final Logger logger = context.getLogger("test");
+        assertFalse(logger.isDebugEnabled());
+        final CountingFilter filter = new CountingFilter(Result.ACCEPT, Result.NEUTRAL);
+        context.getConfiguration().addFilter(filter);
+        assertTrue(logger.isDebugEnabled());
+        assertEquals(1, filter.count.get());
+    }
+
+    private void addFilter(final Filter filter) {
+        final Configuration config = context.getConfiguration();
+        config.addFilter(filter);
+        context.updateLoggers();
+    }
+
+    private static class CountingFilter extends AbstractFilter {
+
+        final AtomicInteger count = new AtomicInteger();
+
+        CountingFilter(final Result onMatch, final Result onMismatch) {
+            super(onMatch, onMismatch);
+        }
+
+        @Override
+        public boolean mayAccept(final Level level, final boolean hasMarker) {
+            return onMatch == Result.ACCEPT || onMismatch == Result.ACCEPT;
+        }
+
+        @Override
+        public Result filter(final org.apache.logging.log4j.core.Logger logger, final Level level,
+                final Marker marker, final Message msg, final Throwable t) {
+            count.incrementAndGet();
+            return onMatch;
+        }
+
+        @Override
+        public Result filter(final org.apache.logging.log4j.core.Logger logger, final Level level,
+                final Marker marker, final Object msg, final Throwable t) {
+            count.incrementAndGet();
+            return onMatch;
+        }
+
+        @Override
+        public Result filter(final org.apache.logging.log4j.core.Logger logger, final Level level,
+                final Marker marker, final String msg, final Object... params) {
+            count.incrementAndGet();
+            return onMatch;
+        }
+    }
+}
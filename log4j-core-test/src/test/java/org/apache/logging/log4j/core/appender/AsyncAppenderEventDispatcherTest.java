@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.async.MpscBlockingQueueFactory;
+import org.apache.logging.log4j.core.config.AppenderControl;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Timeout(10)
+public class AsyncAppenderEventDispatcherTest {
+
+    @Test
+    public void testOnlyLastEventOfBatchIsEndOfBatch() throws InterruptedException {
+        assertEndOfBatch(new ArrayBlockingQueue<>(16));
+    }
+
+    @Test
+    public void testOnlyLastEventOfBatchIsEndOfBatchWithMpscQueue() throws InterruptedException {
+        assertEndOfBatch(MpscBlockingQueueFactory.<LogEvent>createFactory(false).create(16));
+    }
+
+    private static void assertEndOfBatch(final BlockingQueue<LogEvent> queue) throws InterruptedException {
+        final ListAppender appender = new ListAppender("list");
+        appender.start();
+        // the events are queued before the dispatcher starts, so that it drains batches of 3 and 2 events
+        for (int i = 0; i < 5; i++) {
+            final Log4jLogEvent event = Log4jLogEvent.newBuilder()
+                    .setLevel(Level.INFO)
+                    .setMessage(new SimpleMessage("event " + i))
+                    .build();
+            event.setEndOfBatch(true);
+            queue.add(event);
+        }
+        final AsyncAppenderEventDispatcher dispatcher = new AsyncAppenderEventDispatcher(
+                "test", null, Collections.singletonList(new AppenderControl(appender, null, null)), queue, 3);
+        dispatcher.start();
+        try {
+            while (appender.getEvents().size() < 5) {
+                Thread.sleep(1);
+            }
+        } finally {
+            dispatcher.stop(10_000);
+        }
+
+        final List<Boolean> endOfBatch = new ArrayList<>();
+        for (final LogEvent event : appender.getEvents()) {
+            endOfBatch.add(event.isEndOfBatch());
+        }
+        assertEquals(List.of(false, false, true, false, true), endOfBatch);
+    }
+}
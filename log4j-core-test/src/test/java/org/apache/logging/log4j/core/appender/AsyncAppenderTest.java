@@ -128,6 +128,29 @@ public class AsyncAppenderTest {
         exceptionTest(context);
     }
 
+    @Test
+    @LoggerContextSource("BlockingQueueFactory-MpscBlockingQueue.xml")
+    public void testMpscBlockingQueue(final LoggerContext context) throws InterruptedException {
+        rewriteTest(context);
+        exceptionTest(context);
+    }
+
+    @Test
+    @LoggerContextSource("BlockingQueueFactory-MpscBlockingQueue-Unbounded.xml")
+    public void testUnboundedMpscBlockingQueue(final LoggerContext context) throws InterruptedException {
+        rewriteTest(context);
+        exceptionTest(context);
+    }
+
+    @Test
+    @LoggerContextSource("BlockingQueueFactory-MpscBlockingQueue-Batched.xml")
+    public void testBatchedMpscBlockingQueue(final LoggerContext context) throws InterruptedException {
+        final AsyncAppender appender = context.getConfiguration().getAppender("Async");
+        assertEquals(16, appender.getBatchSize());
+        rewriteTest(context);
+        exceptionTest(context);
+    }
+
     @Test
     @LoggerContextSource("BlockingQueueFactory-LinkedTransferQueue.xml")
     public void testLinkedTransferQueue(final LoggerContext context) throws InterruptedException {
@@ -16,12 +16,18 @@
  */
 package org.apache.logging.log4j.core.appender;
 
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FileAppenderBuilderTest {
 
+    @TempDir
+    Path tempDir;
+
     /**
      * Tests https://issues.apache.org/jira/browse/LOG4J2-1620
      */
@@ -29,4 +35,24 @@ public class FileAppenderBuilderTest {
     public void testDefaultImmediateFlush() {
         assertTrue(FileAppender.newBuilder().isImmediateFlush());
     }
+
+    /**
+     * Without buffering every event is flushed, so group commit applies even if immediateFlush is false.
+     */
+    @Test
+    public void testGroupCommitWithoutBufferedIo() {
+        final FileAppender appender = FileAppender.newBuilder()
+            .setFileName(tempDir.resolve("group-commit.log").toString())
+            .setName("test")
+            .setImmediateFlush(false)
+            .setBufferedIo(false)
+            .setGroupCommit(true)
+            .build();
+        try {
+            assertTrue(appender.getImmediateFlush());
+            assertTrue(appender.isGroupCommit());
+        } finally {
+            appender.stop();
+        }
+    }
 }
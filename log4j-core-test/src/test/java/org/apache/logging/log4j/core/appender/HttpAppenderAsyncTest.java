@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.ConfigurationException;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.test.junit.StatusLoggerLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests the {@code async} mode of {@link HttpAppender} against a local {@link HttpServer}.
+ */
+@StatusLoggerLevel("OFF")
+@Timeout(value = 60, unit = TimeUnit.SECONDS)
+class HttpAppenderAsyncTest {
+
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger failuresToSend = new AtomicInteger();
+
+    private volatile int failureStatusCode = 503;
+
+    private volatile CountDownLatch responseLatch = new CountDownLatch(0);
+
+    private final AtomicInteger receivedRequests = new AtomicInteger();
+
+    private HttpServer server;
+
+    private static final class Request {
+
+        private final String method;
+        private final String contentType;
+        private final String contentEncoding;
+        private final String customHeader;
+        private final String body;
+
+        private Request(final HttpExchange exchange) throws IOException {
+            this.method = exchange.getRequestMethod();
+            this.contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            this.contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            this.customHeader = exchange.getRequestHeaders().getFirst("X-Test");
+            try (final InputStream in = "gzip".equals(contentEncoding)
+                    ? new GZIPInputStream(exchange.getRequestBody())
+                    : exchange.getRequestBody()) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                in.transferTo(out);
+                this.body = out.toString(StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/test/log4j/", exchange -> {
+            try {
+                final Request request = new Request(exchange);
+                receivedRequests.incrementAndGet();
+                responseLatch.await();
+                final int statusCode;
+                if (failuresToSend.getAndDecrement() > 0) {
+                    statusCode = failureStatusCode;
+                } else {
+                    requests.add(request);
+                    statusCode = 201;
+                }
+                exchange.sendResponseHeaders(statusCode, -1);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        responseLatch.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void events_are_batched_into_ndjson_bodies() throws Exception {
+        final HttpAppender appender = createAppender(HttpAppender.newBuilder()
+                .setBatchSize(5)
+                .setLingerMillis(10_000)
+                // Requests sent concurrently may complete in any order.
+                .setMaxInFlightRequests(1)
+                .setHeaders(new Property[] {Property.createProperty("X-Test", "header value")}));
+        try {
+            for (int i = 0; i < 10; i++) {
+                appender.append(createLogEvent(i));
+            }
+            await().atMost(30, TimeUnit.SECONDS).until(() -> requests.size() == 2);
+        } finally {
+            appender.stop();
+        }
+        final Request first = requests.get(0);
+        assertEquals("POST", first.method);
+        assertEquals("application/x-ndjson", first.contentType);
+        assertEquals("header value", first.customHeader);
+        assertEquals(messages(0, 5, "\n", "\n"), first.body);
+        assertEquals(messages(5, 10, "\n", "\n"), requests.get(1).body);
+        final HttpClientManager manager = (HttpClientManager) appender.getManager();
+        assertEquals(10, manager.getSentEventCount());
+        assertEquals(2, manager.getSentRequestCount());
+    }
+
+    @Test
+    void events_are_sent_as_compressed_json_array() throws Exception {
+        final HttpAppender appender = createAppender(HttpAppender.newBuilder()
+                .setBatchFormat(HttpAppender.BatchFormat.JSON_ARRAY)
+                .setCompress(true)
+                .setBatchSize(3)
+                .setLingerMillis(10_000));
+        try {
+            for (int i = 0; i < 3; i++) {
+                appender.append(createLogEvent(i));
+            }
+            await().atMost(30, TimeUnit.SECONDS).until(() -> requests.size() == 1);
+        } finally {
+            appender.stop();
+        }
+        final Request request = requests.get(0);
+        assertEquals("application/json", request.contentType);
+        assertEquals("gzip", request.contentEncoding);
+        assertEquals("[" + messages(0, 3, ",", "") + "]", request.body);
+    }
+
+    @Test
+    void pending_events_are_sent_on_stop() throws Exception {
+        final HttpAppender appender = createAppender(HttpAppender.newBuilder()
+                .setBatchSize(1000)
+                .setLingerMillis(60_000));
+        for (int i = 0; i < 7; i++) {
+            appender.append(createLogEvent(i));
+        }
+        assertTrue(appender.stop(10, TimeUnit.SECONDS));
+        assertEquals(1, requests.size());
+        assertEquals(messages(0, 7, "\n", "\n"), requests.get(0).body);
+    }
+
+    @Test
+    void events_not_sent_on_stop_are_counted_as_dropped() throws Exception {
+        responseLatch = new CountDownLatch(1);
+        final HttpAppender appender = createAppender(HttpAppender.newBuilder()
+                .setBatchSize(1)
+                .setLingerMillis(0)
+                .setMaxInFlightRequests(1));
+        final HttpClientManager manager = (HttpClientManager) appender.getManager();
+        final int eventCount = 10;
+        for (int i = 0; i < eventCount; i++) {
+            appender.append(createLogEvent(i));
+        }
+        await().atMost(30, TimeUnit.SECONDS).until(() -> receivedRequests.get() == 1);
+        // The first request is pending and the sender may hold the next event.
+        assertFalse(appender.stop(100, TimeUnit.MILLISECONDS));
+        assertTrue(manager.getDroppedEventCount() >= eventCount - 2);
+    }
+
+    @Test
+    void batches_are_limited_by_bytes() throws Exception {
+        final int eventSize = createLogEvent(0).getMessage().getFormattedMessage().length() + 3;
+        final HttpAppender appender = createAppender(HttpAppender.newBuilder()
+                .setBatchSize(1000)
+                .setBatchBytes(2 * eventSize)
+                .setLingerMillis(60_000)
+                .setMaxInFlightRequests(1));
+        for (int i = 0; i < 6; i++) {
+            appender.append(createLogEvent(i));
+        }
+        assertTrue(appender.stop(10, TimeUnit.SECONDS));
+        assertEquals(3, requests.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(messages(2 * i, 2 * i + 2, "\n", "\n"), requests.get(i).body);
+        }
+    }
+
+    @Test
+    void failed_requests_are_retried() throws Exception {
+        failuresToSend.set(2);
+        final HttpAppender appender = createAppender(HttpAppender.newBuilder()
+                .setBatchSize(2)
+                .setMaxRetries(3)
+                .setRetryBackoffMillis(10));
+        try {
+            appender.append(createLogEvent(0));
+            appender.append(createLogEvent(1));
+            await().atMost(30, TimeUnit.SECONDS).until(() -> requests.size() == 1);
+        } finally {
+            appender.stop();
+        }
+        assertEquals(messages(0, 2, "\n", "\n"), requests.get(0).body);
+        final HttpClientManager manager = (HttpClientManager) appender.getManager();
+        assertEquals(2, manager.getRetryCount());
+        assertEquals(2, manager.getSentEventCount());
+        assertEquals(0, manager.getFailedEventCount());
+    }
+
+    @Test
+    void client_errors_are_not_retried() throws Exception {
+        failuresToSend.set(1);
+        failureStatusCode = 400;
+        final HttpAppender appender = createAppender(HttpAppender.newBuilder()
+                .setBatchSize(1)
+                .setMaxRetries(3)
+                .setRetryBackoffMillis(10));
+        final HttpClientManager manager = (HttpClientManager) appender.getManager();
+        try {
+            appender.append(createLogEvent(0));
+            await().atMost(30, TimeUnit.SECONDS).until(() -> manager.getFailedEventCount() == 1);
+            appender.append(createLogEvent(1));
+            await().atMost(30, TimeUnit.SECONDS).until(() -> requests.size() == 1);
+        } finally {
+            appender.stop();
+        }
+        assertEquals(0, manager.getRetryCount());
+        assertEquals(messages(1, 2, "\n", "\n"), requests.get(0).body);
+    }
+
+    @Test
+    void restricted_headers_are_rejected() {
+        assertThrows(ConfigurationException.class, () -> createAppender(HttpAppender.newBuilder()
+                .setHeaders(new Property[] {Property.createProperty("Connection", "close")})));
+    }
+
+    @Test
+    void invalid_header_values_fail_the_request() throws Exception {
+        // The value is resolved for each request.
+        System.setProperty("HttpAppenderAsyncTest.header", "invalid\nvalue");
+        try {
+            final HttpAppender appender = createAppender(HttpAppender.newBuilder()
+                    .setBatchSize(1)
+                    .setMaxInFlightRequests(1)
+                    .setHeaders(new Property[] {
+                            Property.createProperty("X-Test", "${sys:HttpAppenderAsyncTest.header}")}));
+            final HttpClientManager manager = (HttpClientManager) appender.getManager();
+            for (int i = 0; i < 3; i++) {
+                appender.append(createLogEvent(i));
+            }
+            await().atMost(30, TimeUnit.SECONDS).until(() -> manager.getFailedEventCount() == 3);
+            // No request permit was leaked.
+            assertTrue(appender.stop(10, TimeUnit.SECONDS));
+            assertEquals(0, requests.size());
+        } finally {
+            System.clearProperty("HttpAppenderAsyncTest.header");
+        }
+    }
+
+    private HttpAppender createAppender(final HttpAppender.Builder<?> builder) throws IOException {
+        final HttpAppender appender = builder
+                .setName("Http")
+                .setLayout(PatternLayout.newBuilder().setPattern("\"%m\"%n").build())
+                .setConfiguration(new DefaultConfiguration())
+                .setUrl(new URL("http://localhost:" + server.getAddress().getPort() + "/test/log4j/"))
+                .setAsync(true)
+                .build();
+        appender.start();
+        return appender;
+    }
+
+    private static LogEvent createLogEvent(final int index) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(HttpAppenderAsyncTest.class.getName())
+                .setLoggerFqcn(HttpAppenderAsyncTest.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("message-" + index))
+                .build();
+    }
+
+    private static String messages(final int from, final int to, final String separator, final String suffix) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                builder.append(separator);
+            }
+            builder.append("\"message-").append(i).append('"');
+        }
+        return builder.append(suffix).toString();
+    }
+}
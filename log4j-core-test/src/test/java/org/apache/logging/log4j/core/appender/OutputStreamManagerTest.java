@@ -25,12 +25,18 @@ import org.apache.logging.log4j.status.StatusData;
 import org.apache.logging.log4j.status.StatusLogger;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * OutputStreamManager Tests.
@@ -76,4 +82,59 @@ public class OutputStreamManagerTest {
 
         assertEquals(outputStreamManager.getByteBuffer().limit(), outputStreamManager.getByteBuffer().capacity());
     }
+
+    @Test
+    public void testGroupCommitFlushesWrittenData() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final OutputStreamManager manager = new OutputStreamManager(out, "test", null, false, 64);
+        final byte[] bytes = "event".getBytes(StandardCharsets.US_ASCII);
+        manager.write(bytes, false);
+        assertEquals(0, out.size());
+
+        manager.flushGroupCommit(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals("event", out.toString());
+        assertEquals(1, manager.getGroupCommitFlushCount());
+    }
+
+    @Test
+    public void testGroupCommitCoalescesConcurrentFlushes() throws InterruptedException {
+        final int threadCount = 8;
+        final int eventsPerThread = 200;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                // simulate a slow device so that writers pile up behind the flush in progress
+                try {
+                    Thread.sleep(1);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        final OutputStreamManager manager = new OutputStreamManager(out, "test", null, false, 64 * 1024);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < eventsPerThread; i++) {
+                    manager.write(new byte[] {'x'}, false);
+                    manager.flushGroupCommit(TimeUnit.MICROSECONDS.toNanos(100));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threadCount * eventsPerThread, out.size());
+        final long flushCount = manager.getGroupCommitFlushCount();
+        assertTrue(flushCount < threadCount * eventsPerThread, "flushes were not coalesced: " + flushCount);
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.rolling.RollingMemoryMappedFileManager;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.test.junit.CleanUpDirectories;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that RollingMemoryMappedFileAppender rolls over, and that the current and rolled over files are truncated to
+ * the data actually written.
+ */
+@CleanUpDirectories("target/RollingMemoryMappedFileAppenderTest")
+public class RollingMemoryMappedFileAppenderTest {
+
+    private static final String DIR = "target/RollingMemoryMappedFileAppenderTest";
+
+    @Test
+    @LoggerContextSource("RollingMemoryMappedFileAppenderTest.xml")
+    public void testRollover(final LoggerContext context,
+            @Named("RollingMemoryMappedFile") final RollingMemoryMappedFileAppender appender) throws Exception {
+        assertEquals(256, appender.getRegionLength());
+        final RollingMemoryMappedFileManager manager = appender.getManager();
+        final Logger log = context.getLogger(getClass());
+        final List<String> expected = new ArrayList<>();
+        try {
+            for (int i = 0; i < 50; i++) {
+                final String message = "This is test message number " + i;
+                log.info(message);
+                expected.add(message);
+            }
+            assertTrue(manager.getFileSize() <= 500 + expected.get(expected.size() - 1).length() + 2);
+        } finally {
+            context.stop();
+        }
+
+        final File[] files = new File(DIR).listFiles();
+        assertNotNull(files);
+        assertTrue(files.length > 2, "Expected rollovers");
+        final List<String> actual = new ArrayList<>();
+        long totalSize = 0;
+        for (int i = 1; i < files.length; i++) {
+            final File file = new File(DIR, "test-" + i + ".log");
+            assertTrue(file.exists(), "Missing " + file);
+            actual.addAll(Files.readAllLines(file.toPath()));
+            totalSize += file.length();
+        }
+        final File current = new File(DIR, "test.log");
+        actual.addAll(Files.readAllLines(current.toPath()));
+        totalSize += current.length();
+
+        // no file contains the unused tail of a mapped region
+        assertEquals(expected, actual);
+        long expectedSize = 0;
+        for (final String message : expected) {
+            expectedSize += message.length() + System.lineSeparator().length();
+        }
+        assertEquals(expectedSize, totalSize);
+    }
+}
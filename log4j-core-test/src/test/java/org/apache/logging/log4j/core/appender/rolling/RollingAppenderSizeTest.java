@@ -39,12 +39,14 @@ import java.util.concurrent.TimeUnit;
 import org.apache.commons.compress.compressors.CompressorException;
 import org.apache.commons.compress.compressors.CompressorInputStream;
 import org.apache.commons.compress.compressors.CompressorStreamFactory;
+import org.apache.commons.compress.compressors.zstandard.ZstdUtils;
 import org.apache.commons.compress.utils.IOUtils;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.appender.RollingFileAppender;
 import org.apache.logging.log4j.core.util.Closer;
 import org.apache.logging.log4j.core.test.junit.LoggerContextRule;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -87,6 +89,11 @@ public class RollingAppenderSizeTest {
                {"log4j-rolling-pack200.xml", ".pack200", false},
                {"log4j-rolling-xz-lazy.xml", ".xz", true},
                {"log4j-rolling-xz.xml", ".xz", false},
+               {"log4j-rolling-lz4-lazy.xml", ".lz4", true},
+               {"log4j-rolling-lz4.xml", ".lz4", false},
+                // Apache Commons Compress with zstd-jni
+               {"log4j-rolling-zstd-lazy.xml", ".zst", true},
+               {"log4j-rolling-zstd.xml", ".zst", false},
                 });
                 // @formatter:on
     }
@@ -102,6 +109,10 @@ public class RollingAppenderSizeTest {
 
     @Before
     public void setUp() throws Exception {
+        if (".zst".equals(fileExtension)) {
+            // zstd-jni is optional and relies on a native library
+            Assume.assumeTrue("zstd-jni is not available", ZstdUtils.isZstdCompressionAvailable());
+        }
         this.logger = this.loggerContextRule.getLogger(RollingAppenderSizeTest.class.getName());
     }
 
@@ -148,7 +159,8 @@ public class RollingAppenderSizeTest {
                 CompressorInputStream in = null;
                 try (FileInputStream fis = new FileInputStream(file)) {
                     try {
-                        in = new CompressorStreamFactory().createCompressorInputStream(ext.name().toLowerCase(), fis);
+                        final String name = FileExtension.LZ4 == ext ? "lz4-framed" : ext.name().toLowerCase();
+                        in = new CompressorStreamFactory().createCompressorInputStream(name, fis);
                     } catch (final CompressorException ce) {
                         ce.printStackTrace();
                         fail("Error creating input stream from " + file.toString() + ": " + ce.getMessage());
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests GzCompressAction.
+ */
+public class GzCompressActionTest {
+
+    @Test
+    public void testConstructorDisallowsNullSource() {
+        assertThrows(NullPointerException.class,
+                () -> new GzCompressAction(null, new File("any"), true, Deflater.DEFAULT_COMPRESSION, 4));
+    }
+
+    @Test
+    public void testExecuteRecordsStatistics(@TempDir final File tempDir) throws IOException {
+        final File source = new File(tempDir, "compressme");
+        final byte[] content = createContent(1000);
+        Files.write(source.toPath(), content);
+        final File destination = new File(tempDir, "compressme.gz");
+
+        final GzCompressAction action = new GzCompressAction(source, destination, true, Deflater.DEFAULT_COMPRESSION);
+        assertEquals(-1, action.getCompressionNanos());
+        assertTrue(action.execute(), "GzCompressAction should have succeeded");
+        assertFalse(source.exists(), "Source should have been deleted");
+
+        assertEquals(content.length, action.getUncompressedSize());
+        assertEquals(destination.length(), action.getCompressedSize());
+        assertTrue(action.getCompressionNanos() >= 0);
+        assertArrayEquals(content, decompress(destination));
+    }
+
+    @Test
+    public void testParallelExecuteWritesMultiMemberGzip(@TempDir final File tempDir) throws IOException {
+        final File source = new File(tempDir, "compressme");
+        final byte[] content = createContent(GzCompressAction.PARALLEL_CHUNK_SIZE / 20);
+        final int chunks = (content.length + GzCompressAction.PARALLEL_CHUNK_SIZE - 1)
+                / GzCompressAction.PARALLEL_CHUNK_SIZE;
+        assertTrue(chunks > 2);
+        Files.write(source.toPath(), content);
+        final File destination = new File(tempDir, "compressme.gz");
+
+        final GzCompressAction action = new GzCompressAction(source, destination, false, Deflater.BEST_SPEED, 4);
+        assertTrue(action.execute(), "GzCompressAction should have succeeded");
+        assertTrue(source.exists(), "Source should not have been deleted");
+
+        assertEquals(chunks, countMembers(destination));
+        assertArrayEquals(content, decompress(destination));
+    }
+
+    private static byte[] createContent(final int lines) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            sb.append("2021-01-01 00:00:00,000 INFO [main] Here is line ").append(i).append(" of the log\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] decompress(final File file) throws IOException {
+        try (InputStream in = new GZIPInputStream(new FileInputStream(file))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            copy(in, out);
+            return out.toByteArray();
+        }
+    }
+
+    private static int countMembers(final File file) throws IOException {
+        // gzip members start with the magic number followed by the deflate method
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+        int members = 0;
+        for (int i = 0; i + 2 < bytes.length; i++) {
+            if (bytes[i] == (byte) 0x1f && bytes[i + 1] == (byte) 0x8b && bytes[i + 2] == 8
+                    && (i == 0 || startsMember(bytes, i))) {
+                members++;
+            }
+        }
+        return members;
+    }
+
+    private static boolean startsMember(final byte[] bytes, final int offset) {
+        // the previous member ends with ISIZE, the size of its uncompressed data modulo 2^32
+        final int size = (bytes[offset - 4] & 0xff) | (bytes[offset - 3] & 0xff) << 8
+                | (bytes[offset - 2] & 0xff) << 16 | (bytes[offset - 1] & 0xff) << 24;
+        return size == GzCompressAction.PARALLEL_CHUNK_SIZE;
+    }
+
+    private static void copy(final InputStream in, final OutputStream out) throws IOException {
+        final byte[] buf = new byte[8192];
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            out.write(buf, 0, n);
+        }
+    }
+}
@@ -83,7 +83,7 @@ public abstract class AbstractAsyncThreadContextTestBase {
     }
 
     enum ContextImpl {
-        WEBAPP, GARBAGE_FREE, COPY_ON_WRITE;
+        WEBAPP, GARBAGE_FREE, COPY_ON_WRITE, PERSISTENT;
 
         void init() {
             System.clearProperty("log4j2.threadContextMap");
@@ -101,6 +101,8 @@ public abstract class AbstractAsyncThreadContextTestBase {
                     return "GarbageFreeSortedArrayThreadContextMap";
                 case COPY_ON_WRITE:
                     return "CopyOnWriteSortedArrayThreadContextMap";
+                case PERSISTENT:
+                    return "PersistentThreadContextMap";
             }
             throw new IllegalStateException("Unknown state " + this);
         }
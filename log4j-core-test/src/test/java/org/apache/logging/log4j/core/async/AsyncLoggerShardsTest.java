@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.apache.logging.log4j.core.test.categories.AsyncLoggers;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+@Category(AsyncLoggers.class)
+public class AsyncLoggerShardsTest {
+    @After
+    public void after() {
+        System.clearProperty("AsyncLogger.Shards");
+        System.clearProperty("AsyncLogger.ShardingStrategy");
+        PropertiesUtil.getProperties().reload();
+    }
+
+    @Before
+    public void before() {
+        after();
+    }
+
+    @Test
+    public void testSingleShardIfNotConfigured() {
+        final AsyncLoggerShards shards = new AsyncLoggerShards("test");
+        assertEquals(1, shards.getShardCount());
+        assertEquals(-1, shards.getShard(0).getShard());
+        assertFalse(shards.isPerEvent());
+        assertSame(AsyncLoggerShardingStrategy.DEFAULT_STRATEGY, shards.getStrategy());
+    }
+
+    @Test
+    public void testSingleShardIfInvalidConfig() {
+        System.setProperty("AsyncLogger.Shards", "-3");
+        System.setProperty("AsyncLogger.ShardingStrategy", "\\%%InValid ");
+        final AsyncLoggerShards shards = new AsyncLoggerShards("test");
+        assertEquals(1, shards.getShardCount());
+        assertSame(AsyncLoggerShardingStrategy.DEFAULT_STRATEGY, shards.getStrategy());
+    }
+
+    @Test
+    public void testShardsIfConfigured() {
+        System.setProperty("AsyncLogger.Shards", "4");
+        System.setProperty("AsyncLogger.ShardingStrategy", "LOGGER_CONFIG");
+        final AsyncLoggerShards shards = new AsyncLoggerShards("test");
+        assertEquals(4, shards.getShardCount());
+        assertSame(AsyncLoggerShardingStrategy.LOGGER_CONFIG, shards.getStrategy());
+        assertFalse(shards.isPerEvent());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, shards.getShard(i).getShard());
+        }
+    }
+
+    @Test
+    public void testThreadStrategySelectsShardOfCurrentThread() throws Exception {
+        final AsyncLoggerShards shards = new AsyncLoggerShards("test", 3, AsyncLoggerShardingStrategy.THREAD);
+        assertTrue(shards.isPerEvent());
+        final AsyncLoggerDisruptor expected = shards.getShard((int) (Thread.currentThread().getId() % 3));
+        assertSame(expected, shards.forLogger("a", "root"));
+        assertSame(expected, shards.forLogger("b", "other"));
+
+        final AsyncLoggerDisruptor[] other = new AsyncLoggerDisruptor[1];
+        final Thread thread = new Thread(() -> other[0] = shards.forLogger("a", "root"));
+        thread.start();
+        thread.join();
+        assertSame(shards.getShard((int) (thread.getId() % 3)), other[0]);
+    }
+
+    @Test
+    public void testLoggerStrategySelectsSameShardForSameLogger() {
+        final AsyncLoggerShards shards = new AsyncLoggerShards("test", 5, AsyncLoggerShardingStrategy.LOGGER);
+        assertFalse(shards.isPerEvent());
+        for (int i = 0; i < 100; i++) {
+            final String name = "com.example.Logger" + i;
+            assertSame(shards.forLogger(name, "root"), shards.forLogger(name, "com.example"));
+        }
+    }
+
+    @Test
+    public void testLoggerConfigStrategySelectsSameShardForSameLoggerConfig() {
+        final AsyncLoggerShards shards = new AsyncLoggerShards("test", 5, AsyncLoggerShardingStrategy.LOGGER_CONFIG);
+        for (int i = 0; i < 100; i++) {
+            assertSame(shards.forLogger("com.example.Logger" + i, "com.example"),
+                    shards.forLogger("Logger" + i, "com.example"));
+        }
+    }
+
+    @Test
+    public void testShardsStartAndStopIndependently() {
+        final AsyncLoggerShards shards = new AsyncLoggerShards("test", 2, AsyncLoggerShardingStrategy.THREAD);
+        shards.start();
+        try {
+            assertNotNull(shards.getShard(0).getDisruptor());
+            assertNotNull(shards.getShard(1).getDisruptor());
+            assertNotSame(shards.getShard(0).getDisruptor(), shards.getShard(1).getDisruptor());
+
+            final List<RingBufferAdmin> admins = shards.createRingBufferAdmins("test");
+            assertEquals(2, admins.size());
+            assertEquals("shard 0", "0", admins.get(0).getObjectName().getKeyProperty("shard"));
+            assertEquals("shard 1", "1", admins.get(1).getObjectName().getKeyProperty("shard"));
+            assertTrue(admins.get(0).getBufferSize() > 0);
+        } finally {
+            assertTrue(shards.stop(10, TimeUnit.SECONDS));
+        }
+        assertNull(shards.getShard(0).getDisruptor());
+        assertNull(shards.getShard(1).getDisruptor());
+    }
+
+    @Test
+    public void testShardsStopInParallel() {
+        final AsyncLoggerShards shards = new AsyncLoggerShards("test", 4, AsyncLoggerShardingStrategy.THREAD);
+        shards.start();
+        assertTrue(shards.stop(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            assertNull("shard " + i, shards.getShard(i).getDisruptor());
+            assertTrue("shard " + i, shards.getShard(i).isStopped());
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MpscBlockingQueueFactoryTest {
+
+    private static BlockingQueue<Integer> create(final boolean unbounded, final int capacity) {
+        return MpscBlockingQueueFactory.<Integer>createFactory(unbounded).create(capacity);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testFifoOrder(final boolean unbounded) {
+        final BlockingQueue<Integer> queue = create(unbounded, 16);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertEquals(10, queue.size());
+        assertEquals(0, queue.peek());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testBoundedQueueRejectsWhenFull() throws InterruptedException {
+        final BlockingQueue<Integer> queue = create(false, 3);
+        assertEquals(3, queue.remainingCapacity());
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertTrue(queue.offer(3));
+        assertFalse(queue.offer(4));
+        assertFalse(queue.offer(4, 10, TimeUnit.MILLISECONDS));
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals(1, queue.poll());
+        assertTrue(queue.offer(4));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testDrainTo(final boolean unbounded) {
+        final BlockingQueue<Integer> queue = create(unbounded, 16);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+        final List<Integer> batch = new ArrayList<>();
+        assertEquals(4, queue.drainTo(batch, 4));
+        assertEquals(List.of(0, 1, 2, 3), batch);
+        assertEquals(6, queue.drainTo(batch));
+        assertEquals(10, batch.size());
+        assertTrue(queue.isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testIterationAndRemoval(final boolean unbounded) {
+        final BlockingQueue<Integer> queue = create(unbounded, 16);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+        assertTrue(queue.contains(3));
+        assertFalse(queue.contains(7));
+        assertEquals("[0, 1, 2, 3, 4]", queue.toString());
+        assertArrayEquals(new Object[] {0, 1, 2, 3, 4}, queue.toArray());
+
+        assertTrue(queue.remove(2));
+        assertFalse(queue.remove(7));
+        final Iterator<Integer> iterator = queue.iterator();
+        assertEquals(0, iterator.next());
+        iterator.remove();
+        assertEquals(List.of(1, 3, 4), new ArrayList<>(queue));
+        assertEquals(1, queue.peek());
+
+        queue.offer(5);
+        assertEquals(1, queue.poll());
+        assertEquals(3, queue.poll());
+        assertEquals(4, queue.poll());
+        assertEquals(5, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testRemovedElementsDoNotCount(final boolean unbounded) {
+        final BlockingQueue<Integer> queue = create(unbounded, 4);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(i);
+        }
+        assertTrue(queue.remove(1));
+        final Iterator<Integer> iterator = queue.iterator();
+        assertEquals(0, iterator.next());
+        iterator.remove();
+        assertEquals(2, queue.size());
+        assertFalse(queue.isEmpty());
+        if (!unbounded) {
+            assertEquals(2, queue.remainingCapacity());
+            assertTrue(queue.offer(4));
+            assertTrue(queue.offer(5));
+            assertFalse(queue.offer(6));
+            assertEquals(0, queue.remainingCapacity());
+            assertEquals(4, queue.size());
+            assertTrue(queue.remove(4));
+            assertTrue(queue.remove(5));
+        }
+
+        assertTrue(queue.remove(2));
+        assertTrue(queue.remove(3));
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peek());
+        assertNull(queue.poll());
+        if (!unbounded) {
+            assertEquals(4, queue.remainingCapacity());
+        }
+        assertTrue(queue.offer(7));
+        assertEquals(1, queue.size());
+        assertEquals(7, queue.poll());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testPollTimesOutWhenEmpty(final boolean unbounded) throws InterruptedException {
+        final BlockingQueue<Integer> queue = create(unbounded, 16);
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @Timeout(10)
+    public void testTakeIsWokenUpByProducer(final boolean unbounded) throws InterruptedException {
+        final BlockingQueue<Integer> queue = create(unbounded, 16);
+        final CountDownLatch started = new CountDownLatch(1);
+        final Integer[] taken = new Integer[1];
+        final Thread consumer = new Thread(() -> {
+            started.countDown();
+            try {
+                taken[0] = queue.take();
+            } catch (final InterruptedException ignored) {
+                // test fails on assertion below
+            }
+        });
+        consumer.start();
+        started.await();
+        Thread.sleep(20);
+        queue.offer(42);
+        consumer.join();
+        assertEquals(42, taken[0]);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @Timeout(30)
+    public void testMultipleProducersPreserveOrderPerProducer(final boolean unbounded) throws InterruptedException {
+        final int producerCount = 4;
+        final int eventsPerProducer = 100_000;
+        final BlockingQueue<Integer> queue = create(unbounded, 128);
+        final List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            final int producer = p;
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    try {
+                        queue.put(producer * eventsPerProducer + i);
+                    } catch (final InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+        final int[] next = new int[producerCount];
+        for (int i = 0; i < producerCount * eventsPerProducer; i++) {
+            final int value = queue.take();
+            final int producer = value / eventsPerProducer;
+            assertEquals(next[producer]++, value % eventsPerProducer, "producer " + producer);
+        }
+        for (final Thread thread : producers) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.ConfigurationFactory;
+import org.apache.logging.log4j.core.test.categories.AsyncLoggers;
+import org.apache.logging.log4j.core.test.junit.LoggerContextRule;
+import org.apache.logging.log4j.core.util.Constants;
+import org.apache.logging.log4j.util.Strings;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests queue full scenarios with pure AsyncLoggers tuned for virtual threads.
+ */
+@RunWith(BlockJUnit4ClassRunner.class)
+@Category(AsyncLoggers.class)
+public class QueueFullAsyncLoggerVirtualThreadsTest extends QueueFullAbstractTest {
+
+    private static final int PRODUCERS = 16;
+    private static final int EVENTS_PER_PRODUCER = 50;
+
+    @BeforeClass
+    public static void beforeClass() {
+        System.setProperty("AsyncLogger.VirtualThreads", "true");
+        System.setProperty("AsyncLogger.RingBufferSize", "128"); // minimum ringbuffer size
+        System.setProperty(ConfigurationFactory.CONFIGURATION_FILE_PROPERTY,
+                "log4j2-queueFull.xml");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        System.clearProperty("AsyncLogger.VirtualThreads");
+        System.setProperty(Constants.LOG4J_CONTEXT_SELECTOR, Strings.EMPTY);
+    }
+
+    @Rule
+    public LoggerContextRule context = new LoggerContextRule(
+            "log4j2-queueFull.xml", AsyncLoggerContextSelector.class);
+
+    @Before
+    public void before() throws Exception {
+        blockingAppender = context.getRequiredAppender("Blocking", BlockingAppender.class);
+    }
+
+    @Test
+    public void testNoThreadLocalCaches() {
+        assertEquals(ThreadNameCachingStrategy.UNCACHED, ThreadNameCachingStrategy.create());
+        final AsyncLoggerDisruptor loggerDisruptor = new AsyncLoggerDisruptor("test");
+        assertFalse(loggerDisruptor.isUseThreadLocals());
+        loggerDisruptor.setUseThreadLocals(true);
+        assertFalse(loggerDisruptor.isUseThreadLocals());
+    }
+
+    @Test(timeout = 5000)
+    public void testNormalQueueFullKeepsMessagesInOrder() throws InterruptedException {
+        final Logger logger = LogManager.getLogger(this.getClass());
+
+        blockingAppender.countDownLatch = new CountDownLatch(1);
+        unlocker = new Unlocker(new CountDownLatch(129));
+        unlocker.start();
+
+        QueueFullAsyncLoggerTest.asyncLoggerTest(logger, unlocker, blockingAppender);
+    }
+
+    @Test(timeout = 15000)
+    public void testConcurrentProducersWaitingForRoomLoseNoEvents() throws Exception {
+        final Logger logger = LogManager.getLogger(this.getClass());
+
+        blockingAppender.countDownLatch = new CountDownLatch(1);
+        unlocker = new Unlocker(new CountDownLatch(1));
+        final ExecutorService executor = newProducerExecutor();
+        try {
+            final List<Future<?>> futures = new ArrayList<>(PRODUCERS);
+            for (int p = 0; p < PRODUCERS; p++) {
+                final int producer = p;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < EVENTS_PER_PRODUCER; i++) {
+                        logger.info("producer {} event {}", producer, i);
+                    }
+                }));
+            }
+            // the ring buffer holds 128 events: the producers must now be waiting for room
+            while (asyncRemainingCapacity(logger) > 0) {
+                Thread.sleep(1);
+            }
+            unlocker.start();
+            unlocker.countDownLatch.countDown();
+            for (final Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        while (blockingAppender.logEvents.size() < PRODUCERS * EVENTS_PER_PRODUCER) {
+            Thread.sleep(1);
+        }
+
+        // the events of each producer are in order
+        final int[] next = new int[PRODUCERS];
+        for (final LogEvent event : blockingAppender.logEvents) {
+            final Object[] parameters = event.getMessage().getParameters();
+            final int producer = ((Number) parameters[0]).intValue();
+            assertEquals(next[producer]++, ((Number) parameters[1]).intValue());
+        }
+        for (final int count : next) {
+            assertEquals(EVENTS_PER_PRODUCER, count);
+        }
+    }
+
+    /**
+     * Creates an executor running each task in a new virtual thread on Java 21 or later, in a new platform thread
+     * otherwise.
+     */
+    private static ExecutorService newProducerExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
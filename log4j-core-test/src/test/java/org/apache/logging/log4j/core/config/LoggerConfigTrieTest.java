@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.util.NameUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoggerConfigTrieTest {
+
+    private static final String[] CONFIG_NAMES = {
+            "", "org", "org.apache.logging", "org.apache.logging.log4j.core.Logger", "com.example.", ".hidden",
+            "a..b", "org.apache.logging.log4j.core.config.LoggerConfig$RootLogger"
+    };
+
+    private static final String[] LOGGER_NAMES = {
+            "", "org", "org.apache", "org.apache.logging", "org.apache.logging.log4j", "org.apache.logging.log4j.core",
+            "org.apache.logging.log4j.core.Logger", "org.apache.logging.log4j.core.LoggerContext",
+            "org.apache.logging.log4j.core.Logger.Inner", "com", "com.example", "com.example.", "com.example.Foo",
+            ".hidden", ".hidden.Foo", "hidden", "a", "a.", "a..b", "a..b.c", "a.b", "organization", "or",
+            "org.apache.logging.log4j.core.config.LoggerConfig$RootLogger",
+            "org.apache.logging.log4j.core.config.LoggerConfig"
+    };
+
+    @Test
+    public void testFindMatchesNameStripping() {
+        final Map<String, LoggerConfig> configs = new HashMap<>();
+        for (final String name : CONFIG_NAMES) {
+            configs.put(name, new LoggerConfig(name, Level.INFO, true));
+        }
+        final LoggerConfigTrie trie = LoggerConfigTrie.of(configs);
+        final LoggerConfigTrie incremental = new LoggerConfigTrie();
+        configs.forEach(incremental::put);
+        for (final String name : LOGGER_NAMES) {
+            final LoggerConfig expected = findByStripping(configs, name);
+            assertSame(expected, trie.find(name), name);
+            assertSame(expected, incremental.find(name), name);
+            for (int i = name.indexOf('.'); i > 0; i = name.indexOf('.', i + 1)) {
+                assertSame(findByStripping(configs, name.substring(0, i)), trie.find(name, i), name + " at " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testWithoutRoot() {
+        final LoggerConfigTrie trie = new LoggerConfigTrie();
+        assertNull(trie.find("org.apache"));
+        final LoggerConfig org = new LoggerConfig("org", Level.INFO, true);
+        trie.put("org", org);
+        assertSame(org, trie.find("org.apache"));
+        assertNull(trie.find("com"));
+        assertNull(trie.find(""));
+    }
+
+    @Test
+    public void testRemove() {
+        final LoggerConfigTrie trie = new LoggerConfigTrie();
+        final LoggerConfig org = new LoggerConfig("org", Level.INFO, true);
+        final LoggerConfig apache = new LoggerConfig("org.apache", Level.INFO, true);
+        trie.put("org", org);
+        trie.put("org.apache", apache);
+        assertSame(apache, trie.find("org.apache.logging"));
+        trie.remove("org.apache");
+        assertSame(org, trie.find("org.apache.logging"));
+        trie.remove("org.apache.logging");
+        trie.remove("com");
+        assertSame(org, trie.find("org.apache.logging"));
+    }
+
+    @Test
+    public void testManyChildren() {
+        final Map<String, LoggerConfig> configs = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            final String name = "com.example.package" + (i % 100) + ".Class" + i;
+            configs.put(name, new LoggerConfig(name, Level.INFO, true));
+        }
+        final LoggerConfigTrie trie = LoggerConfigTrie.of(configs);
+        final LoggerConfigTrie incremental = new LoggerConfigTrie();
+        configs.forEach(incremental::put);
+        for (final Map.Entry<String, LoggerConfig> entry : configs.entrySet()) {
+            assertSame(entry.getValue(), trie.find(entry.getKey()));
+            assertSame(entry.getValue(), incremental.find(entry.getKey() + ".Inner"));
+        }
+        assertNull(trie.find("com.example.package1.Class2"));
+    }
+
+    private static LoggerConfig findByStripping(final Map<String, LoggerConfig> configs, final String loggerName) {
+        LoggerConfig loggerConfig = configs.get(loggerName);
+        String substr = loggerName;
+        while (loggerConfig == null && (substr = NameUtil.getSubName(substr)) != null) {
+            loggerConfig = configs.get(substr);
+        }
+        return loggerConfig;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.FileAppender;
+import org.apache.logging.log4j.core.appender.RollingFileAppender;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the reuse of unchanged Appenders and LoggerConfigs by the automatic reconfiguration.
+ */
+public class ReuseUnchangedAppendersTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path configFile;
+    private LoggerContext context;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        configFile = tempDir.resolve("log4j2-reuse.xml");
+        writeConfig("%m", "first");
+        context = Configurator.initialize("ReuseUnchangedAppendersTest", configFile.toString());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Configurator.shutdown(context);
+    }
+
+    private void writeConfig(final String pattern, final String property) throws IOException {
+        final String dir = tempDir.toString().replace('\\', '/');
+        final String xml = "<Configuration status='OFF' name='ReuseUnchangedAppendersTest'>"
+                + "<Properties><Property name='prefix'>" + property + "</Property></Properties>"
+                + "<Appenders>"
+                + "<File name='File' fileName='" + dir + "/file.log'><PatternLayout pattern='%m%n'/></File>"
+                + "<RollingFile name='Rolling' fileName='" + dir + "/rolling.log' filePattern='" + dir
+                + "/rolling-%i.log'><PatternLayout pattern='%m%n'/><SizeBasedTriggeringPolicy size='1 MB'/>"
+                + "<DefaultRolloverStrategy max='2'/></RollingFile>"
+                + "<List name='Unchanged'/>"
+                + "<List name='Deferred'><PatternLayout pattern='$${prefix} %m'/></List>"
+                + "<List name='Changed'><PatternLayout pattern='" + pattern + "'/></List>"
+                + "<List name='Property'><PatternLayout pattern='${prefix} %m'/></List>"
+                + "<Async name='Async'><AppenderRef ref='Unchanged'/></Async>"
+                + "</Appenders>"
+                + "<Loggers>"
+                + "<Logger name='reused' level='INFO' additivity='false'>"
+                + "<AppenderRef ref='File'/><AppenderRef ref='Rolling'/></Logger>"
+                + "<Logger name='reused.child' level='INFO'/>"
+                + "<Logger name='recreated' level='INFO' additivity='false'><AppenderRef ref='Changed'/></Logger>"
+                + "<Root level='INFO'>"
+                + "<AppenderRef ref='Unchanged'/><AppenderRef ref='Deferred'/><AppenderRef ref='Changed'/>"
+                + "<AppenderRef ref='Property'/>"
+                + "</Root></Loggers>"
+                + "</Configuration>";
+        Files.write(configFile, xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void reconfigureOnChange() {
+        context.onChange((Reconfigurable) context.getConfiguration());
+    }
+
+    @Test
+    public void testUnchangedAppendersAreReused() throws IOException {
+        final Configuration first = context.getConfiguration();
+        final FileAppender file = first.getAppender("File");
+        final RollingFileAppender rolling = first.getAppender("Rolling");
+        final ListAppender unchanged = first.getAppender("Unchanged");
+        final ListAppender deferred = first.getAppender("Deferred");
+        final ListAppender changed = first.getAppender("Changed");
+        final ListAppender property = first.getAppender("Property");
+        final Appender async = first.getAppender("Async");
+        context.getLogger(getClass()).info("before");
+        context.getLogger("reused").info("before");
+
+        writeConfig("%p %m", "second");
+        reconfigureOnChange();
+        final Configuration second = context.getConfiguration();
+        assertNotSame(first, second);
+        assertTrue(first.isStopped());
+        context.getLogger(getClass()).info("after");
+        context.getLogger("reused").info("after");
+
+        assertSame(file, second.getAppender("File"));
+        assertTrue(file.isStarted());
+        assertSame(rolling, second.getAppender("Rolling"));
+        assertTrue(rolling.isStarted());
+        rolling.getManager().flush();
+        for (final String fileName : new String[] {"file.log", "rolling.log"}) {
+            final List<String> lines = Files.readAllLines(tempDir.resolve(fileName), StandardCharsets.UTF_8);
+            assertEquals(List.of("before", "after"), lines, fileName);
+        }
+
+        assertSame(unchanged, second.getAppender("Unchanged"));
+        assertTrue(unchanged.isStarted());
+        assertEquals(2, unchanged.getEvents().size());
+
+        // The reused PatternLayout resolves its lookups with the new configuration
+        assertSame(deferred, second.getAppender("Deferred"));
+        assertEquals(List.of("first before", "second after"), deferred.getMessages());
+
+        final ListAppender newChanged = second.getAppender("Changed");
+        assertNotSame(changed, newChanged);
+        assertTrue(changed.isStopped());
+        assertEquals("INFO after", newChanged.getMessages().get(0));
+
+        final ListAppender newProperty = second.getAppender("Property");
+        assertNotSame(property, newProperty);
+        assertTrue(property.isStopped());
+        assertEquals("second after", newProperty.getMessages().get(0));
+
+        // Appenders referencing other Appenders are always recreated
+        assertNotSame(async, second.getAppender("Async"));
+        assertTrue(async.isStopped());
+    }
+
+    @Test
+    public void testUnchangedLoggerConfigsAreReused() throws IOException {
+        final Configuration first = context.getConfiguration();
+        final LoggerConfig reused = first.getLoggerConfig("reused");
+        final LoggerConfig child = first.getLoggerConfig("reused.child");
+        final LoggerConfig recreated = first.getLoggerConfig("recreated");
+        final LoggerConfig root = first.getRootLogger();
+
+        writeConfig("%p %m", "second");
+        reconfigureOnChange();
+        final Configuration second = context.getConfiguration();
+
+        // All its Appenders are reused
+        assertSame(reused, second.getLoggerConfig("reused"));
+        assertTrue(reused.isStarted());
+        assertSame(second.getRootLogger(), reused.getParent());
+        assertSame(second.getAppender("File"), reused.getAppenders().get("File"));
+        // It has no Appenders, its parent is reused
+        assertSame(child, second.getLoggerConfig("reused.child"));
+        assertSame(reused, child.getParent());
+        // Its Appender was recreated
+        assertNotSame(recreated, second.getLoggerConfig("recreated"));
+        assertTrue(recreated.isStopped());
+        assertNotSame(root, second.getRootLogger());
+        assertTrue(root.isStopped());
+    }
+
+    @Test
+    public void testLoggerConfigWithLevelChangedAtRuntimeIsRecreated() {
+        final LoggerConfig reused = context.getConfiguration().getLoggerConfig("reused");
+        final Appender file = reused.getAppenders().get("File");
+        reused.setLevel(Level.DEBUG);
+        reconfigureOnChange();
+        final LoggerConfig recreated = context.getConfiguration().getLoggerConfig("reused");
+        assertNotSame(reused, recreated);
+        assertEquals(Level.INFO, recreated.getLevel());
+        assertSame(file, recreated.getAppenders().get("File"));
+    }
+
+    @Test
+    public void testReusedAppendersAreStoppedWithLastConfiguration() {
+        final ListAppender unchanged = context.getConfiguration().getAppender("Unchanged");
+        final FileAppender file = context.getConfiguration().getAppender("File");
+        final LoggerConfig reused = context.getConfiguration().getLoggerConfig("reused");
+        reconfigureOnChange();
+        reconfigureOnChange();
+        assertSame(unchanged, context.getConfiguration().getAppender("Unchanged"));
+        assertSame(file, context.getConfiguration().getAppender("File"));
+        assertSame(reused, context.getConfiguration().getLoggerConfig("reused"));
+        assertTrue(unchanged.isStarted());
+        assertTrue(file.isStarted());
+        Configurator.shutdown(context);
+        assertTrue(unchanged.isStopped());
+        assertTrue(file.isStopped());
+        assertTrue(reused.isStopped());
+    }
+
+    @Test
+    public void testExplicitReconfigurationRecreatesAppenders() {
+        final ListAppender unchanged = context.getConfiguration().getAppender("Unchanged");
+        final LoggerConfig reused = context.getConfiguration().getLoggerConfig("reused");
+        context.reconfigure();
+        assertNotSame(unchanged, context.getConfiguration().getAppender("Unchanged"));
+        assertTrue(unchanged.isStopped());
+        assertNotSame(reused, context.getConfiguration().getLoggerConfig("reused"));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config.compiled;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.ConsoleAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.tools.ConfigurationCompiler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledConfigurationTest {
+
+    private static final String PROPERTY = "CompiledConfigurationTest.level";
+
+    private static final String CONFIG = "<Configuration status='OFF' name='CompiledConfigurationTest'>"
+            + "<Properties><Property name='pattern'>[%p] %m</Property></Properties>"
+            + "<Appenders>"
+            + "<List name='List'><PatternLayout pattern='${pattern}'/><ThresholdFilter level='INFO'/></List>"
+            + "<SystemPropertyArbiter propertyName='" + PROPERTY + "'>"
+            + "<List name='Arbitrated'/>"
+            + "</SystemPropertyArbiter>"
+            + "</Appenders>"
+            + "<Loggers>"
+            + "<Logger name='org.example' level='${sys:" + PROPERTY + ":-WARN}' additivity='false'>"
+            + "<AppenderRef ref='List'/>"
+            + "</Logger>"
+            + "<Root level='ERROR'><AppenderRef ref='List'/></Root>"
+            + "</Loggers>"
+            + "</Configuration>";
+
+    @TempDir
+    Path tempDir;
+
+    private LoggerContext context;
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(PROPERTY);
+        if (context != null) {
+            Configurator.shutdown(context);
+        }
+    }
+
+    private Path compile() throws IOException {
+        final Path configFile = tempDir.resolve("log4j2.xml");
+        Files.write(configFile, CONFIG.getBytes(StandardCharsets.UTF_8));
+        final Path compiledFile = tempDir.resolve("log4j2.compiled");
+        ConfigurationCompiler.compile(configFile, compiledFile);
+        return compiledFile;
+    }
+
+    @Test
+    public void testCompiledConfiguration() throws IOException {
+        context = Configurator.initialize("CompiledConfigurationTest", compile().toString());
+        final Configuration config = context.getConfiguration();
+        assertTrue(config instanceof CompiledConfiguration, config.getClass().getName());
+        assertEquals("CompiledConfigurationTest", config.getName());
+        assertEquals(Level.ERROR, config.getRootLogger().getLevel());
+        assertEquals(Level.WARN, config.getLoggerConfig("org.example.Foo").getLevel());
+        assertNull(config.getAppender("Arbitrated"));
+
+        final ListAppender list = config.getAppender("List");
+        assertNotNull(list);
+        context.getLogger("org.example.Foo").warn("Hello");
+        context.getLogger("org.example.Foo").info("Dropped");
+        assertEquals("[WARN] Hello", list.getMessages().get(0));
+        assertEquals(1, list.getMessages().size());
+    }
+
+    @Test
+    public void testLookupsAndArbitersAreEvaluatedAtLoadTime() throws IOException {
+        final Path compiledFile = compile();
+        System.setProperty(PROPERTY, "DEBUG");
+        context = Configurator.initialize("CompiledConfigurationTest", compiledFile.toString());
+        final Configuration config = context.getConfiguration();
+        assertEquals(Level.DEBUG, config.getLoggerConfig("org.example.Foo").getLevel());
+        assertNotNull(config.getAppender("Arbitrated"));
+    }
+
+    @Test
+    public void testInvalidCompiledConfiguration() throws IOException {
+        final Path compiledFile = tempDir.resolve("invalid.compiled");
+        Files.write(compiledFile, CONFIG.getBytes(StandardCharsets.UTF_8));
+        context = Configurator.initialize("CompiledConfigurationTest", compiledFile.toString());
+        final Configuration config = context.getConfiguration();
+        assertTrue(config instanceof CompiledConfiguration, config.getClass().getName());
+        // falls back to the default configuration
+        assertEquals(1, config.getAppenders().size());
+        assertTrue(config.getAppenders().values().iterator().next() instanceof ConsoleAppender);
+    }
+
+    @Test
+    public void testCorruptStringLength() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x4C344A43);
+        out.writeInt(1);
+        // one root attribute, whose key claims to be 2 GB long
+        out.writeInt(1);
+        out.writeInt(Integer.MAX_VALUE);
+        out.writeBytes("status");
+        final Path compiledFile = tempDir.resolve("corrupt.compiled");
+        Files.write(compiledFile, bytes.toByteArray());
+        context = Configurator.initialize("CompiledConfigurationTest", compiledFile.toString());
+        final Configuration config = context.getConfiguration();
+        assertTrue(config instanceof CompiledConfiguration, config.getClass().getName());
+        // falls back to the default configuration
+        assertEquals(1, config.getAppenders().size());
+        assertTrue(config.getAppenders().values().iterator().next() instanceof ConsoleAppender);
+    }
+
+    @Test
+    public void testCompileJson() throws IOException {
+        final Path configFile = tempDir.resolve("log4j2.json");
+        final String json = "{'configuration': {'status': 'OFF', 'name': 'CompiledJson',"
+                + "'appenders': {'List': {'name': 'List'}},"
+                + "'loggers': {'logger': [{'name': 'org.example', 'level': 'DEBUG'}],"
+                + "'root': {'level': 'INFO', 'AppenderRef': {'ref': 'List'}}}}}";
+        Files.write(configFile, json.replace('\'', '"').getBytes(StandardCharsets.UTF_8));
+        final Path compiledFile = tempDir.resolve("log4j2.compiled");
+        ConfigurationCompiler.compile(configFile, compiledFile);
+        context = Configurator.initialize("CompiledConfigurationTest", compiledFile.toString());
+        final Configuration config = context.getConfiguration();
+        assertTrue(config instanceof CompiledConfiguration, config.getClass().getName());
+        assertEquals("CompiledJson", config.getName());
+        assertNotNull(config.getAppender("List"));
+        assertEquals(Level.DEBUG, config.getLoggerConfig("org.example.Foo").getLevel());
+    }
+}
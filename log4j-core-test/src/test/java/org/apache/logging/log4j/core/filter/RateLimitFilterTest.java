@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.core.test.junit.ReconfigurationPolicy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for <code>RateLimitFilter</code>.
+ */
+@LoggerContextSource(value = "log4j-ratelimit.xml", reconfigure = ReconfigurationPolicy.BEFORE_EACH)
+public class RateLimitFilterTest {
+
+    private static final long MILLIS = 1000000;
+
+    @Test
+    public void testMaxBurst(final LoggerContext context, @Named("ListAppender") final ListAppender app) {
+        final RateLimitFilter filter = (RateLimitFilter) app.getFilter();
+        final Logger logger = context.getLogger(getClass());
+        for (int i = 0; i < 110; i++) {
+            logger.info("Logging 110 messages, should only see 100 logs # " + (i + 1));
+        }
+        assertEquals(100, app.getMessages().size());
+        assertEquals(10, filter.getSuppressedCount());
+        logger.warn("Not filtered");
+        assertEquals(101, app.getMessages().size());
+    }
+
+    @Test
+    public void testBucketPerMarker(final LoggerContext context, @Named("ListAppender") final ListAppender app) {
+        final RateLimitFilter filter = (RateLimitFilter) app.getFilter();
+        final Logger logger = context.getLogger(getClass());
+        final Marker first = MarkerManager.getMarker("FIRST");
+        final Marker second = MarkerManager.getMarker("SECOND");
+        for (int i = 0; i < 110; i++) {
+            logger.info(first, "First # " + (i + 1));
+            logger.info(second, "Second # " + (i + 1));
+        }
+        assertEquals(200, app.getMessages().size());
+        assertEquals(20, filter.getSuppressedCount());
+        assertEquals(2, filter.getBucketCount());
+    }
+
+    @Test
+    public void testSummary(final LoggerContext context, @Named("ListAppender") final ListAppender app) {
+        final RateLimitFilter filter = (RateLimitFilter) app.getFilter();
+        final Logger logger = context.getLogger(getClass());
+        final Marker marker = MarkerManager.getMarker("SUMMARY_TEST");
+        for (int i = 0; i < 105; i++) {
+            logger.info(marker, "Summary # " + (i + 1));
+        }
+        app.clear();
+        filter.logSummary();
+        final List<String> messages = app.getMessages();
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0).contains("5 events suppressed by rate limit for marker SUMMARY_TEST"), messages.get(0));
+        app.clear();
+        filter.logSummary();
+        assertTrue(app.getMessages().isEmpty(), "Suppressed events were reported twice");
+    }
+
+    @Test
+    public void testRefill() {
+        final RateLimitFilter rateLimit = RateLimitFilter.newBuilder()
+                .setLevel(Level.INFO).setRate(10).setMaxBurst(5).setSummaryInterval(0).build();
+        final long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            assertSame(Result.NEUTRAL, rateLimit.filter(null, start));
+        }
+        assertSame(Result.DENY, rateLimit.filter(null, start));
+        assertSame(Result.DENY, rateLimit.filter(null, start + 50 * MILLIS));
+        assertSame(Result.NEUTRAL, rateLimit.filter(null, start + 100 * MILLIS));
+        assertSame(Result.DENY, rateLimit.filter(null, start + 100 * MILLIS));
+        // a long pause refills the bucket up to the maximum burst only
+        final long later = start + 60000 * MILLIS;
+        for (int i = 0; i < 5; i++) {
+            assertSame(Result.NEUTRAL, rateLimit.filter(null, later));
+        }
+        assertSame(Result.DENY, rateLimit.filter(null, later));
+        assertEquals(4, rateLimit.getSuppressedCount());
+    }
+
+    @Test
+    public void testDefaultMaxBurstForLowRate() {
+        // one event every 200 seconds, and a little more as a float
+        final RateLimitFilter rateLimit = RateLimitFilter.newBuilder()
+                .setLevel(Level.INFO).setRate(0.005f).setSummaryInterval(0).build();
+        final long start = System.nanoTime();
+        assertSame(Result.NEUTRAL, rateLimit.filter(null, start));
+        assertSame(Result.DENY, rateLimit.filter(null, start));
+        assertSame(Result.NEUTRAL, rateLimit.filter(null, start + 201000 * MILLIS));
+    }
+
+    @Test
+    public void testMaxKeys() {
+        final RateLimitFilter rateLimit = RateLimitFilter.newBuilder()
+                .setLevel(Level.INFO).setRate(1).setMaxBurst(1).setKey(RateLimitFilter.KeyType.LOGGER)
+                .setMaxKeys(2).setSummaryInterval(0).build();
+        final long now = System.nanoTime();
+        assertSame(Result.NEUTRAL, rateLimit.filter("a", now));
+        assertSame(Result.NEUTRAL, rateLimit.filter("b", now));
+        assertSame(Result.DENY, rateLimit.filter("a", now));
+        // further keys share the common bucket
+        assertSame(Result.NEUTRAL, rateLimit.filter("c", now));
+        assertSame(Result.DENY, rateLimit.filter("d", now));
+        assertEquals(2, rateLimit.getBucketCount());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.jmx.SamplingFilterAdminMBean;
+import org.apache.logging.log4j.core.jmx.Server;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for <code>SamplingFilter</code>.
+ */
+public class SamplingFilterTest {
+
+    private static final long MILLIS = 1000000;
+
+    @Test
+    @LoggerContextSource("log4j-sampling.xml")
+    public void testRatioPerTemplate(final LoggerContext context, @Named("ListAppender") final ListAppender app)
+            throws Exception {
+        final SamplingFilter filter = (SamplingFilter) app.getFilter();
+        final Logger logger = context.getLogger(getClass());
+        for (int i = 0; i < 100; i++) {
+            logger.debug("First {}", i);
+            logger.debug("Second {}", i);
+        }
+        logger.info("Not sampled");
+        assertEquals(21, app.getMessages().size());
+        assertEquals("DEBUG First 0", app.getMessages().get(0).trim());
+        assertEquals(20, filter.getSampledCount());
+        assertEquals(180, filter.getDroppedCount());
+        assertEquals(2, filter.getKeyCount());
+
+        final MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(String.format(SamplingFilterAdminMBean.PATTERN,
+                Server.escape(context.getName()), "debugSample"));
+        Server.reregisterMBeansAfterReconfigure(mbs);
+        assertTrue(mbs.isRegistered(name), name.toString());
+        assertEquals(180L, mbs.getAttribute(name, "DroppedCount"));
+        assertEquals("MESSAGE_TEMPLATE", mbs.getAttribute(name, "KeyType"));
+    }
+
+    @Test
+    public void testFixedRatio() {
+        final SamplingFilter filter = SamplingFilter.newBuilder().setRatio(3).build();
+        final long now = System.nanoTime();
+        final StringBuilder results = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            results.append(filter.filter(null, now) == Result.NEUTRAL ? 'K' : '-');
+        }
+        assertEquals("K--K--K", results.toString());
+    }
+
+    @Test
+    public void testAdaptiveRate() {
+        final SamplingFilter filter = SamplingFilter.newBuilder()
+                .setLevel(Level.DEBUG).setRate(10).setInterval(1000).build();
+        final long start = System.nanoTime();
+        // the first interval keeps at most rate * interval events
+        for (int i = 0; i < 1000; i++) {
+            filter.filter(null, start + i * MILLIS);
+        }
+        assertEquals(10, filter.getSampledCount());
+        // 1000 events per second were observed: the ratio is raised to keep 10 per second
+        filter.filter(null, start + 1000 * MILLIS);
+        assertEquals(100, filter.getCurrentRatio(null));
+        for (int i = 1; i < 1000; i++) {
+            filter.filter(null, start + (1000 + i) * MILLIS);
+        }
+        assertEquals(20, filter.getSampledCount());
+        // the ratio goes back down as the load decreases
+        filter.filter(null, start + 60000 * MILLIS);
+        assertEquals(2, filter.getCurrentRatio(null));
+        filter.filter(null, start + 120000 * MILLIS);
+        assertEquals(1, filter.getCurrentRatio(null));
+    }
+
+    @Test
+    public void testMaxKeys() {
+        final SamplingFilter filter = SamplingFilter.newBuilder()
+                .setRatio(2).setKey(SamplingFilter.KeyType.LOGGER).setMaxKeys(1).build();
+        final long now = System.nanoTime();
+        assertSame(Result.NEUTRAL, filter.filter("a", now));
+        assertSame(Result.DENY, filter.filter("a", now));
+        // further keys share the common sampler
+        assertSame(Result.NEUTRAL, filter.filter("b", now));
+        assertSame(Result.DENY, filter.filter("c", now));
+        assertEquals(1, filter.getKeyCount());
+    }
+}
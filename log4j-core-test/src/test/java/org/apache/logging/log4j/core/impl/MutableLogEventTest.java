@@ -114,6 +114,20 @@ public class MutableLogEventTest {
         assertEquals(source.getTimeMillis(), mutable.getTimeMillis(), "millis");
     }
 
+    @Test
+    public void testInitFromSharesFrozenContextData() {
+        final StringMap frozen = createContextData();
+        frozen.freeze();
+        final MutableLogEvent mutable = new MutableLogEvent();
+        mutable.initFrom(Log4jLogEvent.newBuilder().setContextData(frozen).build());
+        assertSame(frozen, mutable.getContextData(), "frozen contextMap is shared");
+
+        mutable.clear();
+        mutable.initFrom(Log4jLogEvent.newBuilder().setContextData(CONTEXT_DATA).build());
+        assertNotSame(CONTEXT_DATA, mutable.getContextData(), "mutable contextMap is copied");
+        assertEquals(CONTEXT_DATA, mutable.getContextData(), "contextMap");
+    }
+
     @Test
     public void testInitFromReusableCopiesFormatString() {
         Message message = ReusableMessageFactory.INSTANCE.newMessage("msg in a {}", "bottle");
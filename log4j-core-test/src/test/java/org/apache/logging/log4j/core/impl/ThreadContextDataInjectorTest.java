@@ -17,10 +17,15 @@
 package org.apache.logging.log4j.core.impl;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 
 import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.core.ContextDataInjector;
+import org.apache.logging.log4j.core.config.AppenderRef;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.spi.ReadOnlyThreadContextMap;
 import org.apache.logging.log4j.test.ThreadContextTest;
 import org.apache.logging.log4j.util.PropertiesUtil;
@@ -46,6 +51,7 @@ import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 
 @RunWith(Parameterized.class)
 public class ThreadContextDataInjectorTest {
@@ -54,6 +60,7 @@ public class ThreadContextDataInjectorTest {
         return asList(new String[][] {
                 { "org.apache.logging.log4j.spi.CopyOnWriteSortedArrayThreadContextMap", "org.apache.logging.log4j.spi.CopyOnWriteSortedArrayThreadContextMap" },
                 { "org.apache.logging.log4j.spi.GarbageFreeSortedArrayThreadContextMap", "org.apache.logging.log4j.spi.GarbageFreeSortedArrayThreadContextMap" },
+                { "org.apache.logging.log4j.spi.PersistentThreadContextMap", "org.apache.logging.log4j.spi.PersistentThreadContextMap" },
                 { "org.apache.logging.log4j.spi.DefaultThreadContextMap", null }
         });
     }
@@ -106,6 +113,38 @@ public class ThreadContextDataInjectorTest {
         }
     }
 
+    @Test
+    public void testContextDataWithProperties() {
+        prepareThreadContext(false);
+        final Property[] propertyArray = {Property.createProperty("foo", "prop"), Property.createProperty("qux", "quux")};
+        final List<Property> properties = LoggerConfig.newBuilder()
+                .withLoggerName("org.example")
+                .withRefs(new AppenderRef[0])
+                .withProperties(propertyArray)
+                .withConfig(new DefaultConfiguration())
+                .build()
+                .getPropertyList();
+        final ContextDataInjector contextDataInjector = createInjector();
+        final StringMap stringMap = contextDataInjector.injectContextData(properties, new SortedArrayStringMap());
+        assertThat("context map", stringMap.toMap(), allOf(hasEntry("foo", "bar"), hasEntry("qux", "quux")));
+        final StringMap fromList = contextDataInjector.injectContextData(asList(propertyArray),
+                new SortedArrayStringMap());
+        assertThat("context map", fromList.toMap(), is(equalTo(stringMap.toMap())));
+
+        final StringMap unchanged = contextDataInjector.injectContextData(properties, new SortedArrayStringMap());
+        assertThat("context map", unchanged.toMap(), is(equalTo(stringMap.toMap())));
+        if ("org.apache.logging.log4j.spi.PersistentThreadContextMap".equals(threadContextMapClassName)) {
+            // the snapshot combined with the same properties is reused
+            assertThat("context map", unchanged, is(sameInstance(stringMap)));
+        }
+
+        ThreadContext.put("baz", "bam");
+        final StringMap changed = contextDataInjector.injectContextData(properties, new SortedArrayStringMap());
+        assertThat("context map", changed.toMap(),
+                allOf(hasEntry("foo", "bar"), hasEntry("baz", "bam"), hasEntry("qux", "quux")));
+        assertThat("context map", stringMap.toMap(), not(hasKey("baz")));
+    }
+
     private void prepareThreadContext(boolean isThreadContextMapInheritable) {
         System.setProperty("log4j2.isThreadContextMapInheritable", Boolean.toString(isThreadContextMapInheritable));
         PropertiesUtil.getProperties().reload();
@@ -20,6 +20,8 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -300,6 +302,37 @@ public class StringBuilderEncoderTest {
         // no error
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"UTF-8", "ISO-8859-1", "US-ASCII"})
+    public void testDirectEncodingMatchesCharsetEncoder(final String charsetName) throws Exception {
+        final Charset charset = Charset.forName(charsetName);
+        assertNotNull(DirectEncoding.forCharset(charset));
+        final StringBuilder text = new StringBuilder( // ASCII, Latin-1, 日本語, an emoji and unpaired surrogates
+                "abc \u00e9\u00ff\u0100 \u65e5\u672c\u8a9e \ud83d\ude00 \ud83d-\ude00 \ud83d");
+        final byte[] expected = text.toString().getBytes(charset);
+        for (int bufferSize = 1; bufferSize <= expected.length + 1; bufferSize++) {
+            final SpyByteBufferDestination destination = new SpyByteBufferDestination(bufferSize, 100);
+            new StringBuilderEncoder(charset, 4, 8).encode(text, destination);
+            destination.drain(destination.getByteBuffer());
+
+            assertEquals(expected.length, destination.drained.position(), "length with buffer size " + bufferSize);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], destination.drained.get(i), "byte at " + i + " with buffer size " + bufferSize);
+            }
+        }
+    }
+
+    @Test
+    public void testDirectEncodingFillsBufferBeforeDraining() throws Exception {
+        final StringBuilder text = new StringBuilder("a\u00e9\u65e5"); // 1 + 2 + 3 bytes
+        final SpyByteBufferDestination destination = new SpyByteBufferDestination(4, 10);
+        DirectEncoding.UTF_8.encode(text, destination);
+
+        assertEquals(1, destination.drainPoints.size(), "drained");
+        assertEquals(4, destination.drainPoints.get(0).length(), "drained[0].length");
+        assertEquals(2, destination.buffer.position(), "destination.buf.pos");
+    }
+
     private StringBuilder createText(final int length) {
         final StringBuilder result = new StringBuilder(length);
         for (int i = 0; i < length; i++) {
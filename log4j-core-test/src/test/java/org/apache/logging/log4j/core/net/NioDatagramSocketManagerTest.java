@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.net;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.SocketAppender;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.test.junit.StatusLoggerLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests {@link NioDatagramSocketManager} against a local {@link DatagramChannel}.
+ */
+@StatusLoggerLevel("OFF")
+@Timeout(value = 60, unit = TimeUnit.SECONDS)
+class NioDatagramSocketManagerTest {
+
+    private static final String HOST = InetAddress.getLoopbackAddress().getHostAddress();
+
+    @Test
+    void events_are_sent_one_per_datagram() throws IOException {
+        try (final DatagramChannel receiver = openReceiver()) {
+            final NioDatagramSocketManager manager = createManager(receiver, 100, false);
+            try {
+                for (int i = 0; i < 3; i++) {
+                    writeLine(manager, i);
+                }
+                for (int i = 0; i < 3; i++) {
+                    assertEquals(line(i) + '\n', receive(receiver));
+                }
+                assertEquals(3, manager.getSentDatagramCount());
+                assertEquals(3, manager.getSentEventCount());
+            } finally {
+                manager.close();
+            }
+        }
+    }
+
+    @Test
+    void events_are_packed_into_datagrams() throws IOException {
+        final int maxDatagramSize = 512;
+        try (final DatagramChannel receiver = openReceiver()) {
+            final NioDatagramSocketManager manager = createManager(receiver, maxDatagramSize, true);
+            try {
+                final int eventCount = 10_000;
+                for (int i = 0; i < eventCount; i++) {
+                    writeLine(manager, i);
+                }
+                await().atMost(30, TimeUnit.SECONDS).until(() -> manager.getSentEventCount() == eventCount);
+                assertTrue(
+                        manager.getSentDatagramCount() < eventCount,
+                        "was expecting packed datagrams, found: " + manager.getSentDatagramCount());
+
+                // Loopback may drop datagrams under load, but those received hold whole lines within the limit.
+                final String datagram = receive(receiver);
+                assertTrue(datagram.length() <= maxDatagramSize, "datagram too large: " + datagram.length());
+                assertTrue(datagram.endsWith("\n"));
+                for (final String line : datagram.split("\n")) {
+                    final int index = Integer.parseInt(line.substring(0, line.indexOf(' ')));
+                    assertEquals(line(index), line);
+                }
+            } finally {
+                manager.close();
+            }
+        }
+    }
+
+    @Test
+    void oversized_events_are_sent_on_their_own() throws IOException {
+        final int maxDatagramSize = 64;
+        try (final DatagramChannel receiver = openReceiver()) {
+            final NioDatagramSocketManager manager = createManager(receiver, maxDatagramSize, true);
+            try {
+                final StringBuilder largeLine = new StringBuilder();
+                while (largeLine.length() <= maxDatagramSize) {
+                    largeLine.append(line(largeLine.length()));
+                }
+                final byte[] bytes = (largeLine + "\n").getBytes(StandardCharsets.UTF_8);
+                manager.writeBytes(bytes, 0, bytes.length);
+                manager.flush();
+                assertEquals(largeLine + "\n", receive(receiver));
+            } finally {
+                manager.close();
+            }
+        }
+    }
+
+    @Test
+    void large_events_are_sent_in_one_datagram() throws IOException {
+        final String message = largeMessage();
+        final LogEvent event = Log4jLogEvent.newBuilder()
+                .setLoggerName(NioDatagramSocketManagerTest.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(message))
+                .build();
+        final DefaultConfiguration configuration = new DefaultConfiguration();
+        final PatternLayout layout = PatternLayout.newBuilder()
+                .setConfiguration(configuration)
+                .setPattern("%m%n")
+                .build();
+        try (final DatagramChannel receiver = openReceiver()) {
+            final SocketAppender appender = SocketAppender.newBuilder()
+                    .setName("NioUdp")
+                    .setHost(HOST)
+                    .setPort(((InetSocketAddress) receiver.getLocalAddress()).getPort())
+                    .setProtocol(Protocol.UDP)
+                    .setNonBlocking(true)
+                    .setLayout(layout)
+                    .setConfiguration(configuration)
+                    .build();
+            appender.start();
+            final NioDatagramSocketManager manager = (NioDatagramSocketManager) appender.getManager();
+            try {
+                appender.append(event);
+                assertEquals(message + '\n', receive(receiver));
+
+                // The encoder writes into the buffer of the manager, which queues the event when flushed.
+                layout.encode(event, manager);
+                manager.flush();
+                assertEquals(message + '\n', receive(receiver));
+                await().atMost(10, TimeUnit.SECONDS).until(() -> manager.getSentDatagramCount() == 2);
+                assertEquals(2, manager.getSentEventCount());
+            } finally {
+                appender.stop();
+            }
+        }
+    }
+
+    @Test
+    void events_not_sent_in_time_are_counted_as_dropped() throws IOException {
+        try (final DatagramChannel receiver = openReceiver()) {
+            final int port = ((InetSocketAddress) receiver.getLocalAddress()).getPort();
+            final NioDatagramSocketManager manager = NioDatagramSocketManager.getSocketManager(
+                    HOST, port, null, 100, false, 4 * 1024 * 1024, OverflowPolicy.BLOCK);
+            final int eventCount = 100_000;
+            for (int i = 0; i < eventCount; i++) {
+                writeLine(manager, i);
+            }
+            // Interrupts the I/O thread with events still queued, which closes the channel.
+            manager.stop(1, TimeUnit.MILLISECONDS);
+            await().atMost(30, TimeUnit.SECONDS).until(() -> manager.getSentEventCount()
+                    + manager.getFailedDatagramCount() + manager.getDroppedEventCount() == eventCount);
+            // Only the datagram sent when the thread was interrupted failed, the others were not sent at all.
+            assertTrue(manager.getFailedDatagramCount() <= 1, "failed datagrams: " + manager.getFailedDatagramCount());
+        }
+    }
+
+    private static DatagramChannel openReceiver() throws IOException {
+        final DatagramChannel receiver = DatagramChannel.open();
+        receiver.setOption(StandardSocketOptions.SO_RCVBUF, 1024 * 1024);
+        receiver.bind(new InetSocketAddress(HOST, 0));
+        return receiver;
+    }
+
+    private static NioDatagramSocketManager createManager(
+            final DatagramChannel receiver, final int maxDatagramSize, final boolean packDatagrams)
+            throws IOException {
+        final int port = ((InetSocketAddress) receiver.getLocalAddress()).getPort();
+        return NioDatagramSocketManager.getSocketManager(
+                HOST, port, null, maxDatagramSize, packDatagrams, 64 * 1024, OverflowPolicy.BLOCK);
+    }
+
+    private static String receive(final DatagramChannel receiver) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(65536);
+        receiver.receive(buffer);
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    private static void writeLine(final NioDatagramSocketManager manager, final int index) {
+        final byte[] bytes = (line(index) + '\n').getBytes(StandardCharsets.UTF_8);
+        manager.writeBytes(bytes, 0, bytes.length);
+        manager.flush();
+    }
+
+    private static String largeMessage() {
+        final StringBuilder message = new StringBuilder();
+        while (message.length() <= 2 * NioDatagramSocketManager.DEFAULT_MAX_DATAGRAM_SIZE) {
+            message.append(line(message.length())).append(' ');
+        }
+        return message.toString();
+    }
+
+    private static String line(final int index) {
+        return index + " The quick brown fox jumps over the lazy dog";
+    }
+
+}
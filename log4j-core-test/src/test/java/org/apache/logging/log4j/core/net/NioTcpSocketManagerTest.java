@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.net;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.test.junit.StatusLoggerLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests {@link NioTcpSocketManager} against a local {@link ServerSocketChannel}.
+ */
+@StatusLoggerLevel("OFF")
+@Timeout(value = 60, unit = TimeUnit.SECONDS)
+class NioTcpSocketManagerTest {
+
+    private static final String HOST = InetAddress.getLoopbackAddress().getHostAddress();
+
+    private static final int BUFFER_SIZE = 1024;
+
+    @Test
+    void events_are_sent_in_order() throws IOException {
+        try (final ServerSocketChannel server = openServer(0)) {
+            final int port = server.socket().getLocalPort();
+            final NioTcpSocketManager manager = createManager(port, OverflowPolicy.BLOCK, 4 * BUFFER_SIZE);
+            try (final SocketChannel client = server.accept();
+                 final BufferedReader reader = createReader(client)) {
+                final int lineCount = 10_000;
+                for (int i = 0; i < lineCount; i++) {
+                    writeLine(manager, i);
+                }
+                for (int i = 0; i < lineCount; i++) {
+                    assertEquals(line(i), reader.readLine());
+                }
+                assertEquals(0, manager.getDroppedEventCount());
+            } finally {
+                manager.close();
+            }
+        }
+    }
+
+    @Test
+    void drop_policy_does_not_block_on_slow_peer() throws IOException {
+        try (final ServerSocketChannel server = openServer(0)) {
+            final int port = server.socket().getLocalPort();
+            final NioTcpSocketManager manager = createManager(port, OverflowPolicy.DROP, 4 * BUFFER_SIZE);
+            try (final SocketChannel client = server.accept()) {
+
+                // Write much more than socket buffers can hold while the peer does not read.
+                final int lineCount = 200_000;
+                for (int i = 0; i < lineCount; i++) {
+                    writeLine(manager, i);
+                }
+                final long droppedEventCount = manager.getDroppedEventCount();
+                assertTrue(droppedEventCount > 0, "was expecting dropped events");
+
+                // Whatever was not dropped arrives complete and in order.
+                try (final BufferedReader reader = createReader(client)) {
+                    int lastIndex = -1;
+                    for (long received = 0; received < lineCount - droppedEventCount; received++) {
+                        final String line = reader.readLine();
+                        final int index = Integer.parseInt(line.substring(0, line.indexOf(' ')));
+                        assertEquals(line(index), line);
+                        assertTrue(index > lastIndex, "out of order: " + index + " after " + lastIndex);
+                        lastIndex = index;
+                    }
+                }
+            } finally {
+                manager.close();
+            }
+        }
+    }
+
+    @Test
+    void drop_policy_drops_whole_events() throws IOException {
+        try (final ServerSocketChannel server = openServer(0)) {
+            final int port = server.socket().getLocalPort();
+            final NioTcpSocketManager manager = createManager(port, OverflowPolicy.DROP, 4 * BUFFER_SIZE);
+            try (final SocketChannel client = server.accept()) {
+
+                // Events larger than the buffer are drained from it in several pieces.
+                final int lineCount = 2_000;
+                for (int i = 0; i < lineCount; i++) {
+                    manager.writeBytes(ByteBuffer.wrap((largeLine(i) + '\n').getBytes(StandardCharsets.UTF_8)));
+                    manager.flush();
+                }
+                // The peer does not read: the events that could not be sent are dropped on stop.
+                manager.stop(100, TimeUnit.MILLISECONDS);
+
+                final ByteArrayOutputStream received = new ByteArrayOutputStream();
+                try (final InputStream inputStream = Channels.newInputStream(client)) {
+                    final byte[] bytes = new byte[8192];
+                    int length;
+                    while ((length = inputStream.read(bytes)) >= 0) {
+                        received.write(bytes, 0, length);
+                    }
+                }
+                final String text = received.toString(StandardCharsets.UTF_8.name());
+                // An event cut by the closed connection counts as dropped.
+                final String[] lines = text.substring(0, text.lastIndexOf('\n') + 1).split("\n");
+                int lastIndex = -1;
+                for (final String line : lines) {
+                    final int index = Integer.parseInt(line.substring(0, line.indexOf(' ')));
+                    assertEquals(largeLine(index), line);
+                    assertTrue(index > lastIndex, "out of order: " + index + " after " + lastIndex);
+                    lastIndex = index;
+                }
+                assertTrue(manager.getDroppedEventCount() > 0, "was expecting dropped events");
+                assertEquals(lineCount, lines.length + manager.getDroppedEventCount());
+            }
+        }
+    }
+
+    @Test
+    void reconnects_after_peer_closes() throws IOException {
+        final int port;
+        final NioTcpSocketManager manager;
+        try (final ServerSocketChannel server = openServer(0)) {
+            port = server.socket().getLocalPort();
+            manager = createManager(port, OverflowPolicy.BLOCK, 4 * BUFFER_SIZE);
+            try (final SocketChannel client = server.accept();
+                 final BufferedReader reader = createReader(client)) {
+                writeLine(manager, 0);
+                assertEquals(line(0), reader.readLine());
+            }
+        }
+        try (final ServerSocketChannel server = openServer(port)) {
+            // Keep writing, the first writes may still be accepted by the closed connection.
+            server.configureBlocking(false);
+            final SocketChannel[] clientRef = new SocketChannel[1];
+            await().atMost(30, TimeUnit.SECONDS).until(() -> {
+                writeLine(manager, 1);
+                clientRef[0] = server.accept();
+                return clientRef[0] != null;
+            });
+            try (final SocketChannel client = clientRef[0];
+                 final BufferedReader reader = createReader(client)) {
+                client.configureBlocking(true);
+                assertEquals(line(1), reader.readLine());
+                assertTrue(manager.isConnected());
+            } finally {
+                manager.close();
+            }
+        }
+    }
+
+    private static ServerSocketChannel openServer(final int port) throws IOException {
+        final ServerSocketChannel server = ServerSocketChannel.open();
+        server.socket().setReuseAddress(true);
+        server.bind(new InetSocketAddress(HOST, port));
+        return server;
+    }
+
+    private static NioTcpSocketManager createManager(
+            final int port, final OverflowPolicy overflowPolicy, final int maxPendingBytes) {
+        return NioTcpSocketManager.getSocketManager(
+                HOST, port, 1000, 100, null, BUFFER_SIZE, maxPendingBytes, overflowPolicy, null);
+    }
+
+    private static BufferedReader createReader(final SocketChannel client) {
+        return new BufferedReader(new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+    }
+
+    private static void writeLine(final NioTcpSocketManager manager, final int index) {
+        final byte[] bytes = (line(index) + '\n').getBytes(StandardCharsets.UTF_8);
+        manager.writeBytes(bytes, 0, bytes.length);
+        manager.flush();
+    }
+
+    private static String line(final int index) {
+        return index + " The quick brown fox jumps over the lazy dog";
+    }
+
+    private static String largeLine(final int index) {
+        final StringBuilder sb = new StringBuilder(line(index));
+        while (sb.length() < 3 * BUFFER_SIZE) {
+            sb.append(' ').append(index);
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.NullConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledPatternFormatterTest {
+
+    private final Configuration config = new NullConfiguration();
+
+    private final LogEvent event = Log4jLogEvent.newBuilder() //
+            .setLoggerName("org.apache.logging.log4j.core.pattern.CompiledPatternFormatterTest") //
+            .setLevel(Level.WARN) //
+            .setMessage(new SimpleMessage("Hello, world")) //
+            .setThreadName("main") //
+            .setTimeMillis(1_234_567_890L) //
+            .build();
+
+    private List<PatternFormatter> parse(final String pattern) {
+        final PatternParser parser = new PatternParser(config, PatternLayout.KEY, LogEventPatternConverter.class);
+        return parser.parse(pattern);
+    }
+
+    private static String format(final List<PatternFormatter> formatters, final LogEvent event) {
+        final StringBuilder sb = new StringBuilder();
+        for (final PatternFormatter formatter : formatters) {
+            formatter.format(event, sb);
+        }
+        return sb.toString();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "plain text",
+            "%m%n",
+            "%d{UNIX_MILLIS} [%t] %-5level %c{1.} - %m%n",
+            "[%5.-3level] %20.20logger %msg",
+            "%level ${sys:does.not.exist:-fallback} %m",
+            "%highlight{%level}{STYLE=Logback} %style{%m}{bold}"})
+    public void testSameOutputAsFormatters(final String pattern) {
+        final List<PatternFormatter> formatters = parse(pattern);
+        final CompiledPatternFormatter compiled =
+                CompiledPatternFormatter.compile(formatters.toArray(new PatternFormatter[0]));
+        final StringBuilder sb = new StringBuilder();
+        compiled.format(event, sb);
+        assertEquals(format(formatters, event), sb.toString());
+    }
+
+    @Test
+    public void testConstantsAreFolded() {
+        // %m, %n, "--", %n
+        final List<PatternFormatter> formatters = parse("%m%n--%n");
+        assertEquals(4, formatters.size());
+        final CompiledPatternFormatter compiled =
+                CompiledPatternFormatter.compile(formatters.toArray(new PatternFormatter[0]));
+        assertEquals(2, compiled.getSegmentCount());
+        assertFalse(compiled.requiresLocation());
+    }
+
+    @Test
+    public void testRequiresLocation() {
+        final CompiledPatternFormatter compiled =
+                CompiledPatternFormatter.compile(parse("%m %L").toArray(new PatternFormatter[0]));
+        assertTrue(compiled.requiresLocation());
+    }
+
+    @Test
+    public void testFallbackWhenAllCallSitesAreBound() {
+        final List<PatternFormatter> formatters = parse("[%t] %level - %m");
+        final String expected = format(formatters, event);
+        final List<CompiledPatternFormatter> compiled = new ArrayList<>();
+        // more formatters than call sites, all strongly reachable
+        for (int i = 0; i < 10; i++) {
+            compiled.add(CompiledPatternFormatter.compile(formatters.toArray(new PatternFormatter[0])));
+        }
+        assertFalse(compiled.get(compiled.size() - 1).isBoundToCallSite());
+        for (final CompiledPatternFormatter formatter : compiled) {
+            final StringBuilder sb = new StringBuilder();
+            formatter.format(event, sb);
+            assertEquals(expected, sb.toString());
+        }
+    }
+
+    @Test
+    public void testCompiledLayout() {
+        final String pattern = "%d{UNIX_MILLIS} [%t] %-5level %c{1.} - %m%n";
+        final PatternLayout compiled = PatternLayout.newBuilder()
+                .setConfiguration(config)
+                .setPattern(pattern)
+                .setCompiled(true)
+                .build();
+        final PatternLayout interpreted = PatternLayout.newBuilder()
+                .setConfiguration(config)
+                .setPattern(pattern)
+                .build();
+        assertEquals(interpreted.toSerializable(event), compiled.toSerializable(event));
+    }
+}
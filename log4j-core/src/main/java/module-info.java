@@ -28,6 +28,7 @@ module org.apache.logging.log4j.core {
     exports org.apache.logging.log4j.core.config.arbiters;
     exports org.apache.logging.log4j.core.config.builder.api;
     exports org.apache.logging.log4j.core.config.builder.impl;
+    exports org.apache.logging.log4j.core.config.compiled;
     exports org.apache.logging.log4j.core.config.composite;
     exports org.apache.logging.log4j.core.config.json;
     exports org.apache.logging.log4j.core.config.plugins;
@@ -63,6 +64,7 @@ module org.apache.logging.log4j.core {
     // Optional Dependencies
     requires static java.desktop;
     requires static java.management;
+    requires static java.net.http;
     requires static java.sql;
     requires static java.rmi;
     requires static java.xml;
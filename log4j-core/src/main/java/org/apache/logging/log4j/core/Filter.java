@@ -306,4 +306,21 @@ public interface Filter extends LifeCycle {
      */
     Result filter(LogEvent event);
 
+    /**
+     * Determines whether this filter may {@linkplain Result#ACCEPT accept} events of the given level, based only on
+     * their level and on whether they have a marker. Loggers do not consult a configuration-wide filter for events less
+     * specific than their level that the filter cannot accept, since such events would not be logged anyway.
+     * <p>
+     * The default implementation returns {@code true}, which is always correct.
+     * </p>
+     *
+     * @param level The event logging Level.
+     * @param hasMarker {@code true} if the event has a Marker.
+     * @return {@code false} if this filter never returns {@link Result#ACCEPT} for such events.
+     * @since 3.0.0
+     */
+    default boolean mayAccept(final Level level, final boolean hasMarker) {
+        return true;
+    }
+
 }
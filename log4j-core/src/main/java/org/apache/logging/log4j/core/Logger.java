@@ -390,6 +390,12 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         private final int intLevel;
         private final Logger logger;
         private final boolean requiresLocation;
+        /** The configuration filter {@link #filterIntLevel} and {@link #markerFilterIntLevel} were computed for. */
+        private final Filter filter;
+        /** The configuration filter is only consulted for events without marker up to this level. */
+        private final int filterIntLevel;
+        /** The configuration filter is only consulted for events with a marker up to this level. */
+        private final int markerFilterIntLevel;
 
         public PrivateConfig(final Configuration config, final Logger logger) {
             this.config = config;
@@ -398,6 +404,9 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             this.intLevel = this.loggerConfigLevel.intLevel();
             this.logger = logger;
             this.requiresLocation = this.loggerConfig.requiresLocation();
+            this.filter = this.config.getFilter();
+            this.filterIntLevel = filterIntLevel(this.filter, this.intLevel, false);
+            this.markerFilterIntLevel = filterIntLevel(this.filter, this.intLevel, true);
         }
 
         public PrivateConfig(final PrivateConfig pc, final Level level) {
@@ -407,6 +416,9 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             this.intLevel = this.loggerConfigLevel.intLevel();
             this.logger = pc.logger;
             this.requiresLocation = this.loggerConfig.requiresLocation();
+            this.filter = this.config.getFilter();
+            this.filterIntLevel = filterIntLevel(this.filter, this.intLevel, false);
+            this.markerFilterIntLevel = filterIntLevel(this.filter, this.intLevel, true);
         }
 
         public PrivateConfig(final PrivateConfig pc, final LoggerConfig lc) {
@@ -416,6 +428,34 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             this.intLevel = this.loggerConfigLevel.intLevel();
             this.logger = pc.logger;
             this.requiresLocation = this.loggerConfig.requiresLocation();
+            this.filter = this.config.getFilter();
+            this.filterIntLevel = filterIntLevel(this.filter, this.intLevel, false);
+            this.markerFilterIntLevel = filterIntLevel(this.filter, this.intLevel, true);
+        }
+
+        /**
+         * Returns the least specific level of the events the given configuration filter must be consulted for: events
+         * less specific than the logger level can only be logged if the filter may accept them.
+         */
+        private int filterIntLevel(final Filter configFilter, final int loggerIntLevel, final boolean hasMarker) {
+            int result = loggerIntLevel;
+            if (configFilter != null) {
+                for (final Level level : Level.values()) {
+                    if (level.intLevel() > result && configFilter.mayAccept(level, hasMarker)) {
+                        result = level.intLevel();
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Determines whether the configuration filter must be consulted for an event. This reduces to an int comparison
+         * unless the configuration filter was replaced since this PrivateConfig was created.
+         */
+        private boolean isFiltered(final Filter configFilter, final Level level, final Marker marker) {
+            return configFilter != filter || level == null
+                    || level.intLevel() <= (marker == null ? filterIntLevel : markerFilterIntLevel);
         }
 
         // LOG4J2-151: changed visibility to public
@@ -425,7 +465,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
 
         boolean filter(final Level level, final Marker marker, final String msg) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -436,7 +476,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
 
         boolean filter(final Level level, final Marker marker, final String msg, final Throwable t) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, (Object) msg, t);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -447,7 +487,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
 
         boolean filter(final Level level, final Marker marker, final String msg, final Object... p1) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, p1);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -458,7 +498,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
 
         boolean filter(final Level level, final Marker marker, final String msg, final Object p0) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, p0);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -470,7 +510,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final String msg, final Object p0,
                 final Object p1) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -482,7 +522,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final String msg, final Object p0,
                 final Object p1, final Object p2) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -494,7 +534,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final String msg, final Object p0,
                 final Object p1, final Object p2, final Object p3) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -507,7 +547,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p1, final Object p2, final Object p3,
                 final Object p4) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -520,7 +560,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p1, final Object p2, final Object p3,
                 final Object p4, final Object p5) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -533,7 +573,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p1, final Object p2, final Object p3,
                 final Object p4, final Object p5, final Object p6) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -547,7 +587,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p4, final Object p5, final Object p6,
                 final Object p7) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -561,7 +601,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p4, final Object p5, final Object p6,
                 final Object p7, final Object p8) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -575,7 +615,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p4, final Object p5, final Object p6,
                 final Object p7, final Object p8, final Object p9) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8,
                         p9);
                 if (r != Filter.Result.NEUTRAL) {
@@ -587,7 +627,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
 
         boolean filter(final Level level, final Marker marker, final CharSequence msg, final Throwable t) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, t);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -598,7 +638,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
 
         boolean filter(final Level level, final Marker marker, final Object msg, final Throwable t) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, t);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
@@ -609,7 +649,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
 
         boolean filter(final Level level, final Marker marker, final Message msg, final Throwable t) {
             final Filter filter = config.getFilter();
-            if (filter != null) {
+            if (filter != null && isFiltered(filter, level, marker)) {
                 final Filter.Result r = filter.filter(logger, level, marker, msg, t);
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
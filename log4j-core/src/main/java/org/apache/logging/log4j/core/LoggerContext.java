@@ -17,6 +17,7 @@
 package org.apache.logging.log4j.core;
 
 import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.AbstractConfiguration;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.ConfigurationFactory;
 import org.apache.logging.log4j.core.config.ConfigurationListener;
@@ -772,6 +773,10 @@ public class LoggerContext extends AbstractLifeCycle
 
     /**
      * Causes a reconfiguration to take place when the underlying configuration file changes.
+     * <p>
+     * Unless the {@code log4j2.reuseUnchangedAppenders} property is set to {@code false}, the new configuration reuses
+     * the Appenders and LoggerConfigs whose definition did not change instead of recreating them.
+     * </p>
      *
      * @param reconfigurable The Configuration that can be reconfigured.
      */
@@ -782,6 +787,10 @@ public class LoggerContext extends AbstractLifeCycle
         initApiModule();
         final Configuration newConfig = reconfigurable.reconfigure();
         if (newConfig != null) {
+            if (newConfig instanceof AbstractConfiguration && PropertiesUtil.getProperties()
+                    .getBooleanProperty("log4j2.reuseUnchangedAppenders", true)) {
+                ((AbstractConfiguration) newConfig).reuseUnchangedAppenders(configuration);
+            }
             setConfiguration(newConfig);
             LOGGER.debug("Reconfiguration completed for {} ({}) in {} milliseconds.", contextName, this,
                     System.currentTimeMillis() - startMillis);
@@ -26,6 +26,7 @@ import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.plugins.PluginBuilderAttribute;
 import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
@@ -230,6 +231,19 @@ public abstract class AbstractAppender extends AbstractFilterable implements App
         return layout;
     }
 
+    /**
+     * Binds the Layout of this Appender to the given configuration, if the Layout depends on it. Appenders that
+     * implement {@link ConfigurationAware} call this method when they are reused by a new configuration.
+     *
+     * @param configuration the configuration that now uses this Appender.
+     * @since 3.0.0
+     */
+    protected void setLayoutConfiguration(final Configuration configuration) {
+        if (layout instanceof ConfigurationAware) {
+            ((ConfigurationAware) layout).setConfiguration(configuration);
+        }
+    }
+
     /**
      * Returns the name of the Appender.
      *
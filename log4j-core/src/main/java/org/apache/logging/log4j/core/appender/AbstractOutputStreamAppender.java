@@ -49,6 +49,12 @@ public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager
         @PluginBuilderAttribute
         private boolean immediateFlush = true;
 
+        @PluginBuilderAttribute
+        private boolean groupCommit;
+
+        @PluginBuilderAttribute
+        private long groupCommitMaxLatencyMicros = DEFAULT_GROUP_COMMIT_MAX_LATENCY_MICROS;
+
         public int getBufferSize() {
             return bufferSize;
         }
@@ -61,11 +67,57 @@ public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager
             return immediateFlush;
         }
 
+        public boolean isGroupCommit() {
+            return groupCommit;
+        }
+
+        public long getGroupCommitMaxLatencyMicros() {
+            return groupCommitMaxLatencyMicros;
+        }
+
+        /**
+         * Returns the maximum group commit latency in nanoseconds to pass to the appender, or
+         * {@link #NO_GROUP_COMMIT} if group commit is disabled. Group commit only applies if immediate flush is
+         * enabled.
+         *
+         * @param immediateFlush whether the appender flushes after each event, which may differ from
+         *                       {@link #isImmediateFlush()}, for example when buffering is disabled
+         * @return the maximum group commit latency in nanoseconds, or {@link #NO_GROUP_COMMIT}
+         */
+        protected long getGroupCommitMaxLatencyNanos(final boolean immediateFlush) {
+            return groupCommit && immediateFlush
+                    ? TimeUnit.MICROSECONDS.toNanos(Math.max(0, groupCommitMaxLatencyMicros))
+                    : NO_GROUP_COMMIT;
+        }
+
         public B setImmediateFlush(final boolean immediateFlush) {
             this.immediateFlush = immediateFlush;
             return asBuilder();
         }
 
+        /**
+         * Enables group commit: with immediate flush, the flushes of concurrent threads are coalesced so that one
+         * flush writes the events of many threads.
+         *
+         * @param groupCommit whether to coalesce the flushes of concurrent threads
+         * @return this builder
+         */
+        public B setGroupCommit(final boolean groupCommit) {
+            this.groupCommit = groupCommit;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the maximum time a thread performing a group commit flush waits for other threads to join the group.
+         *
+         * @param groupCommitMaxLatencyMicros the maximum latency in microseconds
+         * @return this builder
+         */
+        public B setGroupCommitMaxLatencyMicros(final long groupCommitMaxLatencyMicros) {
+            this.groupCommitMaxLatencyMicros = groupCommitMaxLatencyMicros;
+            return asBuilder();
+        }
+
         public B setBufferedIo(final boolean bufferedIo) {
             this.bufferedIo = bufferedIo;
             return asBuilder();
@@ -78,6 +130,13 @@ public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager
 
     }
 
+    /**
+     * Value of the group commit latency that disables group commit.
+     */
+    protected static final long NO_GROUP_COMMIT = -1L;
+
+    private static final long DEFAULT_GROUP_COMMIT_MAX_LATENCY_MICROS = 1000L;
+
     /**
      * Immediate flush means that the underlying writer or output stream will be flushed at the end of each append
      * operation. Immediate flush is slower but ensures that each append request is actually written. If
@@ -86,6 +145,12 @@ public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager
      */
     private final boolean immediateFlush;
 
+    /**
+     * Maximum time in nanoseconds that a group commit flush waits for other threads, or {@link #NO_GROUP_COMMIT} if
+     * each append flushes on its own.
+     */
+    private final long groupCommitMaxLatencyNanos;
+
     private final M manager;
 
     /**
@@ -100,9 +165,29 @@ public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager
     protected AbstractOutputStreamAppender(final String name, final Layout<? extends Serializable> layout,
               final Filter filter, final boolean ignoreExceptions, final boolean immediateFlush, final Property[] properties,
               final M manager) {
+        this(name, layout, filter, ignoreExceptions, immediateFlush, NO_GROUP_COMMIT, properties, manager);
+    }
+
+    /**
+     * Instantiates a WriterAppender and set the output destination to a new {@link java.io.OutputStreamWriter}
+     * initialized with <code>os</code> as its {@link java.io.OutputStream}.
+     *
+     * @param name The name of the Appender.
+     * @param layout The layout to format the message.
+     * @param immediateFlush Whether to flush after each append.
+     * @param groupCommitMaxLatencyNanos Maximum time a group commit flush waits for other threads, or
+     *                                   {@link #NO_GROUP_COMMIT} to flush each append on its own.
+     * @param properties Optional properties.
+     * @param manager The OutputStreamManager.
+     * @since 3.0.0
+     */
+    protected AbstractOutputStreamAppender(final String name, final Layout<? extends Serializable> layout,
+              final Filter filter, final boolean ignoreExceptions, final boolean immediateFlush,
+              final long groupCommitMaxLatencyNanos, final Property[] properties, final M manager) {
         super(name, filter, layout, ignoreExceptions, properties);
         this.manager = manager;
         this.immediateFlush = immediateFlush;
+        this.groupCommitMaxLatencyNanos = immediateFlush ? groupCommitMaxLatencyNanos : NO_GROUP_COMMIT;
     }
 
     /**
@@ -114,6 +199,15 @@ public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager
         return immediateFlush;
     }
 
+    /**
+     * Returns whether the flushes of concurrent appends are coalesced.
+     *
+     * @return whether group commit is enabled.
+     */
+    public boolean isGroupCommit() {
+        return groupCommitMaxLatencyNanos != NO_GROUP_COMMIT;
+    }
+
     /**
      * Gets the manager.
      *
@@ -179,14 +273,28 @@ public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager
     protected void directEncodeEvent(final LogEvent event) {
         getLayout().encode(event, manager);
         if (this.immediateFlush || event.isEndOfBatch()) {
-            manager.flush();
+            flush(event);
         }
     }
 
     protected void writeByteArrayToManager(final LogEvent event) {
         final byte[] bytes = getLayout().toByteArray(event);
         if (bytes != null && bytes.length > 0) {
-            manager.write(bytes, this.immediateFlush || event.isEndOfBatch());
+            if (groupCommitMaxLatencyNanos == NO_GROUP_COMMIT) {
+                manager.write(bytes, this.immediateFlush || event.isEndOfBatch());
+            } else {
+                manager.write(bytes, false);
+                flush(event);
+            }
+        }
+    }
+
+    private void flush(final LogEvent event) {
+        // the background thread of async loggers flushes once per batch anyway
+        if (groupCommitMaxLatencyNanos == NO_GROUP_COMMIT || event.isEndOfBatch()) {
+            manager.flush();
+        } else {
+            manager.flushGroupCommit(groupCommitMaxLatencyNanos);
         }
     }
 }
@@ -69,6 +69,7 @@ public final class AsyncAppender extends AbstractAppender {
     private final AppenderRef[] appenderRefs;
     private final String errorRef;
     private final boolean includeLocation;
+    private final int batchSize;
     private AppenderControl errorAppender;
     private AsyncAppenderEventDispatcher dispatcher;
     private AsyncQueueFullPolicy asyncQueueFullPolicy;
@@ -76,7 +77,8 @@ public final class AsyncAppender extends AbstractAppender {
     private AsyncAppender(final String name, final Filter filter, final AppenderRef[] appenderRefs,
             final String errorRef, final int queueSize, final boolean blocking, final boolean ignoreExceptions,
             final long shutdownTimeout, final Configuration config, final boolean includeLocation,
-            final BlockingQueueFactory<LogEvent> blockingQueueFactory, final Property[] properties) {
+            final BlockingQueueFactory<LogEvent> blockingQueueFactory, final int batchSize,
+            final Property[] properties) {
         super(name, filter, null, ignoreExceptions, properties);
         this.queue = blockingQueueFactory.create(queueSize);
         this.queueSize = queueSize;
@@ -86,6 +88,7 @@ public final class AsyncAppender extends AbstractAppender {
         this.appenderRefs = appenderRefs;
         this.errorRef = errorRef;
         this.includeLocation = includeLocation;
+        this.batchSize = batchSize;
     }
 
     @Override
@@ -110,7 +113,7 @@ public final class AsyncAppender extends AbstractAppender {
         }
         if (appenders.size() > 0) {
             dispatcher = new AsyncAppenderEventDispatcher(
-                    getName(), errorAppender, appenders, queue);
+                    getName(), errorAppender, appenders, queue, batchSize);
         } else if (errorRef == null) {
             throw new ConfigurationException("No appenders are available for AsyncAppender " + getName());
         }
@@ -272,6 +275,9 @@ public final class AsyncAppender extends AbstractAppender {
         @PluginElement(BlockingQueueFactory.ELEMENT_TYPE)
         private BlockingQueueFactory<LogEvent> blockingQueueFactory = new ArrayBlockingQueueFactory<>();
 
+        @PluginBuilderAttribute
+        private int batchSize = 1;
+
         public Builder setAppenderRefs(final AppenderRef[] appenderRefs) {
             this.appenderRefs = appenderRefs;
             return this;
@@ -322,10 +328,23 @@ public final class AsyncAppender extends AbstractAppender {
             return this;
         }
 
+        /**
+         * Sets the maximum number of events the background thread drains from the queue at once. If greater than
+         * one, only the last event of each drained batch is marked as the end of a batch, so appenders that flush at
+         * the end of a batch flush once per batch. The default of one dispatches the events one at a time.
+         *
+         * @param batchSize the maximum number of events drained at once
+         * @return this builder
+         */
+        public Builder setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
         @Override
         public AsyncAppender build() {
             return new AsyncAppender(name, getFilter(), appenderRefs, errorRef, bufferSize, blocking, ignoreExceptions,
-                shutdownTimeout, configuration, includeLocation, blockingQueueFactory, getPropertyArray());
+                shutdownTimeout, configuration, includeLocation, blockingQueueFactory, batchSize, getPropertyArray());
         }
     }
 
@@ -371,6 +390,15 @@ public final class AsyncAppender extends AbstractAppender {
         return errorRef;
     }
 
+    /**
+     * Returns the maximum number of events the background thread drains from the queue at once.
+     *
+     * @return the maximum number of events drained at once
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
     public int getQueueCapacity() {
         return queueSize;
     }
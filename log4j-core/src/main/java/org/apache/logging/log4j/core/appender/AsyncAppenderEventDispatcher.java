@@ -23,6 +23,7 @@ import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.util.Log4jThread;
 import org.apache.logging.log4j.status.StatusLogger;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -42,6 +43,8 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
 
     private final BlockingQueue<LogEvent> queue;
 
+    private final int batchSize;
+
     private final AtomicBoolean stoppedRef;
 
     AsyncAppenderEventDispatcher(
@@ -49,18 +52,36 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
             final AppenderControl errorAppender,
             final List<AppenderControl> appenders,
             final BlockingQueue<LogEvent> queue) {
+        this(name, errorAppender, appenders, queue, 1);
+    }
+
+    /**
+     * @param batchSize the maximum number of events drained from the queue at once; if greater than one, only the
+     *                  last event of each drained batch is marked as the end of a batch
+     */
+    AsyncAppenderEventDispatcher(
+            final String name,
+            final AppenderControl errorAppender,
+            final List<AppenderControl> appenders,
+            final BlockingQueue<LogEvent> queue,
+            final int batchSize) {
         super("AsyncAppenderEventDispatcher-" + THREAD_COUNTER.incrementAndGet() + "-" + name);
         this.setDaemon(true);
         this.errorAppender = errorAppender;
         this.appenders = appenders;
         this.queue = queue;
+        this.batchSize = Math.max(1, batchSize);
         this.stoppedRef = new AtomicBoolean();
     }
 
     @Override
     public void run() {
         LOGGER.trace("{} has started.", getName());
-        dispatchAll();
+        if (batchSize > 1) {
+            dispatchAllInBatches();
+        } else {
+            dispatchAll();
+        }
         dispatchRemaining();
     }
 
@@ -83,6 +104,55 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
         LOGGER.trace("{} has stopped.", getName());
     }
 
+    /**
+     * Blocks until an event is available, then drains up to {@link #batchSize} events at once and dispatches them.
+     * Only the last event of a batch is marked as the end of a batch, so appenders that buffer their output flush
+     * once per batch instead of checking the queue for every event.
+     */
+    private void dispatchAllInBatches() {
+        final List<LogEvent> batch = new ArrayList<>(batchSize);
+        while (!stoppedRef.get()) {
+            try {
+                batch.add(queue.take());
+            } catch (final InterruptedException ignored) {
+                // Restore the interrupted flag cleared when the exception is caught.
+                interrupt();
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            final boolean stopped = dispatchBatch(batch);
+            batch.clear();
+            if (stopped) {
+                break;
+            }
+        }
+        LOGGER.trace("{} has stopped.", getName());
+    }
+
+    /**
+     * Dispatches the events of the given batch, skipping the stop event if it contains one. Events that managed to
+     * be submitted after the stop event are dispatched as well.
+     *
+     * @return {@code true} if the batch contained the stop event
+     */
+    private boolean dispatchBatch(final List<LogEvent> batch) {
+        int lastIndex = batch.size() - 1;
+        while (lastIndex >= 0 && batch.get(lastIndex) == STOP_EVENT) {
+            lastIndex--;
+        }
+        boolean stopped = lastIndex < batch.size() - 1;
+        for (int i = 0; i <= lastIndex; i++) {
+            final LogEvent event = batch.get(i);
+            if (event == STOP_EVENT) {
+                stopped = true;
+                continue;
+            }
+            event.setEndOfBatch(i == lastIndex);
+            dispatch(event);
+        }
+        return stopped;
+    }
+
     private void dispatchRemaining() {
         int eventCount = 0;
         while (true) {
@@ -20,6 +20,8 @@ import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Core;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.util.CloseShieldOutputStream;
 import org.apache.logging.log4j.core.util.Loader;
@@ -53,7 +55,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * </p>
  */
 @Plugin(name = ConsoleAppender.PLUGIN_NAME, category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
-public final class ConsoleAppender extends AbstractOutputStreamAppender<OutputStreamManager> {
+public final class ConsoleAppender extends AbstractOutputStreamAppender<OutputStreamManager> implements ConfigurationAware {
 
     public static final String PLUGIN_NAME = "Console";
     private static final String JANSI_CLASS = "org.fusesource.jansi.WindowsAnsiOutputStream";
@@ -318,4 +320,14 @@ public final class ConsoleAppender extends AbstractOutputStreamAppender<OutputSt
         return target;
     }
 
+    /**
+     * Binds the Layout of this Appender to the configuration that reuses it after a reconfiguration.
+     *
+     * @param configuration the configuration that now uses this Appender.
+     * @since 3.0.0
+     */
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        setLayoutConfiguration(configuration);
+    }
 }
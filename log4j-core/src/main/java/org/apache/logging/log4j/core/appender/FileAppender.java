@@ -20,6 +20,8 @@ import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Core;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.net.Advertiser;
 import org.apache.logging.log4j.plugins.Plugin;
@@ -36,7 +38,7 @@ import java.util.concurrent.TimeUnit;
  * File Appender.
  */
 @Plugin(name = FileAppender.PLUGIN_NAME, category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
-public final class FileAppender extends AbstractOutputStreamAppender<FileManager> {
+public final class FileAppender extends AbstractOutputStreamAppender<FileManager> implements ConfigurationAware {
 
     public static final String PLUGIN_NAME = "File";
 
@@ -96,8 +98,10 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
                 return null;
             }
 
+            final boolean immediateFlush = !bufferedIo || isImmediateFlush();
             return new FileAppender(getName(), layout, getFilter(), manager, fileName, isIgnoreExceptions(),
-                    !bufferedIo || isImmediateFlush(), advertise ? getConfiguration().getAdvertiser() : null, getPropertyArray());
+                    immediateFlush, getGroupCommitMaxLatencyNanos(immediateFlush),
+                    advertise ? getConfiguration().getAdvertiser() : null, getPropertyArray());
         }
 
         public String getAdvertiseUri() {
@@ -196,9 +200,10 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
 
     private FileAppender(final String name, final Layout<? extends Serializable> layout, final Filter filter,
             final FileManager manager, final String filename, final boolean ignoreExceptions,
-            final boolean immediateFlush, final Advertiser advertiser, final Property[] properties) {
+            final boolean immediateFlush, final long groupCommitMaxLatencyNanos, final Advertiser advertiser,
+            final Property[] properties) {
 
-        super(name, layout, filter, ignoreExceptions, immediateFlush, properties, manager);
+        super(name, layout, filter, ignoreExceptions, immediateFlush, groupCommitMaxLatencyNanos, properties, manager);
         if (advertiser != null) {
             final Map<String, String> configuration = new HashMap<>(layout.getContentFormat());
             configuration.putAll(manager.getContentFormat());
@@ -230,4 +235,15 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
         setStopped();
         return true;
     }
+
+    /**
+     * Binds the Layout of this Appender to the configuration that reuses it after a reconfiguration.
+     *
+     * @param configuration the configuration that now uses this Appender.
+     * @since 3.0.0
+     */
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        setLayoutConfiguration(configuration);
+    }
 }
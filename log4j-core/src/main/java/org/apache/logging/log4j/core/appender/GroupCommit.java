@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces the flushes requested by concurrent writers of an {@link OutputStreamManager} (group commit).
+ * <p>
+ * Each writer that wants its data flushed takes a ticket. If no flush is in progress, the writer becomes the leader:
+ * it flushes once on behalf of every writer that took a ticket before the flush started, and the followers simply
+ * wait until a flush covering their ticket has completed. Writers arriving while a flush is in progress form the next
+ * group, so under contention the number of flushes grows much slower than the number of writers.
+ * </p>
+ * <p>
+ * When the previous group had more than one member, the leader also waits up to the maximum latency for as many
+ * writers to join its group before flushing. A writer that is alone never waits.
+ * </p>
+ */
+final class GroupCommit {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition arrived = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final Runnable flushAction;
+
+    // all fields below are guarded by lock
+    private long requested;
+    private long completed;
+    private boolean leaderActive;
+    private long lastGroupSize = 1;
+    private long flushCount;
+
+    GroupCommit(final Runnable flushAction) {
+        this.flushAction = flushAction;
+    }
+
+    /**
+     * Returns once a flush that started after this call has completed.
+     *
+     * @param maxLatencyNanos the maximum time the leader waits for other writers to join its group
+     * @throws AppenderLoggingException if the flush performed by this thread failed
+     */
+    void commit(final long maxLatencyNanos) {
+        lock.lock();
+        try {
+            final long ticket = ++requested;
+            arrived.signal();
+            while (completed < ticket) {
+                if (leaderActive) {
+                    flushed.awaitUninterruptibly();
+                } else {
+                    lead(maxLatencyNanos);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void lead(final long maxLatencyNanos) {
+        leaderActive = true;
+        try {
+            awaitGroup(maxLatencyNanos);
+            final long target = requested;
+            lock.unlock();
+            try {
+                flushAction.run();
+            } finally {
+                lock.lock();
+            }
+            flushCount++;
+            lastGroupSize = target - completed;
+            completed = target;
+        } finally {
+            leaderActive = false;
+            flushed.signalAll();
+        }
+    }
+
+    private void awaitGroup(final long maxLatencyNanos) {
+        if (lastGroupSize <= 1 || maxLatencyNanos <= 0) {
+            return;
+        }
+        long remaining = maxLatencyNanos;
+        try {
+            while (requested - completed < lastGroupSize && remaining > 0) {
+                remaining = arrived.awaitNanos(remaining);
+            }
+        } catch (final InterruptedException ignored) {
+            // flush right away, but keep the interrupted flag for the caller
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of flushes performed so far.
+     */
+    long getFlushCount() {
+        lock.lock();
+        try {
+            return flushCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.net.OverflowPolicy;
 import org.apache.logging.log4j.core.net.ssl.SslConfiguration;
 import org.apache.logging.log4j.plugins.Node;
 import org.apache.logging.log4j.plugins.Plugin;
@@ -30,8 +31,11 @@ import org.apache.logging.log4j.plugins.PluginElement;
 import org.apache.logging.log4j.plugins.PluginFactory;
 import org.apache.logging.log4j.plugins.validation.constraints.Required;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.net.URL;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
@@ -42,6 +46,59 @@ import java.util.concurrent.TimeUnit;
 @Plugin(name = "Http", category = Node.CATEGORY, elementType = Appender.ELEMENT_TYPE, printObject = true)
 public final class HttpAppender extends AbstractAppender {
 
+    /**
+     * Formats of the request bodies sent by the {@code async} mode, which combines several events into one request.
+     *
+     * @since 3.0.0
+     */
+    public enum BatchFormat {
+
+        /**
+         * One event per line, as in <a href="http://ndjson.org/">newline delimited JSON</a>.
+         */
+        NDJSON("application/x-ndjson"),
+
+        /**
+         * A JSON array of events.
+         */
+        JSON_ARRAY("application/json");
+
+        private final String contentType;
+
+        BatchFormat(final String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        void write(final List<byte[]> events, final OutputStream out) throws IOException {
+            final boolean array = this == JSON_ARRAY;
+            if (array) {
+                out.write('[');
+            }
+            for (int i = 0; i < events.size(); i++) {
+                final byte[] event = events.get(i);
+                if (array && i > 0) {
+                    out.write(',');
+                }
+                // Drop the line separator most layouts end events with, we add our own delimiters.
+                int length = event.length;
+                while (length > 0 && (event[length - 1] == '\n' || event[length - 1] == '\r')) {
+                    length--;
+                }
+                out.write(event, 0, length);
+                if (!array) {
+                    out.write('\n');
+                }
+            }
+            if (array) {
+                out.write(']');
+            }
+        }
+    }
+
     /**
      * Builds HttpAppender instances.
      * @param <B> The type to build
@@ -71,10 +128,51 @@ public final class HttpAppender extends AbstractAppender {
         @PluginBuilderAttribute
         private boolean verifyHostname = true;
 
+        @PluginBuilderAttribute
+        private boolean async;
+
+        @PluginBuilderAttribute
+        private BatchFormat batchFormat = BatchFormat.NDJSON;
+
+        @PluginBuilderAttribute
+        private int batchSize = 100;
+
+        @PluginBuilderAttribute
+        private int batchBytes = 1024 * 1024;
+
+        @PluginBuilderAttribute
+        private long lingerMillis = 200;
+
+        @PluginBuilderAttribute
+        private boolean compress;
+
+        @PluginBuilderAttribute
+        private int bufferSize = 1024;
+
+        @PluginBuilderAttribute
+        private int maxInFlightRequests = 4;
+
+        @PluginBuilderAttribute
+        private int maxRetries = 3;
+
+        @PluginBuilderAttribute
+        private long retryBackoffMillis = 100;
+
+        @PluginBuilderAttribute
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
         @Override
         public HttpAppender build() {
-            final HttpManager httpManager = new HttpURLConnectionManager(getConfiguration(), getConfiguration().getLoggerContext(),
-                getName(), url, method, connectTimeoutMillis, readTimeoutMillis, headers, sslConfiguration, verifyHostname);
+            final HttpManager httpManager;
+            if (async) {
+                httpManager = new HttpClientManager(getConfiguration(), getConfiguration().getLoggerContext(),
+                    getName(), url, method, connectTimeoutMillis, readTimeoutMillis, headers, sslConfiguration,
+                    verifyHostname, batchFormat, batchSize, batchBytes, lingerMillis, compress, bufferSize,
+                    maxInFlightRequests, maxRetries, retryBackoffMillis, overflowPolicy);
+            } else {
+                httpManager = new HttpURLConnectionManager(getConfiguration(), getConfiguration().getLoggerContext(),
+                    getName(), url, method, connectTimeoutMillis, readTimeoutMillis, headers, sslConfiguration, verifyHostname);
+            }
             return new HttpAppender(getName(), getLayout(), getFilter(), isIgnoreExceptions(), httpManager, getPropertyArray());
         }
 
@@ -106,6 +204,50 @@ public final class HttpAppender extends AbstractAppender {
             return verifyHostname;
         }
 
+        public boolean isAsync() {
+            return async;
+        }
+
+        public BatchFormat getBatchFormat() {
+            return batchFormat;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public int getBatchBytes() {
+            return batchBytes;
+        }
+
+        public long getLingerMillis() {
+            return lingerMillis;
+        }
+
+        public boolean isCompress() {
+            return compress;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public int getMaxInFlightRequests() {
+            return maxInFlightRequests;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public long getRetryBackoffMillis() {
+            return retryBackoffMillis;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
         public B setUrl(final URL url) {
             this.url = url;
             return asBuilder();
@@ -140,9 +282,66 @@ public final class HttpAppender extends AbstractAppender {
             this.verifyHostname = verifyHostname;
             return asBuilder();
         }
+
+        public B setAsync(final boolean async) {
+            this.async = async;
+            return asBuilder();
+        }
+
+        public B setBatchFormat(final BatchFormat batchFormat) {
+            this.batchFormat = batchFormat;
+            return asBuilder();
+        }
+
+        public B setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return asBuilder();
+        }
+
+        public B setBatchBytes(final int batchBytes) {
+            this.batchBytes = batchBytes;
+            return asBuilder();
+        }
+
+        public B setLingerMillis(final long lingerMillis) {
+            this.lingerMillis = lingerMillis;
+            return asBuilder();
+        }
+
+        public B setCompress(final boolean compress) {
+            this.compress = compress;
+            return asBuilder();
+        }
+
+        public B setBufferSize(final int bufferSize) {
+            this.bufferSize = bufferSize;
+            return asBuilder();
+        }
+
+        public B setMaxInFlightRequests(final int maxInFlightRequests) {
+            this.maxInFlightRequests = maxInFlightRequests;
+            return asBuilder();
+        }
+
+        public B setMaxRetries(final int maxRetries) {
+            this.maxRetries = maxRetries;
+            return asBuilder();
+        }
+
+        public B setRetryBackoffMillis(final long retryBackoffMillis) {
+            this.retryBackoffMillis = retryBackoffMillis;
+            return asBuilder();
+        }
+
+        public B setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return asBuilder();
+        }
     }
 
     /**
+     * Creates a builder for a HttpAppender.
+     *
      * @return a builder for a HttpAppender.
      */
     @PluginFactory
@@ -183,6 +382,16 @@ public final class HttpAppender extends AbstractAppender {
         return stopped;
     }
 
+    /**
+     * Returns the manager sending the events of this appender.
+     *
+     * @return the manager
+     * @since 3.0.0
+     */
+    public HttpManager getManager() {
+        return manager;
+    }
+
     @Override
     public String toString() {
         return "HttpAppender{" +
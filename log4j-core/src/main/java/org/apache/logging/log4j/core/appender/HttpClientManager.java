@@ -0,0 +1,503 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationException;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.net.OverflowPolicy;
+import org.apache.logging.log4j.core.net.ssl.SslConfiguration;
+import org.apache.logging.log4j.core.util.Log4jThread;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+
+/**
+ * Sends log events asynchronously over HTTP using a shared {@link HttpClient}, which keeps its connections alive
+ * between requests.
+ * <p>
+ * Events are serialized by the calling thread and handed over to a bounded queue. A background thread drains the
+ * queue and combines the events into request bodies of at most {@code batchSize} events or {@code batchBytes} bytes,
+ * waiting at most {@code lingerMillis} for a batch to fill up. At most {@code maxInFlightRequests} requests are sent
+ * concurrently; failed requests are retried with an exponential backoff.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+public class HttpClientManager extends HttpManager {
+
+    private static final byte[] STOP_EVENT = new byte[0];
+
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 30_000;
+
+    private final URI uri;
+    private final String method;
+    private final int readTimeoutMillis;
+    private final Property[] headers;
+    private final HttpAppender.BatchFormat batchFormat;
+    private final int batchSize;
+    private final int batchBytes;
+    private final long lingerMillis;
+    private final boolean compress;
+    private final int maxInFlightRequests;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final BlockingQueue<byte[]> queue;
+    private final Semaphore inFlightRequests;
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final Sender sender;
+
+    private final LongAdder sentEventCount = new LongAdder();
+    private final LongAdder sentRequestCount = new LongAdder();
+    private final LongAdder failedEventCount = new LongAdder();
+    private final LongAdder droppedEventCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+
+    private volatile boolean shutdown;
+
+    public HttpClientManager(final Configuration configuration, final LoggerContext loggerContext, final String name,
+                             final URL url, final String method, final int connectTimeoutMillis,
+                             final int readTimeoutMillis, final Property[] headers,
+                             final SslConfiguration sslConfiguration, final boolean verifyHostname,
+                             final HttpAppender.BatchFormat batchFormat, final int batchSize, final int batchBytes,
+                             final long lingerMillis, final boolean compress, final int bufferSize,
+                             final int maxInFlightRequests, final int maxRetries, final long retryBackoffMillis,
+                             final OverflowPolicy overflowPolicy) {
+        super(configuration, loggerContext, name);
+        if (!(url.getProtocol().equalsIgnoreCase("http") || url.getProtocol().equalsIgnoreCase("https"))) {
+            throw new ConfigurationException("URL must have scheme http or https");
+        }
+        final boolean isHttps = url.getProtocol().equalsIgnoreCase("https");
+        if (sslConfiguration != null && !isHttps) {
+            throw new ConfigurationException("SSL configuration can only be specified with URL scheme https");
+        }
+        try {
+            this.uri = url.toURI();
+        } catch (final URISyntaxException e) {
+            throw new ConfigurationException("Invalid URL " + url, e);
+        }
+        this.method = Objects.requireNonNull(method, "method");
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.headers = headers != null ? headers : new Property[0];
+        validateHeaders(this.uri, this.headers);
+        this.batchFormat = Objects.requireNonNull(batchFormat, "batchFormat");
+        this.batchSize = Math.max(1, batchSize);
+        this.batchBytes = Math.max(1, batchBytes);
+        this.lingerMillis = Math.max(0, lingerMillis);
+        this.compress = compress;
+        this.maxInFlightRequests = Math.max(1, maxInFlightRequests);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMillis = Math.max(0, retryBackoffMillis);
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        this.inFlightRequests = new Semaphore(this.maxInFlightRequests);
+        this.executor = Executors.newCachedThreadPool(Log4jThreadFactory.createDaemonThreadFactory("HttpClient-" + name));
+        final HttpClient.Builder clientBuilder = HttpClient.newBuilder()
+                .executor(executor)
+                .followRedirects(HttpClient.Redirect.NEVER);
+        if (connectTimeoutMillis > 0) {
+            clientBuilder.connectTimeout(Duration.ofMillis(connectTimeoutMillis));
+        }
+        if (sslConfiguration != null) {
+            clientBuilder.sslContext(sslConfiguration.getSslContext());
+        }
+        if (isHttps && !verifyHostname) {
+            LOGGER.warn("HttpClientManager {} cannot disable hostname verification, verifyHostname=false is ignored",
+                    name);
+        }
+        this.client = clientBuilder.build();
+        this.sender = new Sender("HttpClientManager-" + name);
+    }
+
+    /**
+     * Fails early on headers {@link HttpRequest.Builder} refuses, like {@code Connection} or {@code Host}, instead of
+     * failing every request.
+     */
+    private static void validateHeaders(final URI uri, final Property[] headers) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        for (final Property header : headers) {
+            try {
+                // Values needing a lookup are checked when the request is created.
+                builder.setHeader(header.getName(), header.isValueNeedsLookup() ? "" : header.getValue());
+            } catch (final IllegalArgumentException e) {
+                throw new ConfigurationException("Invalid HTTP header " + header.getName() + ": " + e.getMessage(),
+                        e);
+            }
+        }
+    }
+
+    @Override
+    public void startup() {
+        sender.start();
+    }
+
+    /**
+     * Serializes the event and queues it for sending. Delivery failures are reported to the status logger, as they
+     * happen after this method has returned.
+     */
+    @Override
+    public void send(final Layout<?> layout, final LogEvent event) throws Exception {
+        final byte[] data = layout.toByteArray(event);
+        if (shutdown) {
+            droppedEventCount.increment();
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            if (!queue.offer(data)) {
+                droppedEventCount.increment();
+                return;
+            }
+        } else {
+            queue.put(data);
+        }
+        if (shutdown && queue.remove(data)) {
+            // The manager was stopped while the event was queued, after the remaining events were discarded.
+            droppedEventCount.increment();
+        }
+    }
+
+    @Override
+    protected boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        shutdown = true;
+        final long timeoutMillis = timeout > 0 ? timeUnit.toMillis(timeout) : 5_000;
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        boolean stopped = true;
+        if (sender.isAlive()) {
+            if (!queue.offer(STOP_EVENT)) {
+                sender.interrupt();
+            }
+            try {
+                sender.join(timeoutMillis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stopped = !sender.isAlive();
+        }
+        final int discarded = discardQueuedEvents();
+        if (discarded > 0) {
+            LOGGER.warn("HttpClientManager {} discarded {} event(s) that were not sent within {} ms", getName(),
+                    discarded, timeoutMillis);
+        }
+        try {
+            final long remainingMillis = Math.max(0, deadline - System.currentTimeMillis());
+            if (inFlightRequests.tryAcquire(maxInFlightRequests, remainingMillis, TimeUnit.MILLISECONDS)) {
+                inFlightRequests.release(maxInFlightRequests);
+            } else {
+                stopped = false;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopped = false;
+        }
+        executor.shutdown();
+        if (!stopped) {
+            LOGGER.warn("HttpClientManager {} did not deliver all pending events within {} ms", getName(),
+                    timeoutMillis);
+        }
+        return stopped;
+    }
+
+    /**
+     * Removes the events the sender did not take before stopping, and counts them as dropped.
+     *
+     * @return the number of discarded events
+     */
+    private int discardQueuedEvents() {
+        int discarded = 0;
+        byte[] next;
+        while ((next = queue.poll()) != null) {
+            if (next != STOP_EVENT) {
+                discarded++;
+            }
+        }
+        droppedEventCount.add(discarded);
+        if (sender.isAlive()) {
+            // The sender is still busy with its last batch, let it stop afterwards.
+            queue.offer(STOP_EVENT);
+        }
+        return discarded;
+    }
+
+    /**
+     * Returns the number of events accepted by the server.
+     */
+    public long getSentEventCount() {
+        return sentEventCount.sum();
+    }
+
+    /**
+     * Returns the number of requests accepted by the server.
+     */
+    public long getSentRequestCount() {
+        return sentRequestCount.sum();
+    }
+
+    /**
+     * Returns the number of events lost because their request failed after all retries.
+     */
+    public long getFailedEventCount() {
+        return failedEventCount.sum();
+    }
+
+    /**
+     * Returns the number of events dropped because the queue was full, or because the manager was shut down before
+     * they were sent.
+     */
+    public long getDroppedEventCount() {
+        return droppedEventCount.sum();
+    }
+
+    /**
+     * Returns the number of retried requests.
+     */
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    private void sendBatch(final List<byte[]> batch) {
+        final HttpRequest request;
+        try {
+            request = createRequest(createBody(batch));
+        } catch (final IOException e) {
+            logError("Unable to compress HTTP request body", e);
+            failedEventCount.add(batch.size());
+            return;
+        } catch (final RuntimeException e) {
+            // For instance a header value resolved by a lookup that is not valid.
+            logError("Unable to create HTTP request", e);
+            failedEventCount.add(batch.size());
+            return;
+        }
+        try {
+            inFlightRequests.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedEventCount.add(batch.size());
+            return;
+        }
+        sendRequest(request, batch.size(), 0);
+    }
+
+    // The outcome of the request is fully handled by complete(), which reports its own errors.
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private void sendRequest(final HttpRequest request, final int eventCount, final int attempt) {
+        final CompletableFuture<HttpResponse<String>> response;
+        try {
+            response = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        } catch (final RuntimeException e) {
+            complete(request, eventCount, attempt, null, e);
+            return;
+        }
+        response.whenComplete((result, error) -> complete(request, eventCount, attempt, result, error));
+    }
+
+    private void complete(final HttpRequest request, final int eventCount, final int attempt,
+                          final HttpResponse<String> response, final Throwable error) {
+        if (error == null && response.statusCode() / 100 == 2) {
+            sentEventCount.add(eventCount);
+            sentRequestCount.increment();
+            inFlightRequests.release();
+            return;
+        }
+        if (attempt < maxRetries && isRetriable(response) && !executor.isShutdown()) {
+            retryCount.increment();
+            final long delayMillis = Math.min(retryBackoffMillis << Math.min(attempt, 20), MAX_RETRY_BACKOFF_MILLIS);
+            final Executor retryExecutor = task -> {
+                try {
+                    executor.execute(task);
+                } catch (final RejectedExecutionException e) {
+                    // The manager was stopped while the retry was waiting.
+                    fail(eventCount, "Unable to retry HTTP request with " + eventCount
+                            + " event(s), the manager is stopped", e);
+                }
+            };
+            CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, retryExecutor)
+                    .execute(() -> sendRequest(request, eventCount, attempt + 1));
+            return;
+        }
+        if (error != null) {
+            fail(eventCount, "Unable to send HTTP request with " + eventCount + " event(s)", error);
+        } else {
+            fail(eventCount, "Unable to send HTTP request with " + eventCount + " event(s): " + response.statusCode()
+                    + (response.body() != null && !response.body().isEmpty() ? " - " + response.body() : ""), null);
+        }
+    }
+
+    private void fail(final int eventCount, final String message, final Throwable error) {
+        failedEventCount.add(eventCount);
+        inFlightRequests.release();
+        logError(message, error);
+    }
+
+    /**
+     * Connection failures, server errors and throttling responses are retried, other client errors are not.
+     */
+    private static boolean isRetriable(final HttpResponse<String> response) {
+        if (response == null) {
+            return true;
+        }
+        final int statusCode = response.statusCode();
+        return statusCode >= 500 || statusCode == 408 || statusCode == 429;
+    }
+
+    private HttpRequest createRequest(final byte[] body) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(body))
+                .header("Content-Type", batchFormat.getContentType());
+        if (readTimeoutMillis > 0) {
+            builder.timeout(Duration.ofMillis(readTimeoutMillis));
+        }
+        if (compress) {
+            builder.header("Content-Encoding", "gzip");
+        }
+        for (final Property header : headers) {
+            builder.setHeader(header.getName(), header.isValueNeedsLookup()
+                    ? getConfiguration().getStrSubstitutor().replace(header.getValue())
+                    : header.getValue());
+        }
+        return builder.build();
+    }
+
+    // package protected for unit tests
+    byte[] createBody(final List<byte[]> batch) throws IOException {
+        int size = 2;
+        for (final byte[] event : batch) {
+            size += event.length + 1;
+        }
+        final ByteArrayOutputStream body = new ByteArrayOutputStream(compress ? size / 4 + 64 : size);
+        if (compress) {
+            try (final GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+                batchFormat.write(batch, gzip);
+            }
+        } else {
+            batchFormat.write(batch, body);
+        }
+        return body.toByteArray();
+    }
+
+    private class Sender extends Log4jThread {
+
+        Sender(final String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            final List<byte[]> batch = new ArrayList<>(batchSize);
+            boolean stopped = false;
+            while (!stopped) {
+                try {
+                    stopped = fill(batch);
+                } catch (final InterruptedException e) {
+                    stopped = true;
+                }
+                if (!batch.isEmpty()) {
+                    sendBatch(batch);
+                    batch.clear();
+                }
+            }
+            sendRemaining(batch);
+            LOGGER.trace("{} has stopped.", getName());
+        }
+
+        /**
+         * Waits for a first event, then collects events until the batch is full or {@code lingerMillis} have
+         * elapsed.
+         *
+         * @return {@code true} if the stop event was received
+         */
+        private boolean fill(final List<byte[]> batch) throws InterruptedException {
+            final byte[] first = queue.take();
+            if (first == STOP_EVENT) {
+                return true;
+            }
+            batch.add(first);
+            int bytes = first.length;
+            final long lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+            long deadline = System.nanoTime() + lingerNanos;
+            while (batch.size() < batchSize && bytes < batchBytes) {
+                final byte[] next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                if (next == STOP_EVENT) {
+                    return true;
+                }
+                if (bytes + next.length > batchBytes) {
+                    // Start the next batch with this event, to keep request bodies within the limit.
+                    sendBatch(batch);
+                    batch.clear();
+                    bytes = 0;
+                    // The next batch gets the full linger time too.
+                    deadline = System.nanoTime() + lingerNanos;
+                }
+                batch.add(next);
+                bytes += next.length;
+            }
+            return false;
+        }
+
+        private void sendRemaining(final List<byte[]> batch) {
+            int bytes = 0;
+            byte[] next;
+            while ((next = queue.poll()) != null) {
+                if (next == STOP_EVENT) {
+                    continue;
+                }
+                if (!batch.isEmpty() && (batch.size() >= batchSize || bytes + next.length > batchBytes)) {
+                    sendBatch(batch);
+                    batch.clear();
+                    bytes = 0;
+                }
+                batch.add(next);
+                bytes += next.length;
+            }
+            if (!batch.isEmpty()) {
+                sendBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -21,6 +21,8 @@ import org.apache.logging.log4j.core.Core;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.net.Advertiser;
 import org.apache.logging.log4j.core.util.Integers;
@@ -39,7 +41,7 @@ import java.util.concurrent.TimeUnit;
  * @since 2.1
  */
 @Plugin(name = "MemoryMappedFile", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
-public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender<MemoryMappedFileManager> {
+public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender<MemoryMappedFileManager> implements ConfigurationAware {
 
     /**
      * Builds RandomAccessFileAppender instances.
@@ -175,9 +177,9 @@ public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender
     }
 
     /**
-     * Converts the specified region length to a valid value.
+     * Converts the specified region length to a valid value. Also used by {@link RollingMemoryMappedFileAppender}.
      */
-    private static int determineValidRegionLength(final String name, final int regionLength) {
+    static int determineValidRegionLength(final String name, final int regionLength) {
         if (regionLength > MAX_REGION_LENGTH) {
             LOGGER.info("MemoryMappedAppender[{}] Reduced region length from {} to max length: {}", name, regionLength,
                     MAX_REGION_LENGTH);
@@ -195,4 +197,15 @@ public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender
         }
         return result;
     }
+
+    /**
+     * Binds the Layout of this Appender to the configuration that reuses it after a reconfiguration.
+     *
+     * @param configuration the configuration that now uses this Appender.
+     * @since 3.0.0
+     */
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        setLayoutConfiguration(configuration);
+    }
 }
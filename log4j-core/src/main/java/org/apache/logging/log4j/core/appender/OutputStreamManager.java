@@ -39,6 +39,7 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
     protected ByteBuffer byteBuffer;
     private volatile OutputStream outputStream;
     private boolean skipFooter;
+    private final GroupCommit groupCommit = new GroupCommit(this::flush);
 
     protected OutputStreamManager(final OutputStream os, final String streamName, final Layout<?> layout,
             final boolean writeHeader) {
@@ -295,6 +296,29 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
         flushDestination();
     }
 
+    /**
+     * Flushes any buffers like {@link #flush()}, coalescing the flush with the flushes requested concurrently by
+     * other threads (group commit).
+     * <p>
+     * If another thread is already flushing, this method waits for that flush to complete and for the next flush,
+     * which is performed once for all threads that called this method in the meantime. When writers compete for the
+     * manager, the thread performing the next flush may wait up to {@code maxLatencyNanos} for other writers to
+     * request a flush too. In any case, the data written by the calling thread before calling this method has been
+     * flushed when this method returns.
+     * </p>
+     *
+     * @param maxLatencyNanos the maximum time to wait for other writers before flushing, in nanoseconds
+     * @since 3.0.0
+     */
+    public void flushGroupCommit(final long maxLatencyNanos) {
+        groupCommit.commit(maxLatencyNanos);
+    }
+
+    // package protected for unit tests
+    long getGroupCommitFlushCount() {
+        return groupCommit.getFlushCount();
+    }
+
     protected synchronized boolean closeOutputStream() {
         flush();
         final OutputStream stream = outputStream; // access volatile field only once per method
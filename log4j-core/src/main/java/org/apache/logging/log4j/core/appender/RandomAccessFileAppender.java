@@ -21,6 +21,8 @@ import org.apache.logging.log4j.core.Core;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
 import org.apache.logging.log4j.core.net.Advertiser;
 import org.apache.logging.log4j.plugins.Plugin;
 import org.apache.logging.log4j.plugins.PluginBuilderAttribute;
@@ -35,7 +37,7 @@ import java.util.concurrent.TimeUnit;
  * File Appender.
  */
 @Plugin(name = "RandomAccessFile", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
-public final class RandomAccessFileAppender extends AbstractOutputStreamAppender<RandomAccessFileManager> {
+public final class RandomAccessFileAppender extends AbstractOutputStreamAppender<RandomAccessFileManager> implements ConfigurationAware {
 
     /**
      * Builds RandomAccessFileAppender instances.
@@ -83,7 +85,7 @@ public final class RandomAccessFileAppender extends AbstractOutputStreamAppender
             }
 
             return new RandomAccessFileAppender(name, layout, getFilter(), manager, fileName, isIgnoreExceptions(),
-                    immediateFlush, advertise ? getConfiguration().getAdvertiser() : null);
+                    immediateFlush, getGroupCommitMaxLatencyNanos(immediateFlush), advertise ? getConfiguration().getAdvertiser() : null);
         }
 
         public B setFileName(final String fileName) {
@@ -114,9 +116,10 @@ public final class RandomAccessFileAppender extends AbstractOutputStreamAppender
 
     private RandomAccessFileAppender(final String name, final Layout<? extends Serializable> layout,
             final Filter filter, final RandomAccessFileManager manager, final String filename,
-            final boolean ignoreExceptions, final boolean immediateFlush, final Advertiser advertiser) {
+            final boolean ignoreExceptions, final boolean immediateFlush, final long groupCommitMaxLatencyNanos,
+            final Advertiser advertiser) {
 
-        super(name, layout, filter, ignoreExceptions, immediateFlush, null, manager);
+        super(name, layout, filter, ignoreExceptions, immediateFlush, groupCommitMaxLatencyNanos, null, manager);
         if (advertiser != null) {
             final Map<String, String> configuration = new HashMap<>(
                     layout.getContentFormat());
@@ -166,4 +169,14 @@ public final class RandomAccessFileAppender extends AbstractOutputStreamAppender
         return new Builder<B>().asBuilder();
     }
 
+    /**
+     * Binds the Layout of this Appender to the configuration that reuses it after a reconfiguration.
+     *
+     * @param configuration the configuration that now uses this Appender.
+     * @since 3.0.0
+     */
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        setLayoutConfiguration(configuration);
+    }
 }
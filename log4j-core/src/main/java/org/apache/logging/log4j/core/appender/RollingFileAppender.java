@@ -27,6 +27,8 @@ import org.apache.logging.log4j.core.appender.rolling.DirectWriteRolloverStrateg
 import org.apache.logging.log4j.core.appender.rolling.RollingFileManager;
 import org.apache.logging.log4j.core.appender.rolling.RolloverStrategy;
 import org.apache.logging.log4j.core.appender.rolling.TriggeringPolicy;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
 import org.apache.logging.log4j.core.net.Advertiser;
 import org.apache.logging.log4j.plugins.Plugin;
 import org.apache.logging.log4j.plugins.PluginBuilderAttribute;
@@ -44,7 +46,7 @@ import java.util.zip.Deflater;
  * An appender that writes to files and can roll over at intervals.
  */
 @Plugin(name = RollingFileAppender.PLUGIN_NAME, category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
-public final class RollingFileAppender extends AbstractOutputStreamAppender<RollingFileManager> {
+public final class RollingFileAppender extends AbstractOutputStreamAppender<RollingFileManager> implements ConfigurationAware {
 
     public static final String PLUGIN_NAME = "RollingFile";
 
@@ -148,8 +150,10 @@ public final class RollingFileAppender extends AbstractOutputStreamAppender<Roll
 
             manager.initialize();
 
+            final boolean immediateFlush = !isBufferedIo || isImmediateFlush();
             return new RollingFileAppender(getName(), layout, getFilter(), manager, fileName, filePattern,
-                    isIgnoreExceptions(), !isBufferedIo || isImmediateFlush(), advertise ? getConfiguration().getAdvertiser() : null);
+                    isIgnoreExceptions(), immediateFlush, getGroupCommitMaxLatencyNanos(immediateFlush),
+                    advertise ? getConfiguration().getAdvertiser() : null);
         }
 
         public String getAdvertiseUri() {
@@ -269,8 +273,9 @@ public final class RollingFileAppender extends AbstractOutputStreamAppender<Roll
 
     private RollingFileAppender(final String name, final Layout<? extends Serializable> layout, final Filter filter,
             final RollingFileManager manager, final String fileName, final String filePattern,
-            final boolean ignoreExceptions, final boolean immediateFlush, final Advertiser advertiser) {
-        super(name, layout, filter, ignoreExceptions, immediateFlush, null, manager);
+            final boolean ignoreExceptions, final boolean immediateFlush, final long groupCommitMaxLatencyNanos,
+            final Advertiser advertiser) {
+        super(name, layout, filter, ignoreExceptions, immediateFlush, groupCommitMaxLatencyNanos, null, manager);
         if (advertiser != null) {
             final Map<String, String> configuration = new HashMap<>(layout.getContentFormat());
             configuration.put("contentType", layout.getContentType());
@@ -339,4 +344,20 @@ public final class RollingFileAppender extends AbstractOutputStreamAppender<Roll
     public static <B extends Builder<B>> B newBuilder() {
         return new Builder<B>().asBuilder();
     }
+
+    /**
+     * Binds the Layout and the rollover strategy of this Appender to the configuration that reuses it after a
+     * reconfiguration.
+     *
+     * @param configuration the configuration that now uses this Appender.
+     * @since 3.0.0
+     */
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        setLayoutConfiguration(configuration);
+        final RolloverStrategy strategy = getManager().getRolloverStrategy();
+        if (strategy instanceof ConfigurationAware) {
+            ((ConfigurationAware) strategy).setConfiguration(configuration);
+        }
+    }
 }
@@ -27,6 +27,8 @@ import org.apache.logging.log4j.core.appender.rolling.DirectWriteRolloverStrateg
 import org.apache.logging.log4j.core.appender.rolling.RollingRandomAccessFileManager;
 import org.apache.logging.log4j.core.appender.rolling.RolloverStrategy;
 import org.apache.logging.log4j.core.appender.rolling.TriggeringPolicy;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
 import org.apache.logging.log4j.core.net.Advertiser;
 import org.apache.logging.log4j.plugins.Plugin;
 import org.apache.logging.log4j.plugins.PluginBuilderAttribute;
@@ -44,7 +46,7 @@ import java.util.zip.Deflater;
  * intervals.
  */
 @Plugin(name = "RollingRandomAccessFile", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
-public final class RollingRandomAccessFileAppender extends AbstractOutputStreamAppender<RollingRandomAccessFileManager> {
+public final class RollingRandomAccessFileAppender extends AbstractOutputStreamAppender<RollingRandomAccessFileManager> implements ConfigurationAware {
 
     public static class Builder<B extends Builder<B>> extends AbstractOutputStreamAppender.Builder<B>
             implements org.apache.logging.log4j.plugins.util.Builder<RollingRandomAccessFileAppender> {
@@ -136,7 +138,8 @@ public final class RollingRandomAccessFileAppender extends AbstractOutputStreamA
             manager.initialize();
 
             return new RollingRandomAccessFileAppender(name, layout,getFilter(), manager, fileName, filePattern,
-                    isIgnoreExceptions(), immediateFlush, bufferSize, advertise ? getConfiguration().getAdvertiser() : null);
+                    isIgnoreExceptions(), immediateFlush, getGroupCommitMaxLatencyNanos(immediateFlush), bufferSize,
+                    advertise ? getConfiguration().getAdvertiser() : null);
         }
 
         public B setFileName(final String fileName) {
@@ -199,8 +202,9 @@ public final class RollingRandomAccessFileAppender extends AbstractOutputStreamA
     private RollingRandomAccessFileAppender(final String name, final Layout<? extends Serializable> layout,
             final Filter filter, final RollingRandomAccessFileManager manager, final String fileName,
             final String filePattern, final boolean ignoreExceptions,
-            final boolean immediateFlush, final int bufferSize, final Advertiser advertiser) {
-        super(name, layout, filter, ignoreExceptions, immediateFlush, null, manager);
+            final boolean immediateFlush, final long groupCommitMaxLatencyNanos, final int bufferSize,
+            final Advertiser advertiser) {
+        super(name, layout, filter, ignoreExceptions, immediateFlush, groupCommitMaxLatencyNanos, null, manager);
         if (advertiser != null) {
             final Map<String, String> configuration = new HashMap<>(layout.getContentFormat());
             configuration.put("contentType", layout.getContentType());
@@ -270,4 +274,19 @@ public final class RollingRandomAccessFileAppender extends AbstractOutputStreamA
         return new Builder<B>().asBuilder();
     }
 
+    /**
+     * Binds the Layout and the rollover strategy of this Appender to the configuration that reuses it after a
+     * reconfiguration.
+     *
+     * @param configuration the configuration that now uses this Appender.
+     * @since 3.0.0
+     */
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        setLayoutConfiguration(configuration);
+        final RolloverStrategy strategy = getManager().getRolloverStrategy();
+        if (strategy instanceof ConfigurationAware) {
+            ((ConfigurationAware) strategy).setConfiguration(configuration);
+        }
+    }
 }
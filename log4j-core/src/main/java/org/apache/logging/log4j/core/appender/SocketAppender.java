@@ -25,6 +25,9 @@ import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.net.AbstractSocketManager;
 import org.apache.logging.log4j.core.net.Advertiser;
 import org.apache.logging.log4j.core.net.DatagramSocketManager;
+import org.apache.logging.log4j.core.net.NioDatagramSocketManager;
+import org.apache.logging.log4j.core.net.NioTcpSocketManager;
+import org.apache.logging.log4j.core.net.OverflowPolicy;
 import org.apache.logging.log4j.core.net.Protocol;
 import org.apache.logging.log4j.core.net.SocketOptions;
 import org.apache.logging.log4j.core.net.SslSocketManager;
@@ -80,6 +83,21 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
         @PluginBuilderAttribute
         private boolean immediateFail = true;
 
+        @PluginBuilderAttribute
+        private int maxDatagramSize = NioDatagramSocketManager.DEFAULT_MAX_DATAGRAM_SIZE;
+
+        @PluginBuilderAttribute
+        private int maxPendingBytes = NioTcpSocketManager.DEFAULT_MAX_PENDING_BYTES;
+
+        @PluginBuilderAttribute
+        private boolean nonBlocking;
+
+        @PluginBuilderAttribute
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        @PluginBuilderAttribute
+        private boolean packDatagrams;
+
         @PluginBuilderAttribute
         @ValidPort
         private int port;
@@ -110,6 +128,26 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             return host;
         }
 
+        public int getMaxDatagramSize() {
+            return maxDatagramSize;
+        }
+
+        public int getMaxPendingBytes() {
+            return maxPendingBytes;
+        }
+
+        public boolean isNonBlocking() {
+            return nonBlocking;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public boolean isPackDatagrams() {
+            return packDatagrams;
+        }
+
         public int getPort() {
             return port;
         }
@@ -146,6 +184,31 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             return asBuilder();
         }
 
+        public B setMaxDatagramSize(final int maxDatagramSize) {
+            this.maxDatagramSize = maxDatagramSize;
+            return asBuilder();
+        }
+
+        public B setMaxPendingBytes(final int maxPendingBytes) {
+            this.maxPendingBytes = maxPendingBytes;
+            return asBuilder();
+        }
+
+        public B setNonBlocking(final boolean nonBlocking) {
+            this.nonBlocking = nonBlocking;
+            return asBuilder();
+        }
+
+        public B setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return asBuilder();
+        }
+
+        public B setPackDatagrams(final boolean packDatagrams) {
+            this.packDatagrams = packDatagrams;
+            return asBuilder();
+        }
+
         public B setPort(final int port) {
             this.port = port;
             return asBuilder();
@@ -215,7 +278,8 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             }
 
             final AbstractSocketManager manager = SocketAppender.createSocketManager(name, actualProtocol, getHost(), getPort(),
-                    getConnectTimeoutMillis(), getSslConfiguration(), getReconnectDelayMillis(), getImmediateFail(), layout, getBufferSize(), getSocketOptions());
+                    getConnectTimeoutMillis(), getSslConfiguration(), getReconnectDelayMillis(), getImmediateFail(), layout, getBufferSize(), getSocketOptions(),
+                    isNonBlocking(), getMaxPendingBytes(), getOverflowPolicy(), getMaxDatagramSize(), isPackDatagrams());
 
             return new SocketAppender(name, layout, getFilter(), manager, isIgnoreExceptions(),
                     !bufferedIo || immediateFlush, getAdvertise() ? getConfiguration().getAdvertiser() : null);
@@ -267,6 +331,25 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             final int port, final int connectTimeoutMillis, final SslConfiguration sslConfig,
             final int reconnectDelayMillis, final boolean immediateFail, final Layout<? extends Serializable> layout,
             final int bufferSize, final SocketOptions socketOptions) {
+        return createSocketManager(name, protocol, host, port, connectTimeoutMillis, sslConfig, reconnectDelayMillis,
+                immediateFail, layout, bufferSize, socketOptions, false, NioTcpSocketManager.DEFAULT_MAX_PENDING_BYTES,
+                OverflowPolicy.BLOCK, NioDatagramSocketManager.DEFAULT_MAX_DATAGRAM_SIZE, false);
+    }
+
+    /**
+     * Creates an AbstractSocketManager for TCP, UDP, and SSL, using a {@link NioTcpSocketManager} for TCP and a
+     * {@link NioDatagramSocketManager} for UDP if {@code nonBlocking} is set.
+     *
+     * @throws IllegalArgumentException
+     *             if the protocol cannot be handled.
+     * @since 3.0.0
+     */
+    protected static AbstractSocketManager createSocketManager(final String name, Protocol protocol, final String host,
+            final int port, final int connectTimeoutMillis, final SslConfiguration sslConfig,
+            final int reconnectDelayMillis, final boolean immediateFail, final Layout<? extends Serializable> layout,
+            final int bufferSize, final SocketOptions socketOptions, final boolean nonBlocking,
+            final int maxPendingBytes, final OverflowPolicy overflowPolicy, final int maxDatagramSize,
+            final boolean packDatagrams) {
         if (protocol == Protocol.TCP && sslConfig != null) {
             // Upgrade TCP to SSL if an SSL config is specified.
             protocol = Protocol.SSL;
@@ -274,11 +357,22 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
         if (protocol != Protocol.SSL && sslConfig != null) {
             LOGGER.info("Appender {} ignoring SSL configuration for {} protocol", name, protocol);
         }
+        if (nonBlocking && protocol == Protocol.SSL) {
+            LOGGER.info("Appender {} ignoring nonBlocking for {} protocol", name, protocol);
+        }
         switch (protocol) {
         case TCP:
+            if (nonBlocking) {
+                return NioTcpSocketManager.getSocketManager(host, port, connectTimeoutMillis, reconnectDelayMillis,
+                        layout, bufferSize, maxPendingBytes, overflowPolicy, socketOptions);
+            }
             return TcpSocketManager.getSocketManager(host, port, connectTimeoutMillis, reconnectDelayMillis,
                     immediateFail, layout, bufferSize, socketOptions);
         case UDP:
+            if (nonBlocking) {
+                return NioDatagramSocketManager.getSocketManager(host, port, layout, maxDatagramSize, packDatagrams,
+                        maxPendingBytes, overflowPolicy);
+            }
             return DatagramSocketManager.getSocketManager(host, port, layout, bufferSize);
         case SSL:
             return SslSocketManager.getSocketManager(sslConfig, host, port, connectTimeoutMillis, reconnectDelayMillis,
@@ -20,12 +20,18 @@ package org.apache.logging.log4j.core.appender.db;
 import java.io.Flushable;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.AbstractManager;
 import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.util.Log4jThread;
 
 /**
  * Manager that allows database appenders to have their configuration reloaded without losing events.
@@ -88,10 +94,203 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
         return AbstractManager.getManager(name, factory, data);
     }
 
+    /**
+     * Commits the events handed over by the logging threads on a dedicated thread, swapping the buffer being filled
+     * with the one being committed so that logging threads only wait when the backlog is full.
+     */
+    private final class AsyncWriter extends Log4jThread {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition commitNeeded = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final Condition flushed = lock.newCondition();
+        private List<LogEvent> pending = new ArrayList<>();
+        private List<LogEvent> spare = new ArrayList<>();
+        private long firstPendingNanos;
+        private boolean endOfBatch;
+        private boolean committing;
+        private boolean stopped;
+        private long flushRequestCount;
+        private long committingFlushRequestCount;
+        private long flushedRequestCount;
+
+        private AsyncWriter() {
+            super("AsyncDatabaseWriter-" + AbstractDatabaseManager.this.getName());
+            setDaemon(true);
+        }
+
+        void add(final LogEvent event) {
+            lock.lock();
+            try {
+                while (pending.size() >= maxPendingEvents && !stopped) {
+                    notFull.await();
+                }
+                if (stopped) {
+                    droppedEventCount.increment();
+                    return;
+                }
+                pending.add(event.toImmutable());
+                if (event.isEndOfBatch()) {
+                    endOfBatch = true;
+                }
+                if (pending.size() == 1) {
+                    // Wakes the writer up to wait for the flush interval.
+                    firstPendingNanos = System.nanoTime();
+                    commitNeeded.signal();
+                } else if (pending.size() >= bufferSize || endOfBatch) {
+                    commitNeeded.signal();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedEventCount.increment();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Waits until the events added before this call have been committed.
+         */
+        void flush() {
+            lock.lock();
+            try {
+                if (pending.isEmpty() && !committing) {
+                    return;
+                }
+                final long flushRequest = ++flushRequestCount;
+                commitNeeded.signal();
+                while (flushedRequestCount < flushRequest && isAlive()) {
+                    flushed.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            List<LogEvent> batch;
+            while ((batch = takeBatch()) != null) {
+                commitBatch(batch);
+            }
+        }
+
+        /**
+         * Waits for the buffer to fill up, the flush interval to elapse or a flush to be requested, then swaps the
+         * buffers.
+         *
+         * @return the events to commit, or {@code null} once stopped and all events have been committed
+         */
+        private List<LogEvent> takeBatch() {
+            lock.lock();
+            try {
+                committing = false;
+                flushedRequestCount = committingFlushRequestCount;
+                flushed.signalAll();
+                while (true) {
+                    if (pending.isEmpty()) {
+                        if (flushedRequestCount < flushRequestCount) {
+                            // Flushes requested while committing, nothing has been added since.
+                            flushedRequestCount = flushRequestCount;
+                            flushed.signalAll();
+                        }
+                        if (stopped) {
+                            return null;
+                        }
+                        commitNeeded.await();
+                        continue;
+                    }
+                    final long waitNanos = firstPendingNanos + flushIntervalNanos - System.nanoTime();
+                    if (stopped || endOfBatch || pending.size() >= bufferSize || waitNanos <= 0
+                            || flushedRequestCount < flushRequestCount) {
+                        break;
+                    }
+                    commitNeeded.awaitNanos(waitNanos);
+                }
+                final List<LogEvent> batch = pending;
+                pending = spare;
+                spare = null;
+                endOfBatch = false;
+                committing = true;
+                committingFlushRequestCount = flushRequestCount;
+                notFull.signalAll();
+                return batch;
+            } catch (final InterruptedException e) {
+                // Commit what has been buffered so far and leave.
+                stopped = true;
+                final List<LogEvent> batch = pending;
+                pending = new ArrayList<>();
+                return batch.isEmpty() ? null : batch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void commitBatch(final List<LogEvent> batch) {
+            final long startNanos = System.nanoTime();
+            try {
+                connectAndStart();
+                try {
+                    writeBuffered(batch);
+                } finally {
+                    commitAndClose();
+                }
+                final long latencyNanos = System.nanoTime() - startNanos;
+                commitCount.increment();
+                committedEventCount.add(batch.size());
+                totalCommitNanos.add(latencyNanos);
+                maxCommitNanos.accumulate(latencyNanos);
+            } catch (final RuntimeException e) {
+                failedEventCount.add(batch.size());
+                logError("Unable to commit " + batch.size() + " event(s)", e);
+            } finally {
+                batch.clear();
+                lock.lock();
+                try {
+                    spare = batch;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        boolean stop(final long timeoutMillis) {
+            lock.lock();
+            try {
+                stopped = true;
+                commitNeeded.signal();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                join(timeoutMillis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return !isAlive();
+        }
+    }
+
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
     private final ArrayList<LogEvent> buffer;
 
     private final int bufferSize;
     private final Layout<? extends Serializable> layout;
+    private final boolean asyncWriter;
+    private final long flushIntervalMillis;
+    private final long flushIntervalNanos;
+    private final int maxPendingEvents;
+    private volatile AsyncWriter writer;
+    private final LongAdder commitCount = new LongAdder();
+    private final LongAdder committedEventCount = new LongAdder();
+    private final LongAdder failedEventCount = new LongAdder();
+    private final LongAdder droppedEventCount = new LongAdder();
+    private final LongAdder totalCommitNanos = new LongAdder();
+    private final LongAccumulator maxCommitNanos = new LongAccumulator(Math::max, 0);
     private boolean running;
     /**
      * Instantiates the base manager.
@@ -113,10 +312,37 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
      * @param bufferSize The size of the log event buffer.
      */
     protected AbstractDatabaseManager(final String name, final int bufferSize, final Layout<? extends Serializable> layout) {
+        this(name, bufferSize, layout, false, 0, 0);
+    }
+
+    /**
+     * Instantiates the base manager, optionally committing events on a dedicated thread.
+     * <p>
+     * With an asynchronous writer, logging threads only add events to a buffer. The writer thread commits them, in a
+     * single transaction, once {@code bufferSize} events are pending, an end of batch event is added or
+     * {@code flushIntervalMillis} have elapsed since the first pending event. Logging threads wait when
+     * {@code maxPendingEvents} events are waiting for the writer.
+     * </p>
+     *
+     * @param name The manager name, which should include any configuration details that one might want to be able to
+     *             reconfigure at runtime, such as database name, username, (hashed) password, etc.
+     * @param bufferSize The size of the log event buffer.
+     * @param layout the Appender-level layout.
+     * @param asyncWriter Whether to commit events on a dedicated thread.
+     * @param flushIntervalMillis The maximum time events wait for the asynchronous writer.
+     * @param maxPendingEvents The maximum number of events waiting for the asynchronous writer.
+     * @since 3.0.0
+     */
+    protected AbstractDatabaseManager(final String name, final int bufferSize, final Layout<? extends Serializable> layout,
+            final boolean asyncWriter, final long flushIntervalMillis, final int maxPendingEvents) {
         super(null, name);
         this.bufferSize = bufferSize;
-        this.buffer = new ArrayList<>(bufferSize + 1);
+        this.buffer = new ArrayList<>(asyncWriter ? 0 : bufferSize + 1);
         this.layout = layout;
+        this.asyncWriter = asyncWriter;
+        this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(this.flushIntervalMillis);
+        this.maxPendingEvents = Math.max(Math.max(1, bufferSize), maxPendingEvents);
     }
 
     protected void buffer(final LogEvent event) {
@@ -147,7 +373,16 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
      * {@link #shutdown()}. It can also be called manually to flush events to the database.
      */
     @Override
-    public final synchronized void flush() {
+    public final void flush() {
+        final AsyncWriter currentWriter = writer;
+        if (currentWriter != null) {
+            currentWriter.flush();
+            return;
+        }
+        flushBuffer();
+    }
+
+    private synchronized void flushBuffer() {
         if (this.isRunning() && isBuffered()) {
             this.connectAndStart();
             try {
@@ -166,6 +401,77 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
         return this.bufferSize > 0;
     }
 
+    /**
+     * Indicates whether events are committed by a dedicated thread.
+     *
+     * @return {@code true} if events are committed asynchronously.
+     * @since 3.0.0
+     */
+    public final boolean isAsyncWriter() {
+        return asyncWriter;
+    }
+
+    /**
+     * Returns the number of transactions committed by the asynchronous writer.
+     *
+     * @return the number of commits.
+     * @since 3.0.0
+     */
+    public final long getCommitCount() {
+        return commitCount.sum();
+    }
+
+    /**
+     * Returns the number of events committed by the asynchronous writer.
+     *
+     * @return the number of committed events.
+     * @since 3.0.0
+     */
+    public final long getCommittedEventCount() {
+        return committedEventCount.sum();
+    }
+
+    /**
+     * Returns the number of events the asynchronous writer failed to commit.
+     *
+     * @return the number of failed events.
+     * @since 3.0.0
+     */
+    public final long getFailedEventCount() {
+        return failedEventCount.sum();
+    }
+
+    /**
+     * Returns the number of events discarded because they were added after the asynchronous writer was stopped.
+     *
+     * @return the number of dropped events.
+     * @since 3.0.0
+     */
+    public final long getDroppedEventCount() {
+        return droppedEventCount.sum();
+    }
+
+    /**
+     * Returns the average time taken by the asynchronous writer to write and commit a batch of events.
+     *
+     * @return the average commit latency in nanoseconds, or zero if nothing has been committed yet.
+     * @since 3.0.0
+     */
+    public final long getAverageCommitLatencyNanos() {
+        final long commits = commitCount.sum();
+        return commits == 0 ? 0 : totalCommitNanos.sum() / commits;
+    }
+
+    /**
+     * Returns the longest time taken by the asynchronous writer to write and commit a batch of events.
+     *
+     * @return the maximum commit latency in nanoseconds.
+     * @since 3.0.0
+     */
+    public final long getMaxCommitLatencyNanos() {
+        return maxCommitNanos.get();
+    }
+
     /**
      * Indicates whether the manager is currently connected {@link #startup()} has been called and {@link #shutdown()}
      * has not been called).
@@ -178,7 +484,7 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
 
     @Override
     public final boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
-        return this.shutdown();
+        return this.shutdown(timeUnit != null ? timeUnit.toMillis(timeout) : 0);
     }
 
     /**
@@ -187,9 +493,29 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
      * it might throw.
      * @return true if all resources were closed normally, false otherwise.
      */
-    public final synchronized boolean shutdown() {
+    public final boolean shutdown() {
+        return shutdown(0);
+    }
+
+    private boolean shutdown(final long timeoutMillis) {
+        boolean closed = true;
+        // Stop the writer without holding the lock, which the writer might need to commit the remaining events.
+        final AsyncWriter currentWriter = writer;
+        // Do not wait forever for a database that does not answer.
+        if (currentWriter != null
+                && !currentWriter.stop(timeoutMillis > 0 ? timeoutMillis : DEFAULT_SHUTDOWN_TIMEOUT_MILLIS)) {
+            logWarn("Timed out waiting for the asynchronous writer to commit the remaining events", null);
+            closed = false;
+        }
+        synchronized (this) {
+            closed &= shutdownSync();
+        }
+        return closed;
+    }
+
+    private boolean shutdownSync() {
         boolean closed = true;
-        this.flush();
+        this.flushBuffer();
         if (this.isRunning()) {
             try {
                 closed &= this.shutdownInternal();
@@ -221,6 +547,10 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
             try {
                 this.startupInternal();
                 this.running = true;
+                if (asyncWriter) {
+                    writer = new AsyncWriter();
+                    writer.start();
+                }
             } catch (final Exception e) {
                 logError("Could not perform database startup operations", e);
             }
@@ -246,14 +576,46 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
      * @param event The event to write to the database.
      * @param serializable Serializable event
      */
-    public final synchronized void write(final LogEvent event, final Serializable serializable) {
-        if (isBuffered()) {
-            buffer(event);
-        } else {
-            writeThrough(event, serializable);
+    public final void write(final LogEvent event, final Serializable serializable) {
+        final AsyncWriter currentWriter = writer;
+        if (currentWriter != null) {
+            currentWriter.add(event);
+            return;
+        }
+        synchronized (this) {
+            if (isBuffered()) {
+                buffer(event);
+            } else {
+                writeThrough(event, serializable);
+            }
         }
     }
 
+    /**
+     * Writes the events committed together by the asynchronous writer. This method is called between
+     * {@link #connectAndStart()} and {@link #commitAndClose()}. By default, it calls {@link #writeInternal} for every
+     * event.
+     *
+     * @param events The events to write to the database.
+     * @since 3.0.0
+     */
+    protected void writeBuffered(final List<LogEvent> events) {
+        for (final LogEvent event : events) {
+            this.writeInternal(event, toSerializable(event));
+        }
+    }
+
+    /**
+     * Serializes the event with the layout of this manager, like the events passed to {@link #writeInternal}.
+     *
+     * @param event The event to serialize.
+     * @return the serialized event, or {@code null} if this manager has no layout.
+     * @since 3.0.0
+     */
+    protected Serializable toSerializable(final LogEvent event) {
+        return layout != null ? layout.toSerializable(event) : null;
+    }
+
     /**
      * Performs the actual writing of the event in an implementation-specific way. This method is called immediately
      * from {@link #write(LogEvent, Serializable)} if buffering is off, or from {@link #flush()} if the buffer has reached its limit.
@@ -48,7 +48,7 @@ public abstract class AbstractRolloverStrategy implements RolloverStrategy {
 
     public static final Pattern PATTERN_COUNTER= Pattern.compile(".*%((?<ZEROPAD>0)?(?<PADDING>\\d+))?i.*");
 
-    protected final StrSubstitutor strSubstitutor;
+    protected volatile StrSubstitutor strSubstitutor;
 
     protected AbstractRolloverStrategy(final StrSubstitutor strSubstitutor) {
         this.strSubstitutor = strSubstitutor;
@@ -23,6 +23,7 @@ import org.apache.logging.log4j.core.appender.rolling.action.FileRenameAction;
 import org.apache.logging.log4j.core.appender.rolling.action.PathCondition;
 import org.apache.logging.log4j.core.appender.rolling.action.PosixViewAttributeAction;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
 import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
 import org.apache.logging.log4j.core.lookup.StrSubstitutor;
 import org.apache.logging.log4j.core.util.Integers;
@@ -77,7 +78,7 @@ import java.util.zip.Deflater;
  * </p>
  */
 @Plugin(name = "DefaultRolloverStrategy", category = Core.CATEGORY_NAME, printObject = true)
-public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
+public class DefaultRolloverStrategy extends AbstractRolloverStrategy implements ConfigurationAware {
 
     private static final int MIN_WINDOW_SIZE = 1;
     private static final int DEFAULT_WINDOW_SIZE = 7;
@@ -98,6 +99,9 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
         @PluginBuilderAttribute("compressionLevel")
         private String compressionLevelStr;
 
+        @PluginBuilderAttribute("compressionThreads")
+        private int compressionThreads = 1;
+
         @PluginElement("Actions")
         private Action[] customActions;
 
@@ -143,8 +147,8 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
             final int compressionLevel = Integers.parseInt(trimmedCompressionLevelStr, Deflater.DEFAULT_COMPRESSION);
             // The config object can be null when this object is built programmatically.
             final StrSubstitutor nonNullStrSubstitutor = config != null ? config.getStrSubstitutor() : new StrSubstitutor();
-            return new DefaultRolloverStrategy(minIndex, maxIndex, useMax, compressionLevel, nonNullStrSubstitutor,
-                    customActions, stopCustomActionsOnError, tempCompressedFilePattern);
+            return new DefaultRolloverStrategy(minIndex, maxIndex, useMax, compressionLevel, compressionThreads,
+                    nonNullStrSubstitutor, customActions, stopCustomActionsOnError, tempCompressedFilePattern);
         }
 
         public String getMax() {
@@ -208,6 +212,23 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
             return this;
         }
 
+        public int getCompressionThreads() {
+            return compressionThreads;
+        }
+
+        /**
+         * Defines the number of threads compressing a rolled over file.
+         *
+         * @param compressionThreads The number of threads; values greater than 1 apply only to GZ files, which are then
+         *            written as a multi-member gzip file.
+         * @return This builder for chaining convenience
+         * @since 3.0.0
+         */
+        public Builder setCompressionThreads(final int compressionThreads) {
+            this.compressionThreads = compressionThreads;
+            return this;
+        }
+
         public Action[] getCustomActions() {
             return customActions;
         }
@@ -285,6 +306,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
     private final int minIndex;
     private final boolean useMax;
     private final int compressionLevel;
+    private final int compressionThreads;
     private final List<Action> customActions;
     private final boolean stopCustomActionsOnError;
     private final PatternProcessor tempCompressedFilePattern;
@@ -302,7 +324,28 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
     protected DefaultRolloverStrategy(final int minIndex, final int maxIndex, final boolean useMax,
             final int compressionLevel, final StrSubstitutor strSubstitutor, final Action[] customActions,
             final boolean stopCustomActionsOnError, final String tempCompressedFilePatternString) {
+        this(minIndex, maxIndex, useMax, compressionLevel, 1, strSubstitutor, customActions, stopCustomActionsOnError,
+                tempCompressedFilePatternString);
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param minIndex The minimum index.
+     * @param maxIndex The maximum index.
+     * @param compressionThreads The number of threads compressing a rolled over file.
+     * @param customActions custom actions to perform asynchronously after rollover
+     * @param stopCustomActionsOnError whether to stop executing asynchronous actions if an error occurs
+     * @param tempCompressedFilePatternString File pattern of the working file
+     *                                     used during compression, if null no temporary file are used
+     * @since 3.0.0
+     */
+    protected DefaultRolloverStrategy(final int minIndex, final int maxIndex, final boolean useMax,
+            final int compressionLevel, final int compressionThreads, final StrSubstitutor strSubstitutor,
+            final Action[] customActions, final boolean stopCustomActionsOnError,
+            final String tempCompressedFilePatternString) {
         super(strSubstitutor);
+        this.compressionThreads = Math.max(1, compressionThreads);
         this.minIndex = minIndex;
         this.maxIndex = maxIndex;
         this.useMax = useMax;
@@ -313,10 +356,26 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                 tempCompressedFilePatternString != null ? new PatternProcessor(tempCompressedFilePatternString) : null;
     }
 
+    /**
+     * Binds this strategy to the configuration that reuses it after a reconfiguration, so that the lookups of the file
+     * patterns are resolved by the new configuration.
+     *
+     * @param configuration the configuration that now uses this strategy.
+     * @since 3.0.0
+     */
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        strSubstitutor = configuration.getStrSubstitutor();
+    }
+
     public int getCompressionLevel() {
         return this.compressionLevel;
     }
 
+    public int getCompressionThreads() {
+        return this.compressionThreads;
+    }
+
     public List<Action> getCustomActions() {
         return customActions;
     }
@@ -504,13 +563,13 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                 }
                 compressAction = new CompositeAction(
                         Arrays.asList(fileExtension.createCompressAction(renameTo, tmpCompressedName,
-                                true, compressionLevel),
+                                true, compressionLevel, compressionThreads),
                                 new FileRenameAction(tmpCompressedNameFile,
                                         renameToFile, true)),
                         true);
             } else {
                 compressAction = fileExtension.createCompressAction(renameTo, compressedName,
-                        true, compressionLevel);
+                        true, compressionLevel, compressionThreads);
             }
         }
 
@@ -23,6 +23,7 @@ import org.apache.logging.log4j.core.appender.rolling.action.FileRenameAction;
 import org.apache.logging.log4j.core.appender.rolling.action.PathCondition;
 import org.apache.logging.log4j.core.appender.rolling.action.PosixViewAttributeAction;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
 import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
 import org.apache.logging.log4j.core.lookup.StrSubstitutor;
 import org.apache.logging.log4j.core.util.Integers;
@@ -55,7 +56,7 @@ import java.util.zip.Deflater;
  * @since 2.8
  */
 @Plugin(name = "DirectWriteRolloverStrategy", category = Core.CATEGORY_NAME, printObject = true)
-public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implements DirectFileRolloverStrategy {
+public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implements DirectFileRolloverStrategy, ConfigurationAware {
 
     private static final int DEFAULT_MAX_FILES = 7;
 
@@ -69,6 +70,9 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
         @PluginBuilderAttribute("compressionLevel")
         private String compressionLevelStr;
 
+        @PluginBuilderAttribute("compressionThreads")
+        private int compressionThreads = 1;
+
         @PluginElement("Actions")
         private Action[] customActions;
 
@@ -94,8 +98,8 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
                 }
             }
             final int compressionLevel = Integers.parseInt(compressionLevelStr, Deflater.DEFAULT_COMPRESSION);
-            return new DirectWriteRolloverStrategy(maxIndex, compressionLevel, config.getStrSubstitutor(),
-                    customActions, stopCustomActionsOnError, tempCompressedFilePattern);
+            return new DirectWriteRolloverStrategy(maxIndex, compressionLevel, compressionThreads,
+                    config.getStrSubstitutor(), customActions, stopCustomActionsOnError, tempCompressedFilePattern);
         }
 
         public String getMaxFiles() {
@@ -128,6 +132,23 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
             return this;
         }
 
+        public int getCompressionThreads() {
+            return compressionThreads;
+        }
+
+        /**
+         * Defines the number of threads compressing a rolled over file.
+         *
+         * @param compressionThreads The number of threads; values greater than 1 apply only to GZ files, which are then
+         *            written as a multi-member gzip file.
+         * @return This builder for chaining convenience
+         * @since 3.0.0
+         */
+        public Builder setCompressionThreads(final int compressionThreads) {
+            this.compressionThreads = compressionThreads;
+            return this;
+        }
+
         public Action[] getCustomActions() {
             return customActions;
         }
@@ -199,6 +220,7 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
      */
     private final int maxFiles;
     private final int compressionLevel;
+    private final int compressionThreads;
     private final List<Action> customActions;
     private final boolean stopCustomActionsOnError;
     private volatile String currentFileName;
@@ -217,7 +239,26 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
     protected DirectWriteRolloverStrategy(final int maxFiles, final int compressionLevel,
                                           final StrSubstitutor strSubstitutor, final Action[] customActions,
                                           final boolean stopCustomActionsOnError, final String tempCompressedFilePatternString) {
+        this(maxFiles, compressionLevel, 1, strSubstitutor, customActions, stopCustomActionsOnError,
+                tempCompressedFilePatternString);
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param maxFiles The maximum number of files that match the date portion of the pattern to keep.
+     * @param compressionThreads The number of threads compressing a rolled over file.
+     * @param customActions custom actions to perform asynchronously after rollover
+     * @param stopCustomActionsOnError whether to stop executing asynchronous actions if an error occurs
+     * @param tempCompressedFilePatternString File pattern of the working file
+     *                                     used during compression, if null no temporary file are used
+     * @since 3.0.0
+     */
+    protected DirectWriteRolloverStrategy(final int maxFiles, final int compressionLevel, final int compressionThreads,
+                                          final StrSubstitutor strSubstitutor, final Action[] customActions,
+                                          final boolean stopCustomActionsOnError, final String tempCompressedFilePatternString) {
         super(strSubstitutor);
+        this.compressionThreads = Math.max(1, compressionThreads);
         this.maxFiles = maxFiles;
         this.compressionLevel = compressionLevel;
         this.stopCustomActionsOnError = stopCustomActionsOnError;
@@ -226,10 +267,26 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
                 tempCompressedFilePatternString != null ? new PatternProcessor(tempCompressedFilePatternString) : null;
     }
 
+    /**
+     * Binds this strategy to the configuration that reuses it after a reconfiguration, so that the lookups of the file
+     * patterns are resolved by the new configuration.
+     *
+     * @param configuration the configuration that now uses this strategy.
+     * @since 3.0.0
+     */
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        strSubstitutor = configuration.getStrSubstitutor();
+    }
+
     public int getCompressionLevel() {
         return this.compressionLevel;
     }
 
+    public int getCompressionThreads() {
+        return this.compressionThreads;
+    }
+
     public List<Action> getCustomActions() {
         return customActions;
     }
@@ -319,13 +376,13 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
                 }
                 compressAction = new CompositeAction(
                         Arrays.asList(fileExtension.createCompressAction(sourceName, tmpCompressedName,
-                                true, compressionLevel),
+                                true, compressionLevel, compressionThreads),
                                 new FileRenameAction(tmpCompressedNameFile,
                                         new File(compressedName), true)),
                         true);
             } else {
                 compressAction = fileExtension.createCompressAction(sourceName, compressedName,
-                      true, compressionLevel);
+                      true, compressionLevel, compressionThreads);
             }
         }
 
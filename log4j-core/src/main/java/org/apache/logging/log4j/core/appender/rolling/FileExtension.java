@@ -41,6 +41,13 @@ public enum FileExtension {
                                     final int compressionLevel) {
             return new GzCompressAction(source(renameTo), target(compressedName), deleteSource, compressionLevel);
         }
+
+        @Override
+        Action createCompressAction(final String renameTo, final String compressedName, final boolean deleteSource,
+                                    final int compressionLevel, final int compressionThreads) {
+            return new GzCompressAction(source(renameTo), target(compressedName), deleteSource, compressionLevel,
+                    compressionThreads);
+        }
     },
     BZIP2(".bz2") {
         @Override
@@ -73,6 +80,22 @@ public enum FileExtension {
             // One of "gz", "bzip2", "xz", "pack200", or "deflate".
             return new CommonsCompressAction("xz", source(renameTo), target(compressedName), deleteSource);
         }
+    },
+    LZ4(".lz4") {
+        @Override
+        Action createCompressAction(final String renameTo, final String compressedName, final boolean deleteSource,
+                                    final int compressionLevel) {
+            // The LZ4 frame format, implemented in Java by Apache Commons Compress.
+            return new CommonsCompressAction("lz4-framed", source(renameTo), target(compressedName), deleteSource);
+        }
+    },
+    ZSTD(".zst") {
+        @Override
+        Action createCompressAction(final String renameTo, final String compressedName, final boolean deleteSource,
+                                    final int compressionLevel) {
+            // Apache Commons Compress delegates to zstd-jni, which must be on the class path.
+            return new CommonsCompressAction("zstd", source(renameTo), target(compressedName), deleteSource);
+        }
     };
 
     public static FileExtension lookup(final String fileExtension) {
@@ -103,6 +126,15 @@ public enum FileExtension {
     abstract Action createCompressAction(String renameTo, String compressedName, boolean deleteSource,
                                          int compressionLevel);
 
+    /**
+     * Creates the compress action, compressing with up to {@code compressionThreads} threads if the format supports
+     * it. Formats that do not support parallel compression ignore the number of threads.
+     */
+    Action createCompressAction(final String renameTo, final String compressedName, final boolean deleteSource,
+                                final int compressionLevel, final int compressionThreads) {
+        return createCompressAction(renameTo, compressedName, deleteSource, compressionLevel);
+    }
+
     String getExtension() {
         return extension;
     }
@@ -44,6 +44,8 @@ import org.apache.logging.log4j.core.appender.FileManager;
 import org.apache.logging.log4j.core.appender.ManagerFactory;
 import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
 import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.CompositeAction;
+import org.apache.logging.log4j.core.appender.rolling.action.CompressAction;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.FileUtils;
@@ -441,6 +443,7 @@ public class RollingFileManager extends FileManager {
                     LOGGER.debug("RollingFileManager executing synchronous {}", descriptor.getSynchronous());
                     try {
                         success = descriptor.getSynchronous().execute();
+                        fireCompressionComplete(descriptor.getSynchronous());
                     } catch (final Exception ex) {
                         success = false;
                         logError("Caught error in synchronous task", ex);
@@ -463,6 +466,32 @@ public class RollingFileManager extends FileManager {
 
     }
 
+    private void fireCompressionComplete(final Action action) {
+        if (rolloverListeners.isEmpty()) {
+            return;
+        }
+        if (action instanceof CompositeAction) {
+            for (final Action child : ((CompositeAction) action).getActions()) {
+                fireCompressionComplete(child);
+            }
+        } else if (action instanceof CompressAction) {
+            final CompressAction compressAction = (CompressAction) action;
+            if (compressAction.getCompressionNanos() < 0) {
+                return;
+            }
+            for (final RolloverListener listener : rolloverListeners) {
+                try {
+                    listener.compressionComplete(compressAction.getDestination().getPath(),
+                            compressAction.getUncompressedSize(), compressAction.getCompressedSize(),
+                            compressAction.getCompressionNanos());
+                } catch (final Exception ex) {
+                    LOGGER.warn("Rollover Listener {} failed with {}: {}", listener.getClass().getSimpleName(),
+                            ex.getClass().getName(), ex.getMessage());
+                }
+            }
+        }
+    }
+
     /**
      * Performs actions asynchronously.
      */
@@ -492,7 +521,9 @@ public class RollingFileManager extends FileManager {
         @Override
         public boolean execute() throws IOException {
             try {
-                return action.execute();
+                final boolean success = action.execute();
+                manager.fireCompressionComplete(action);
+                return success;
             } finally {
                 manager.semaphore.release();
             }
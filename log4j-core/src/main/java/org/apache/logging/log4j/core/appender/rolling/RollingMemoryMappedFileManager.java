@@ -0,0 +1,408 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Paths;
+import java.security.PrivilegedActionException;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.ConfigurationFactoryData;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.appender.MemoryMappedFileManager;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.core.util.FileUtils;
+import org.apache.logging.log4j.core.util.NullOutputStream;
+import org.apache.logging.log4j.core.util.internal.MappedBuffers;
+
+/**
+ * Extends RollingFileManager but instead of using a buffered output stream, this class maps a region of the current
+ * file into memory and writes to this memory region, like {@link MemoryMappedFileManager}.
+ * <p>
+ * When the mapped region is full, the file is extended by another region which is mapped in its place. On rollover
+ * and when the manager is stopped, the region is unmapped and the file is truncated to the data actually written, so
+ * rolled over files never end with the unused part of a region.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+public class RollingMemoryMappedFileManager extends RollingFileManager {
+    /**
+     * Default length of region to map.
+     */
+    public static final int DEFAULT_REGION_LENGTH = 32 * 1024 * 1024;
+
+    private static final RollingMemoryMappedFileManagerFactory FACTORY = new RollingMemoryMappedFileManagerFactory();
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.wrap(new byte[0]);
+
+    private final boolean immediateFlush;
+    private final int regionLength;
+    private RandomAccessFile randomAccessFile;
+    private MappedByteBuffer mappedBuffer;
+    private long mappingOffset;
+
+    protected RollingMemoryMappedFileManager(final LoggerContext loggerContext, final RandomAccessFile raf,
+            final String fileName, final String pattern, final OutputStream os, final boolean append,
+            final boolean immediateFlush, final int regionLength, final long position, final long initialTime,
+            final TriggeringPolicy policy, final RolloverStrategy strategy, final String advertiseURI,
+            final Layout<? extends Serializable> layout,
+            final String filePermissions, final String fileOwner, final String fileGroup,
+            final boolean writeHeader) throws IOException {
+        super(loggerContext, fileName, pattern, os, append, false, position, initialTime, policy, strategy,
+                advertiseURI, layout, filePermissions, fileOwner, fileGroup, writeHeader, EMPTY_BUFFER);
+        this.immediateFlush = immediateFlush;
+        this.regionLength = regionLength;
+        if (raf != null) {
+            map(raf, position);
+            if (writeHeader) {
+                writeHeader();
+            }
+        }
+    }
+
+    public static RollingMemoryMappedFileManager getRollingMemoryMappedFileManager(final String fileName,
+            final String filePattern, final boolean isAppend, final boolean immediateFlush, final int regionLength,
+            final TriggeringPolicy policy, final RolloverStrategy strategy, final String advertiseURI,
+            final Layout<? extends Serializable> layout, final String filePermissions, final String fileOwner,
+            final String fileGroup, final Configuration configuration) {
+        if (strategy instanceof DirectWriteRolloverStrategy && fileName != null) {
+            LOGGER.error("The fileName attribute must not be specified with the DirectWriteRolloverStrategy");
+            return null;
+        }
+        final String name = fileName == null ? filePattern : fileName;
+        return narrow(RollingMemoryMappedFileManager.class, getManager(name, new FactoryData(fileName, filePattern,
+                isAppend, immediateFlush, regionLength, policy, strategy, advertiseURI, layout, filePermissions,
+                fileOwner, fileGroup, configuration), FACTORY));
+    }
+
+    private void map(final RandomAccessFile raf, final long position) throws IOException {
+        raf.setLength(position + regionLength);
+        this.randomAccessFile = raf;
+        this.mappedBuffer = MemoryMappedFileManager.mmap(raf.getChannel(), getFileName(), position, regionLength);
+        this.byteBuffer = mappedBuffer;
+        this.mappingOffset = position;
+        // the size of the file is the offset of the mapped region plus the position in the region
+        this.size = position;
+    }
+
+    /**
+     * Writes the layout's header at the start of the mapped region if the file is empty.
+     */
+    private void writeHeader() {
+        if (layout == null || mappingOffset != 0 || mappedBuffer.position() != 0) {
+            return;
+        }
+        final byte[] header = layout.getHeader();
+        if (header != null) {
+            write(header, 0, header.length, false);
+        }
+    }
+
+    @Override
+    protected synchronized void write(final byte[] bytes, int offset, int length, final boolean immediateFlush) {
+        ensureMapped();
+        while (length > mappedBuffer.remaining()) {
+            final int chunk = mappedBuffer.remaining();
+            mappedBuffer.put(bytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+            remap();
+        }
+        mappedBuffer.put(bytes, offset, length);
+        if (immediateFlush) {
+            flush();
+        }
+    }
+
+    private void ensureMapped() {
+        if (randomAccessFile != null) {
+            return;
+        }
+        try {
+            final String fileName = getFileName();
+            FileUtils.makeParentDirs(new File(fileName));
+            createFileAfterRollover(fileName);
+        } catch (final IOException ex) {
+            throw new AppenderLoggingException("Unable to map file " + getFileName(), ex);
+        }
+    }
+
+    private synchronized void remap() {
+        final long offset = this.mappingOffset + mappedBuffer.position();
+        try {
+            unsafeUnmap(mappedBuffer);
+            LOGGER.debug("{} {} extending {} by {} bytes", getClass().getSimpleName(), getName(), getFileName(),
+                    regionLength);
+            map(randomAccessFile, offset);
+        } catch (final Exception ex) {
+            logError("Unable to remap", ex);
+        }
+    }
+
+    /**
+     * Unmaps the specified buffer immediately instead of waiting for it to be garbage collected, like
+     * {@link MemoryMappedFileManager} does.
+     */
+    private static void unsafeUnmap(final MappedByteBuffer mbb) throws PrivilegedActionException {
+        LOGGER.debug("RollingMemoryMappedFileManager unmapping old buffer...");
+        final long startNanos = System.nanoTime();
+        MappedBuffers.unmap(mbb);
+        LOGGER.debug("RollingMemoryMappedFileManager unmapped buffer OK in {} nanos", System.nanoTime() - startNanos);
+    }
+
+    @Override
+    protected void createFileAfterRollover() throws IOException {
+        createFileAfterRollover(getFileName());
+    }
+
+    private void createFileAfterRollover(final String fileName) throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(fileName, "rw");
+        try {
+            if (isAttributeViewEnabled()) {
+                defineAttributeView(Paths.get(fileName));
+            }
+            map(raf, isAppend() ? raf.length() : 0);
+        } catch (final IOException ex) {
+            Closer.closeSilently(raf);
+            throw ex;
+        }
+        writeHeader();
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (mappedBuffer != null) {
+            mappedBuffer.force();
+        }
+    }
+
+    @Override
+    protected void flushBuffer(final ByteBuffer buffer) {
+        // do nothing (do not call drain() to avoid spurious remapping)
+    }
+
+    @Override
+    public synchronized boolean closeOutputStream() {
+        final RandomAccessFile raf = randomAccessFile;
+        if (raf == null) {
+            return true;
+        }
+        final long length = mappingOffset + mappedBuffer.position();
+        try {
+            unsafeUnmap(mappedBuffer);
+        } catch (final Exception ex) {
+            logError("Unable to unmap MappedBuffer", ex);
+        }
+        mappedBuffer = null;
+        randomAccessFile = null;
+        byteBuffer = EMPTY_BUFFER;
+        size = length;
+        try {
+            // truncate the unused tail of the mapped region
+            LOGGER.debug("{} closing. Setting {} length to {}", getClass().getSimpleName(), getFileName(), length);
+            raf.setLength(length);
+            raf.close();
+            return true;
+        } catch (final IOException ex) {
+            logError("Unable to close MemoryMappedFile", ex);
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized ByteBuffer getByteBuffer() {
+        ensureMapped();
+        return mappedBuffer;
+    }
+
+    @Override
+    public synchronized ByteBuffer drain(final ByteBuffer buf) {
+        ensureMapped();
+        remap();
+        return mappedBuffer;
+    }
+
+    /**
+     * Returns the length of the memory mapped region.
+     *
+     * @return the length of the mapped region
+     */
+    public int getRegionLength() {
+        return regionLength;
+    }
+
+    /**
+     * Returns {@code true} if the content of the buffer should be forced to the storage device on every write,
+     * {@code false} otherwise.
+     *
+     * @return whether each write should be force-sync'ed
+     */
+    public boolean isImmediateFlush() {
+        return immediateFlush;
+    }
+
+    /**
+     * Returns the length of the memory mapped region.
+     *
+     * @return the length of the mapped region
+     */
+    @Override
+    public int getBufferSize() {
+        return regionLength;
+    }
+
+    /**
+     * Factory to create a RollingMemoryMappedFileManager.
+     */
+    private static class RollingMemoryMappedFileManagerFactory implements
+            ManagerFactory<RollingMemoryMappedFileManager, FactoryData> {
+
+        /**
+         * Create the RollingMemoryMappedFileManager.
+         *
+         * @param name The name of the entity to manage.
+         * @param data The data required to create the entity.
+         * @return a RollingMemoryMappedFileManager.
+         */
+        @Override
+        public RollingMemoryMappedFileManager createManager(final String name, final FactoryData data) {
+            File file = null;
+            long position = 0;
+            long initialTime = System.currentTimeMillis();
+            RandomAccessFile raf = null;
+            boolean writeHeader = true;
+            try {
+                if (data.fileName != null) {
+                    file = new File(name);
+                    if (!data.append) {
+                        file.delete();
+                    }
+                    writeHeader = !file.exists();
+                    if (file.exists()) {
+                        initialTime = file.lastModified();
+                    }
+                    FileUtils.makeParentDirs(file);
+                    raf = new RandomAccessFile(name, "rw");
+                    position = data.append ? raf.length() : 0;
+                }
+                final RollingMemoryMappedFileManager manager = new RollingMemoryMappedFileManager(
+                        data.getLoggerContext(), raf, name, data.pattern, NullOutputStream.getInstance(), data.append,
+                        data.immediateFlush, data.regionLength, position, initialTime, data.policy, data.strategy,
+                        data.advertiseURI, data.layout, data.filePermissions, data.fileOwner, data.fileGroup,
+                        writeHeader);
+                if (file != null && manager.isAttributeViewEnabled()) {
+                    manager.defineAttributeView(file.toPath());
+                }
+                return manager;
+            } catch (final IOException ex) {
+                LOGGER.error("RollingMemoryMappedFileManager (" + name + ") " + ex, ex);
+                Closer.closeSilently(raf);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Factory data.
+     */
+    private static class FactoryData extends ConfigurationFactoryData {
+        private final String fileName;
+        private final String pattern;
+        private final boolean append;
+        private final boolean immediateFlush;
+        private final int regionLength;
+        private final TriggeringPolicy policy;
+        private final RolloverStrategy strategy;
+        private final String advertiseURI;
+        private final Layout<? extends Serializable> layout;
+        private final String filePermissions;
+        private final String fileOwner;
+        private final String fileGroup;
+
+        /**
+         * Create the data for the factory.
+         *
+         * @param fileName The file name.
+         * @param pattern The pattern.
+         * @param append The append flag.
+         * @param immediateFlush Whether to force the mapped region to the storage device on every write.
+         * @param regionLength The length of the mapped region.
+         * @param policy The triggering policy.
+         * @param strategy The rollover strategy.
+         * @param advertiseURI The URI to use when advertising the file.
+         * @param layout The layout.
+         * @param filePermissions File permissions
+         * @param fileOwner File owner
+         * @param fileGroup File group
+         * @param configuration The configuration.
+         */
+        public FactoryData(final String fileName, final String pattern, final boolean append,
+                final boolean immediateFlush, final int regionLength, final TriggeringPolicy policy,
+                final RolloverStrategy strategy, final String advertiseURI,
+                final Layout<? extends Serializable> layout, final String filePermissions, final String fileOwner,
+                final String fileGroup, final Configuration configuration) {
+            super(configuration);
+            this.fileName = fileName;
+            this.pattern = pattern;
+            this.append = append;
+            this.immediateFlush = immediateFlush;
+            this.regionLength = regionLength;
+            this.policy = policy;
+            this.strategy = strategy;
+            this.advertiseURI = advertiseURI;
+            this.layout = layout;
+            this.filePermissions = filePermissions;
+            this.fileOwner = fileOwner;
+            this.fileGroup = fileGroup;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public TriggeringPolicy getTriggeringPolicy() {
+            return this.policy;
+        }
+
+        public RolloverStrategy getRolloverStrategy() {
+            return this.strategy;
+        }
+    }
+
+    /**
+     * Updates the RollingFileManager's data during a reconfiguration. This method should be considered private.
+     * It is not thread safe and calling it outside of a reconfiguration may lead to errors. This method may be
+     * made protected in a future release.
+     * @param data The data to update.
+     */
+    @Override
+    public void updateData(final Object data) {
+        final FactoryData factoryData = (FactoryData) data;
+        setRolloverStrategy(factoryData.getRolloverStrategy());
+        setPatternProcessor(new PatternProcessor(factoryData.getPattern(), getPatternProcessor()));
+        setTriggeringPolicy(factoryData.getTriggeringPolicy());
+    }
+}
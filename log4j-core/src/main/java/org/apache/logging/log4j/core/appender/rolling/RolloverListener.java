@@ -34,4 +34,18 @@ public interface RolloverListener {
      * @param fileName The name of the file rolling over.
      */
     void rolloverComplete(String fileName);
+
+    /**
+     * Called after a rolled over file has been compressed. Compression normally runs asynchronously, so this method
+     * is called from a background thread once the rollover is complete.
+     * @param fileName The name of the compressed file.
+     * @param uncompressedSize The size of the file before compression, in bytes.
+     * @param compressedSize The size of the file after compression, in bytes.
+     * @param durationNanos The time spent compressing the file, in nanoseconds.
+     * @since 3.0.0
+     */
+    default void compressionComplete(final String fileName, final long uncompressedSize, final long compressedSize,
+            final long durationNanos) {
+        // do nothing by default
+    }
 }
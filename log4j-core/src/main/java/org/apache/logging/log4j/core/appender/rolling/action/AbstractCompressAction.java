@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.IOException;
+
+/**
+ * Abstract base class for implementations of {@link CompressAction}, which records the sizes and the duration of the
+ * compression.
+ *
+ * @since 3.0.0
+ */
+public abstract class AbstractCompressAction extends AbstractAction implements CompressAction {
+
+    private volatile long uncompressedSize = -1;
+    private volatile long compressedSize = -1;
+    private volatile long compressionNanos = -1;
+
+    /**
+     * Constructor.
+     */
+    protected AbstractCompressAction() {
+    }
+
+    /**
+     * Compresses and records the sizes and the duration of the compression.
+     *
+     * @return true if successfully compressed.
+     * @throws IOException on IO exception.
+     */
+    @Override
+    public boolean execute() throws IOException {
+        final long length = getSource().length();
+        final long startNanos = System.nanoTime();
+        final boolean compressed = compress();
+        if (compressed) {
+            compressionNanos = System.nanoTime() - startNanos;
+            uncompressedSize = length;
+            compressedSize = getDestination().length();
+        }
+        return compressed;
+    }
+
+    /**
+     * Compresses the source file into the destination file.
+     *
+     * @return true if successfully compressed.
+     * @throws IOException on IO exception.
+     */
+    protected abstract boolean compress() throws IOException;
+
+    @Override
+    public long getUncompressedSize() {
+        return uncompressedSize;
+    }
+
+    @Override
+    public long getCompressedSize() {
+        return compressedSize;
+    }
+
+    @Override
+    public long getCompressionNanos() {
+        return compressionNanos;
+    }
+}
@@ -31,7 +31,7 @@ import org.apache.commons.compress.utils.IOUtils;
 /**
  * Compresses a file using bzip2 compression.
  */
-public final class CommonsCompressAction extends AbstractAction {
+public final class CommonsCompressAction extends AbstractCompressAction {
 
     private static final int BUF_SIZE = 8192;
 
@@ -81,7 +81,7 @@ public final class CommonsCompressAction extends AbstractAction {
      * @throws IOException on IO exception.
      */
     @Override
-    public boolean execute() throws IOException {
+    protected boolean compress() throws IOException {
         return execute(name, source, destination, deleteSource);
     }
 
@@ -148,10 +148,12 @@ public final class CommonsCompressAction extends AbstractAction {
         return name;
     }
 
+    @Override
     public File getSource() {
         return source;
     }
 
+    @Override
     public File getDestination() {
         return destination;
     }
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.File;
+
+/**
+ * An action that compresses a file and records how long it took, so that rollover throughput can be reported to
+ * {@link org.apache.logging.log4j.core.appender.rolling.RolloverListener}s.
+ *
+ * @since 3.0.0
+ */
+public interface CompressAction extends Action {
+
+    /**
+     * Returns the file to compress.
+     *
+     * @return the file to compress.
+     */
+    File getSource();
+
+    /**
+     * Returns the compressed file.
+     *
+     * @return the compressed file.
+     */
+    File getDestination();
+
+    /**
+     * Returns the number of bytes read from the source file, or -1 if the action did not compress anything yet.
+     *
+     * @return the size of the uncompressed data.
+     */
+    long getUncompressedSize();
+
+    /**
+     * Returns the size of the compressed file, or -1 if the action did not compress anything yet.
+     *
+     * @return the size of the compressed data.
+     */
+    long getCompressedSize();
+
+    /**
+     * Returns the time spent compressing in nanoseconds, or -1 if the action did not compress anything yet.
+     *
+     * @return the time spent compressing in nanoseconds.
+     */
+    long getCompressionNanos();
+}
@@ -17,22 +17,49 @@
 package org.apache.logging.log4j.core.appender.rolling.action;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
 
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+
 /**
  * Compresses a file using GZ compression.
+ * <p>
+ * With a parallelism greater than one, files larger than a chunk are split into chunks of
+ * {@value #PARALLEL_CHUNK_SIZE} bytes that are compressed concurrently, each as a separate gzip member. The members are
+ * written in order, and the result is a standard multi-member gzip file (RFC 1952) that {@code gunzip} and
+ * {@link java.util.zip.GZIPInputStream} read as a single stream. The chunks are compressed by a pool of at most one
+ * daemon thread per processor, shared by all rollovers. Its threads are created on demand and terminate after a minute
+ * without work.
+ * </p>
  */
-public final class GzCompressAction extends AbstractAction {
+public final class GzCompressAction extends AbstractCompressAction {
 
     private static final int BUF_SIZE = 8192;
 
+    /**
+     * Size of the chunks compressed concurrently.
+     */
+    static final int PARALLEL_CHUNK_SIZE = 4 * 1024 * 1024;
+
     /**
      * Source file.
      */
@@ -55,6 +82,11 @@ public final class GzCompressAction extends AbstractAction {
      */
     private final int compressionLevel;
 
+    /**
+     * Number of threads compressing chunks concurrently.
+     */
+    private final int parallelism;
+
     /**
      * Create new instance of GzCompressAction.
      *
@@ -67,6 +99,25 @@ public final class GzCompressAction extends AbstractAction {
      */
     public GzCompressAction(
             final File source, final File destination, final boolean deleteSource, final int compressionLevel) {
+        this(source, destination, deleteSource, compressionLevel, 1);
+    }
+
+    /**
+     * Create new instance of GzCompressAction.
+     *
+     * @param source       file to compress, may not be null.
+     * @param destination  compressed file, may not be null.
+     * @param deleteSource if true, attempt to delete file on completion.  Failure to delete
+     *                     does not cause an exception to be thrown or affect return value.
+     * @param compressionLevel
+     *                     Gzip deflater compression level.
+     * @param parallelism  number of threads compressing chunks of the file concurrently, 1 to compress on the
+     *                     calling thread only.
+     * @since 3.0.0
+     */
+    public GzCompressAction(
+            final File source, final File destination, final boolean deleteSource, final int compressionLevel,
+            final int parallelism) {
         Objects.requireNonNull(source, "source");
         Objects.requireNonNull(destination, "destination");
 
@@ -74,6 +125,7 @@ public final class GzCompressAction extends AbstractAction {
         this.destination = destination;
         this.deleteSource = deleteSource;
         this.compressionLevel = compressionLevel;
+        this.parallelism = Math.max(1, parallelism);
     }
 
     /**
@@ -82,6 +134,7 @@ public final class GzCompressAction extends AbstractAction {
      * @deprecated Prefer {@link GzCompressAction#GzCompressAction(File, File, boolean, int)}.
      */
     @Deprecated
+    @SuppressWarnings("InlineMeSuggester") // the @InlineMe annotation is not a dependency of this module
     public GzCompressAction(final File source, final File destination, final boolean deleteSource) {
         this(source, destination, deleteSource, Deflater.DEFAULT_COMPRESSION);
     }
@@ -93,8 +146,8 @@ public final class GzCompressAction extends AbstractAction {
      * @throws IOException on IO exception.
      */
     @Override
-    public boolean execute() throws IOException {
-        return execute(source, destination, deleteSource, compressionLevel);
+    protected boolean compress() throws IOException {
+        return execute(source, destination, deleteSource, compressionLevel, parallelism);
     }
 
     /**
@@ -109,6 +162,7 @@ public final class GzCompressAction extends AbstractAction {
      * @deprecated In favor of {@link #execute(File, File, boolean, int)}.
      */
     @Deprecated
+    @SuppressWarnings("InlineMeSuggester") // the @InlineMe annotation is not a dependency of this module
     public static boolean execute(final File source, final File destination, final boolean deleteSource)
             throws IOException {
         return execute(source, destination, deleteSource, Deflater.DEFAULT_COMPRESSION);
@@ -131,19 +185,34 @@ public final class GzCompressAction extends AbstractAction {
             final File destination,
             final boolean deleteSource,
             final int compressionLevel) throws IOException {
+        return execute(source, destination, deleteSource, compressionLevel, 1);
+    }
+
+    /**
+     * Compress a file, splitting it into chunks compressed in parallel if it is large enough.
+     *
+     * @param source       file to compress, may not be null.
+     * @param destination  compressed file, may not be null.
+     * @param deleteSource if true, attempt to delete file on completion.  Failure to delete
+     *                     does not cause an exception to be thrown or affect return value.
+     * @param compressionLevel
+     *                     Gzip deflater compression level.
+     * @param parallelism  number of threads compressing chunks of the file concurrently.
+     * @return true if source file compressed.
+     * @throws IOException on IO exception.
+     * @since 3.0.0
+     */
+    public static boolean execute(
+            final File source,
+            final File destination,
+            final boolean deleteSource,
+            final int compressionLevel,
+            final int parallelism) throws IOException {
         if (source.exists()) {
-            try (final FileInputStream fis = new FileInputStream(source);
-                 final OutputStream fos = new FileOutputStream(destination);
-                 final OutputStream gzipOut = new ConfigurableLevelGZIPOutputStream(
-                         fos, BUF_SIZE, compressionLevel);
-                 // Reduce native invocations by buffering data into GZIPOutputStream
-                 final OutputStream os = new BufferedOutputStream(gzipOut, BUF_SIZE)) {
-                final byte[] inbuf = new byte[BUF_SIZE];
-                int n;
-
-                while ((n = fis.read(inbuf)) != -1) {
-                    os.write(inbuf, 0, n);
-                }
+            if (parallelism > 1 && source.length() > PARALLEL_CHUNK_SIZE) {
+                compressInParallel(source, destination, compressionLevel, parallelism);
+            } else {
+                compress(source, destination, compressionLevel);
             }
 
             if (deleteSource && !source.delete()) {
@@ -156,6 +225,103 @@ public final class GzCompressAction extends AbstractAction {
         return false;
     }
 
+    private static void compress(final File source, final File destination, final int compressionLevel)
+            throws IOException {
+        try (final FileInputStream fis = new FileInputStream(source);
+             final OutputStream fos = new FileOutputStream(destination);
+             final OutputStream gzipOut = new ConfigurableLevelGZIPOutputStream(fos, BUF_SIZE, compressionLevel);
+             // Reduce native invocations by buffering data into GZIPOutputStream
+             final OutputStream os = new BufferedOutputStream(gzipOut, BUF_SIZE)) {
+            final byte[] inbuf = new byte[BUF_SIZE];
+            int n;
+
+            while ((n = fis.read(inbuf)) != -1) {
+                os.write(inbuf, 0, n);
+            }
+        }
+    }
+
+    private static void compressInParallel(
+            final File source, final File destination, final int compressionLevel, final int parallelism)
+            throws IOException {
+        LOGGER.debug("Compressing {} with {} threads", source, parallelism);
+        final ExecutorService executor = CompressionExecutor.INSTANCE;
+        // at most one chunk per thread is compressed at a time, plus the chunk being read
+        final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        try (final InputStream fis = new FileInputStream(source);
+             final OutputStream fos = new FileOutputStream(destination)) {
+            byte[] chunk;
+            while ((chunk = readChunk(fis)) != null) {
+                if (pending.size() >= parallelism) {
+                    fos.write(await(pending.remove()));
+                }
+                final byte[] data = chunk;
+                pending.add(executor.submit(() -> compressMember(data, compressionLevel)));
+            }
+            while (!pending.isEmpty()) {
+                fos.write(await(pending.remove()));
+            }
+        } finally {
+            // only non-empty if the compression failed
+            for (final Future<byte[]> member : pending) {
+                member.cancel(true);
+            }
+        }
+    }
+
+    private static byte[] readChunk(final InputStream in) throws IOException {
+        final byte[] chunk = new byte[PARALLEL_CHUNK_SIZE];
+        int length = 0;
+        int n;
+        while (length < chunk.length && (n = in.read(chunk, length, chunk.length - length)) != -1) {
+            length += n;
+        }
+        if (length == 0) {
+            return null;
+        }
+        return length == chunk.length ? chunk : Arrays.copyOf(chunk, length);
+    }
+
+    private static byte[] compressMember(final byte[] data, final int compressionLevel) throws IOException {
+        final ByteArrayOutputStream member = new ByteArrayOutputStream(data.length / 4 + BUF_SIZE);
+        try (final OutputStream gzipOut = new ConfigurableLevelGZIPOutputStream(member, BUF_SIZE, compressionLevel)) {
+            gzipOut.write(data);
+        }
+        return member.toByteArray();
+    }
+
+    private static byte[] await(final Future<byte[]> member) throws IOException {
+        try {
+            return member.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing");
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    /**
+     * Lazily creates the pool compressing chunks in parallel. The pool has at most one thread per processor and a
+     * bounded queue: when both are full, the rolling thread compresses the chunk itself.
+     */
+    private static final class CompressionExecutor {
+
+        private static final int MAX_THREADS = Runtime.getRuntime().availableProcessors();
+
+        static final ExecutorService INSTANCE = createExecutor();
+
+        private static ExecutorService createExecutor() {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(4 * MAX_THREADS),
+                    Log4jThreadFactory.createDaemonThreadFactory("GzCompress"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
     private static final class ConfigurableLevelGZIPOutputStream extends GZIPOutputStream {
 
         ConfigurableLevelGZIPOutputStream(final OutputStream out, final int bufSize, final int level) throws IOException {
@@ -177,13 +343,15 @@ public final class GzCompressAction extends AbstractAction {
     @Override
     public String toString() {
         return GzCompressAction.class.getSimpleName() + '[' + source + " to " + destination
-                + ", deleteSource=" + deleteSource + ']';
+                + ", deleteSource=" + deleteSource + ", parallelism=" + parallelism + ']';
     }
 
+    @Override
     public File getSource() {
         return source;
     }
 
+    @Override
     public File getDestination() {
         return destination;
     }
@@ -191,4 +359,8 @@ public final class GzCompressAction extends AbstractAction {
     public boolean isDeleteSource() {
         return deleteSource;
     }
+
+    public int getParallelism() {
+        return parallelism;
+    }
 }
@@ -27,7 +27,7 @@ import java.util.zip.ZipOutputStream;
 /**
  * Compresses a file using Zip compression.
  */
-public final class ZipCompressAction extends AbstractAction {
+public final class ZipCompressAction extends AbstractCompressAction {
 
     private static final int BUF_SIZE = 8192;
 
@@ -77,7 +77,7 @@ public final class ZipCompressAction extends AbstractAction {
      * @throws IOException on IO exception.
      */
     @Override
-    public boolean execute() throws IOException {
+    protected boolean compress() throws IOException {
         return execute(source, destination, deleteSource, level);
     }
 
@@ -136,10 +136,12 @@ public final class ZipCompressAction extends AbstractAction {
                 + ", level=" + level + ", deleteSource=" + deleteSource + ']';
     }
 
+    @Override
     public File getSource() {
         return source;
     }
 
+    @Override
     public File getDestination() {
         return destination;
     }
@@ -30,6 +30,7 @@ import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.ReliabilityStrategy;
 import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.ThreadContextDataInjector;
 import org.apache.logging.log4j.core.time.Clock;
 import org.apache.logging.log4j.core.time.NanoClock;
 import org.apache.logging.log4j.message.Message;
@@ -37,6 +38,7 @@ import org.apache.logging.log4j.message.MessageFactory;
 import org.apache.logging.log4j.message.ReusableMessage;
 import org.apache.logging.log4j.spi.AbstractLogger;
 import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PersistentStringMap;
 import org.apache.logging.log4j.util.StackLocatorUtil;
 import org.apache.logging.log4j.util.StringMap;
 
@@ -74,7 +76,9 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
     private static final ThreadNameCachingStrategy THREAD_NAME_CACHING_STRATEGY = ThreadNameCachingStrategy.create();
 
     private final ThreadLocal<RingBufferLogEventTranslator> threadLocalTranslator = new ThreadLocal<>();
-    private final AsyncLoggerDisruptor loggerDisruptor;
+    private volatile AsyncLoggerDisruptor loggerDisruptor; // reconfigurable when sharded by LoggerConfig
+    private final AsyncLoggerShards loggerDisruptors; // null if not created by a sharded context
+    private final boolean selectShardPerEvent;
 
     private volatile boolean includeLocation; // reconfigurable
     private volatile NanoClock nanoClock; // reconfigurable
@@ -89,8 +93,31 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
      */
     public AsyncLogger(final LoggerContext context, final String name, final MessageFactory messageFactory,
             final AsyncLoggerDisruptor loggerDisruptor) {
+        this(context, name, messageFactory, loggerDisruptor, null);
+    }
+
+    /**
+     * Constructs an {@code AsyncLogger} with the specified context, name and message factory that publishes its
+     * events to the shard selected by the {@link AsyncLoggerShardingStrategy} of the specified shards.
+     *
+     * @param context context of this logger
+     * @param name name of this logger
+     * @param messageFactory message factory of this logger
+     * @param loggerDisruptors the ring buffer shards of the context. These objects own the Disruptors.
+     */
+    AsyncLogger(final LoggerContext context, final String name, final MessageFactory messageFactory,
+            final AsyncLoggerShards loggerDisruptors) {
+        this(context, name, messageFactory, null, loggerDisruptors);
+    }
+
+    private AsyncLogger(final LoggerContext context, final String name, final MessageFactory messageFactory,
+            final AsyncLoggerDisruptor loggerDisruptor, final AsyncLoggerShards loggerDisruptors) {
         super(context, name, messageFactory);
-        this.loggerDisruptor = loggerDisruptor;
+        this.loggerDisruptors = loggerDisruptors;
+        this.loggerDisruptor = loggerDisruptors == null
+                ? loggerDisruptor
+                : loggerDisruptors.forLogger(name, privateConfig.loggerConfig.getName());
+        this.selectShardPerEvent = loggerDisruptors != null && loggerDisruptors.isPerEvent();
         includeLocation = privateConfig.loggerConfig.isIncludeLocation();
         final Configuration configuration = context.getConfiguration();
         nanoClock = configuration.getNanoClock();
@@ -106,10 +133,24 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
     @Override
     protected void updateConfiguration(final Configuration newConfig) {
         nanoClock = newConfig.getNanoClock();
-        includeLocation = newConfig.getLoggerConfig(name).isIncludeLocation();
+        final LoggerConfig loggerConfig = newConfig.getLoggerConfig(name);
+        includeLocation = loggerConfig.isIncludeLocation();
+        if (loggerDisruptors != null && !selectShardPerEvent) {
+            // events that are still in the old shard may be processed after events published to the new shard
+            loggerDisruptor = loggerDisruptors.forLogger(name, loggerConfig.getName());
+        }
         super.updateConfiguration(newConfig);
     }
 
+    /**
+     * Returns the helper that owns the Disruptor this logger should publish the current event to.
+     */
+    private AsyncLoggerDisruptor getLoggerDisruptor() {
+        return selectShardPerEvent
+                ? loggerDisruptors.forLogger(name, null)
+                : loggerDisruptor;
+    }
+
     // package protected for unit tests
     NanoClock getNanoClock() {
         return nanoClock;
@@ -174,7 +215,7 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
     };
 
     private TranslatorType getTranslatorType() {
-        return loggerDisruptor.isUseThreadLocals() ? threadLocalTranslatorType : varargTranslatorType;
+        return getLoggerDisruptor().isUseThreadLocals() ? threadLocalTranslatorType : varargTranslatorType;
     }
 
     private boolean isReused(final Message message) {
@@ -227,7 +268,7 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
     }
 
     private void publish(final RingBufferLogEventTranslator translator) {
-        if (!loggerDisruptor.tryPublish(translator)) {
+        if (!getLoggerDisruptor().tryPublish(translator)) {
             handleRingBufferFull(translator);
         }
     }
@@ -241,10 +282,10 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
             translator.clear();
             return;
         }
-        final EventRoute eventRoute = loggerDisruptor.getEventRoute(translator.level);
+        final EventRoute eventRoute = getLoggerDisruptor().getEventRoute(translator.level);
         switch (eventRoute) {
             case ENQUEUE:
-                loggerDisruptor.enqueueLogMessageWhenQueueFull(translator);
+                getLoggerDisruptor().enqueueLogMessageWhenQueueFull(translator);
                 break;
             case SYNCHRONOUS:
                 logMessageInCurrentThread(translator.fqcn, translator.level, translator.marker, translator.message,
@@ -331,7 +372,7 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
             final Message message, final Throwable thrown) {
         // Implementation note: candidate for optimization: exceeds 35 bytecodes.
 
-        final Disruptor<RingBufferLogEvent> disruptor = loggerDisruptor.getDisruptor();
+        final Disruptor<RingBufferLogEvent> disruptor = getLoggerDisruptor().getDisruptor();
         if (disruptor == null) {
             LOGGER.error("Ignoring log event after Log4j has been shut down.");
             return;
@@ -371,7 +412,7 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
                                          final Marker marker, final Message message, final Throwable thrown) {
         // Implementation note: candidate for optimization: exceeds 35 bytecodes.
 
-        final Disruptor<RingBufferLogEvent> disruptor = loggerDisruptor.getDisruptor();
+        final Disruptor<RingBufferLogEvent> disruptor = getLoggerDisruptor().getDisruptor();
         if (disruptor == null) {
             LOGGER.error("Ignoring log event after Log4j has been shut down.");
             return;
@@ -451,10 +492,10 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
             logMessageInCurrentThread(fqcn, level, marker, msg, thrown);
             return;
         }
-        final EventRoute eventRoute = loggerDisruptor.getEventRoute(level);
+        final EventRoute eventRoute = getLoggerDisruptor().getEventRoute(level);
         switch (eventRoute) {
             case ENQUEUE:
-                loggerDisruptor.enqueueLogMessageWhenQueueFull(this,
+                getLoggerDisruptor().enqueueLogMessageWhenQueueFull(this,
                         this, // asyncLogger: 0
                         location, // location: 1
                         fqcn, // 2
@@ -485,7 +526,12 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
         final List<Property> properties = privateConfigLoggerConfig.getPropertyList();
 
         if (properties != null) {
-            onPropertiesPresent(event, properties);
+            final StringMap contextData = (StringMap) event.getContextData();
+            if (contextData instanceof PersistentStringMap) {
+                onPropertiesPresent(event, privateConfigLoggerConfig, properties, (PersistentStringMap) contextData);
+            } else {
+                onPropertiesPresent(event, properties);
+            }
         }
 
         privateConfigLoggerConfig.getReliabilityStrategy().log(this, event);
@@ -507,6 +553,30 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
         event.setContextData(contextData);
     }
 
+    /**
+     * Combines the configuration properties with an immutable snapshot of the thread context without copying it.
+     */
+    @SuppressWarnings("ForLoopReplaceableByForEach") // Avoid iterator allocation
+    private void onPropertiesPresent(final RingBufferLogEvent event, final LoggerConfig loggerConfig,
+            final List<Property> properties, final PersistentStringMap contextData) {
+        if (!loggerConfig.isPropertiesRequireLookup()) {
+            event.setContextData(ThreadContextDataInjector.withProperties(properties, contextData));
+            return;
+        }
+        PersistentStringMap result = contextData;
+        for (int i = 0, size = properties.size(); i < size; i++) {
+            final Property prop = properties.get(i);
+            if (contextData.getValue(prop.getName()) != null) {
+                continue; // contextMap overrides config properties
+            }
+            final String value = prop.isValueNeedsLookup() //
+                    ? privateConfig.config.getStrSubstitutor().replace(event, prop.getValue()) //
+                    : prop.getValue();
+            result = result.with(prop.getName(), value);
+        }
+        event.setContextData(result);
+    }
+
     private static StringMap getContextData(final RingBufferLogEvent event) {
         final StringMap contextData = (StringMap) event.getContextData();
         if (contextData.isFrozen()) {
@@ -26,6 +26,7 @@ import org.apache.logging.log4j.plugins.di.Injector;
 import org.apache.logging.log4j.status.StatusLogger;
 
 import java.net.URI;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -33,48 +34,48 @@ import java.util.concurrent.TimeUnit;
  */
 public class AsyncLoggerContext extends LoggerContext {
 
-    private final AsyncLoggerDisruptor loggerDisruptor;
+    private final AsyncLoggerShards loggerDisruptors;
 
     public AsyncLoggerContext(final String name) {
         super(name);
-        loggerDisruptor = new AsyncLoggerDisruptor(name);
+        loggerDisruptors = new AsyncLoggerShards(name);
     }
 
     public AsyncLoggerContext(final String name, final Object externalContext) {
         super(name, externalContext);
-        loggerDisruptor = new AsyncLoggerDisruptor(name);
+        loggerDisruptors = new AsyncLoggerShards(name);
     }
 
     public AsyncLoggerContext(final String name, final Object externalContext, final URI configLocn) {
         super(name, externalContext, configLocn);
-        loggerDisruptor = new AsyncLoggerDisruptor(name);
+        loggerDisruptors = new AsyncLoggerShards(name);
     }
 
     public AsyncLoggerContext(final String name, final Object externalContext, final URI configLocn, final Injector injector) {
         super(name, externalContext, configLocn, injector);
-        loggerDisruptor = new AsyncLoggerDisruptor(name);
+        loggerDisruptors = new AsyncLoggerShards(name);
     }
 
     public AsyncLoggerContext(final String name, final Object externalContext, final String configLocn) {
         super(name, externalContext, configLocn);
-        loggerDisruptor = new AsyncLoggerDisruptor(name);
+        loggerDisruptors = new AsyncLoggerShards(name);
     }
 
     public AsyncLoggerContext(
             final String name, final Object externalContext, final String configLocn, final Injector injector) {
         super(name, externalContext, configLocn, injector);
-        loggerDisruptor = new AsyncLoggerDisruptor(name);
+        loggerDisruptors = new AsyncLoggerShards(name);
     }
 
     @Override
     protected Logger newInstance(final LoggerContext ctx, final String name, final MessageFactory messageFactory) {
-        return new AsyncLogger(ctx, name, messageFactory, loggerDisruptor);
+        return new AsyncLogger(ctx, name, messageFactory, loggerDisruptors);
     }
 
     @Override
     public void setName(final String name) {
         super.setName("AsyncContext[" + name + "]");
-        loggerDisruptor.setContextName(name);
+        loggerDisruptors.setContextName(name);
     }
 
     /*
@@ -84,7 +85,7 @@ public class AsyncLoggerContext extends LoggerContext {
      */
     @Override
     public void start() {
-        loggerDisruptor.start();
+        loggerDisruptors.start();
         super.start();
     }
 
@@ -106,7 +107,7 @@ public class AsyncLoggerContext extends LoggerContext {
         if (config instanceof DefaultConfiguration) {
             StatusLogger.getLogger().debug("[{}] Not starting Disruptor for DefaultConfiguration.", getName());
         } else {
-            loggerDisruptor.start();
+            loggerDisruptors.start();
         }
     }
 
@@ -114,19 +115,31 @@ public class AsyncLoggerContext extends LoggerContext {
     public boolean stop(final long timeout, final TimeUnit timeUnit) {
         setStopping();
         // first stop Disruptor
-        loggerDisruptor.stop(timeout, timeUnit);
+        loggerDisruptors.stop(timeout, timeUnit);
         super.stop(timeout, timeUnit);
         return true;
     }
 
     /**
      * Creates and returns a new {@code RingBufferAdmin} that instruments the ringbuffer of the {@code AsyncLogger}
-     * objects in this {@code LoggerContext}.
+     * objects in this {@code LoggerContext}. If the context is sharded, this instruments the ringbuffer of the first
+     * shard.
      *
      * @return a new {@code RingBufferAdmin} that instruments the ringbuffer
      */
     public RingBufferAdmin createRingBufferAdmin() {
-        return loggerDisruptor.createRingBufferAdmin(getName());
+        return loggerDisruptors.getShard(0).createRingBufferAdmin(getName());
+    }
+
+    /**
+     * Creates and returns a new {@code RingBufferAdmin} for each ringbuffer of the {@code AsyncLogger} objects in this
+     * {@code LoggerContext}. Unless {@code AsyncLogger.Shards} is greater than one, this list contains a single element
+     * that is equivalent to the result of {@link #createRingBufferAdmin()}.
+     *
+     * @return a new {@code RingBufferAdmin} for each ringbuffer
+     */
+    public List<RingBufferAdmin> createRingBufferAdmins() {
+        return loggerDisruptors.createRingBufferAdmins(getName());
     }
 
     /**
@@ -134,6 +147,6 @@ public class AsyncLoggerContext extends LoggerContext {
      * @param useThreadLocals whether this context is allowed to use ThreadLocal objects
      */
     public void setUseThreadLocals(final boolean useThreadLocals) {
-        loggerDisruptor.setUseThreadLocals(useThreadLocals);
+        loggerDisruptors.setUseThreadLocals(useThreadLocals);
     }
 }
@@ -19,6 +19,10 @@ package org.apache.logging.log4j.core.async;
 
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 import com.lmax.disruptor.EventTranslatorVararg;
 import org.apache.logging.log4j.Level;
@@ -46,19 +50,35 @@ import org.apache.logging.log4j.message.Message;
 class AsyncLoggerDisruptor extends AbstractLifeCycle {
     private static final int SLEEP_MILLIS_BETWEEN_DRAIN_ATTEMPTS = 50;
     private static final int MAX_DRAIN_ATTEMPTS_BEFORE_SHUTDOWN = 200;
+    private static final long MIN_PARK_NANOS_WHEN_QUEUE_FULL = 1_000L;
+    private static final long MAX_PARK_NANOS_WHEN_QUEUE_FULL = 100_000L;
 
     private final Object queueFullEnqueueLock = new Object();
+    // unlike a monitor, waiting for this lock does not pin the carrier thread of a virtual thread
+    private final Lock queueFullParkingLock = new ReentrantLock();
 
     private volatile Disruptor<RingBufferLogEvent> disruptor;
     private String contextName;
+    private final int shard;
 
-    private boolean useThreadLocalTranslator = true;
+    private boolean useThreadLocalTranslator = !DisruptorUtil.ASYNC_LOGGER_VIRTUAL_THREADS;
     private long backgroundThreadId;
     private AsyncQueueFullPolicy asyncQueueFullPolicy;
     private int ringBufferSize;
 
     AsyncLoggerDisruptor(final String contextName) {
+        this(contextName, -1);
+    }
+
+    /**
+     * Constructs an AsyncLoggerDisruptor that is one of several shards of the specified context.
+     *
+     * @param contextName name of the context
+     * @param shard index of this shard, or {@code -1} if the context is not sharded
+     */
+    AsyncLoggerDisruptor(final String contextName, final int shard) {
         this.contextName = contextName;
+        this.shard = shard;
     }
 
     public String getContextName() {
@@ -69,10 +89,25 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         contextName = name;
     }
 
+    /**
+     * Returns the index of this shard, or {@code -1} if the context is not sharded.
+     *
+     * @return the index of this shard, or {@code -1}
+     */
+    int getShard() {
+        return shard;
+    }
+
     Disruptor<RingBufferLogEvent> getDisruptor() {
         return disruptor;
     }
 
+    private String getThreadName() {
+        return shard < 0
+                ? "AsyncLogger[" + contextName + "]"
+                : "AsyncLogger[" + contextName + "#" + shard + "]";
+    }
+
     /**
      * Creates and starts a new Disruptor and associated thread if none currently exists.
      *
@@ -93,9 +128,10 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         setStarting();
         LOGGER.trace("[{}] AsyncLoggerDisruptor creating new disruptor for this context.", contextName);
         ringBufferSize = DisruptorUtil.calculateRingBufferSize("AsyncLogger.RingBufferSize");
-        final WaitStrategy waitStrategy = DisruptorUtil.createWaitStrategy("AsyncLogger.WaitStrategy");
+        final WaitStrategy waitStrategy = DisruptorUtil.createWaitStrategy("AsyncLogger.WaitStrategy",
+                DisruptorUtil.ASYNC_LOGGER_VIRTUAL_THREADS ? "LiteTimeout" : "Timeout");
 
-        final ThreadFactory threadFactory = new Log4jThreadFactory("AsyncLogger[" + contextName + "]", true, Thread.NORM_PRIORITY) {
+        final ThreadFactory threadFactory = new Log4jThreadFactory(getThreadName(), true, Thread.NORM_PRIORITY) {
             @Override
             public Thread newThread(final Runnable r) {
                 final Thread result = super.newThread(r);
@@ -184,7 +220,9 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
      */
     public RingBufferAdmin createRingBufferAdmin(final String jmxContextName) {
         final RingBuffer<RingBufferLogEvent> ring = disruptor == null ? null : disruptor.getRingBuffer();
-        return RingBufferAdmin.forAsyncLogger(ring, jmxContextName);
+        return shard < 0
+                ? RingBufferAdmin.forAsyncLogger(ring, jmxContextName)
+                : RingBufferAdmin.forAsyncLoggerShard(ring, jmxContextName, shard);
     }
 
     EventRoute getEventRoute(final Level logLevel) {
@@ -227,6 +265,12 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
     }
 
     void enqueueLogMessageWhenQueueFull(final RingBufferLogEventTranslator translator) {
+        if (DisruptorUtil.ASYNC_LOGGER_VIRTUAL_THREADS) {
+            if (!publishParkingWhenQueueFull(ringBuffer -> ringBuffer.tryPublishEvent(translator))) {
+                logWarningOnNpeFromDisruptorPublish(translator);
+            }
+            return;
+        }
         try {
             // Note: we deliberately access the volatile disruptor field afresh here.
             // Avoiding this and using an older reference could result in adding a log event to the disruptor after it
@@ -253,6 +297,13 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
             final Marker marker,
             final Message msg,
             final Throwable thrown) {
+        if (DisruptorUtil.ASYNC_LOGGER_VIRTUAL_THREADS) {
+            if (!publishParkingWhenQueueFull(ringBuffer -> ringBuffer.tryPublishEvent(translator,
+                    asyncLogger, location, fqcn, level, marker, msg, thrown))) {
+                logWarningOnNpeFromDisruptorPublish(level, fqcn, msg, thrown);
+            }
+            return;
+        }
         try {
             // Note: we deliberately access the volatile disruptor field afresh here.
             // Avoiding this and using an older reference could result in adding a log event to the disruptor after it
@@ -284,6 +335,41 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         }
     }
 
+    /**
+     * Publishes an event to a full ring buffer without pinning the carrier thread of a virtual thread: instead of
+     * spinning in {@code RingBuffer.next()}, possibly while holding a monitor, the calling thread parks for increasing
+     * periods until the event can be published. If enqueuing is synchronized, the threads waiting for their turn park
+     * on a lock.
+     *
+     * @param tryPublish publishes the event if the ring buffer has room
+     * @return {@code false} if the disruptor was shut down before the event could be published
+     */
+    private boolean publishParkingWhenQueueFull(final Predicate<RingBuffer<RingBufferLogEvent>> tryPublish) {
+        final boolean serialize = synchronizeEnqueueWhenQueueFull();
+        if (serialize) {
+            queueFullParkingLock.lock();
+        }
+        try {
+            long parkNanos = MIN_PARK_NANOS_WHEN_QUEUE_FULL;
+            while (true) {
+                // Note: we deliberately access the volatile disruptor field afresh here (LOG4J2-639).
+                final Disruptor<RingBufferLogEvent> temp = disruptor;
+                if (temp == null) {
+                    return false;
+                }
+                if (tryPublish.test(temp.getRingBuffer())) {
+                    return true;
+                }
+                LockSupport.parkNanos(parkNanos);
+                parkNanos = Math.min(parkNanos << 1, MAX_PARK_NANOS_WHEN_QUEUE_FULL);
+            }
+        } finally {
+            if (serialize) {
+                queueFullParkingLock.unlock();
+            }
+        }
+    }
+
     private boolean synchronizeEnqueueWhenQueueFull() {
         return DisruptorUtil.ASYNC_LOGGER_SYNCHRONIZE_ENQUEUE_WHEN_QUEUE_FULL
                 // Background thread must never block
@@ -329,7 +415,8 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
      * @see <a href="https://issues.apache.org/jira/browse/LOG4J2-1172">LOG4J2-1172</a>
      */
     public void setUseThreadLocals(final boolean allow) {
-        useThreadLocalTranslator = allow;
+        // with virtual threads, a translator cached per thread would rarely be reused
+        useThreadLocalTranslator = allow && !DisruptorUtil.ASYNC_LOGGER_VIRTUAL_THREADS;
         LOGGER.trace("[{}] AsyncLoggers have been modified to use a {} translator", contextName,
                 useThreadLocalTranslator ? "threadlocal" : "vararg");
     }
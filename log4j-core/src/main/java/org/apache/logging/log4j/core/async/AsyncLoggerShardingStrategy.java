@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Strategy for distributing the events of a sharded {@code AsyncLoggerContext} over its ring buffers.
+ * <p>
+ * Each shard has its own ring buffer and background thread. Events that are routed to the same shard are processed
+ * in the order they were published, so the strategy determines the ordering guarantee: {@link #THREAD} preserves
+ * the order of the events logged by one thread, {@link #LOGGER} preserves the order of the events of one logger and
+ * {@link #LOGGER_CONFIG} preserves the order of the events handled by one {@code LoggerConfig}, and therefore of the
+ * events sent to the appenders of that {@code LoggerConfig}.
+ * </p>
+ *
+ * @see AsyncLoggerShards
+ */
+public enum AsyncLoggerShardingStrategy {
+    THREAD {
+        @Override
+        int shardIndex(final String loggerName, final String loggerConfigName, final int shardCount) {
+            return (int) (Thread.currentThread().getId() % shardCount);
+        }
+
+        @Override
+        boolean isPerEvent() {
+            return true;
+        }
+    },
+    LOGGER {
+        @Override
+        int shardIndex(final String loggerName, final String loggerConfigName, final int shardCount) {
+            return hashIndex(loggerName, shardCount);
+        }
+    },
+    LOGGER_CONFIG {
+        @Override
+        int shardIndex(final String loggerName, final String loggerConfigName, final int shardCount) {
+            return hashIndex(loggerConfigName, shardCount);
+        }
+    };
+
+    private static final StatusLogger LOGGER_STATUS = StatusLogger.getLogger();
+    static final AsyncLoggerShardingStrategy DEFAULT_STRATEGY = THREAD;
+
+    /**
+     * Returns the index of the shard that should process events for the specified logger.
+     *
+     * @param loggerName name of the logger
+     * @param loggerConfigName name of the {@code LoggerConfig} of the logger
+     * @param shardCount number of shards, at least one
+     * @return the index of the shard, between zero (inclusive) and {@code shardCount} (exclusive)
+     */
+    abstract int shardIndex(final String loggerName, final String loggerConfigName, final int shardCount);
+
+    /**
+     * Returns {@code true} if the shard must be selected anew for each event, {@code false} if the shard of a logger
+     * only changes when the configuration changes.
+     */
+    boolean isPerEvent() {
+        return false;
+    }
+
+    private static int hashIndex(final String name, final int shardCount) {
+        final int h = name.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shardCount);
+    }
+
+    public static AsyncLoggerShardingStrategy create() {
+        final String name = PropertiesUtil.getProperties().getStringProperty("AsyncLogger.ShardingStrategy");
+        try {
+            final AsyncLoggerShardingStrategy result = name != null ? valueOf(name) : DEFAULT_STRATEGY;
+            LOGGER_STATUS.debug("AsyncLogger.ShardingStrategy={} (user specified {}, default is {})",
+                    result.name(), name, DEFAULT_STRATEGY.name());
+            return result;
+        } catch (final Exception ex) {
+            LOGGER_STATUS.debug("Using AsyncLogger.ShardingStrategy.{}: '{}' not valid: {}",
+                    DEFAULT_STRATEGY.name(), name, ex.toString());
+            return DEFAULT_STRATEGY;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+
+/**
+ * The set of {@link AsyncLoggerDisruptor} shards owned by an {@link AsyncLoggerContext}.
+ * <p>
+ * By default a context has a single shard, which means a single ring buffer drained by a single background thread.
+ * When the {@code AsyncLogger.Shards} property is greater than one, the context creates that many independent ring
+ * buffers, each with its own background thread, and distributes the events over them according to the
+ * {@link AsyncLoggerShardingStrategy} configured with the {@code AsyncLogger.ShardingStrategy} property. This allows
+ * the throughput of the background threads to scale with the number of cores, at the cost of ordering being
+ * guaranteed only within a shard.
+ * </p>
+ */
+class AsyncLoggerShards {
+
+    private final AsyncLoggerDisruptor[] shards;
+    private final AsyncLoggerShardingStrategy strategy;
+
+    AsyncLoggerShards(final String contextName) {
+        this(contextName, DisruptorUtil.calculateShardCount("AsyncLogger.Shards"),
+                AsyncLoggerShardingStrategy.create());
+    }
+
+    AsyncLoggerShards(final String contextName, final int shardCount, final AsyncLoggerShardingStrategy strategy) {
+        this.strategy = strategy;
+        this.shards = new AsyncLoggerDisruptor[shardCount];
+        if (shardCount == 1) {
+            shards[0] = new AsyncLoggerDisruptor(contextName);
+        } else {
+            for (int i = 0; i < shardCount; i++) {
+                shards[i] = new AsyncLoggerDisruptor(contextName, i);
+            }
+        }
+    }
+
+    int getShardCount() {
+        return shards.length;
+    }
+
+    AsyncLoggerShardingStrategy getStrategy() {
+        return strategy;
+    }
+
+    AsyncLoggerDisruptor getShard(final int index) {
+        return shards[index];
+    }
+
+    /**
+     * Returns {@code true} if the shard of a logger must be selected anew with
+     * {@link #forLogger(String, String)} for each event.
+     */
+    boolean isPerEvent() {
+        return shards.length > 1 && strategy.isPerEvent();
+    }
+
+    /**
+     * Returns the shard that should process the events of the specified logger. For strategies where the shard is
+     * selected per event, this is the shard of the calling thread.
+     *
+     * @param loggerName name of the logger
+     * @param loggerConfigName name of the {@code LoggerConfig} of the logger
+     * @return the shard that should process the events of the logger
+     */
+    AsyncLoggerDisruptor forLogger(final String loggerName, final String loggerConfigName) {
+        if (shards.length == 1) {
+            return shards[0];
+        }
+        return shards[strategy.shardIndex(loggerName, loggerConfigName, shards.length)];
+    }
+
+    void setContextName(final String name) {
+        for (final AsyncLoggerDisruptor shard : shards) {
+            shard.setContextName(name);
+        }
+    }
+
+    void setUseThreadLocals(final boolean allow) {
+        for (final AsyncLoggerDisruptor shard : shards) {
+            shard.setUseThreadLocals(allow);
+        }
+    }
+
+    void start() {
+        for (final AsyncLoggerDisruptor shard : shards) {
+            shard.start();
+        }
+    }
+
+    /**
+     * Stops all shards. The shards are stopped in parallel, each waiting up to the specified timeout for its ring buffer
+     * to drain, so that stopping N shards does not take up to N times the timeout.
+     */
+    boolean stop(final long timeout, final TimeUnit timeUnit) {
+        if (shards.length == 1) {
+            return shards[0].stop(timeout, timeUnit);
+        }
+        final ThreadFactory threadFactory = Log4jThreadFactory.createDaemonThreadFactory("AsyncLoggerShards");
+        final boolean[] stopped = new boolean[shards.length];
+        final Thread[] threads = new Thread[shards.length - 1];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = threadFactory.newThread(() -> stopped[index] = shards[index].stop(timeout, timeUnit));
+            threads[i].start();
+        }
+        // the calling thread stops the last shard
+        boolean result = shards[threads.length].stop(timeout, timeUnit);
+        for (int i = 0; i < threads.length; i++) {
+            try {
+                threads[i].join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            result &= stopped[i];
+        }
+        return result;
+    }
+
+    /**
+     * Creates and returns a new {@code RingBufferAdmin} for each shard.
+     *
+     * @param jmxContextName name of the {@code AsyncLoggerContext}
+     * @return a new {@code RingBufferAdmin} for each shard
+     */
+    List<RingBufferAdmin> createRingBufferAdmins(final String jmxContextName) {
+        final List<RingBufferAdmin> result = new ArrayList<>(shards.length);
+        for (final AsyncLoggerDisruptor shard : shards) {
+            result.add(shard.createRingBufferAdmin(jmxContextName));
+        }
+        return result;
+    }
+}
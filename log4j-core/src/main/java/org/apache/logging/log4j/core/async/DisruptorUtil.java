@@ -25,6 +25,8 @@ import java.util.concurrent.TimeUnit;
 import com.lmax.disruptor.BlockingWaitStrategy;
 import com.lmax.disruptor.BusySpinWaitStrategy;
 import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.LiteBlockingWaitStrategy;
+import com.lmax.disruptor.LiteTimeoutBlockingWaitStrategy;
 import com.lmax.disruptor.SleepingWaitStrategy;
 import com.lmax.disruptor.TimeoutBlockingWaitStrategy;
 import com.lmax.disruptor.WaitStrategy;
@@ -57,11 +59,23 @@ final class DisruptorUtil {
     static final boolean ASYNC_CONFIG_SYNCHRONIZE_ENQUEUE_WHEN_QUEUE_FULL = PropertiesUtil.getProperties()
             .getBooleanProperty("AsyncLoggerConfig.SynchronizeEnqueueWhenQueueFull", true);
 
+    /**
+     * Tunes AsyncLoggers for applications that log from a large number of virtual threads: no state is cached per
+     * thread, threads waiting for room in a full ring buffer park instead of spinning or holding a monitor (which would
+     * pin their carrier thread), and the default wait strategy only signals the background thread when it is waiting.
+     */
+    static final boolean ASYNC_LOGGER_VIRTUAL_THREADS = PropertiesUtil.getProperties()
+            .getBooleanProperty("AsyncLogger.VirtualThreads", false);
+
     private DisruptorUtil() {
     }
 
     static WaitStrategy createWaitStrategy(final String propertyName) {
-        final String strategy = PropertiesUtil.getProperties().getStringProperty(propertyName, "Timeout");
+        return createWaitStrategy(propertyName, "Timeout");
+    }
+
+    static WaitStrategy createWaitStrategy(final String propertyName, final String defaultStrategy) {
+        final String strategy = PropertiesUtil.getProperties().getStringProperty(propertyName, defaultStrategy);
         LOGGER.trace("property {}={}", propertyName, strategy);
         final String strategyUp = Strings.toRootUpperCase(strategy);
         final long timeoutMillis = parseAdditionalLongProperty(propertyName, "Timeout", 10L);
@@ -83,6 +97,10 @@ final class DisruptorUtil {
                 return new BusySpinWaitStrategy();
             case "TIMEOUT":
                 return new TimeoutBlockingWaitStrategy(timeoutMillis, TimeUnit.MILLISECONDS);
+            case "LITEBLOCK":
+                return new LiteBlockingWaitStrategy();
+            case "LITETIMEOUT":
+                return new LiteTimeoutBlockingWaitStrategy(timeoutMillis, TimeUnit.MILLISECONDS);
             default:
                 return new TimeoutBlockingWaitStrategy(timeoutMillis, TimeUnit.MILLISECONDS);
         }
@@ -120,6 +138,15 @@ final class DisruptorUtil {
         return Integers.ceilingNextPowerOfTwo(ringBufferSize);
     }
 
+    static int calculateShardCount(final String propertyName) {
+        final int shardCount = PropertiesUtil.getProperties().getIntegerProperty(propertyName, 1);
+        if (shardCount < 1) {
+            LOGGER.warn("Invalid {} {}, using a single shard.", propertyName, shardCount);
+            return 1;
+        }
+        return shardCount;
+    }
+
     static ExceptionHandler<RingBufferLogEvent> getAsyncLoggerExceptionHandler() {
         final String cls = PropertiesUtil.getProperties().getStringProperty("AsyncLogger.ExceptionHandler");
         if (cls == null) {
@@ -0,0 +1,533 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.core.util.Integers;
+import org.apache.logging.log4j.plugins.Node;
+import org.apache.logging.log4j.plugins.Plugin;
+import org.apache.logging.log4j.plugins.PluginAttribute;
+import org.apache.logging.log4j.plugins.PluginFactory;
+
+/**
+ * Factory for creating lock-free multiple producer single consumer BlockingQueues without any third party dependency.
+ * <p>
+ * Producers never take a lock: they claim a slot with a single CAS (bounded queue) or a single atomic exchange
+ * (unbounded queue). The consumer parks when the queue is empty and is unparked by the first producer that publishes
+ * an element while it is parked. Producers that find a bounded queue full back off by spinning and then parking
+ * for increasing periods of time.
+ * </p>
+ * <p>
+ * The queues created by this factory only support a single consuming thread, like the dispatcher thread of an
+ * {@code AsyncAppender}. Their iterators are weakly consistent: they iterate over a snapshot of the elements taken
+ * when the iterator is created. Elements removed with {@link java.util.Queue#remove(Object)} or
+ * {@link Iterator#remove()} are only marked as removed until the consumer reaches them, but they no longer count
+ * towards the size or the capacity of the queue.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+@Plugin(name = "MpscBlockingQueue", category = Node.CATEGORY, elementType = BlockingQueueFactory.ELEMENT_TYPE)
+public class MpscBlockingQueueFactory<E> implements BlockingQueueFactory<E> {
+
+    private final boolean unbounded;
+
+    private MpscBlockingQueueFactory(final boolean unbounded) {
+        this.unbounded = unbounded;
+    }
+
+    @Override
+    public BlockingQueue<E> create(final int capacity) {
+        return unbounded ? new UnboundedMpscBlockingQueue<>() : new BoundedMpscBlockingQueue<>(capacity);
+    }
+
+    @PluginFactory
+    public static <E> MpscBlockingQueueFactory<E> createFactory(
+            @PluginAttribute final boolean unbounded) {
+        return new MpscBlockingQueueFactory<>(unbounded);
+    }
+
+    /**
+     * Blocking behavior shared by the bounded and unbounded queues. Subclasses implement the non-blocking
+     * {@link #offer(Object)} and {@link #poll()} operations and must call {@link #signalConsumer()} after an element
+     * was published with a full memory fence (CAS or atomic exchange).
+     */
+    abstract static class AbstractMpscBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+        private static final long MAX_PRODUCER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+        /** Replaces an element that was removed before the consumer reached it. */
+        static final Object REMOVED = new Object();
+
+        private final AtomicReference<Thread> waitingConsumer = new AtomicReference<>();
+
+        /**
+         * Returns {@code true} if an element has been published but may not be visible yet; the consumer then spins
+         * instead of parking.
+         */
+        abstract boolean hasPendingElement();
+
+        /**
+         * Adds the elements currently in this queue to the given list, from head to tail.
+         */
+        abstract void snapshot(final List<E> result);
+
+        /**
+         * Marks an element as removed, if this queue contains it.
+         *
+         * @param o the element to remove
+         * @param sameInstance {@code true} to only remove the given instance, {@code false} to remove an equal element
+         * @return {@code true} if an element was removed
+         */
+        abstract boolean removeElement(final Object o, final boolean sameInstance);
+
+        static boolean matches(final Object element, final Object o, final boolean sameInstance) {
+            return element != null && element != REMOVED && (element == o || (!sameInstance && o.equals(element)));
+        }
+
+        final void signalConsumer() {
+            // The publishing CAS or exchange is a full fence, so either the consumer sees the new element when it
+            // checks again after registering, or we see the registered consumer here.
+            final Thread consumer = waitingConsumer.get();
+            if (consumer != null) {
+                LockSupport.unpark(consumer);
+            }
+        }
+
+        private E awaitElement(final long timeoutNanos, final boolean timed) throws InterruptedException {
+            final long deadline = timed ? System.nanoTime() + timeoutNanos : 0L;
+            final Thread current = Thread.currentThread();
+            try {
+                while (true) {
+                    E result = poll();
+                    if (result != null) {
+                        return result;
+                    }
+                    waitingConsumer.set(current);
+                    result = poll();
+                    if (result != null) {
+                        return result;
+                    }
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                    if (hasPendingElement()) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    if (timed) {
+                        final long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            return null;
+                        }
+                        LockSupport.parkNanos(this, remaining);
+                    } else {
+                        LockSupport.park(this);
+                    }
+                }
+            } finally {
+                waitingConsumer.lazySet(null);
+            }
+        }
+
+        private boolean awaitSpace(final E e, final long timeoutNanos, final boolean timed)
+                throws InterruptedException {
+            final long deadline = timed ? System.nanoTime() + timeoutNanos : 0L;
+            int idleCounter = 0;
+            while (!offer(e)) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                if (timed && deadline - System.nanoTime() <= 0) {
+                    return false;
+                }
+                if (++idleCounter < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(this, Math.min((idleCounter - 99L) * 1000L, MAX_PRODUCER_PARK_NANOS));
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void put(final E e) throws InterruptedException {
+            awaitSpace(e, 0L, false);
+        }
+
+        @Override
+        public boolean offer(final E e, final long timeout, final TimeUnit unit) throws InterruptedException {
+            return awaitSpace(e, unit.toNanos(timeout), true);
+        }
+
+        @Override
+        public E take() throws InterruptedException {
+            return awaitElement(0L, false);
+        }
+
+        @Override
+        public E poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+            return awaitElement(unit.toNanos(timeout), true);
+        }
+
+        @Override
+        public int drainTo(final Collection<? super E> c) {
+            return drainTo(c, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int drainTo(final Collection<? super E> c, final int maxElements) {
+            Objects.requireNonNull(c, "collection");
+            if (c == this) {
+                throw new IllegalArgumentException("Cannot drain a queue to itself");
+            }
+            int count = 0;
+            E e;
+            while (count < maxElements && (e = poll()) != null) {
+                c.add(e);
+                count++;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            return o != null && removeElement(o, false);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            final List<E> elements = new ArrayList<>();
+            snapshot(elements);
+            return new Iterator<E>() {
+                private int cursor;
+                private E lastReturned;
+
+                @Override
+                public boolean hasNext() {
+                    return cursor < elements.size();
+                }
+
+                @Override
+                public E next() {
+                    if (cursor >= elements.size()) {
+                        throw new NoSuchElementException();
+                    }
+                    lastReturned = elements.get(cursor++);
+                    return lastReturned;
+                }
+
+                @Override
+                public void remove() {
+                    if (lastReturned == null) {
+                        throw new IllegalStateException();
+                    }
+                    removeElement(lastReturned, true);
+                    lastReturned = null;
+                }
+            };
+        }
+    }
+
+    /**
+     * Bounded array-based queue. Producers claim an index with a CAS on the producer index, then store the element
+     * in the corresponding slot. The consumer clears the slot before advancing the consumer index, so a producer
+     * that sees free capacity always finds its slot empty. A removal replaces the element of its slot with
+     * {@link #REMOVED}, which the consumer skips. The buffer has room for as many removed elements as live ones, so
+     * that removals free capacity before the consumer reaches them.
+     */
+    static final class BoundedMpscBlockingQueue<E> extends AbstractMpscBlockingQueue<E> {
+
+        private final AtomicReferenceArray<Object> buffer;
+        private final int mask;
+        private final int capacity;
+        private final AtomicLong producerIndex = new AtomicLong();
+        private final AtomicLong consumerIndex = new AtomicLong();
+        /** Number of {@link #REMOVED} slots between the consumer and the producer index. */
+        private final AtomicInteger removedCount = new AtomicInteger();
+
+        BoundedMpscBlockingQueue(final int capacity) {
+            if (capacity < 1 || capacity > 1 << 29) {
+                throw new IllegalArgumentException("Capacity must be between 1 and 2^29: " + capacity);
+            }
+            final int length = 2 * Integers.ceilingNextPowerOfTwo(capacity);
+            this.buffer = new AtomicReferenceArray<>(length);
+            this.mask = length - 1;
+            this.capacity = capacity;
+        }
+
+        @Override
+        public boolean offer(final E e) {
+            Objects.requireNonNull(e, "element");
+            long index;
+            do {
+                index = producerIndex.get();
+                final long occupied = index - consumerIndex.get();
+                if (occupied > mask || occupied - removedCount.get() >= capacity) {
+                    return false;
+                }
+            } while (!producerIndex.compareAndSet(index, index + 1));
+            buffer.lazySet((int) index & mask, e);
+            signalConsumer();
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E poll() {
+            while (true) {
+                final long index = consumerIndex.get();
+                final int offset = (int) index & mask;
+                if (buffer.get(offset) == null) {
+                    if (index == producerIndex.get()) {
+                        return null;
+                    }
+                    // a producer claimed the slot but has not stored its element yet
+                    do {
+                        Thread.onSpinWait();
+                    } while (buffer.get(offset) == null);
+                }
+                // the exchange races with removals: exactly one of them gets the element
+                final Object e = buffer.getAndSet(offset, null);
+                if (e == REMOVED) {
+                    removedCount.decrementAndGet();
+                }
+                consumerIndex.lazySet(index + 1);
+                if (e != REMOVED) {
+                    return (E) e;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E peek() {
+            final long consumer = consumerIndex.get();
+            final long end = Math.min(producerIndex.get(), consumer + mask + 1);
+            for (long index = consumer; index < end; index++) {
+                final Object e = buffer.get((int) index & mask);
+                if (e != null && e != REMOVED) {
+                    return (E) e;
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        void snapshot(final List<E> result) {
+            final long consumer = consumerIndex.get();
+            final long end = Math.min(producerIndex.get(), consumer + mask + 1);
+            for (long index = consumer; index < end; index++) {
+                final Object e = buffer.get((int) index & mask);
+                if (e != null && e != REMOVED) {
+                    result.add((E) e);
+                }
+            }
+        }
+
+        @Override
+        boolean removeElement(final Object o, final boolean sameInstance) {
+            final long consumer = consumerIndex.get();
+            final long end = Math.min(producerIndex.get(), consumer + mask + 1);
+            for (long index = consumer; index < end; index++) {
+                final int offset = (int) index & mask;
+                final Object e = buffer.get(offset);
+                if (matches(e, o, sameInstance) && buffer.compareAndSet(offset, e, REMOVED)) {
+                    removedCount.incrementAndGet();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        boolean hasPendingElement() {
+            return producerIndex.get() != consumerIndex.get();
+        }
+
+        @Override
+        public int size() {
+            // read the consumer index first so that the result is never negative
+            final long consumer = consumerIndex.get();
+            final long producer = producerIndex.get();
+            final long occupied = producer - consumer - removedCount.get();
+            return (int) Math.min(capacity, Math.max(0, occupied));
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public int remainingCapacity() {
+            // read the consumer index first so that the result is never too high
+            final long consumer = consumerIndex.get();
+            final long occupied = producerIndex.get() - consumer;
+            final long free = Math.min(capacity - (occupied - removedCount.get()), mask + 1 - occupied);
+            return (int) Math.max(0, free);
+        }
+    }
+
+    /**
+     * Unbounded linked queue following Dmitry Vyukov's intrusive MPSC node-based queue. Producers append a node with
+     * a single atomic exchange on the tail and then link the previous tail to it. A removal replaces the value of its
+     * node with {@link #REMOVED}, which the consumer skips.
+     */
+    static final class UnboundedMpscBlockingQueue<E> extends AbstractMpscBlockingQueue<E> {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<LinkedNode, Object> VALUE =
+                AtomicReferenceFieldUpdater.newUpdater(LinkedNode.class, Object.class, "value");
+
+        private static final class LinkedNode<E> {
+            private volatile LinkedNode<E> next;
+            volatile Object value;
+
+            LinkedNode(final E value) {
+                this.value = value;
+            }
+        }
+
+        private final AtomicReference<LinkedNode<E>> tail;
+        private volatile LinkedNode<E> head; // only written by the consumer
+
+        UnboundedMpscBlockingQueue() {
+            final LinkedNode<E> stub = new LinkedNode<>(null);
+            head = stub;
+            tail = new AtomicReference<>(stub);
+        }
+
+        @Override
+        public boolean offer(final E e) {
+            Objects.requireNonNull(e, "element");
+            final LinkedNode<E> node = new LinkedNode<>(e);
+            final LinkedNode<E> previous = tail.getAndSet(node);
+            previous.next = node;
+            signalConsumer();
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E poll() {
+            while (true) {
+                final LinkedNode<E> current = head;
+                LinkedNode<E> next = current.next;
+                if (next == null) {
+                    if (current == tail.get()) {
+                        return null;
+                    }
+                    // a producer swapped the tail but has not linked its node yet
+                    do {
+                        Thread.onSpinWait();
+                        next = current.next;
+                    } while (next == null);
+                }
+                // the exchange races with removals: exactly one of them gets the element
+                final Object e = VALUE.getAndSet(next, null);
+                head = next;
+                if (e != REMOVED) {
+                    return (E) e;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E peek() {
+            for (LinkedNode<E> node = head.next; node != null; node = node.next) {
+                final Object e = node.value;
+                if (e != null && e != REMOVED) {
+                    return (E) e;
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        void snapshot(final List<E> result) {
+            for (LinkedNode<E> node = head.next; node != null; node = node.next) {
+                final Object e = node.value;
+                if (e != null && e != REMOVED) {
+                    result.add((E) e);
+                }
+            }
+        }
+
+        @Override
+        boolean removeElement(final Object o, final boolean sameInstance) {
+            for (LinkedNode<E> node = head.next; node != null; node = node.next) {
+                final Object e = node.value;
+                if (matches(e, o, sameInstance) && VALUE.compareAndSet(node, e, REMOVED)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        boolean hasPendingElement() {
+            return head != tail.get();
+        }
+
+        /**
+         * Returns the number of elements in this queue. Unlike in most collections, this method is NOT a constant
+         * time operation: it traverses the queue.
+         */
+        @Override
+        public int size() {
+            int size = 0;
+            LinkedNode<E> node = head.next;
+            while (node != null && size < Integer.MAX_VALUE) {
+                final Object e = node.value;
+                if (e != null && e != REMOVED) {
+                    size++;
+                }
+                node = node.next;
+            }
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return head == tail.get() || peek() == null;
+        }
+
+        @Override
+        public int remainingCapacity() {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
@@ -54,6 +54,12 @@ public enum ThreadNameCachingStrategy { // LOG4J2-467
 
     public static ThreadNameCachingStrategy create() {
         final String name = PropertiesUtil.getProperties().getStringProperty("AsyncLogger.ThreadNameStrategy");
+        if (DisruptorUtil.ASYNC_LOGGER_VIRTUAL_THREADS) {
+            // a cached name would cost a ThreadLocal entry per virtual thread
+            LOGGER.debug("AsyncLogger.ThreadNameStrategy=UNCACHED (user specified {}, AsyncLogger.VirtualThreads=true)",
+                         name);
+            return UNCACHED;
+        }
         try {
             final ThreadNameCachingStrategy result = name != null ? ThreadNameCachingStrategy.valueOf(name) : DEFAULT_STRATEGY;
             LOGGER.debug("AsyncLogger.ThreadNameStrategy={} (user specified {}, default is {})",
@@ -21,6 +21,7 @@ import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Core;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LifeCycle;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.Version;
@@ -59,7 +60,6 @@ import org.apache.logging.log4j.plugins.util.PluginManager;
 import org.apache.logging.log4j.plugins.util.PluginType;
 import org.apache.logging.log4j.plugins.util.TypeUtil;
 import org.apache.logging.log4j.util.LazyValue;
-import org.apache.logging.log4j.util.NameUtil;
 import org.apache.logging.log4j.util.PropertiesUtil;
 import org.apache.logging.log4j.util.ServiceRegistry;
 
@@ -81,6 +81,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -133,6 +134,17 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     private String name;
     private ConcurrentMap<String, Appender> appenders = new ConcurrentHashMap<>();
     private ConcurrentMap<String, LoggerConfig> loggerConfigs = new ConcurrentHashMap<>();
+    private volatile LoggerConfigTrie loggerConfigTrie = new LoggerConfigTrie();
+    /**
+     * The Appenders and LoggerConfigs created or reused by this configuration, by definition, that a later
+     * configuration may reuse.
+     */
+    private final Map<ComponentDefinition, ReusableComponent> reusableComponents = new ConcurrentHashMap<>();
+    /** The components of the previous configuration reused by this configuration, which are already started. */
+    private final Set<Object> reusedComponents = ConcurrentHashMap.newKeySet();
+    /** The components reused by a later configuration, which this configuration must not stop. */
+    private final Set<Object> transferredComponents = ConcurrentHashMap.newKeySet();
+    private AbstractConfiguration previousConfiguration;
     private List<CustomLevelConfig> customLevels = List.of();
     private final ConcurrentMap<String, String> properties = new ConcurrentHashMap<>();
     private final InterpolatorFactory interpolatorFactory;
@@ -259,6 +271,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         setup();
         setupAdvertisement();
         doConfigure();
+        previousConfiguration = null;
         setState(State.INITIALIZED);
         LOGGER.debug("Configuration {} initialized", this);
     }
@@ -334,15 +347,26 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         }
         final Set<LoggerConfig> alreadyStarted = new HashSet<>();
         for (final LoggerConfig logger : loggerConfigs.values()) {
-            logger.start();
+            if (!reusedComponents.contains(logger)) {
+                logger.start();
+            }
             alreadyStarted.add(logger);
         }
         for (final Appender appender : appenders.values()) {
-            appender.start();
+            if (!reusedComponents.contains(appender)) {
+                appender.start();
+            }
         }
         if (!alreadyStarted.contains(root)) { // LOG4J2-392
             root.start(); // LOG4J2-336
         }
+        // The reused LoggerConfigs are still used by the previous configuration: only link them to the new parents
+        // once those are started.
+        for (final Map.Entry<String, LoggerConfig> entry : loggerConfigs.entrySet()) {
+            if (reusedComponents.contains(entry.getValue())) {
+                setParent(entry.getKey(), entry.getValue());
+            }
+        }
         super.start();
         LOGGER.debug("Started configuration {} OK.", this);
     }
@@ -381,23 +405,29 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         // 6. Stop the remaining running Appenders. (It should now be safe to do so.)
         // 7. Notify all LoggerConfigs that their Appenders can be cleaned up.
 
-        for (final LoggerConfig loggerConfig : loggerConfigs.values()) {
+        // The components reused by the configuration that replaces this one remain started.
+        final List<LoggerConfig> ownLoggerConfigs = new ArrayList<>(loggerConfigs.values());
+        ownLoggerConfigs.removeAll(transferredComponents);
+        final boolean ownRoot = !transferredComponents.contains(root);
+        for (final LoggerConfig loggerConfig : ownLoggerConfigs) {
             loggerConfig.getReliabilityStrategy().beforeStopConfiguration(this);
         }
-        root.getReliabilityStrategy().beforeStopConfiguration(this);
+        if (ownRoot) {
+            root.getReliabilityStrategy().beforeStopConfiguration(this);
+        }
 
         final String cls = getClass().getSimpleName();
-        LOGGER.trace("{} notified {} ReliabilityStrategies that config will be stopped.", cls, loggerConfigs.size()
-                + 1);
+        LOGGER.trace("{} notified {} ReliabilityStrategies that config will be stopped.", cls,
+                ownLoggerConfigs.size() + 1);
 
-        if (!loggerConfigs.isEmpty()) {
-            LOGGER.trace("{} stopping {} LoggerConfigs.", cls, loggerConfigs.size());
-            for (final LoggerConfig logger : loggerConfigs.values()) {
+        if (!ownLoggerConfigs.isEmpty()) {
+            LOGGER.trace("{} stopping {} LoggerConfigs.", cls, ownLoggerConfigs.size());
+            for (final LoggerConfig logger : ownLoggerConfigs) {
                 logger.stop(timeout, timeUnit);
             }
         }
         LOGGER.trace("{} stopping root LoggerConfig.", cls);
-        if (!root.isStopped()) {
+        if (ownRoot && !root.isStopped()) {
             root.stop(timeout, timeUnit);
         }
 
@@ -407,13 +437,17 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         }
 
         LOGGER.trace("{} notifying ReliabilityStrategies that appenders will be stopped.", cls);
-        for (final LoggerConfig loggerConfig : loggerConfigs.values()) {
+        for (final LoggerConfig loggerConfig : ownLoggerConfigs) {
             loggerConfig.getReliabilityStrategy().beforeStopAppenders();
         }
-        root.getReliabilityStrategy().beforeStopAppenders();
+        if (ownRoot) {
+            root.getReliabilityStrategy().beforeStopAppenders();
+        }
 
         // Stop the appenders in reverse order in case they still have activity.
-        final Appender[] array = appenders.values().toArray(Appender.EMPTY_ARRAY);
+        final List<Appender> ownAppenders = new ArrayList<>(appenders.values());
+        ownAppenders.removeAll(transferredComponents);
+        final Appender[] array = ownAppenders.toArray(Appender.EMPTY_ARRAY);
         final List<Appender> async = getAsyncAppenders(array);
         if (!async.isEmpty()) {
             // LOG4J2-511, LOG4J2-392 stop AsyncAppenders first
@@ -433,8 +467,8 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         }
         LOGGER.trace("{} stopped {} remaining Appenders.", cls, appenderCount);
 
-        LOGGER.trace("{} cleaning Appenders from {} LoggerConfigs.", cls, loggerConfigs.size() + 1);
-        for (final LoggerConfig loggerConfig : loggerConfigs.values()) {
+        LOGGER.trace("{} cleaning Appenders from {} LoggerConfigs.", cls, ownLoggerConfigs.size() + 1);
+        for (final LoggerConfig loggerConfig : ownLoggerConfigs) {
 
             // LOG4J2-520, LOG4J2-392:
             // Important: do not clear appenders until after all AsyncLoggerConfigs
@@ -443,7 +477,13 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             // Only *after this* the appenders can be cleared or events will be lost.
             loggerConfig.clearAppenders();
         }
-        root.clearAppenders();
+        if (ownRoot) {
+            root.clearAppenders();
+        }
+        // A stopped configuration hands over no components, do not keep them reachable.
+        reusableComponents.clear();
+        reusedComponents.clear();
+        transferredComponents.clear();
 
         if (watchManager.isStarted()) {
             watchManager.stop(timeout, timeUnit);
@@ -665,7 +705,13 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
                 }
                 continue;
             }
-            createConfiguration(child, null);
+            if (child.getName().equalsIgnoreCase("Appenders")) {
+                createAppenders(child);
+            } else if (child.getName().equalsIgnoreCase("Loggers")) {
+                createLoggers(child);
+            } else {
+                createConfiguration(child, null);
+            }
             if (child.getObject() == null) {
                 continue;
             }
@@ -680,6 +726,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             } else if (child.getName().equalsIgnoreCase("Loggers")) {
                 final Loggers l = child.getObject();
                 loggerConfigs = l.getMap();
+                loggerConfigTrie = LoggerConfigTrie.of(loggerConfigs);
                 setLoggers = true;
                 if (l.getRoot() != null) {
                     root = l.getRoot();
@@ -711,6 +758,10 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
 
         for (final Map.Entry<String, LoggerConfig> entry : loggerConfigs.entrySet()) {
             final LoggerConfig loggerConfig = entry.getValue();
+            if (reusedComponents.contains(loggerConfig)) {
+                // Already wired to the same, reused, Appenders.
+                continue;
+            }
             for (final AppenderRef ref : loggerConfig.getAppenderRefs()) {
                 final Appender app = appenders.get(ref.getRef());
                 if (app != null) {
@@ -726,6 +777,213 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         setParents();
     }
 
+    /**
+     * Creates the Appenders of the given {@code Appenders} node, reusing the Appenders of the previous configuration
+     * whose definition did not change.
+     */
+    private void createAppenders(final Node appendersNode) {
+        final List<Appender> list = new ArrayList<>(appendersNode.getChildren().size());
+        for (final Node node : appendersNode.getChildren()) {
+            ComponentDefinition definition = ComponentDefinition.of(node, configurationStrSubstitutor::replace);
+            if (definition != null && definition.referencesAppenders()) {
+                definition = null;
+            }
+            Appender appender = (Appender) reuseComponent(definition, c -> c.component instanceof Appender);
+            if (appender == null) {
+                final List<Node> tree = getTree(node);
+                createConfiguration(node, null);
+                if (node.getObject() == null) {
+                    continue;
+                }
+                if (!node.isInstanceOf(Appender.class)) {
+                    LOGGER.error("Element \"{}\" of type {} is not an Appender and is ignored.", node.getName(),
+                            node.getObject().getClass().getName());
+                    continue;
+                }
+                appender = node.getObject(Appender.class);
+                addReusableComponent(definition, appender, tree);
+            }
+            list.add(appender);
+        }
+        appendersNode.setObject(AppendersPlugin.createAppenders(list.toArray(Appender.EMPTY_ARRAY)));
+    }
+
+    /**
+     * Creates the LoggerConfigs of the given {@code Loggers} node, reusing the LoggerConfigs of the previous
+     * configuration whose definition did not change and whose Appenders are all reused.
+     */
+    private void createLoggers(final Node loggersNode) {
+        final List<LoggerConfig> list = new ArrayList<>(loggersNode.getChildren().size());
+        for (final Node node : loggersNode.getChildren()) {
+            final ComponentDefinition definition = ComponentDefinition.of(node, configurationStrSubstitutor::replace);
+            LoggerConfig loggerConfig = (LoggerConfig) reuseComponent(definition, this::isReusableLoggerConfig);
+            if (loggerConfig == null) {
+                final List<Node> tree = getTree(node);
+                createConfiguration(node, null);
+                if (node.getObject() == null) {
+                    continue;
+                }
+                if (!node.isInstanceOf(LoggerConfig.class)) {
+                    LOGGER.error("Element \"{}\" of type {} is not a Logger and is ignored.", node.getName(),
+                            node.getObject().getClass().getName());
+                    continue;
+                }
+                loggerConfig = node.getObject(LoggerConfig.class);
+                addReusableComponent(definition, loggerConfig, tree);
+            }
+            list.add(loggerConfig);
+        }
+        try {
+            loggersNode.setObject(LoggersPlugin.createLoggers(list.toArray(new LoggerConfig[0])));
+        } catch (final IllegalStateException e) {
+            LOGGER.error("Could not configure plugin element {}: {}", loggersNode.getName(), e.toString(), e);
+        }
+    }
+
+    /**
+     * Tells whether a LoggerConfig of the previous configuration can be reused: it is synchronous, since the
+     * AsyncLoggerConfigs are bound to the disruptor of their configuration, its level was not changed at runtime and
+     * all its Appenders are reused.
+     */
+    private boolean isReusableLoggerConfig(final ReusableComponent component) {
+        if (!(component.component instanceof LoggerConfig) || component.component instanceof AsyncLoggerConfig) {
+            return false;
+        }
+        final LoggerConfig loggerConfig = (LoggerConfig) component.component;
+        if (!Objects.equals(loggerConfig.getLevel(), component.level)) {
+            return false;
+        }
+        for (final Map.Entry<String, Appender> entry : loggerConfig.getAppenders().entrySet()) {
+            final Appender appender = entry.getValue();
+            if (appenders.get(entry.getKey()) != appender || !reusedComponents.contains(appender)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes over the started component of the previous configuration with the given definition, if any, and binds it
+     * to this configuration.
+     *
+     * @param definition the definition of the component, or {@code null} if it cannot be reused.
+     * @param reusable tells whether the component of the previous configuration can be reused.
+     * @return the reused component or {@code null} if it must be created.
+     */
+    private Object reuseComponent(final ComponentDefinition definition,
+            final Predicate<ReusableComponent> reusable) {
+        if (definition == null || previousConfiguration == null) {
+            return null;
+        }
+        final ReusableComponent component = previousConfiguration.transferComponent(definition, reusable);
+        if (component == null) {
+            return null;
+        }
+        LOGGER.debug("Reusing unchanged {}", component.component);
+        component.setConfiguration(this);
+        reusedComponents.add(component.component);
+        reusableComponents.putIfAbsent(definition, component);
+        return component.component;
+    }
+
+    /**
+     * Records a component created from a node, so that a later configuration may reuse it.
+     *
+     * @param definition the definition of the component, or {@code null} if it cannot be reused.
+     * @param component the component.
+     * @param tree the nodes of the component, collected before its creation consumed them.
+     */
+    private void addReusableComponent(final ComponentDefinition definition, final Object component,
+            final List<Node> tree) {
+        if (definition != null) {
+            final List<ConfigurationAware> configurationAware = new ArrayList<>();
+            for (final Node node : tree) {
+                final Object object = node.getObject();
+                if (object instanceof ConfigurationAware) {
+                    configurationAware.add((ConfigurationAware) object);
+                }
+            }
+            reusableComponents.putIfAbsent(definition, new ReusableComponent(component, configurationAware));
+        }
+    }
+
+    private static List<Node> getTree(final Node node) {
+        final List<Node> tree = new ArrayList<>();
+        tree.add(node);
+        for (int i = 0; i < tree.size(); i++) {
+            tree.addAll(tree.get(i).getChildren());
+        }
+        return tree;
+    }
+
+    /**
+     * Hands over a started component of this configuration to the configuration replacing it. This configuration
+     * will not stop the component.
+     *
+     * @param definition the definition of the component.
+     * @param reusable tells whether the component can be reused.
+     * @return the component with the given definition, or {@code null} if there is none.
+     */
+    private ReusableComponent transferComponent(final ComponentDefinition definition,
+            final Predicate<ReusableComponent> reusable) {
+        final ReusableComponent component = reusableComponents.get(definition);
+        if (component == null || !component.isStarted() || !reusable.test(component)) {
+            return null;
+        }
+        reusableComponents.remove(definition);
+        transferredComponents.add(component.component);
+        return component;
+    }
+
+    /**
+     * Lets this configuration reuse the Appenders and LoggerConfigs of the configuration it replaces whose definition
+     * did not change, instead of creating new ones. The reused components are bound to this configuration. They are
+     * neither restarted by this configuration nor stopped by the previous one, so the Appenders keep their managers
+     * and open resources across the reconfiguration.
+     * <p>
+     * This method must be called before this configuration is initialized. Appenders that reference other Appenders,
+     * create components lazily, use the configuration scheduler or have a component that is injected the
+     * configuration but is not {@link ConfigurationAware} are always recreated. LoggerConfigs are only reused if all
+     * their Appenders are reused and they are not asynchronous.
+     * </p>
+     *
+     * @param previous the configuration replaced by this configuration.
+     * @since 3.0.0
+     */
+    public void reuseUnchangedAppenders(final Configuration previous) {
+        if (previous instanceof AbstractConfiguration && previous != this && getState() == State.INITIALIZING) {
+            previousConfiguration = (AbstractConfiguration) previous;
+        }
+    }
+
+    /**
+     * A reusable Appender or LoggerConfig, with the components of its tree that must be bound to the configuration
+     * that uses it.
+     */
+    private static final class ReusableComponent {
+
+        private final Object component;
+        private final List<ConfigurationAware> configurationAware;
+        /** The configured level of a LoggerConfig, which may be changed at runtime. */
+        private final Level level;
+
+        private ReusableComponent(final Object component, final List<ConfigurationAware> configurationAware) {
+            this.component = component;
+            this.configurationAware = configurationAware;
+            this.level = component instanceof LoggerConfig ? ((LoggerConfig) component).getLevel() : null;
+        }
+
+        private boolean isStarted() {
+            return !(component instanceof LifeCycle) || ((LifeCycle) component).isStarted();
+        }
+
+        private void setConfiguration(final Configuration configuration) {
+            for (final ConfigurationAware aware : configurationAware) {
+                aware.setConfiguration(configuration);
+            }
+        }
+    }
+
     protected void setToDefault() {
         // LOG4J2-1176 facilitate memory leak investigation
         setName(DefaultConfiguration.DEFAULT_NAME + "@" + Integer.toHexString(hashCode()));
@@ -873,7 +1131,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             final LoggerConfig nlc = new LoggerConfig(loggerName, lc.getLevel(), lc.isAdditive());
             nlc.addAppender(appender, null, null);
             nlc.setParent(lc);
-            loggerConfigs.putIfAbsent(loggerName, nlc);
+            putLoggerConfig(loggerName, nlc);
             setParents();
             logger.getContext().updateLoggers();
         }
@@ -898,7 +1156,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             final LoggerConfig nlc = new LoggerConfig(loggerName, lc.getLevel(), lc.isAdditive());
             nlc.addFilter(filter);
             nlc.setParent(lc);
-            loggerConfigs.putIfAbsent(loggerName, nlc);
+            putLoggerConfig(loggerName, nlc);
             setParents();
             logger.getContext().updateLoggers();
         }
@@ -922,7 +1180,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         } else {
             final LoggerConfig nlc = new LoggerConfig(loggerName, lc.getLevel(), additive);
             nlc.setParent(lc);
-            loggerConfigs.putIfAbsent(loggerName, nlc);
+            putLoggerConfig(loggerName, nlc);
             setParents();
             logger.getContext().updateLoggers();
         }
@@ -969,14 +1227,9 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         if (loggerConfig != null) {
             return loggerConfig;
         }
-        String substr = loggerName;
-        while ((substr = NameUtil.getSubName(substr)) != null) {
-            loggerConfig = loggerConfigs.get(substr);
-            if (loggerConfig != null) {
-                return loggerConfig;
-            }
-        }
-        return root;
+        // resolves the closest ancestor without allocating the names of the ancestors
+        loggerConfig = loggerConfigTrie.find(loggerName);
+        return loggerConfig != null ? loggerConfig : root;
     }
 
     @Override
@@ -1023,7 +1276,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
      */
     @Override
     public synchronized void addLogger(final String loggerName, final LoggerConfig loggerConfig) {
-        loggerConfigs.putIfAbsent(loggerName, loggerConfig);
+        putLoggerConfig(loggerName, loggerConfig);
         setParents();
     }
 
@@ -1034,10 +1287,18 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
      */
     @Override
     public synchronized void removeLogger(final String loggerName) {
-        loggerConfigs.remove(loggerName);
+        if (loggerConfigs.remove(loggerName) != null) {
+            loggerConfigTrie.remove(loggerName);
+        }
         setParents();
     }
 
+    private void putLoggerConfig(final String loggerName, final LoggerConfig loggerConfig) {
+        if (loggerConfigs.putIfAbsent(loggerName, loggerConfig) == null) {
+            loggerConfigTrie.put(loggerName, loggerConfig);
+        }
+    }
+
     @Override
     public void createConfiguration(final Node node, final LogEvent event) {
         final Function<String, String> stringSubstitutionStrategy;
@@ -1079,20 +1340,21 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
 
     private void setParents() {
         for (final Map.Entry<String, LoggerConfig> entry : loggerConfigs.entrySet()) {
-            final LoggerConfig logger = entry.getValue();
-            String key = entry.getKey();
-            if (!key.isEmpty()) {
-                final int i = key.lastIndexOf('.');
-                if (i > 0) {
-                    key = key.substring(0, i);
-                    LoggerConfig parent = getLoggerConfig(key);
-                    if (parent == null) {
-                        parent = root;
-                    }
-                    logger.setParent(parent);
-                } else {
-                    logger.setParent(root);
-                }
+            // The parents of the reused LoggerConfigs are set when this configuration starts.
+            if (!reusedComponents.contains(entry.getValue())) {
+                setParent(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void setParent(final String key, final LoggerConfig logger) {
+        if (!key.isEmpty()) {
+            final int i = key.lastIndexOf('.');
+            if (i > 0) {
+                final LoggerConfig parent = loggerConfigTrie.find(key, i);
+                logger.setParent(parent != null ? parent : root);
+            } else {
+                logger.setParent(root);
             }
         }
     }
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.plugins.FactoryType;
+import org.apache.logging.log4j.plugins.Node;
+import org.apache.logging.log4j.plugins.util.AnnotationUtil;
+import org.apache.logging.log4j.plugins.util.PluginType;
+
+/**
+ * Immutable snapshot of the configuration node of an Appender or a LoggerConfig, taken before the node is consumed by
+ * the creation of the component. Two components with equal definitions are interchangeable, which lets a new
+ * configuration take over the components of the previous configuration that did not change instead of recreating
+ * them.
+ */
+final class ComponentDefinition {
+
+    private static final ClassValue<Boolean> INJECTS_CONFIGURATION = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return injectsConfiguration(type);
+            } catch (final LinkageError e) {
+                // A missing optional dependency: do not take any chances.
+                return true;
+            }
+        }
+    };
+
+    private final String pluginName;
+    private final String value;
+    private final Map<String, String> attributes;
+    private final List<ComponentDefinition> children;
+    private final boolean referencesAppenders;
+    private final int hashCode;
+
+    private ComponentDefinition(final String pluginName, final String value, final Map<String, String> attributes,
+            final List<ComponentDefinition> children, final boolean referencesAppenders) {
+        this.pluginName = pluginName;
+        this.value = value;
+        this.attributes = attributes;
+        this.children = children;
+        this.referencesAppenders = referencesAppenders;
+        this.hashCode = Objects.hash(pluginName, value, attributes, children);
+    }
+
+    /**
+     * Creates the definition of the component of the given node.
+     * <p>
+     * Attribute and element values are compared after substitution of the configuration properties, so that changing
+     * the value of a property used by a component changes its definition.
+     * </p>
+     *
+     * @param node the configuration node of the component, before its creation.
+     * @param substitutor the substitution applied to the attribute and element values of the node.
+     * @return the definition of the component or {@code null} if the component cannot be reused by another
+     * configuration: it creates components lazily, uses the configuration scheduler, or one of its components is
+     * injected the configuration and cannot be bound to another one through {@link ConfigurationAware}.
+     */
+    static ComponentDefinition of(final Node node, final UnaryOperator<String> substitutor) {
+        final PluginType<?> type = node.getType();
+        if (type == null || type.isDeferChildren() || type.getPluginClass().isAnnotationPresent(Scheduled.class)
+                || (INJECTS_CONFIGURATION.get(type.getPluginClass())
+                        && !ConfigurationAware.class.isAssignableFrom(type.getPluginClass()))) {
+            return null;
+        }
+        boolean referencesAppenders = AppenderRef.class.isAssignableFrom(type.getPluginClass());
+        final Map<String, String> attributes = new TreeMap<>();
+        for (final Map.Entry<String, String> entry : node.getAttributes().entrySet()) {
+            attributes.put(entry.getKey().toLowerCase(Locale.ROOT), substitute(substitutor, entry.getValue()));
+        }
+        final List<ComponentDefinition> children = new ArrayList<>(node.getChildren().size());
+        for (final Node child : node.getChildren()) {
+            final ComponentDefinition definition = of(child, substitutor);
+            if (definition == null) {
+                return null;
+            }
+            referencesAppenders |= definition.referencesAppenders;
+            children.add(definition);
+        }
+        return new ComponentDefinition(type.getKey(), substitute(substitutor, node.getValue()), attributes, children,
+                referencesAppenders);
+    }
+
+    /**
+     * Tells whether the component or one of its children references Appenders by name.
+     *
+     * @return {@code true} if the definition contains an {@link AppenderRef}.
+     */
+    boolean referencesAppenders() {
+        return referencesAppenders;
+    }
+
+    /**
+     * Tells whether the factory of a plugin or its builder is injected the configuration. Such plugins, like
+     * PatternLayout or the Appenders built by {@code AbstractAppender.Builder}, may keep the configuration that created
+     * them, its properties and its substitutor, so they can only outlive it if they can be bound to another one.
+     */
+    private static boolean injectsConfiguration(final Class<?> pluginClass) {
+        for (final Method method : pluginClass.getDeclaredMethods()) {
+            if (Modifier.isStatic(method.getModifiers())
+                    && AnnotationUtil.isMetaAnnotationPresent(method, FactoryType.class)) {
+                if (isConfigurationInjected(method)) {
+                    return true;
+                }
+                final Class<?> returnType = method.getReturnType();
+                if (!pluginClass.isAssignableFrom(returnType) && isConfigurationInjectedInBuilder(returnType)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isConfigurationInjectedInBuilder(final Class<?> builderClass) {
+        for (Class<?> cls = builderClass; cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+            for (final Field field : cls.getDeclaredFields()) {
+                if (field.isAnnotationPresent(PluginConfiguration.class)
+                        || Configuration.class.isAssignableFrom(field.getType())) {
+                    return true;
+                }
+            }
+            for (final Method method : cls.getDeclaredMethods()) {
+                if (isConfigurationInjected(method)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isConfigurationInjected(final Method method) {
+        if (method.isAnnotationPresent(PluginConfiguration.class)) {
+            return true;
+        }
+        for (final Parameter parameter : method.getParameters()) {
+            if (parameter.isAnnotationPresent(PluginConfiguration.class)
+                    || Configuration.class.isAssignableFrom(parameter.getType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String substitute(final UnaryOperator<String> substitutor, final String value) {
+        return value == null ? null : substitutor.apply(value);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ComponentDefinition)) {
+            return false;
+        }
+        final ComponentDefinition other = (ComponentDefinition) obj;
+        return hashCode == other.hashCode && pluginName.equals(other.pluginName) && Objects.equals(value, other.value)
+                && attributes.equals(other.attributes) && children.equals(other.children);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return pluginName + attributes;
+    }
+}
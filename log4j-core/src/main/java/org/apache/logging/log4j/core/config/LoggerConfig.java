@@ -58,7 +58,7 @@ import java.util.Map;
  * Logger object that is created via configuration.
  */
 @Plugin(name = "logger", category = Node.CATEGORY, printObject = true)
-public class LoggerConfig extends AbstractFilterable {
+public class LoggerConfig extends AbstractFilterable implements ConfigurationAware {
 
     public static final String ROOT = "root";
 
@@ -73,7 +73,7 @@ public class LoggerConfig extends AbstractFilterable {
     private Map<Property, Boolean> propertiesMap;
     private final List<Property> properties;
     private final boolean propertiesRequireLookup;
-    private final Configuration config;
+    private volatile Configuration config;
     private final ReliabilityStrategy reliabilityStrategy;
 
     @PluginFactory
@@ -253,7 +253,7 @@ public class LoggerConfig extends AbstractFilterable {
         this.includeLocation = includeLocation;
         this.config = config;
         if (properties != null && properties.length > 0) {
-            this.properties = List.of(properties.clone());
+            this.properties = new PropertyList(properties);
         } else {
             this.properties = null;
         }
@@ -305,6 +305,17 @@ public class LoggerConfig extends AbstractFilterable {
         return this.parent;
     }
 
+    /**
+     * Binds this LoggerConfig to the configuration that reuses it after a reconfiguration.
+     *
+     * @param configuration the configuration that now uses this LoggerConfig.
+     * @since 3.0.0
+     */
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        this.config = configuration;
+    }
+
     /**
      * Adds an Appender to the LoggerConfig.
      *
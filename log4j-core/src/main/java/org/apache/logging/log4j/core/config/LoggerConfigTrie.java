@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.Map;
+
+/**
+ * Index of the LoggerConfigs of a configuration by the dot-separated segments of their names, used to find the
+ * LoggerConfig of a logger without allocating the names of its ancestors.
+ * <p>
+ * Lookups are lock-free. Updates must be serialized by the caller: each node publishes an immutable table of its
+ * children, which an update replaces with a copy.
+ * </p>
+ */
+final class LoggerConfigTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    /** The node of the empty name, which is the name of the root LoggerConfig. */
+    private final Node root = new Node("");
+
+    /**
+     * Creates a trie of the given LoggerConfigs.
+     *
+     * @param loggerConfigs the LoggerConfigs by name.
+     * @return a new trie.
+     */
+    static LoggerConfigTrie of(final Map<String, LoggerConfig> loggerConfigs) {
+        final LoggerConfigTrie trie = new LoggerConfigTrie();
+        for (final Map.Entry<String, LoggerConfig> entry : loggerConfigs.entrySet()) {
+            // the trie is not published yet: the tables of the nodes can be updated in place
+            trie.put(entry.getKey(), entry.getValue(), false);
+        }
+        return trie;
+    }
+
+    /**
+     * Associates a LoggerConfig with a name.
+     *
+     * @param name the LoggerConfig name.
+     * @param loggerConfig the LoggerConfig.
+     */
+    void put(final String name, final LoggerConfig loggerConfig) {
+        put(name, loggerConfig, true);
+    }
+
+    private void put(final String name, final LoggerConfig loggerConfig, final boolean copyOnWrite) {
+        Node node = root;
+        if (!name.isEmpty()) {
+            int start = 0;
+            while (true) {
+                int end = name.indexOf('.', start);
+                if (end < 0) {
+                    end = name.length();
+                }
+                Node child = node.child(name, start, end);
+                if (child == null) {
+                    child = new Node(name.substring(start, end));
+                    node.addChild(child, copyOnWrite);
+                }
+                node = child;
+                if (end == name.length()) {
+                    break;
+                }
+                start = end + 1;
+            }
+        }
+        node.value = loggerConfig;
+    }
+
+    /**
+     * Removes the LoggerConfig associated with a name.
+     *
+     * @param name the LoggerConfig name.
+     */
+    void remove(final String name) {
+        final Node node = exactNode(name);
+        if (node != null) {
+            node.value = null;
+        }
+    }
+
+    /**
+     * Returns the LoggerConfig of the given name, or of its closest ancestor.
+     *
+     * @param name the Logger name.
+     * @return the LoggerConfig of the longest name that is the given name or one of its dot-separated prefixes, or
+     * {@code null} if there is none.
+     */
+    LoggerConfig find(final String name) {
+        return find(name, name.length());
+    }
+
+    /**
+     * Returns the LoggerConfig of the name made of the {@code length} first characters of the given name, or of its
+     * closest ancestor. Equivalent to {@code find(name.substring(0, length))}.
+     *
+     * @param name the Logger name.
+     * @param length the length of the prefix of the name to resolve.
+     * @return the LoggerConfig of the longest name that is the prefix or one of its dot-separated prefixes, or
+     * {@code null} if there is none.
+     */
+    LoggerConfig find(final String name, final int length) {
+        LoggerConfig result = root.value;
+        if (length == 0) {
+            return result;
+        }
+        Node node = root;
+        int start = 0;
+        while (start < length) {
+            // scans the next segment and computes its hash in a single pass
+            int end = start;
+            int h = 0;
+            char c;
+            while (end < length && (c = name.charAt(end)) != '.') {
+                h = 31 * h + c;
+                end++;
+            }
+            node = node.child(name, start, end, spread(h));
+            if (node == null) {
+                return result;
+            }
+            final LoggerConfig value = node.value;
+            if (value != null) {
+                result = value;
+            }
+            if (end == length) {
+                return result;
+            }
+            start = end + 1;
+        }
+        // the name ends with a dot: its last segment is empty
+        node = node.child(name, start, start, 0);
+        return node != null && node.value != null ? node.value : result;
+    }
+
+    private Node exactNode(final String name) {
+        Node node = root;
+        if (!name.isEmpty()) {
+            int start = 0;
+            while (node != null) {
+                int end = name.indexOf('.', start);
+                if (end < 0) {
+                    end = name.length();
+                }
+                node = node.child(name, start, end);
+                if (end == name.length()) {
+                    break;
+                }
+                start = end + 1;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Computes the same hash code as {@code name.substring(start, end).hashCode()}.
+     */
+    private static int hash(final String name, final int start, final int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + name.charAt(i);
+        }
+        return spread(h);
+    }
+
+    private static int spread(final int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Node {
+
+        private final String segment;
+
+        private final int hash;
+
+        private volatile LoggerConfig value;
+
+        /** Open addressing table of the child nodes, with a power of two length. */
+        private volatile Node[] children = NO_CHILDREN;
+
+        private int childCount;
+
+        Node(final String segment) {
+            this.segment = segment;
+            this.hash = hash(segment, 0, segment.length());
+        }
+
+        Node child(final String name, final int start, final int end) {
+            return child(name, start, end, hash(name, start, end));
+        }
+
+        Node child(final String name, final int start, final int end, final int hash) {
+            final Node[] table = children;
+            if (table.length == 0) {
+                return null;
+            }
+            final int length = end - start;
+            final int mask = table.length - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                final Node child = table[i];
+                if (child == null) {
+                    return null;
+                }
+                if (child.segment.length() == length && name.regionMatches(start, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+        }
+
+        void addChild(final Node child, final boolean copyOnWrite) {
+            final Node[] table = children;
+            final boolean resize = (childCount + 1) * 2 > table.length;
+            childCount++;
+            if (!resize && !copyOnWrite) {
+                insert(table, child);
+                return;
+            }
+            final Node[] copy = new Node[resize ? Math.max(2, table.length * 2) : table.length];
+            for (final Node node : table) {
+                if (node != null) {
+                    insert(copy, node);
+                }
+            }
+            insert(copy, child);
+            children = copy;
+        }
+
+        private static void insert(final Node[] table, final Node node) {
+            final int mask = table.length - 1;
+            int i = node.hash & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = node;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import org.apache.logging.log4j.util.PersistentStringMap;
+
+/**
+ * The unmodifiable list of the configuration properties of a {@link LoggerConfig}. The properties are also frozen
+ * into a {@link PersistentStringMap}, so that they can be combined with a persistent snapshot of the context data
+ * without building a map for each log event.
+ *
+ * @since 3.0.0
+ */
+public final class PropertyList extends AbstractList<Property> implements RandomAccess {
+
+    private final Property[] properties;
+
+    private final PersistentStringMap map;
+
+    PropertyList(final Property[] properties) {
+        this.properties = properties.clone();
+        PersistentStringMap map = PersistentStringMap.empty();
+        for (final Property property : this.properties) {
+            map = map.with(property.getName(), property.getValue());
+        }
+        this.map = map;
+    }
+
+    @Override
+    public Property get(final int index) {
+        return properties[index];
+    }
+
+    @Override
+    public int size() {
+        return properties.length;
+    }
+
+    /**
+     * Returns the properties as a map from their names to their values, as configured, without substituting the
+     * variables of values that need a lookup.
+     *
+     * @return the properties as an immutable map
+     */
+    public PersistentStringMap getMap() {
+        return map;
+    }
+}
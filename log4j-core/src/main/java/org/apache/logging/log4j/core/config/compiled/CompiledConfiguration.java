@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config.compiled;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.AbstractConfiguration;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.apache.logging.log4j.core.config.Reconfigurable;
+import org.apache.logging.log4j.core.config.status.StatusConfiguration;
+import org.apache.logging.log4j.core.util.Patterns;
+import org.apache.logging.log4j.plugins.util.ResolverUtil;
+
+/**
+ * Creates a Node hierarchy from a compiled configuration.
+ *
+ * @see CompiledConfigurationFormat
+ * @see org.apache.logging.log4j.core.tools.ConfigurationCompiler
+ * @since 3.0.0
+ */
+public class CompiledConfiguration extends AbstractConfiguration implements Reconfigurable {
+
+    private static final String[] VERBOSE_CLASSES = new String[] { ResolverUtil.class.getName() };
+    private DataInputStream input;
+
+    public CompiledConfiguration(final LoggerContext loggerContext, final ConfigurationSource configSource) {
+        super(loggerContext, configSource);
+        try {
+            final byte[] buffer;
+            try (final InputStream configStream = configSource.getInputStream()) {
+                buffer = configStream.readAllBytes();
+            }
+            input = CompiledConfigurationFormat.readRootAttributes(buffer, rootNode);
+            final StatusConfiguration statusConfig = new StatusConfiguration().setVerboseClasses(VERBOSE_CLASSES)
+                    .setStatus(getDefaultStatus());
+            int monitorIntervalSeconds = 0;
+            for (final Map.Entry<String, String> entry : rootNode.getAttributes().entrySet()) {
+                final String key = entry.getKey();
+                final String value = getConfigurationStrSubstitutor().replace(entry.getValue());
+                if ("status".equalsIgnoreCase(key)) {
+                    statusConfig.setStatus(value);
+                } else if ("dest".equalsIgnoreCase(key)) {
+                    statusConfig.setDestination(value);
+                } else if ("shutdownHook".equalsIgnoreCase(key)) {
+                    isShutdownHookEnabled = !"disable".equalsIgnoreCase(value);
+                } else if ("shutdownTimeout".equalsIgnoreCase(key)) {
+                    shutdownTimeoutMillis = Long.parseLong(value);
+                } else if ("verbose".equalsIgnoreCase(key)) {
+                    statusConfig.setVerbosity(value);
+                } else if ("packages".equalsIgnoreCase(key)) {
+                    pluginPackages.addAll(Arrays.asList(value.split(Patterns.COMMA_SEPARATOR)));
+                } else if ("name".equalsIgnoreCase(key)) {
+                    setName(value);
+                } else if ("monitorInterval".equalsIgnoreCase(key)) {
+                    monitorIntervalSeconds = Integer.parseInt(value);
+                } else if ("advertiser".equalsIgnoreCase(key)) {
+                    createAdvertiser(value, configSource, buffer, CompiledConfigurationFormat.MEDIA_TYPE);
+                }
+            }
+            initializeWatchers(this, configSource, monitorIntervalSeconds);
+            statusConfig.initialize();
+            if (getName() == null) {
+                setName(configSource.getLocation());
+            }
+        } catch (final Exception ex) {
+            LOGGER.error("Error parsing " + configSource.getLocation(), ex);
+        }
+    }
+
+    @Override
+    public void setup() {
+        if (input == null) {
+            return;
+        }
+        try {
+            CompiledConfigurationFormat.readChildren(input, rootNode, pluginManager);
+            LOGGER.debug("Completed reading compiled configuration");
+        } catch (final IOException ex) {
+            LOGGER.error("Error reading compiled configuration " + getConfigurationSource().getLocation(), ex);
+            rootNode.getChildren().clear();
+        } finally {
+            input = null;
+        }
+    }
+
+    @Override
+    public Configuration reconfigure() {
+        try {
+            final ConfigurationSource source = getConfigurationSource().resetInputStream();
+            if (source == null) {
+                return null;
+            }
+            return new CompiledConfiguration(getLoggerContext(), source);
+        } catch (final IOException ex) {
+            LOGGER.error("Cannot locate file {}", getConfigurationSource(), ex);
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[location=" + getConfigurationSource() + "]";
+    }
+}
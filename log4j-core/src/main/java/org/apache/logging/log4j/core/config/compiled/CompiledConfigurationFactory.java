@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config.compiled;
+
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationFactory;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.apache.logging.log4j.core.config.Order;
+import org.apache.logging.log4j.plugins.Plugin;
+
+/**
+ * Factory to construct a CompiledConfiguration. It takes precedence over the other configuration factories, so a
+ * compiled configuration found next to its source is used instead of parsing the source.
+ *
+ * @since 3.0.0
+ */
+@Plugin(name = "CompiledConfigurationFactory", category = ConfigurationFactory.CATEGORY)
+@Order(10)
+public class CompiledConfigurationFactory extends ConfigurationFactory {
+
+    /**
+     * The file extensions supported by this factory.
+     */
+    private static final String[] SUFFIXES = new String[] {CompiledConfigurationFormat.SUFFIX};
+
+    public CompiledConfigurationFactory() {
+    }
+
+    @Override
+    public Configuration getConfiguration(final LoggerContext loggerContext, final ConfigurationSource source) {
+        return new CompiledConfiguration(loggerContext, source);
+    }
+
+    @Override
+    public String[] getSupportedTypes() {
+        return SUFFIXES;
+    }
+}
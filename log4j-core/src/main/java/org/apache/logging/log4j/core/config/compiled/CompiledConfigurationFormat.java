@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config.compiled;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.plugins.Node;
+import org.apache.logging.log4j.plugins.util.PluginManager;
+import org.apache.logging.log4j.plugins.util.PluginType;
+
+/**
+ * The binary format of compiled configurations.
+ * <p>
+ * A compiled configuration is the tree of configuration nodes produced by parsing a configuration file, with the
+ * plugin type of each node already resolved. Attribute and element values are stored as written in the original
+ * file: property substitution, lookups and arbiters are still evaluated when the configuration is loaded, so a
+ * compiled configuration behaves exactly like its source.
+ * </p>
+ * <p>
+ * The format starts with a magic number and a version, followed by the attributes of the root node and its children.
+ * Each node is written as its name, plugin key, value, attributes and children, depth first. Strings are written as
+ * their length in UTF-8 bytes, or -1 for {@code null}, followed by the bytes.
+ * </p>
+ */
+public final class CompiledConfigurationFormat {
+
+    /**
+     * The file extension of compiled configurations.
+     */
+    public static final String SUFFIX = ".compiled";
+
+    /**
+     * The media type of compiled configurations.
+     */
+    public static final String MEDIA_TYPE = "application/vnd.apache.log4j.compiled-configuration";
+
+    private static final int MAGIC = 0x4C344A43; // L4JC
+
+    private static final int VERSION = 1;
+
+    private CompiledConfigurationFormat() {
+    }
+
+    /**
+     * Writes the compiled form of the given configuration node tree.
+     *
+     * @param rootNode the root node of the parsed configuration.
+     * @param outputStream the stream to write to.
+     * @throws IOException if the compiled configuration cannot be written.
+     */
+    public static void write(final Node rootNode, final OutputStream outputStream) throws IOException {
+        final DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeAttributes(out, rootNode.getAttributes());
+        writeChildren(out, rootNode.getChildren());
+        out.flush();
+    }
+
+    private static void writeNode(final DataOutput out, final Node node) throws IOException {
+        final PluginType<?> type = node.getType();
+        writeString(out, node.getName());
+        writeString(out, type == null ? null : type.getKey());
+        writeString(out, node.getValue());
+        writeAttributes(out, node.getAttributes());
+        writeChildren(out, node.getChildren());
+    }
+
+    private static void writeAttributes(final DataOutput out, final Map<String, String> attributes)
+            throws IOException {
+        out.writeInt(attributes.size());
+        for (final Map.Entry<String, String> entry : attributes.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    private static void writeChildren(final DataOutput out, final List<Node> children) throws IOException {
+        out.writeInt(children.size());
+        for (final Node child : children) {
+            writeNode(out, child);
+        }
+    }
+
+    private static void writeString(final DataOutput out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads the header and the attributes of the root node of a compiled configuration.
+     *
+     * @param data the compiled configuration.
+     * @param rootNode the root node to add the attributes to.
+     * @return the input positioned at the children of the root node.
+     * @throws IOException if the data does not contain a compiled configuration.
+     */
+    static DataInputStream readRootAttributes(final byte[] data, final Node rootNode) throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a compiled configuration");
+        }
+        final int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported compiled configuration version " + version);
+        }
+        readAttributes(in, rootNode.getAttributes());
+        return in;
+    }
+
+    /**
+     * Reads the children of a node.
+     *
+     * @param in the input positioned at the children of the node.
+     * @param parent the node to add the children to.
+     * @param pluginManager the plugin manager resolving the plugin types of the nodes.
+     * @throws IOException if the children cannot be read.
+     */
+    static void readChildren(final DataInputStream in, final Node parent, final PluginManager pluginManager)
+            throws IOException {
+        final List<Node> children = parent.getChildren();
+        final int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            final String name = readString(in);
+            final String pluginKey = readString(in);
+            final PluginType<?> type = pluginKey == null ? null : pluginManager.getPluginType(pluginKey);
+            final Node node = new Node(parent, name, type);
+            node.setValue(readString(in));
+            readAttributes(in, node.getAttributes());
+            readChildren(in, node, pluginManager);
+            children.add(node);
+        }
+    }
+
+    private static void readAttributes(final DataInputStream in, final Map<String, String> attributes)
+            throws IOException {
+        final int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            final String key = readString(in);
+            attributes.put(key, readString(in));
+        }
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        // The input is in memory, so a corrupt length is detected before allocating.
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Invalid string length " + length + " in compiled configuration");
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
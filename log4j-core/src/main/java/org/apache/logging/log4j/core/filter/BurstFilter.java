@@ -110,6 +110,11 @@ public final class BurstFilter extends AbstractFilter {
         return filter(level);
     }
 
+    @Override
+    public boolean mayAccept(final Level level, final boolean hasMarker) {
+        return onMatch == Result.ACCEPT || (onMismatch == Result.ACCEPT && this.level.isMoreSpecificThan(level));
+    }
+
     @Override
     public Result filter(final LogEvent event) {
         return filter(event.getLevel());
@@ -581,6 +581,16 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
         return result;
     }
 
+    @Override
+    public boolean mayAccept(final Level level, final boolean hasMarker) {
+        for (int i = 0; i < filters.length; i++) {
+            if (filters[i].mayAccept(level, hasMarker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
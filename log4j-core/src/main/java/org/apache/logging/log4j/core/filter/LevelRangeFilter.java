@@ -84,6 +84,11 @@ public final class LevelRangeFilter extends AbstractFilter {
         return level.isInRange(this.minLevel, this.maxLevel) ? onMatch : onMismatch;
     }
 
+    @Override
+    public boolean mayAccept(final Level level, final boolean hasMarker) {
+        return filter(level) == Result.ACCEPT;
+    }
+
     @Override
     public Result filter(final LogEvent event) {
         return filter(event.getLevel());
@@ -61,6 +61,11 @@ public final class MarkerFilter extends AbstractFilter {
         return filter(marker);
     }
 
+    @Override
+    public boolean mayAccept(final Level level, final boolean hasMarker) {
+        return onMismatch == Result.ACCEPT || (hasMarker && onMatch == Result.ACCEPT);
+    }
+
     @Override
     public Result filter(final LogEvent event) {
         return filter(event.getMarker());
@@ -56,6 +56,11 @@ public final class NoMarkerFilter extends AbstractFilter {
         return filter(marker);
     }
 
+    @Override
+    public boolean mayAccept(final Level level, final boolean hasMarker) {
+        return (hasMarker ? onMismatch : onMatch) == Result.ACCEPT;
+    }
+
     @Override
     public Result filter(final LogEvent event) {
         return filter(event.getMarker());
@@ -0,0 +1,566 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.Scheduled;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.plugins.Node;
+import org.apache.logging.log4j.plugins.Plugin;
+import org.apache.logging.log4j.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.plugins.PluginFactory;
+
+/**
+ * The <code>RateLimitFilter</code> is a logging filter that regulates logging traffic like the {@link BurstFilter},
+ * using lock-free token buckets instead of a shared queue of recent events.
+ *
+ * <p>
+ * Each bucket allows a burst of up to <code>maxBurst</code> events and refills at <code>rate</code> events per second.
+ * Acquiring a token is a single compare-and-set and rejecting an event when the bucket is empty only reads the bucket,
+ * so threads logging concurrently do not serialize on a lock. Optionally, events are distributed over separate buckets
+ * by logger name, marker name or the value of a ThreadContext key, bounded by <code>maxKeys</code>; events whose key
+ * does not fit anymore share a common bucket.
+ * </p>
+ * <p>
+ * When <code>summaryInterval</code> is positive, the filter periodically logs the number of events suppressed by each
+ * bucket through the logger named after this class, using the {@link #SUMMARY_MARKER} marker. Events carrying this
+ * marker are never rate limited.
+ * </p>
+ * <code>
+ * &lt;Console name="console"&gt;<br>
+ * &nbsp;&lt;PatternLayout pattern="%-5p %d{dd-MMM-yyyy HH:mm:ss} %x %t %m%n"/&gt;<br>
+ * &nbsp;&lt;Filters&gt;<br>
+ * &nbsp;&nbsp;&lt;RateLimitFilter level="INFO" rate="16" maxBurst="100" key="LOGGER"/&gt;<br>
+ * &nbsp;&lt;/Filters&gt;<br>
+ * &lt;/Console&gt;<br>
+ * </code><br>
+ *
+ * @since 3.0.0
+ */
+@Plugin(name = "RateLimitFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
+@Scheduled
+public final class RateLimitFilter extends AbstractFilter {
+
+    /**
+     * Marker of the summary events logged by this filter.
+     */
+    public static final Marker SUMMARY_MARKER = MarkerManager.getMarker("RATE_LIMIT_SUMMARY");
+
+    /**
+     * Selects the bucket of an event.
+     */
+    public enum KeyType {
+        /** All events share one bucket. */
+        NONE,
+        /** One bucket per logger name. */
+        LOGGER,
+        /** One bucket per marker name; events without a marker share a bucket. */
+        MARKER,
+        /** One bucket per value of a ThreadContext key; events without a value share a bucket. */
+        THREAD_CONTEXT
+    }
+
+    private static final long NANOS_IN_SECONDS = 1000000000;
+
+    private static final int DEFAULT_RATE = 10;
+
+    private static final int DEFAULT_RATE_MULTIPLE = 100;
+
+    private static final int DEFAULT_MAX_KEYS = 1000;
+
+    private static final long DEFAULT_SUMMARY_INTERVAL_MILLIS = 60000;
+
+    private final Level level;
+
+    private final long emissionIntervalNanos;
+
+    private final long toleranceNanos;
+
+    private final KeyType keyType;
+
+    private final String contextKey;
+
+    private final int maxKeys;
+
+    private final long summaryIntervalMillis;
+
+    private final Level summaryLevel;
+
+    private final Configuration configuration;
+
+    private final Bucket sharedBucket;
+
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong evictedSuppressedCount = new AtomicLong();
+
+    private volatile ScheduledFuture<?> future;
+
+    private RateLimitFilter(final Level level, final float rate, final long maxBurst, final KeyType keyType,
+                            final String contextKey, final int maxKeys, final long summaryIntervalMillis,
+                            final Level summaryLevel, final Configuration configuration, final Result onMatch,
+                            final Result onMismatch) {
+        super(onMatch, onMismatch);
+        this.level = level;
+        this.emissionIntervalNanos = Math.max(1, (long) (NANOS_IN_SECONDS / rate));
+        this.toleranceNanos = emissionIntervalNanos * (maxBurst - 1);
+        this.keyType = keyType;
+        this.contextKey = contextKey;
+        this.maxKeys = maxKeys;
+        this.summaryIntervalMillis = summaryIntervalMillis;
+        this.summaryLevel = summaryLevel;
+        this.configuration = configuration;
+        this.sharedBucket = new Bucket(System.nanoTime());
+    }
+
+    @Override
+    public void start() {
+        if (summaryIntervalMillis > 0 && configuration != null) {
+            future = configuration.getScheduler().scheduleWithFixedDelay(this::logSummary, summaryIntervalMillis,
+                    summaryIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        super.start();
+    }
+
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        setStopping();
+        final boolean stopped = stop(future);
+        future = null;
+        setStopped();
+        return stopped;
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+                         final Object... params) {
+        return filter(logger, level, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final Object msg,
+                         final Throwable t) {
+        return filter(logger, level, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final Message msg,
+                         final Throwable t) {
+        return filter(logger, level, marker);
+    }
+
+    @Override
+    public boolean mayAccept(final Level level, final boolean hasMarker) {
+        return onMatch == Result.ACCEPT || (onMismatch == Result.ACCEPT && this.level.isMoreSpecificThan(level));
+    }
+
+    @Override
+    public Result filter(final LogEvent event) {
+        final Level eventLevel = event.getLevel();
+        if (!this.level.isMoreSpecificThan(eventLevel) || event.getMarker() == SUMMARY_MARKER) {
+            return onMatch;
+        }
+        final String key;
+        switch (keyType) {
+            case LOGGER:
+                key = event.getLoggerName();
+                break;
+            case MARKER:
+                key = event.getMarker() == null ? null : event.getMarker().getName();
+                break;
+            case THREAD_CONTEXT:
+                key = event.getContextData().getValue(contextKey);
+                break;
+            default:
+                key = null;
+        }
+        return filter(key, System.nanoTime());
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0) {
+        return filter(logger, level, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1) {
+        return filter(logger, level, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2) {
+        return filter(logger, level, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3) {
+        return filter(logger, level, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4) {
+        return filter(logger, level, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5) {
+        return filter(logger, level, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5, final Object p6) {
+        return filter(logger, level, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5, final Object p6,
+            final Object p7) {
+        return filter(logger, level, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5, final Object p6,
+            final Object p7, final Object p8) {
+        return filter(logger, level, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5, final Object p6,
+            final Object p7, final Object p8, final Object p9) {
+        return filter(logger, level, marker);
+    }
+
+    private Result filter(final Logger logger, final Level level, final Marker marker) {
+        if (!this.level.isMoreSpecificThan(level) || marker == SUMMARY_MARKER) {
+            return onMatch;
+        }
+        final String key;
+        switch (keyType) {
+            case LOGGER:
+                key = logger.getName();
+                break;
+            case MARKER:
+                key = marker == null ? null : marker.getName();
+                break;
+            case THREAD_CONTEXT:
+                key = ThreadContext.get(contextKey);
+                break;
+            default:
+                key = null;
+        }
+        return filter(key, System.nanoTime());
+    }
+
+    /**
+     * Decides if an event of the given key may be logged at the given time, taking a token from its bucket.
+     *
+     * @param key The bucket key, may be null.
+     * @param nanoTime The current value of {@link System#nanoTime()}.
+     * @return The onMatch value if a token was available, onMismatch otherwise.
+     */
+    Result filter(final String key, final long nanoTime) {
+        return getBucket(key, nanoTime).tryAcquire(nanoTime) ? onMatch : onMismatch;
+    }
+
+    private Bucket getBucket(final String key, final long nanoTime) {
+        if (key == null || keyType == KeyType.NONE) {
+            return sharedBucket;
+        }
+        final Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            return sharedBucket;
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(nanoTime));
+    }
+
+    /**
+     * Logs the number of events suppressed by each bucket since the last summary, and evicts the buckets that are full
+     * again so that other keys can take their place.
+     */
+    void logSummary() {
+        final long now = System.nanoTime();
+        final LoggerContext loggerContext = configuration == null ? null : configuration.getLoggerContext();
+        final Logger summaryLogger = loggerContext == null ? null : loggerContext.getLogger(RateLimitFilter.class.getName());
+        logSummary(summaryLogger, null, sharedBucket);
+        for (final Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            final Bucket bucket = entry.getValue();
+            logSummary(summaryLogger, entry.getKey(), bucket);
+            if (bucket.isFull(now) && buckets.remove(entry.getKey(), bucket)) {
+                evictedSuppressedCount.addAndGet(bucket.suppressed.sum());
+            }
+        }
+    }
+
+    private void logSummary(final Logger summaryLogger, final String key, final Bucket bucket) {
+        final long suppressed = bucket.suppressed.sum();
+        final long count = suppressed - bucket.reported;
+        bucket.reported = suppressed;
+        if (count > 0 && summaryLogger != null) {
+            if (key == null) {
+                summaryLogger.log(summaryLevel, SUMMARY_MARKER, "{} events suppressed by rate limit", count);
+            } else {
+                summaryLogger.log(summaryLevel, SUMMARY_MARKER, "{} events suppressed by rate limit for {} {}", count,
+                        keyType == KeyType.THREAD_CONTEXT ? contextKey : keyType.name().toLowerCase(), key);
+            }
+        }
+    }
+
+    /**
+     * Returns the total number of events suppressed by this filter.
+     * @return The number of suppressed events.
+     */
+    public long getSuppressedCount() {
+        long count = evictedSuppressedCount.get() + sharedBucket.suppressed.sum();
+        for (final Bucket bucket : buckets.values()) {
+            count += bucket.suppressed.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of keyed buckets currently tracked. Used for unit testing.
+     * @return The number of keyed buckets.
+     */
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    @Override
+    public String toString() {
+        return "level=" + level.toString() + ", interval=" + emissionIntervalNanos + ", tolerance=" + toleranceNanos
+                + ", key=" + keyType + ", buckets=" + buckets.size();
+    }
+
+    /**
+     * A token bucket implemented as a generic cell rate algorithm: the bucket only stores the theoretical arrival time
+     * of the next event, which advances by the emission interval for each accepted event. An event is accepted if the
+     * theoretical arrival time is not ahead of the current time by more than the burst tolerance.
+     */
+    private final class Bucket {
+
+        private final AtomicLong theoreticalArrivalTime;
+
+        private final LongAdder suppressed = new LongAdder();
+
+        // only accessed by the summary task
+        private long reported;
+
+        Bucket(final long nanoTime) {
+            this.theoreticalArrivalTime = new AtomicLong(nanoTime);
+        }
+
+        boolean tryAcquire(final long nanoTime) {
+            long tat = theoreticalArrivalTime.get();
+            while (tat - nanoTime <= toleranceNanos) {
+                final long next = (tat - nanoTime < 0 ? nanoTime : tat) + emissionIntervalNanos;
+                if (theoreticalArrivalTime.compareAndSet(tat, next)) {
+                    return true;
+                }
+                tat = theoreticalArrivalTime.get();
+            }
+            suppressed.increment();
+            return false;
+        }
+
+        boolean isFull(final long nanoTime) {
+            return theoreticalArrivalTime.get() - nanoTime <= 0;
+        }
+    }
+
+    @PluginFactory
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder extends AbstractFilterBuilder<Builder> implements org.apache.logging.log4j.plugins.util.Builder<RateLimitFilter> {
+
+        @PluginBuilderAttribute
+        private Level level = Level.WARN;
+
+        @PluginBuilderAttribute
+        private float rate = DEFAULT_RATE;
+
+        @PluginBuilderAttribute
+        private long maxBurst;
+
+        @PluginBuilderAttribute
+        private KeyType key = KeyType.NONE;
+
+        @PluginBuilderAttribute
+        private String contextKey;
+
+        @PluginBuilderAttribute
+        private int maxKeys = DEFAULT_MAX_KEYS;
+
+        @PluginBuilderAttribute
+        private long summaryInterval = DEFAULT_SUMMARY_INTERVAL_MILLIS;
+
+        @PluginBuilderAttribute
+        private Level summaryLevel = Level.WARN;
+
+        @PluginConfiguration
+        private Configuration configuration;
+
+        /**
+         * Sets the logging level to use.
+         * @param level the logging level to use.
+         * @return this
+         */
+        public Builder setLevel(final Level level) {
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * Sets the average number of events per second to allow.
+         * @param rate the average number of events per second to allow. This must be a positive number.
+         * @return this
+         */
+        public Builder setRate(final float rate) {
+            this.rate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of events that can occur before events are filtered for exceeding the average rate.
+         * @param maxBurst the maximum number of events that can occur at once. The default is 100 times the rate, and
+         *                 at least 1.
+         * @return this
+         */
+        public Builder setMaxBurst(final long maxBurst) {
+            this.maxBurst = maxBurst;
+            return this;
+        }
+
+        /**
+         * Sets how events are distributed over separate buckets.
+         * @param key the key type, {@link KeyType#NONE} by default.
+         * @return this
+         */
+        public Builder setKey(final KeyType key) {
+            this.key = key;
+            return this;
+        }
+
+        /**
+         * Sets the ThreadContext key whose value selects the bucket when the key type is
+         * {@link KeyType#THREAD_CONTEXT}.
+         * @param contextKey the ThreadContext key.
+         * @return this
+         */
+        public Builder setContextKey(final String contextKey) {
+            this.contextKey = contextKey;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of keyed buckets. Events of further keys share a common bucket.
+         * @param maxKeys the maximum number of keyed buckets, 1000 by default.
+         * @return this
+         */
+        public Builder setMaxKeys(final int maxKeys) {
+            this.maxKeys = maxKeys;
+            return this;
+        }
+
+        /**
+         * Sets the interval in milliseconds between two summaries of suppressed events. Zero or less disables the
+         * summaries.
+         * @param summaryInterval the summary interval in milliseconds, 60000 by default.
+         * @return this
+         */
+        public Builder setSummaryInterval(final long summaryInterval) {
+            this.summaryInterval = summaryInterval;
+            return this;
+        }
+
+        /**
+         * Sets the level of the summary events.
+         * @param summaryLevel the level of the summary events, WARN by default.
+         * @return this
+         */
+        public Builder setSummaryLevel(final Level summaryLevel) {
+            this.summaryLevel = summaryLevel;
+            return this;
+        }
+
+        public Builder setConfiguration(final Configuration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        @Override
+        public RateLimitFilter build() {
+            if (this.rate <= 0) {
+                this.rate = DEFAULT_RATE;
+            }
+            if (this.maxBurst <= 0) {
+                // A rate below one event per DEFAULT_RATE_MULTIPLE seconds must still let single events through.
+                this.maxBurst = Math.max(1, (long) (this.rate * DEFAULT_RATE_MULTIPLE));
+            }
+            if (this.key == null) {
+                this.key = KeyType.NONE;
+            }
+            if (this.key == KeyType.THREAD_CONTEXT && this.contextKey == null) {
+                LOGGER.error("RateLimitFilter requires a contextKey when the key is THREAD_CONTEXT");
+                return null;
+            }
+            if (this.maxKeys < 0) {
+                this.maxKeys = 0;
+            }
+            return new RateLimitFilter(this.level, this.rate, this.maxBurst, this.key, this.contextKey, this.maxKeys,
+                    this.summaryInterval, this.summaryLevel == null ? Level.WARN : this.summaryLevel,
+                    this.configuration, this.getOnMatch(), this.getOnMismatch());
+        }
+    }
+}
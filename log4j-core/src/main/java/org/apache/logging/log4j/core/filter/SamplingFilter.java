@@ -0,0 +1,544 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.plugins.Node;
+import org.apache.logging.log4j.plugins.Plugin;
+import org.apache.logging.log4j.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.plugins.PluginFactory;
+
+/**
+ * The <code>SamplingFilter</code> keeps a sample of the events at or below a level, so that verbose levels can stay
+ * enabled for chosen flows without flooding the appenders.
+ *
+ * <p>
+ * The filter keeps one event in <code>ratio</code>. When a <code>rate</code> is configured, the ratio is adapted
+ * every <code>interval</code> milliseconds to the number of events observed during the previous interval, so that
+ * about <code>rate</code> events per second are kept, and at most that many events are kept within one interval even
+ * if the load rises suddenly. Optionally, events are sampled separately per logger name, per message template or per
+ * value of a ThreadContext key, bounded by <code>maxKeys</code>; events whose key does not fit anymore share a common
+ * sampler. Deciding whether to keep an event does not allocate.
+ * </p>
+ * <p>
+ * The sample is systematic, one event in N with N adapted per interval and a cap on the events kept per interval,
+ * rather than a reservoir sample: a reservoir would have to hold the candidate events until the end of the interval
+ * before deciding which to keep, while appenders need the decision as each event is logged.
+ * </p>
+ * <p>
+ * The numbers of kept and dropped events are available through {@link #getSampledCount()} and
+ * {@link #getDroppedCount()}, and through JMX when JMX is enabled.
+ * </p>
+ * <code>
+ * &lt;Console name="console"&gt;<br>
+ * &nbsp;&lt;PatternLayout pattern="%-5p %d{dd-MMM-yyyy HH:mm:ss} %x %t %m%n"/&gt;<br>
+ * &nbsp;&lt;Filters&gt;<br>
+ * &nbsp;&nbsp;&lt;SamplingFilter level="DEBUG" rate="10" key="LOGGER"/&gt;<br>
+ * &nbsp;&lt;/Filters&gt;<br>
+ * &lt;/Console&gt;<br>
+ * </code><br>
+ *
+ * @since 3.0.0
+ */
+@Plugin(name = "SamplingFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class SamplingFilter extends AbstractFilter {
+
+    /**
+     * Selects the sampler of an event.
+     */
+    public enum KeyType {
+        /** All events share one sampler. */
+        NONE,
+        /** One sampler per logger name. */
+        LOGGER,
+        /** One sampler per message template, that is the format of the message. */
+        MESSAGE_TEMPLATE,
+        /** One sampler per value of a ThreadContext key; events without a value share a sampler. */
+        THREAD_CONTEXT
+    }
+
+    private static final long NANOS_IN_SECONDS = 1000000000;
+
+    private static final int DEFAULT_MAX_KEYS = 1000;
+
+    private static final long DEFAULT_INTERVAL_MILLIS = 1000;
+
+    private final String name;
+
+    private final Level level;
+
+    private final int minRatio;
+
+    private final float rate;
+
+    private final long intervalNanos;
+
+    private final long capacity;
+
+    private final KeyType keyType;
+
+    private final String contextKey;
+
+    private final int maxKeys;
+
+    private final Sampler sharedSampler;
+
+    private final ConcurrentMap<String, Sampler> samplers = new ConcurrentHashMap<>();
+
+    private final LongAdder sampledCount = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private SamplingFilter(final String name, final Level level, final int ratio, final float rate,
+                           final long intervalMillis, final KeyType keyType, final String contextKey,
+                           final int maxKeys, final Result onMatch, final Result onMismatch) {
+        super(onMatch, onMismatch);
+        this.name = name;
+        this.level = level;
+        this.minRatio = ratio;
+        this.rate = rate;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.capacity = rate > 0 ? Math.max(1, (long) Math.ceil(rate * intervalMillis / 1000.0)) : 0;
+        this.keyType = keyType;
+        this.contextKey = contextKey;
+        this.maxKeys = maxKeys;
+        this.sharedSampler = new Sampler(System.nanoTime());
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+                         final Object... params) {
+        return filter(logger, level, msg);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final Object msg,
+                         final Throwable t) {
+        return filter(logger, level, null);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final Message msg,
+                         final Throwable t) {
+        return filter(logger, level, msg == null ? null : msg.getFormat());
+    }
+
+    @Override
+    public boolean mayAccept(final Level level, final boolean hasMarker) {
+        return onMatch == Result.ACCEPT || (onMismatch == Result.ACCEPT && this.level.isMoreSpecificThan(level));
+    }
+
+    @Override
+    public Result filter(final LogEvent event) {
+        if (!this.level.isMoreSpecificThan(event.getLevel())) {
+            return onMatch;
+        }
+        final String key;
+        switch (keyType) {
+            case LOGGER:
+                key = event.getLoggerName();
+                break;
+            case MESSAGE_TEMPLATE:
+                key = event.getMessage() == null ? null : event.getMessage().getFormat();
+                break;
+            case THREAD_CONTEXT:
+                key = event.getContextData().getValue(contextKey);
+                break;
+            default:
+                key = null;
+        }
+        return filter(key, System.nanoTime());
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0) {
+        return filter(logger, level, msg);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1) {
+        return filter(logger, level, msg);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2) {
+        return filter(logger, level, msg);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3) {
+        return filter(logger, level, msg);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4) {
+        return filter(logger, level, msg);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5) {
+        return filter(logger, level, msg);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5, final Object p6) {
+        return filter(logger, level, msg);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5, final Object p6,
+            final Object p7) {
+        return filter(logger, level, msg);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5, final Object p6,
+            final Object p7, final Object p8) {
+        return filter(logger, level, msg);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5, final Object p6,
+            final Object p7, final Object p8, final Object p9) {
+        return filter(logger, level, msg);
+    }
+
+    private Result filter(final Logger logger, final Level level, final String template) {
+        if (!this.level.isMoreSpecificThan(level)) {
+            return onMatch;
+        }
+        final String key;
+        switch (keyType) {
+            case LOGGER:
+                key = logger.getName();
+                break;
+            case MESSAGE_TEMPLATE:
+                key = template;
+                break;
+            case THREAD_CONTEXT:
+                key = ThreadContext.get(contextKey);
+                break;
+            default:
+                key = null;
+        }
+        return filter(key, System.nanoTime());
+    }
+
+    /**
+     * Decides if an event of the given key is part of the sample.
+     *
+     * @param key The sampler key, may be null.
+     * @param nanoTime The current value of {@link System#nanoTime()}.
+     * @return The onMatch value if the event is kept, onMismatch otherwise.
+     */
+    Result filter(final String key, final long nanoTime) {
+        if (getSampler(key, nanoTime).sample(nanoTime)) {
+            sampledCount.increment();
+            return onMatch;
+        }
+        droppedCount.increment();
+        return onMismatch;
+    }
+
+    private Sampler getSampler(final String key, final long nanoTime) {
+        if (key == null || keyType == KeyType.NONE) {
+            return sharedSampler;
+        }
+        final Sampler sampler = samplers.get(key);
+        if (sampler != null) {
+            return sampler;
+        }
+        if (samplers.size() >= maxKeys) {
+            return sharedSampler;
+        }
+        return samplers.computeIfAbsent(key, k -> new Sampler(nanoTime));
+    }
+
+    /**
+     * Returns the name of this filter, used to identify it through JMX.
+     * @return The name of this filter or {@code null}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public int getRatio() {
+        return minRatio;
+    }
+
+    public float getRate() {
+        return rate;
+    }
+
+    public KeyType getKeyType() {
+        return keyType;
+    }
+
+    /**
+     * Returns the number of events kept by this filter.
+     * @return The number of events kept.
+     */
+    public long getSampledCount() {
+        return sampledCount.sum();
+    }
+
+    /**
+     * Returns the number of events dropped by this filter.
+     * @return The number of events dropped.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Returns the number of keyed samplers currently tracked.
+     * @return The number of keyed samplers.
+     */
+    public int getKeyCount() {
+        return samplers.size();
+    }
+
+    /**
+     * Returns the ratio currently applied to the events of the given key.
+     * @param key The sampler key, may be null.
+     * @return The current ratio of the key: one event of this many is kept.
+     */
+    public int getCurrentRatio(final String key) {
+        final Sampler sampler = key == null ? sharedSampler : samplers.get(key);
+        return (sampler == null ? sharedSampler : sampler).ratio;
+    }
+
+    @Override
+    public String toString() {
+        return "level=" + level.toString() + ", ratio=" + minRatio + ", rate=" + rate + ", key=" + keyType
+                + ", samplers=" + samplers.size();
+    }
+
+    /**
+     * Keeps every n-th event of a key. When a target rate is set, the ratio is recomputed at the first event of each
+     * interval from the number of events observed during the previous one, and at most {@link #capacity} events are
+     * kept per interval.
+     */
+    private final class Sampler {
+
+        private final AtomicLong count = new AtomicLong();
+
+        private final AtomicLong intervalStart;
+
+        private final AtomicLong intervalSampled = new AtomicLong();
+
+        private volatile long intervalStartCount;
+
+        private volatile int ratio = minRatio;
+
+        Sampler(final long nanoTime) {
+            this.intervalStart = new AtomicLong(nanoTime);
+        }
+
+        boolean sample(final long nanoTime) {
+            final long n = count.getAndIncrement();
+            if (capacity == 0) {
+                return n % ratio == 0;
+            }
+            final long start = intervalStart.get();
+            final long elapsed = nanoTime - start;
+            if (elapsed >= intervalNanos && intervalStart.compareAndSet(start, nanoTime)) {
+                adapt(n, elapsed);
+            }
+            return n % ratio == 0 && intervalSampled.getAndIncrement() < capacity;
+        }
+
+        private void adapt(final long n, final long elapsed) {
+            final double observedRate = (n - intervalStartCount) * (double) NANOS_IN_SECONDS / elapsed;
+            final double adapted = Math.ceil(observedRate / rate);
+            ratio = adapted >= Integer.MAX_VALUE ? Integer.MAX_VALUE : Math.max(minRatio, (int) adapted);
+            intervalStartCount = n;
+            intervalSampled.set(0);
+        }
+    }
+
+    @PluginFactory
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder extends AbstractFilterBuilder<Builder> implements org.apache.logging.log4j.plugins.util.Builder<SamplingFilter> {
+
+        @PluginBuilderAttribute
+        private String name;
+
+        @PluginBuilderAttribute
+        private Level level = Level.DEBUG;
+
+        @PluginBuilderAttribute
+        private int ratio = 1;
+
+        @PluginBuilderAttribute
+        private float rate;
+
+        @PluginBuilderAttribute
+        private long interval = DEFAULT_INTERVAL_MILLIS;
+
+        @PluginBuilderAttribute
+        private KeyType key = KeyType.NONE;
+
+        @PluginBuilderAttribute
+        private String contextKey;
+
+        @PluginBuilderAttribute
+        private int maxKeys = DEFAULT_MAX_KEYS;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the name identifying this filter through JMX.
+         * @param name the name of the filter.
+         * @return this
+         */
+        public Builder setName(final String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * Sets the logging level to use. Events at or below this level are sampled, others are not filtered.
+         * @param level the logging level to use, DEBUG by default.
+         * @return this
+         */
+        public Builder setLevel(final Level level) {
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * Sets the ratio of events to keep: one event of this many is kept. When a rate is set, this is the minimum
+         * ratio.
+         * @param ratio the ratio, 1 by default.
+         * @return this
+         */
+        public Builder setRatio(final int ratio) {
+            this.ratio = ratio;
+            return this;
+        }
+
+        /**
+         * Sets the target number of events per second to keep. Zero or less keeps a fixed ratio.
+         * @param rate the target number of events per second.
+         * @return this
+         */
+        public Builder setRate(final float rate) {
+            this.rate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the interval in milliseconds at which the ratio is adapted to the target rate.
+         * @param interval the interval in milliseconds, 1000 by default.
+         * @return this
+         */
+        public Builder setInterval(final long interval) {
+            this.interval = interval;
+            return this;
+        }
+
+        /**
+         * Sets how events are distributed over separate samplers.
+         * @param key the key type, {@link KeyType#NONE} by default.
+         * @return this
+         */
+        public Builder setKey(final KeyType key) {
+            this.key = key;
+            return this;
+        }
+
+        /**
+         * Sets the ThreadContext key whose value selects the sampler when the key type is
+         * {@link KeyType#THREAD_CONTEXT}.
+         * @param contextKey the ThreadContext key.
+         * @return this
+         */
+        public Builder setContextKey(final String contextKey) {
+            this.contextKey = contextKey;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of keyed samplers. Events of further keys share a common sampler.
+         * @param maxKeys the maximum number of keyed samplers, 1000 by default.
+         * @return this
+         */
+        public Builder setMaxKeys(final int maxKeys) {
+            this.maxKeys = maxKeys;
+            return this;
+        }
+
+        @Override
+        public SamplingFilter build() {
+            if (this.ratio < 1) {
+                this.ratio = 1;
+            }
+            if (this.interval <= 0) {
+                this.interval = DEFAULT_INTERVAL_MILLIS;
+            }
+            if (this.key == null) {
+                this.key = KeyType.NONE;
+            }
+            if (this.key == KeyType.THREAD_CONTEXT && this.contextKey == null) {
+                LOGGER.error("SamplingFilter requires a contextKey when the key is THREAD_CONTEXT");
+                return null;
+            }
+            if (this.maxKeys < 0) {
+                this.maxKeys = 0;
+            }
+            return new SamplingFilter(this.name, this.level, this.ratio, this.rate, this.interval, this.key,
+                    this.contextKey, this.maxKeys, this.getOnMatch(), this.getOnMismatch());
+        }
+    }
+}
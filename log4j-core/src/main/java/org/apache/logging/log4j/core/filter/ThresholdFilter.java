@@ -74,6 +74,11 @@ public final class ThresholdFilter extends AbstractFilter {
         return testLevel.isMoreSpecificThan(this.level) ? onMatch : onMismatch;
     }
 
+    @Override
+    public boolean mayAccept(final Level level, final boolean hasMarker) {
+        return filter(level) == Result.ACCEPT;
+    }
+
     @Override
     public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
             final Object p0) {
@@ -105,7 +105,16 @@ public class MutableLogEvent implements LogEvent, ReusableMessage, ParameterVisi
         // NOTE: this ringbuffer event SHOULD NOT keep a reference to the specified
         // thread-local MutableLogEvent's context data, because then two threads would call
         // ReadOnlyStringMap.clear() on the same shared instance, resulting in data corruption.
-        this.contextData.putAll(event.getContextData());
+        // A frozen snapshot (from a CopyOnWrite thread context) is never cleared, so it can be shared.
+        final ReadOnlyStringMap otherContextData = event.getContextData();
+        if (otherContextData instanceof StringMap && ((StringMap) otherContextData).isFrozen()) {
+            this.contextData = (StringMap) otherContextData;
+        } else {
+            if (this.contextData == null || this.contextData.isFrozen()) {
+                this.contextData = ContextDataFactory.createContextData();
+            }
+            this.contextData.putAll(otherContextData);
+        }
 
         this.contextStack = event.getContextStack();
         this.source = event.isIncludeLocation() ? event.getSource() : null;
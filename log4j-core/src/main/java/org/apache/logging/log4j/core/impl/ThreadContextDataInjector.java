@@ -18,9 +18,12 @@ package org.apache.logging.log4j.core.impl;
 
 import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.core.ContextDataInjector;
+import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.PropertyList;
 import org.apache.logging.log4j.core.util.ContextDataProvider;
 import org.apache.logging.log4j.spi.ReadOnlyThreadContextMap;
+import org.apache.logging.log4j.util.PersistentStringMap;
 import org.apache.logging.log4j.util.ReadOnlyStringMap;
 import org.apache.logging.log4j.util.ServiceRegistry;
 import org.apache.logging.log4j.util.StringMap;
@@ -215,7 +218,9 @@ public class ThreadContextDataInjector {
         /**
          * If there are no configuration properties, this injector will return the thread context's internal data
          * structure. Otherwise the configuration properties are combined with the thread context key-value pairs into the
-         * specified reusable StringMap.
+         * specified reusable StringMap, unless the thread context's internal data structure is a
+         * {@link PersistentStringMap}: then they are combined without copying it, see
+         * {@link #withProperties(List, PersistentStringMap)}.
          *
          * @param props list of configuration properties, may be {@code null}
          * @param ignore a {@code StringMap} instance from the log event
@@ -229,6 +234,12 @@ public class ThreadContextDataInjector {
                 // this will replace the LogEvent's context data with the returned instance
                 return providers.get(0).supplyStringMap();
             }
+            if (providers.size() == 1) {
+                final StringMap map = providers.get(0).supplyStringMap();
+                if (map instanceof PersistentStringMap) {
+                    return withProperties(props, (PersistentStringMap) map);
+                }
+            }
             int count = props == null ? 0 : props.size();
             final StringMap[] maps = new StringMap[providers.size()];
             for (int i = 0; i < providers.size(); ++i) {
@@ -268,6 +279,39 @@ public class ThreadContextDataInjector {
         }
     }
 
+    /**
+     * Combines configuration properties with an immutable snapshot of context data, without copying the snapshot. In
+     * the case of duplicate keys, context data values overwrite configuration {@code Property} values.
+     * <p>
+     * The properties of a {@link LoggerConfig} are frozen into a map when it is created, and the result is remembered
+     * by the snapshot: as long as neither the context data nor the properties change, this method returns the same
+     * instance in constant time, whatever the size of the context data. Other lists of properties are combined in
+     * O(p log n) time.
+     * </p>
+     *
+     * @param properties list of configuration properties, may be {@code null}
+     * @param contextData an immutable snapshot of context data
+     * @return an immutable {@code StringMap} combining configuration properties with the context data
+     * @since 3.0.0
+     */
+    public static PersistentStringMap withProperties(
+            final List<Property> properties, final PersistentStringMap contextData) {
+        if (properties == null || properties.isEmpty()) {
+            return contextData;
+        }
+        if (properties instanceof PropertyList) {
+            return contextData.withDefaults(((PropertyList) properties).getMap());
+        }
+        PersistentStringMap result = contextData;
+        for (int i = 0; i < properties.size(); i++) {
+            final Property prop = properties.get(i);
+            if (!contextData.containsKey(prop.getName())) {
+                result = result.with(prop.getName(), prop.getValue());
+            }
+        }
+        return result;
+    }
+
     private static List<ContextDataProvider> getProviders() {
         final List<ContextDataProvider> providers =
                 new ArrayList<>(contextDataProviders.size() + SERVICE_PROVIDERS.size());
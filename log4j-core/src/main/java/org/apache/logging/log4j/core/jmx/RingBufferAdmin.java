@@ -34,6 +34,13 @@ public class RingBufferAdmin implements RingBufferAdminMBean {
         return new RingBufferAdmin(ringBuffer, name);
     }
 
+    public static RingBufferAdmin forAsyncLoggerShard(final RingBuffer<?> ringBuffer, final String contextName,
+            final int shard) {
+        final String ctxName = Server.escape(contextName);
+        final String name = String.format(PATTERN_ASYNC_LOGGER_SHARD, ctxName, shard);
+        return new RingBufferAdmin(ringBuffer, name);
+    }
+
     public static RingBufferAdmin forAsyncLoggerConfig(final RingBuffer<?> ringBuffer,
             final String contextName, final String configName) {
         final String ctxName = Server.escape(contextName);
@@ -66,6 +73,7 @@ public class RingBufferAdmin implements RingBufferAdminMBean {
      *
      * @return the {@code ObjectName}
      * @see RingBufferAdminMBean#PATTERN_ASYNC_LOGGER
+     * @see RingBufferAdminMBean#PATTERN_ASYNC_LOGGER_SHARD
      * @see RingBufferAdminMBean#PATTERN_ASYNC_LOGGER_CONFIG
      */
     public ObjectName getObjectName() {
@@ -36,6 +36,22 @@ public interface RingBufferAdminMBean {
      */
     String PATTERN_ASYNC_LOGGER = Server.DOMAIN + ":type=%s,component=AsyncLoggerRingBuffer";
 
+    /**
+     * ObjectName pattern ({@value}) for RingBufferAdmin MBeans that instrument
+     * the ring buffers of a sharded {@code AsyncLogger} context.
+     * This pattern contains two variables, where the first is the name of the
+     * context and the second is the index of the shard.
+     * <p>
+     * You can find all registered shard RingBufferAdmin MBeans of a context like this:
+     * </p>
+     * <pre>
+     * MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+     * String pattern = String.format(RingBufferAdminMBean.PATTERN_ASYNC_LOGGER_SHARD, &quot;*&quot;, &quot;*&quot;);
+     * Set&lt;ObjectName&gt; asyncLoggerShardNames = mbs.queryNames(new ObjectName(pattern), null);
+     * </pre>
+     */
+    String PATTERN_ASYNC_LOGGER_SHARD = Server.DOMAIN + ":type=%s,component=AsyncLoggerRingBuffer,shard=%s";
+
     /**
      * ObjectName pattern ({@value}) for RingBufferAdmin MBeans that instrument
      * {@code AsyncLoggerConfig} ring buffers.
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+import java.util.Objects;
+
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.core.filter.SamplingFilter;
+
+/**
+ * Implementation of the {@code SamplingFilterAdminMBean} interface.
+ *
+ * @since 3.0.0
+ */
+public class SamplingFilterAdmin implements SamplingFilterAdminMBean {
+
+    private final String name;
+    private final SamplingFilter filter;
+    private final ObjectName objectName;
+
+    /**
+     * Constructs a new {@code SamplingFilterAdmin} with the specified contextName, name and filter.
+     *
+     * @param contextName used in the {@code ObjectName} for this mbean
+     * @param name the name of the filter, used in the {@code ObjectName} for this mbean
+     * @param filter the instrumented object
+     */
+    public SamplingFilterAdmin(final String contextName, final String name, final SamplingFilter filter) {
+        Objects.requireNonNull(contextName, "contextName");
+        this.name = Objects.requireNonNull(name, "name");
+        this.filter = Objects.requireNonNull(filter, "filter");
+        try {
+            final String ctxName = Server.escape(contextName);
+            final String filterName = Server.escape(name);
+            objectName = new ObjectName(String.format(PATTERN, ctxName, filterName));
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the {@code ObjectName} of this mbean.
+     *
+     * @return the {@code ObjectName}
+     * @see SamplingFilterAdminMBean#PATTERN
+     */
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getLevel() {
+        return filter.getLevel().name();
+    }
+
+    @Override
+    public String getKeyType() {
+        return filter.getKeyType().name();
+    }
+
+    @Override
+    public int getRatio() {
+        return filter.getRatio();
+    }
+
+    @Override
+    public float getRate() {
+        return filter.getRate();
+    }
+
+    @Override
+    public long getSampledCount() {
+        return filter.getSampledCount();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return filter.getDroppedCount();
+    }
+
+    @Override
+    public int getKeyCount() {
+        return filter.getKeyCount();
+    }
+}
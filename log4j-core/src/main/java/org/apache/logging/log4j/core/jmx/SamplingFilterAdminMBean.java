@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+/**
+ * The MBean interface for monitoring a {@code SamplingFilter}.
+ *
+ * @since 3.0.0
+ */
+public interface SamplingFilterAdminMBean {
+    /**
+     * ObjectName pattern ({@value} ) for SamplingFilterAdmin MBeans. This
+     * pattern contains two variables, where the first is the name of the
+     * context, the second is the name of the instrumented filter.
+     * <p>
+     * The name of a filter is its {@code name} attribute if set, otherwise
+     * it describes where the filter is configured: {@code configuration},
+     * {@code logger.<loggerName>} or {@code appender.<appenderName>},
+     * followed by the index of the filter if it is part of a
+     * {@code Filters} element.
+     * </p>
+     *
+     * @see Server#escape(String)
+     */
+    String PATTERN = Server.DOMAIN + ":type=%s,component=SamplingFilters,name=%s";
+
+    /**
+     * Returns the name of the instrumented {@code SamplingFilter}.
+     *
+     * @return the name of the SamplingFilter
+     */
+    String getName();
+
+    /**
+     * Returns the level at or below which events are sampled.
+     *
+     * @return the level at or below which events are sampled
+     */
+    String getLevel();
+
+    /**
+     * Returns how events are distributed over separate samplers.
+     *
+     * @return the key type
+     */
+    String getKeyType();
+
+    /**
+     * Returns the minimum ratio of the filter: at least one event of this many is dropped.
+     *
+     * @return the configured ratio
+     */
+    int getRatio();
+
+    /**
+     * Returns the target number of events per second kept by each sampler, or zero if the ratio is fixed.
+     *
+     * @return the target rate
+     */
+    float getRate();
+
+    /**
+     * Returns the number of events kept.
+     *
+     * @return the number of events kept
+     */
+    long getSampledCount();
+
+    /**
+     * Returns the number of events dropped.
+     *
+     * @return the number of events dropped
+     */
+    long getDroppedCount();
+
+    /**
+     * Returns the number of keyed samplers currently tracked.
+     *
+     * @return the number of keyed samplers
+     */
+    int getKeyCount();
+}
@@ -33,11 +33,15 @@ import javax.management.ObjectName;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.AsyncAppender;
 import org.apache.logging.log4j.core.async.AsyncLoggerConfig;
 import org.apache.logging.log4j.core.async.AsyncLoggerContext;
 import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.filter.CompositeFilter;
+import org.apache.logging.log4j.core.filter.Filterable;
+import org.apache.logging.log4j.core.filter.SamplingFilter;
 import org.apache.logging.log4j.core.impl.Log4jContextFactory;
 import org.apache.logging.log4j.core.selector.ContextSelector;
 import org.apache.logging.log4j.core.util.Constants;
@@ -167,10 +171,11 @@ public final class Server {
                 register(mbs, mbean, mbean.getObjectName());
 
                 if (ctx instanceof AsyncLoggerContext) {
-                    final RingBufferAdmin rbmbean = ((AsyncLoggerContext) ctx).createRingBufferAdmin();
-                    if (rbmbean.getBufferSize() > 0) {
-                    	// don't register if Disruptor not started (DefaultConfiguration: config not found)
-                    	register(mbs, rbmbean, rbmbean.getObjectName());
+                    for (final RingBufferAdmin rbmbean : ((AsyncLoggerContext) ctx).createRingBufferAdmins()) {
+                        if (rbmbean.getBufferSize() > 0) {
+                            // don't register if Disruptor not started (DefaultConfiguration: config not found)
+                            register(mbs, rbmbean, rbmbean.getObjectName());
+                        }
                     }
                 }
 
@@ -184,6 +189,7 @@ public final class Server {
 
                 registerLoggerConfigs(ctx, mbs, executor);
                 registerAppenders(ctx, mbs, executor);
+                registerSamplingFilters(ctx, mbs);
             }
         } catch (final Exception ex) {
             LOGGER.error("Could not register mbeans", ex);
@@ -216,6 +222,7 @@ public final class Server {
 			unregisterAsyncLoggerConfigRingBufferAdmins(CONTEXT_NAME_ALL, mbs);
 			unregisterAppenders(CONTEXT_NAME_ALL, mbs);
 			unregisterAsyncAppenders(CONTEXT_NAME_ALL, mbs);
+			unregisterSamplingFilters(CONTEXT_NAME_ALL, mbs);
 		}
 	}
 
@@ -264,6 +271,7 @@ public final class Server {
         unregisterLoggerConfigs(contextName, mbs);
         unregisterAppenders(contextName, mbs);
         unregisterAsyncAppenders(contextName, mbs);
+        unregisterSamplingFilters(contextName, mbs);
         unregisterAsyncLoggerRingBufferAdmins(contextName, mbs);
         unregisterAsyncLoggerConfigRingBufferAdmins(contextName, mbs);
     }
@@ -317,10 +325,19 @@ public final class Server {
         unregisterAllMatching(search, mbs);
     }
 
+    private static void unregisterSamplingFilters(final String contextName, final MBeanServer mbs) {
+        final String pattern = SamplingFilterAdminMBean.PATTERN;
+        final String search = String.format(pattern, escape(contextName), "*");
+        unregisterAllMatching(search, mbs);
+    }
+
     private static void unregisterAsyncLoggerRingBufferAdmins(final String contextName, final MBeanServer mbs) {
         final String pattern1 = RingBufferAdminMBean.PATTERN_ASYNC_LOGGER;
         final String search1 = String.format(pattern1, escape(contextName));
         unregisterAllMatching(search1, mbs);
+        final String shardPattern = RingBufferAdminMBean.PATTERN_ASYNC_LOGGER_SHARD;
+        final String shardSearch = String.format(shardPattern, escape(contextName), "*");
+        unregisterAllMatching(shardSearch, mbs);
     }
 
     private static void unregisterAsyncLoggerConfigRingBufferAdmins(final String contextName, final MBeanServer mbs) {
@@ -385,6 +402,38 @@ public final class Server {
         }
     }
 
+    private static void registerSamplingFilters(final LoggerContext ctx, final MBeanServer mbs)
+            throws InstanceAlreadyExistsException, MBeanRegistrationException, NotCompliantMBeanException {
+
+        registerSamplingFilters(ctx, mbs, "configuration", ctx.getConfiguration().getFilter());
+        for (final LoggerConfig cfg : ctx.getConfiguration().getLoggers().values()) {
+            registerSamplingFilters(ctx, mbs, "logger." + cfg.getName(), cfg.getFilter());
+        }
+        for (final Appender appender : ctx.getConfiguration().getAppenders().values()) {
+            if (appender instanceof Filterable) {
+                registerSamplingFilters(ctx, mbs, "appender." + appender.getName(),
+                        ((Filterable) appender).getFilter());
+            }
+        }
+    }
+
+    private static void registerSamplingFilters(final LoggerContext ctx, final MBeanServer mbs, final String location,
+            final Filter filter)
+            throws InstanceAlreadyExistsException, MBeanRegistrationException, NotCompliantMBeanException {
+
+        if (filter instanceof CompositeFilter) {
+            final Filter[] filters = ((CompositeFilter) filter).getFiltersArray();
+            for (int i = 0; i < filters.length; i++) {
+                registerSamplingFilters(ctx, mbs, location + "." + i, filters[i]);
+            }
+        } else if (filter instanceof SamplingFilter) {
+            final SamplingFilter samplingFilter = (SamplingFilter) filter;
+            final String name = samplingFilter.getName() != null ? samplingFilter.getName() : location;
+            final SamplingFilterAdmin mbean = new SamplingFilterAdmin(ctx.getName(), name, samplingFilter);
+            register(mbs, mbean, mbean.getObjectName());
+        }
+    }
+
     private static void register(final MBeanServer mbs, final Object mbean, final ObjectName objectName)
             throws InstanceAlreadyExistsException, MBeanRegistrationException, NotCompliantMBeanException {
         if (mbs.isRegistered(objectName)) {
@@ -94,7 +94,7 @@ public abstract class AbstractLayout<T extends Serializable> implements Layout<T
     /**
      * The current Configuration.
      */
-    protected final Configuration configuration;
+    protected volatile Configuration configuration;
 
     /**
      * The number of events successfully processed by this layout.
@@ -149,9 +149,9 @@ public abstract class AbstractStringLayout extends AbstractLayout<String> implem
      */
     private final Charset charset;
 
-    private final Serializer footerSerializer;
+    private volatile Serializer footerSerializer;
 
-    private final Serializer headerSerializer;
+    private volatile Serializer headerSerializer;
 
     protected AbstractStringLayout(final Charset charset) {
         this(charset, (byte[]) null, (byte[]) null);
@@ -189,6 +189,21 @@ public abstract class AbstractStringLayout extends AbstractLayout<String> implem
         textEncoder = Constants.ENABLE_DIRECT_ENCODERS ? new StringBuilderEncoder(charset) : null;
     }
 
+    /**
+     * Binds this layout to another configuration, for the layouts that are reused by a new configuration.
+     *
+     * @param config the configuration that now uses this layout
+     * @param headerSerializer the header bytes serializer, bound to that configuration
+     * @param footerSerializer the footer bytes serializer, bound to that configuration
+     * @since 3.0.0
+     */
+    protected void updateConfiguration(final Configuration config, final Serializer headerSerializer,
+            final Serializer footerSerializer) {
+        this.configuration = config;
+        this.headerSerializer = headerSerializer;
+        this.footerSerializer = footerSerializer;
+    }
+
     protected byte[] getBytes(final String s) {
         return s.getBytes(charset);
     }
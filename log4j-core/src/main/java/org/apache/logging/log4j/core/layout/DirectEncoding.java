@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.layout;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes text for the charsets whose encoding can be computed from each character without a {@code CharsetEncoder}.
+ * The bytes are written straight into the buffer of the {@link ByteBufferDestination}, skipping the intermediate
+ * {@code CharBuffer} and temporary {@code ByteBuffer} used by {@link TextEncoderHelper}.
+ * <p>
+ * The output is the same as the output of a {@code CharsetEncoder} that replaces malformed and unmappable input.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+public enum DirectEncoding {
+
+    US_ASCII {
+        @Override
+        int encodeAsMuchAsPossible(final CharSequence text, final int start, final int end, final ByteBuffer buffer) {
+            return encodeSingleByte(text, start, end, buffer, 0x7F);
+        }
+    },
+
+    ISO_8859_1 {
+        @Override
+        int encodeAsMuchAsPossible(final CharSequence text, final int start, final int end, final ByteBuffer buffer) {
+            return encodeSingleByte(text, start, end, buffer, 0xFF);
+        }
+    },
+
+    UTF_8 {
+        @Override
+        int encodeAsMuchAsPossible(final CharSequence text, final int start, final int end, final ByteBuffer buffer) {
+            int i = start;
+            int position = buffer.position();
+            final int limit = buffer.limit();
+            while (i < end) {
+                final char c = text.charAt(i);
+                if (c < 0x80) {
+                    if (position == limit) {
+                        break;
+                    }
+                    buffer.put(position++, (byte) c);
+                    i++;
+                    continue;
+                }
+                final int bytes = encodeUtf8(text, i, end);
+                final int length = utf8Length(bytes);
+                if (limit - position < length) {
+                    break;
+                }
+                for (int b = 0; b < length; b++) {
+                    buffer.put(position++, utf8Byte(bytes, b));
+                }
+                i += length == 4 ? 2 : 1;
+            }
+            buffer.position(position);
+            return i;
+        }
+    };
+
+    private static final byte REPLACEMENT = (byte) '?';
+
+    /**
+     * Returns the direct encoding for the specified charset, or {@code null} if it has none.
+     *
+     * @param charset the charset to encode text with
+     * @return the direct encoding or {@code null}
+     */
+    public static DirectEncoding forCharset(final Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return UTF_8;
+        }
+        if (StandardCharsets.ISO_8859_1.equals(charset)) {
+            return ISO_8859_1;
+        }
+        if (StandardCharsets.US_ASCII.equals(charset)) {
+            return US_ASCII;
+        }
+        return null;
+    }
+
+    /**
+     * Encodes the specified text and writes the resulting bytes to the specified destination, draining its buffer
+     * whenever it is full.
+     *
+     * @param text the text to convert and write to the destination
+     * @param destination the destination to write the bytes to
+     */
+    public void encode(final CharSequence text, final ByteBufferDestination destination) {
+        final int length = text.length();
+        synchronized (destination) {
+            ByteBuffer buffer = destination.getByteBuffer();
+            int i = encodeAsMuchAsPossible(text, 0, length, buffer);
+            while (i < length) {
+                if (!buffer.hasRemaining()) {
+                    buffer = destination.drain(buffer);
+                    i = encodeAsMuchAsPossible(text, i, length, buffer);
+                    continue;
+                }
+                // the next character is a multi-byte UTF-8 sequence that straddles the end of the buffer
+                final int bytes = encodeUtf8(text, i, length);
+                final int byteCount = utf8Length(bytes);
+                for (int b = 0; b < byteCount; b++) {
+                    if (!buffer.hasRemaining()) {
+                        buffer = destination.drain(buffer);
+                    }
+                    buffer.put(utf8Byte(bytes, b));
+                }
+                i += byteCount == 4 ? 2 : 1;
+                i = encodeAsMuchAsPossible(text, i, length, buffer);
+            }
+        }
+    }
+
+    /**
+     * Encodes characters into the remaining space of the buffer until all characters are encoded or the next
+     * character does not fit.
+     *
+     * @return the index of the first character that was not encoded
+     */
+    abstract int encodeAsMuchAsPossible(CharSequence text, int start, int end, ByteBuffer buffer);
+
+    private static int encodeSingleByte(final CharSequence text, final int start, final int end,
+            final ByteBuffer buffer, final int maxChar) {
+        int i = start;
+        int position = buffer.position();
+        final int limit = buffer.limit();
+        while (i < end && position < limit) {
+            final char c = text.charAt(i++);
+            if (c <= maxChar) {
+                buffer.put(position++, (byte) c);
+            } else {
+                // a surrogate pair is a single unmappable character
+                if (Character.isHighSurrogate(c) && i < end && Character.isLowSurrogate(text.charAt(i))) {
+                    i++;
+                }
+                buffer.put(position++, REPLACEMENT);
+            }
+        }
+        buffer.position(position);
+        return i;
+    }
+
+    /**
+     * Encodes the character at the specified index into up to four UTF-8 bytes, packed into an int with the first
+     * byte in the most significant position. Malformed surrogates are replaced with {@code '?'}.
+     */
+    private static int encodeUtf8(final CharSequence text, final int index, final int end) {
+        final char c = text.charAt(index);
+        if (c < 0x80) {
+            return c << 24;
+        }
+        if (c < 0x800) {
+            return ((0xC0 | (c >> 6)) << 24) | ((0x80 | (c & 0x3F)) << 16);
+        }
+        if (Character.isSurrogate(c)) {
+            if (Character.isHighSurrogate(c) && index + 1 < end && Character.isLowSurrogate(text.charAt(index + 1))) {
+                final int codePoint = Character.toCodePoint(c, text.charAt(index + 1));
+                return ((0xF0 | (codePoint >> 18)) << 24) | ((0x80 | ((codePoint >> 12) & 0x3F)) << 16)
+                        | ((0x80 | ((codePoint >> 6) & 0x3F)) << 8) | (0x80 | (codePoint & 0x3F));
+            }
+            return REPLACEMENT << 24;
+        }
+        return ((0xE0 | (c >> 12)) << 24) | ((0x80 | ((c >> 6) & 0x3F)) << 16) | ((0x80 | (c & 0x3F)) << 8);
+    }
+
+    private static int utf8Length(final int bytes) {
+        final int first = bytes >>> 24;
+        if (first < 0x80) {
+            return 1;
+        }
+        if (first < 0xE0) {
+            return 2;
+        }
+        return first < 0xF0 ? 3 : 4;
+    }
+
+    private static byte utf8Byte(final int bytes, final int index) {
+        return (byte) (bytes >>> (24 - 8 * index));
+    }
+}
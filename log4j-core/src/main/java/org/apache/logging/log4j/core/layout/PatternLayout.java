@@ -19,8 +19,10 @@ package org.apache.logging.log4j.core.layout;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
 import org.apache.logging.log4j.core.config.DefaultConfiguration;
 import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.core.pattern.CompiledPatternFormatter;
 import org.apache.logging.log4j.core.pattern.FormattingInfo;
 import org.apache.logging.log4j.core.pattern.LogEventPatternConverter;
 import org.apache.logging.log4j.core.pattern.PatternFormatter;
@@ -55,7 +57,7 @@ import java.util.Map;
  * </p>
  */
 @Plugin(name = "PatternLayout", category = Node.CATEGORY, elementType = Layout.ELEMENT_TYPE, printObject = true)
-public final class PatternLayout extends AbstractStringLayout {
+public final class PatternLayout extends AbstractStringLayout implements ConfigurationAware {
 
     /**
      * Default pattern string for log output. Currently set to the string <b>"%m%n"</b> which just prints the
@@ -81,7 +83,14 @@ public final class PatternLayout extends AbstractStringLayout {
      */
     private final String conversionPattern;
     private final PatternSelector patternSelector;
-    private final Serializer eventSerializer;
+    private final RegexReplacement replace;
+    private final boolean alwaysWriteExceptions;
+    private final boolean disableAnsi;
+    private final boolean noConsoleNoAnsi;
+    private final String headerPattern;
+    private final String footerPattern;
+    private final boolean compiled;
+    private volatile Serializer eventSerializer;
 
     /**
      * Constructs a PatternLayout using the supplied conversion pattern.
@@ -99,44 +108,82 @@ public final class PatternLayout extends AbstractStringLayout {
      *            If {@code "true"} (default) and {@link System#console()} is null, do not output ANSI escape codes
      * @param headerPattern header conversion pattern.
      * @param footerPattern footer conversion pattern.
+     * @param compiled whether to compile the parsed event pattern into a single formatter.
      */
     private PatternLayout(final Configuration config, final RegexReplacement replace, final String eventPattern,
             final PatternSelector patternSelector, final Charset charset, final boolean alwaysWriteExceptions,
             final boolean disableAnsi, final boolean noConsoleNoAnsi, final String headerPattern,
-            final String footerPattern) {
+            final String footerPattern, final boolean compiled) {
         super(config, charset,
-                newSerializerBuilder()
-                        .setConfiguration(config)
-                        .setReplace(replace)
-                        .setPatternSelector(patternSelector)
-                        .setAlwaysWriteExceptions(alwaysWriteExceptions)
-                        .setDisableAnsi(disableAnsi)
-                        .setNoConsoleNoAnsi(noConsoleNoAnsi)
+                newSerializerBuilder(config, replace, patternSelector, alwaysWriteExceptions, disableAnsi,
+                        noConsoleNoAnsi)
                         .setPattern(headerPattern)
                         .build(),
-                newSerializerBuilder()
-                        .setConfiguration(config)
-                        .setReplace(replace)
-                        .setPatternSelector(patternSelector)
-                        .setAlwaysWriteExceptions(alwaysWriteExceptions)
-                        .setDisableAnsi(disableAnsi)
-                        .setNoConsoleNoAnsi(noConsoleNoAnsi)
+                newSerializerBuilder(config, replace, patternSelector, alwaysWriteExceptions, disableAnsi,
+                        noConsoleNoAnsi)
                         .setPattern(footerPattern)
                         .build());
         this.conversionPattern = eventPattern;
         this.patternSelector = patternSelector;
-        this.eventSerializer = newSerializerBuilder()
+        this.replace = replace;
+        this.alwaysWriteExceptions = alwaysWriteExceptions;
+        this.disableAnsi = disableAnsi;
+        this.noConsoleNoAnsi = noConsoleNoAnsi;
+        this.headerPattern = headerPattern;
+        this.footerPattern = footerPattern;
+        this.compiled = compiled;
+        this.eventSerializer = newEventSerializer(config);
+    }
+
+    private static SerializerBuilder newSerializerBuilder(final Configuration config, final RegexReplacement replace,
+            final PatternSelector patternSelector, final boolean alwaysWriteExceptions, final boolean disableAnsi,
+            final boolean noConsoleNoAnsi) {
+        return newSerializerBuilder()
                 .setConfiguration(config)
                 .setReplace(replace)
                 .setPatternSelector(patternSelector)
                 .setAlwaysWriteExceptions(alwaysWriteExceptions)
                 .setDisableAnsi(disableAnsi)
-                .setNoConsoleNoAnsi(noConsoleNoAnsi)
-                .setPattern(eventPattern)
+                .setNoConsoleNoAnsi(noConsoleNoAnsi);
+    }
+
+    private Serializer newSerializer(final Configuration config, final String pattern) {
+        return newSerializerBuilder(config, replace, patternSelector, alwaysWriteExceptions, disableAnsi,
+                noConsoleNoAnsi)
+                .setPattern(pattern)
+                .build();
+    }
+
+    private Serializer newEventSerializer(final Configuration config) {
+        return newSerializerBuilder(config, replace, patternSelector, alwaysWriteExceptions, disableAnsi,
+                noConsoleNoAnsi)
+                .setCompiled(compiled)
+                .setPattern(conversionPattern)
                 .setDefaultPattern(DEFAULT_CONVERSION_PATTERN)
                 .build();
     }
 
+    /**
+     * Binds this layout to the configuration that reuses it after a reconfiguration: the patterns are parsed again,
+     * so that the lookups they contain are resolved by the new configuration.
+     * <p>
+     * The pattern selector, if any, remains bound to the configuration that created it.
+     * </p>
+     *
+     * @param configuration the configuration that now uses this layout.
+     * @since 3.0.0
+     */
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        if (configuration == this.configuration) {
+            return;
+        }
+        final Serializer header = newSerializer(configuration, headerPattern);
+        final Serializer footer = newSerializer(configuration, footerPattern);
+        eventSerializer = newEventSerializer(configuration);
+        updateConfiguration(configuration, header, footer);
+    }
+
     public static SerializerBuilder newSerializerBuilder() {
         return new SerializerBuilder();
     }
@@ -314,6 +361,41 @@ public final class PatternLayout extends AbstractStringLayout {
         }
     }
 
+    private static final class CompiledPatternSerializer implements PatternSerializer {
+
+        private final CompiledPatternFormatter formatter;
+
+        private CompiledPatternSerializer(final PatternFormatter[] formatters) {
+            this.formatter = CompiledPatternFormatter.compile(formatters);
+        }
+
+        @Override
+        public String toSerializable(final LogEvent event) {
+            final StringBuilder sb = getStringBuilder();
+            try {
+                return toSerializable(event, sb).toString();
+            } finally {
+                trimToMaxSize(sb);
+            }
+        }
+
+        @Override
+        public StringBuilder toSerializable(final LogEvent event, final StringBuilder buffer) {
+            formatter.format(event, buffer);
+            return buffer;
+        }
+
+        @Override
+        public boolean requiresLocation() {
+            return formatter.requiresLocation();
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + "[formatter=" + formatter + "]";
+        }
+    }
+
     private static final class PatternSerializerWithReplacement implements Serializer, Serializer2 {
 
         private final PatternSerializer delegate;
@@ -372,6 +454,7 @@ public final class PatternLayout extends AbstractStringLayout {
         private boolean alwaysWriteExceptions;
         private boolean disableAnsi;
         private boolean noConsoleNoAnsi;
+        private boolean compiled;
 
         @Override
         public Serializer build() {
@@ -392,7 +475,9 @@ public final class PatternLayout extends AbstractStringLayout {
                             break;
                         }
                     }
-                    PatternSerializer serializer = hasFormattingInfo
+                    PatternSerializer serializer = compiled
+                            ? new CompiledPatternSerializer(formatters)
+                            : hasFormattingInfo
                             ? new PatternFormatterPatternSerializer(formatters)
                             : new NoFormatPatternSerializer(formatters);
                     return replace == null ? serializer : new PatternSerializerWithReplacement(serializer, replace);
@@ -443,6 +528,19 @@ public final class PatternLayout extends AbstractStringLayout {
             return this;
         }
 
+        /**
+         * Sets whether the parsed pattern is compiled into a single {@link CompiledPatternFormatter}.
+         *
+         * @param compiled
+         *        If {@code true}, the pattern is compiled; otherwise its formatters are invoked one by one.
+         * @return this builder
+         * @since 3.0.0
+         */
+        public SerializerBuilder setCompiled(final boolean compiled) {
+            this.compiled = compiled;
+            return this;
+        }
+
     }
 
     private static final class PatternSelectorSerializer implements Serializer, Serializer2 {
@@ -568,6 +666,9 @@ public final class PatternLayout extends AbstractStringLayout {
         @PluginBuilderAttribute
         private String footer;
 
+        @PluginBuilderAttribute
+        private boolean compiled;
+
         private Builder() {
         }
 
@@ -672,6 +773,20 @@ public final class PatternLayout extends AbstractStringLayout {
             return this;
         }
 
+        /**
+         * Sets whether the pattern is compiled into a single formatter.
+         *
+         * @param compiled
+         *        If {@code "true"} (default is false), the event pattern is compiled at configuration time into a
+         *        single formatter that folds constant text and invokes the converters through method handles. The
+         *        header and footer, which are formatted rarely, are not compiled.
+         * @since 3.0.0
+         */
+        public Builder setCompiled(final boolean compiled) {
+            this.compiled = compiled;
+            return this;
+        }
+
         @Override
         public PatternLayout build() {
             // fall back to DefaultConfiguration
@@ -679,7 +794,7 @@ public final class PatternLayout extends AbstractStringLayout {
                 configuration = new DefaultConfiguration();
             }
             return new PatternLayout(configuration, regexReplacement, pattern, patternSelector, charset,
-                alwaysWriteExceptions, disableAnsi, noConsoleNoAnsi, header, footer);
+                alwaysWriteExceptions, disableAnsi, noConsoleNoAnsi, header, footer, compiled);
         }
     }
 
@@ -46,6 +46,7 @@ public class StringBuilderEncoder implements Encoder<StringBuilder> {
     private final Charset charset;
     private final int charBufferSize;
     private final int byteBufferSize;
+    private final DirectEncoding directEncoding;
 
     public StringBuilderEncoder(final Charset charset) {
         this(charset, Constants.ENCODER_CHAR_BUFFER_SIZE, Constants.ENCODER_BYTE_BUFFER_SIZE);
@@ -55,11 +56,16 @@ public class StringBuilderEncoder implements Encoder<StringBuilder> {
         this.charBufferSize = charBufferSize;
         this.byteBufferSize = byteBufferSize;
         this.charset = Objects.requireNonNull(charset, "charset");
+        this.directEncoding = Constants.ENCODER_DIRECT_TO_BYTES ? DirectEncoding.forCharset(charset) : null;
     }
 
     @Override
     public void encode(final StringBuilder source, final ByteBufferDestination destination) {
         try {
+            if (directEncoding != null) {
+                directEncoding.encode(source, destination);
+                return;
+            }
             final Object[] threadLocalState = getThreadLocalState();
             final CharsetEncoder charsetEncoder = (CharsetEncoder) threadLocalState[0];
             final CharBuffer charBuffer = (CharBuffer) threadLocalState[1];
@@ -0,0 +1,531 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.net;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.core.util.Log4jThread;
+import org.apache.logging.log4j.core.util.NullOutputStream;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Manager of UDP datagrams sent by a background thread.
+ * <p>
+ * Logging threads only queue a copy of each serialized event, bounded by {@code maxPendingBytes}, and never perform a
+ * system call. A single I/O thread sends the queued events through a connected {@link DatagramChannel}. The bytes
+ * written between two flushes form one event, so that an event encoded in several chunks is never split across
+ * datagrams; callers that do not flush after each event have the events written since the last flush sent together. If
+ * {@code packDatagrams} is set, consecutive events are packed into one datagram as long as it stays within
+ * {@code maxDatagramSize}; this is only suitable for receivers that split datagrams into messages themselves, e.g. at
+ * line breaks. An event larger than {@code maxDatagramSize} is always sent on its own.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+public class NioDatagramSocketManager extends AbstractSocketManager {
+
+    /**
+     * The default maximum datagram size: an Ethernet MTU of 1500 bytes minus the IPv4 and UDP headers.
+     */
+    public static final int DEFAULT_MAX_DATAGRAM_SIZE = 1472;
+
+    /**
+     * The largest possible UDP payload over IPv4.
+     */
+    private static final int MAX_UDP_PAYLOAD_SIZE = 65507;
+
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private static final NioDatagramSocketManagerFactory FACTORY = new NioDatagramSocketManagerFactory();
+
+    private final int maxDatagramSize;
+
+    private final boolean packDatagrams;
+
+    private final int maxPendingBytes;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final byte[] header;
+
+    private final byte[] footer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition dataAvailable = lock.newCondition();
+
+    private final Condition spaceAvailable = lock.newCondition();
+
+    // The following fields are guarded by lock.
+
+    // The queued events, each preceded by its length, swapped with the batch of the I/O thread.
+    private ByteBuffer pendingEvents;
+
+    private boolean shutdown;
+
+    // End of fields guarded by lock.
+
+    private final LongAdder droppedEventCount = new LongAdder();
+
+    private final LongAdder failedDatagramCount = new LongAdder();
+
+    private final LongAdder sentDatagramCount = new LongAdder();
+
+    private final LongAdder sentEventCount = new LongAdder();
+
+    private final IoThread ioThread;
+
+    /**
+     * Constructs.
+     *
+     * @param name
+     *            The unique name of the connection.
+     * @param inetAddress
+     *            The Internet address of the host.
+     * @param host
+     *            The host to connect to.
+     * @param port
+     *            The port on the host.
+     * @param layout
+     *            The layout, whose header and footer enclose every datagram.
+     * @param maxDatagramSize
+     *            The maximum size of packed datagrams.
+     * @param packDatagrams
+     *            Whether to pack multiple events into one datagram.
+     * @param maxPendingBytes
+     *            The maximum number of bytes queued for sending, including four bytes per event.
+     * @param overflowPolicy
+     *            What to do with events when {@code maxPendingBytes} are queued.
+     */
+    public NioDatagramSocketManager(final String name, final InetAddress inetAddress, final String host,
+            final int port, final Layout<? extends Serializable> layout, final int maxDatagramSize,
+            final boolean packDatagrams, final int maxPendingBytes, final OverflowPolicy overflowPolicy) {
+        // Large enough for any event, which is only queued once complete.
+        super(name, NullOutputStream.getInstance(), inetAddress, host, port, layout, false, MAX_UDP_PAYLOAD_SIZE);
+        this.maxDatagramSize = Math.min(MAX_UDP_PAYLOAD_SIZE, maxDatagramSize > 0 ? maxDatagramSize
+                : DEFAULT_MAX_DATAGRAM_SIZE);
+        this.packDatagrams = packDatagrams;
+        this.maxPendingBytes = Math.max(this.maxDatagramSize, maxPendingBytes);
+        this.overflowPolicy = overflowPolicy != null ? overflowPolicy : OverflowPolicy.BLOCK;
+        this.header = layout != null && layout.getHeader() != null ? layout.getHeader() : new byte[0];
+        this.footer = layout != null && layout.getFooter() != null ? layout.getFooter() : new byte[0];
+        // An event larger than maxPendingBytes is accepted once the queue is empty.
+        this.pendingEvents = ByteBuffer.allocate(Math.max(this.maxPendingBytes, Integer.BYTES + MAX_UDP_PAYLOAD_SIZE));
+        this.ioThread = new IoThread(name);
+        this.ioThread.start();
+    }
+
+    /**
+     * Obtains a NioDatagramSocketManager.
+     *
+     * @param host
+     *            The host to connect to.
+     * @param port
+     *            The port on the host.
+     * @param layout
+     *            The layout.
+     * @param maxDatagramSize
+     *            The maximum size of packed datagrams.
+     * @param packDatagrams
+     *            Whether to pack multiple events into one datagram.
+     * @param maxPendingBytes
+     *            The maximum number of bytes queued for sending.
+     * @param overflowPolicy
+     *            What to do with events when {@code maxPendingBytes} are queued.
+     * @return A NioDatagramSocketManager.
+     */
+    public static NioDatagramSocketManager getSocketManager(final String host, final int port,
+            final Layout<? extends Serializable> layout, final int maxDatagramSize, final boolean packDatagrams,
+            final int maxPendingBytes, final OverflowPolicy overflowPolicy) {
+        if (Strings.isEmpty(host)) {
+            throw new IllegalArgumentException("A host name is required");
+        }
+        if (port <= 0) {
+            throw new IllegalArgumentException("A port value is required");
+        }
+        return (NioDatagramSocketManager) getManager("NIO-UDP:" + host + ':' + port,
+                new FactoryData(host, port, layout, maxDatagramSize, packDatagrams, maxPendingBytes, overflowPolicy),
+                FACTORY);
+    }
+
+    /**
+     * Queues a copy of the given event, waiting or dropping it according to the {@link OverflowPolicy} if
+     * {@code maxPendingBytes} are already queued.
+     * <p>
+     * Called when the buffer is flushed, i.e. at the end of an event, or directly for an event written at once.
+     * </p>
+     */
+    @Override
+    protected synchronized void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        if (length == 0) {
+            return;
+        }
+        if (header.length + length + footer.length > MAX_UDP_PAYLOAD_SIZE) {
+            throw new AppenderLoggingException(String.format(
+                    "Error writing to %s: event of %d bytes exceeds the maximum UDP payload", getName(), length));
+        }
+        final int frameLength = Integer.BYTES + length;
+        lock.lock();
+        try {
+            if (shutdown) {
+                droppedEventCount.increment();
+                return;
+            }
+            // An event larger than the whole queue is accepted once the queue is empty.
+            while (pendingEvents.position() > 0 && pendingEvents.position() + frameLength > maxPendingBytes) {
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    droppedEventCount.increment();
+                    return;
+                }
+                try {
+                    spaceAvailable.await();
+                } catch (final InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                    droppedEventCount.increment();
+                    return;
+                }
+                if (shutdown) {
+                    droppedEventCount.increment();
+                    return;
+                }
+            }
+            pendingEvents.putInt(length).put(bytes, offset, length);
+            dataAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Does nothing, the I/O thread sends queued events as soon as possible anyway.
+     */
+    @Override
+    protected void flushDestination() {
+        // Nothing to do.
+    }
+
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        // Queue the last buffered event before the queue is closed.
+        flush();
+        lock.lock();
+        try {
+            shutdown = true;
+            dataAvailable.signal();
+            spaceAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        final long timeoutMillis = timeout > 0 ? timeUnit.toMillis(timeout) : DEFAULT_SHUTDOWN_TIMEOUT_MILLIS;
+        try {
+            ioThread.join(timeoutMillis);
+        } catch (final InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+        final boolean stopped = !ioThread.isAlive();
+        if (!stopped) {
+            LOGGER.warn("{} could not send all queued events within {} ms", getName(), timeoutMillis);
+            ioThread.interrupt();
+        }
+        return closeOutputStream() && stopped;
+    }
+
+    public int getMaxDatagramSize() {
+        return maxDatagramSize;
+    }
+
+    public boolean isPackDatagrams() {
+        return packDatagrams;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Gets the number of events dropped, either because {@code maxPendingBytes} were queued and the
+     * {@link OverflowPolicy} is {@link OverflowPolicy#DROP DROP} or because the manager was shutting down.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEventCount() {
+        return droppedEventCount.sum();
+    }
+
+    /**
+     * Gets the number of datagrams that could not be sent, e.g. because the host reported the port as unreachable.
+     *
+     * @return the number of failed datagrams
+     */
+    public long getFailedDatagramCount() {
+        return failedDatagramCount.sum();
+    }
+
+    /**
+     * Gets the number of datagrams sent.
+     *
+     * @return the number of sent datagrams
+     */
+    public long getSentDatagramCount() {
+        return sentDatagramCount.sum();
+    }
+
+    /**
+     * Gets the number of events sent; greater than {@link #getSentDatagramCount()} if datagrams are packed.
+     *
+     * @return the number of sent events
+     */
+    public long getSentEventCount() {
+        return sentEventCount.sum();
+    }
+
+    /**
+     * Gets this NioDatagramSocketManager's content format. Specified by:
+     * <ul>
+     * <li>Key: "protocol" Value: "udp"</li>
+     * <li>Key: "direction" Value: "out"</li>
+     * </ul>
+     *
+     * @return Map of content format keys supporting NioDatagramSocketManager
+     */
+    @Override
+    public Map<String, String> getContentFormat() {
+        final Map<String, String> result = new HashMap<>(super.getContentFormat());
+        result.put("protocol", "udp");
+        result.put("direction", "out");
+        return result;
+    }
+
+    /**
+     * Sends the queued events, packing them into datagrams if enabled.
+     */
+    private class IoThread extends Log4jThread {
+
+        // The events taken from the queue, each preceded by its length, between the position and the limit.
+        private ByteBuffer batch = ByteBuffer.allocate(pendingEvents.capacity());
+
+        private ByteBuffer datagram = ByteBuffer.allocateDirect(maxDatagramSize);
+
+        private int datagramEventCount;
+
+        IoThread(final String name) {
+            super("NioDatagramSocketManager-" + name);
+            setDaemon(true);
+            ((Buffer) batch).limit(0);
+        }
+
+        @Override
+        public void run() {
+            try (final DatagramChannel channel = DatagramChannel.open()) {
+                channel.connect(new InetSocketAddress(inetAddress, port));
+                // The channel is closed if the thread is interrupted while sending.
+                while (channel.isOpen() && takeBatch()) {
+                    ((Buffer) batch).flip();
+                    while (batch.hasRemaining() && channel.isOpen()) {
+                        append(channel);
+                    }
+                    send(channel);
+                }
+            } catch (final InterruptedException ignored) {
+                LOGGER.debug("{} was interrupted", getName());
+            } catch (final IOException e) {
+                LOGGER.error("{} could not open a datagram channel to {}:{}, no events will be sent", getName(), host,
+                        port, e);
+            } finally {
+                discardPendingEvents();
+            }
+        }
+
+        /**
+         * Counts the events that were not sent as dropped, and drops the events written from now on.
+         */
+        private void discardPendingEvents() {
+            long discardedEventCount = datagramEventCount + countEvents(batch);
+            lock.lock();
+            try {
+                shutdown = true;
+                ((Buffer) pendingEvents).flip();
+                discardedEventCount += countEvents(pendingEvents);
+                ((Buffer) pendingEvents).clear();
+                spaceAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (discardedEventCount > 0) {
+                LOGGER.warn("{} dropped {} events that were not sent", getName(), discardedEventCount);
+                droppedEventCount.add(discardedEventCount);
+            }
+        }
+
+        /**
+         * Counts the length-prefixed events between the position and the limit of the given buffer.
+         */
+        private int countEvents(final ByteBuffer events) {
+            int count = 0;
+            for (int position = events.position(); position < events.limit();
+                    position += Integer.BYTES + events.getInt(position)) {
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * Waits for events and swaps the queue with the empty batch.
+         *
+         * @return {@code false} if the manager is shut down and all events have been sent
+         */
+        private boolean takeBatch() throws InterruptedException {
+            lock.lock();
+            try {
+                while (pendingEvents.position() == 0) {
+                    if (shutdown) {
+                        return false;
+                    }
+                    dataAvailable.await();
+                }
+                final ByteBuffer events = pendingEvents;
+                ((Buffer) batch).clear();
+                pendingEvents = batch;
+                batch = events;
+                spaceAvailable.signalAll();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Appends the next event of the batch to the datagram.
+         */
+        private void append(final DatagramChannel channel) {
+            // The event is only consumed once appended, so that it is counted as dropped otherwise.
+            final int length = batch.getInt(batch.position());
+            final int size = header.length + length + footer.length;
+            if (datagramEventCount > 0 && (!packDatagrams || datagram.position() + length > maxDatagramSize
+                    - footer.length)) {
+                send(channel);
+            }
+            if (datagramEventCount == 0) {
+                if (size > datagram.capacity()) {
+                    // Oversized events are sent on their own, relying on IP fragmentation.
+                    datagram = ByteBuffer.allocateDirect(size);
+                }
+                datagram.put(header);
+            }
+            final int limit = batch.limit();
+            final int start = batch.position() + Integer.BYTES;
+            ((Buffer) batch).limit(start + length).position(start);
+            datagram.put(batch);
+            ((Buffer) batch).limit(limit);
+            datagramEventCount++;
+        }
+
+        private void send(final DatagramChannel channel) {
+            if (datagramEventCount == 0 || !channel.isOpen()) {
+                return;
+            }
+            datagram.put(footer);
+            ((Buffer) datagram).flip();
+            try {
+                channel.write(datagram);
+                sentDatagramCount.increment();
+                sentEventCount.add(datagramEventCount);
+            } catch (final IOException e) {
+                // E.g. PortUnreachableException caused by an earlier datagram, UDP gives no further guarantees.
+                LOGGER.debug("{} could not send a datagram to {}:{}", getName(), host, port, e);
+                failedDatagramCount.increment();
+            }
+            if (datagram.capacity() > maxDatagramSize) {
+                datagram = ByteBuffer.allocateDirect(maxDatagramSize);
+            } else {
+                ((Buffer) datagram).clear();
+            }
+            datagramEventCount = 0;
+        }
+
+    }
+
+    /**
+     * Data for the factory.
+     */
+    private static class FactoryData {
+        private final String host;
+        private final int port;
+        private final Layout<? extends Serializable> layout;
+        private final int maxDatagramSize;
+        private final boolean packDatagrams;
+        private final int maxPendingBytes;
+        private final OverflowPolicy overflowPolicy;
+
+        public FactoryData(final String host, final int port, final Layout<? extends Serializable> layout,
+                final int maxDatagramSize, final boolean packDatagrams, final int maxPendingBytes,
+                final OverflowPolicy overflowPolicy) {
+            this.host = host;
+            this.port = port;
+            this.layout = layout;
+            this.maxDatagramSize = maxDatagramSize;
+            this.packDatagrams = packDatagrams;
+            this.maxPendingBytes = maxPendingBytes;
+            this.overflowPolicy = overflowPolicy;
+        }
+    }
+
+    /**
+     * Factory to create the NioDatagramSocketManager.
+     */
+    private static class NioDatagramSocketManagerFactory
+            implements ManagerFactory<NioDatagramSocketManager, FactoryData> {
+
+        @Override
+        public NioDatagramSocketManager createManager(final String name, final FactoryData data) {
+            final InetAddress inetAddress;
+            try {
+                inetAddress = InetAddress.getByName(data.host);
+            } catch (final UnknownHostException ex) {
+                LOGGER.error("Could not find address of " + data.host, ex);
+                return null;
+            }
+            return new NioDatagramSocketManager(name, inetAddress, data.host, data.port, data.layout,
+                    data.maxDatagramSize, data.packDatagrams, data.maxPendingBytes, data.overflowPolicy);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NioDatagramSocketManager [maxDatagramSize=" + maxDatagramSize + ", packDatagrams=" + packDatagrams
+                + ", maxPendingBytes=" + maxPendingBytes + ", overflowPolicy=" + overflowPolicy + ", inetAddress="
+                + inetAddress + ", host=" + host + ", port=" + port + ", layout=" + layout + "]";
+    }
+
+}
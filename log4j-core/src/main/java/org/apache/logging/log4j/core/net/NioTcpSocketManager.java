@@ -0,0 +1,856 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.net;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.core.util.Log4jThread;
+import org.apache.logging.log4j.core.util.NullOutputStream;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Manager of non-blocking TCP connections.
+ * <p>
+ * Logging threads only copy serialized events into a bounded set of direct buffer segments. A single I/O thread
+ * writes all segments filled in the meantime with one gathering write, and connects or reconnects to the peer without
+ * holding the lock the logging threads use. When the peer does not keep up and all segments are full, the
+ * {@link OverflowPolicy} decides whether logging threads wait or events are dropped.
+ * </p>
+ * <p>
+ * Events are copied into the segments whole: the bytes written between two flushes of the buffer form one unit, and
+ * the beginning of an event drained from the full buffer is kept aside until the end of the event is written. A unit
+ * is therefore either queued or dropped as a whole, so that the stream never contains part of an event. Each write
+ * of a byte array counts as one event; units written through the buffer directly count as one event.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+public class NioTcpSocketManager extends AbstractSocketManager {
+
+    /**
+     * The default maximum number of bytes buffered for the peer (1 MiB).
+     */
+    public static final int DEFAULT_MAX_PENDING_BYTES = 1024 * 1024;
+
+    /**
+     * The default port number of remote logging server (4560).
+     */
+    private static final int DEFAULT_PORT = 4560;
+
+    private static final int MIN_SEGMENT_SIZE = 1024;
+
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private static final NioTcpSocketManagerFactory FACTORY = new NioTcpSocketManagerFactory();
+
+    private final int connectTimeoutMillis;
+
+    private final int reconnectionDelayMillis;
+
+    private final SocketOptions socketOptions;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final int segmentSize;
+
+    private final int maxSegments;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition dataAvailable = lock.newCondition();
+
+    private final Condition spaceAvailable = lock.newCondition();
+
+    // The following fields are guarded by lock.
+
+    private final ArrayDeque<Segment> filledSegments = new ArrayDeque<>();
+
+    private final ArrayDeque<Segment> freeSegments = new ArrayDeque<>();
+
+    private Segment currentSegment;
+
+    private int usedSegmentCount;
+
+    // Set while the last buffered events are queued: logging threads no longer wait for room.
+    private boolean closing;
+
+    private boolean shutdown;
+
+    // End of fields guarded by lock.
+
+    // The following fields are guarded by this manager's monitor, like the buffer.
+
+    // The number of byte arrays written to the buffer since it was last flushed.
+    private int bufferedEventCount;
+
+    // The beginning of the current unit, drained from the buffer before the unit was complete.
+    private ByteBuffer partialUnit;
+
+    private int partialUnitEventCount;
+
+    private boolean partialUnitTooLarge;
+
+    private boolean draining;
+
+    // End of fields guarded by this manager's monitor.
+
+    private final LongAdder droppedEventCount = new LongAdder();
+
+    private final IoThread ioThread;
+
+    /**
+     * Constructs.
+     *
+     * @param name
+     *            The unique name of this connection.
+     * @param inetAddress
+     *            The Internet address of the host.
+     * @param host
+     *            The name of the host.
+     * @param port
+     *            The port number on the host.
+     * @param connectTimeoutMillis
+     *            the connect timeout in milliseconds.
+     * @param reconnectionDelayMillis
+     *            Reconnection interval.
+     * @param layout
+     *            The Layout.
+     * @param bufferSize
+     *            The size of the buffer and of a single buffer segment.
+     * @param maxPendingBytes
+     *            The maximum number of bytes buffered for the peer.
+     * @param overflowPolicy
+     *            What to do with events when {@code maxPendingBytes} are buffered.
+     * @param socketOptions
+     *            The socket options.
+     */
+    public NioTcpSocketManager(final String name, final InetAddress inetAddress, final String host, final int port,
+            final int connectTimeoutMillis, final int reconnectionDelayMillis,
+            final Layout<? extends Serializable> layout, final int bufferSize, final int maxPendingBytes,
+            final OverflowPolicy overflowPolicy, final SocketOptions socketOptions) {
+        super(name, NullOutputStream.getInstance(), inetAddress, host, port, layout, false, bufferSize);
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.reconnectionDelayMillis = reconnectionDelayMillis;
+        this.socketOptions = socketOptions;
+        this.overflowPolicy = overflowPolicy != null ? overflowPolicy : OverflowPolicy.BLOCK;
+        this.segmentSize = Math.max(MIN_SEGMENT_SIZE, bufferSize);
+        this.maxSegments = Math.max(2, maxPendingBytes / segmentSize);
+        this.currentSegment = takeFreeSegment();
+        if (layout != null) {
+            final byte[] header = layout.getHeader();
+            if (header != null) {
+                write(header, 0, header.length, false);
+            }
+        }
+        this.ioThread = new IoThread(name);
+        this.ioThread.start();
+    }
+
+    /**
+     * Obtains a NioTcpSocketManager.
+     *
+     * @param host
+     *            The host to connect to.
+     * @param port
+     *            The port on the host.
+     * @param connectTimeoutMillis
+     *            the connect timeout in milliseconds
+     * @param reconnectDelayMillis
+     *            The interval to pause between retries.
+     * @param layout
+     *            The Layout.
+     * @param bufferSize
+     *            The size of a single buffer segment.
+     * @param maxPendingBytes
+     *            The maximum number of bytes buffered for the peer.
+     * @param overflowPolicy
+     *            What to do with events when {@code maxPendingBytes} are buffered.
+     * @param socketOptions
+     *            The socket options.
+     * @return A NioTcpSocketManager.
+     */
+    public static NioTcpSocketManager getSocketManager(final String host, int port, final int connectTimeoutMillis,
+            int reconnectDelayMillis, final Layout<? extends Serializable> layout, final int bufferSize,
+            final int maxPendingBytes, final OverflowPolicy overflowPolicy, final SocketOptions socketOptions) {
+        if (Strings.isEmpty(host)) {
+            throw new IllegalArgumentException("A host name is required");
+        }
+        if (port <= 0) {
+            port = DEFAULT_PORT;
+        }
+        if (reconnectDelayMillis == 0) {
+            reconnectDelayMillis = TcpSocketManager.DEFAULT_RECONNECTION_DELAY_MILLIS;
+        }
+        return (NioTcpSocketManager) getManager("NIO-TCP:" + host + ':' + port,
+                new FactoryData(host, port, connectTimeoutMillis, reconnectDelayMillis, layout, bufferSize,
+                        maxPendingBytes, overflowPolicy, socketOptions), FACTORY);
+    }
+
+    /**
+     * Writes one event. Small events are buffered, larger ones are queued at once.
+     */
+    @Override
+    protected synchronized void write(final byte[] bytes, final int offset, final int length,
+            final boolean immediateFlush) {
+        if ((immediateFlush && byteBuffer.position() == 0) || length >= byteBuffer.capacity()) {
+            flushBuffer(byteBuffer);
+            enqueue(bytes, offset, length, 1);
+            return;
+        }
+        if (length > byteBuffer.remaining()) {
+            flushBuffer(byteBuffer);
+        }
+        byteBuffer.put(bytes, offset, length);
+        bufferedEventCount++;
+        if (immediateFlush) {
+            flushBuffer(byteBuffer);
+        }
+    }
+
+    /**
+     * Called when the buffer is full in the middle of an event: keeps the buffered bytes until the event is complete.
+     */
+    @Override
+    public synchronized ByteBuffer drain(final ByteBuffer buf) {
+        draining = true;
+        try {
+            flushBuffer(buf);
+        } finally {
+            draining = false;
+        }
+        return buf;
+    }
+
+    /**
+     * Queues the content of the buffer, or keeps it aside if the buffer is drained in the middle of an event.
+     */
+    @Override
+    protected synchronized void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        final int eventCount = bufferedEventCount;
+        bufferedEventCount = 0;
+        if (draining) {
+            keepPartialUnit(bytes, offset, length, eventCount);
+        } else {
+            enqueue(bytes, offset, length, eventCount);
+        }
+    }
+
+    /**
+     * Does nothing, the I/O thread sends the buffered bytes as soon as possible anyway.
+     */
+    @Override
+    protected void flushDestination() {
+        // Nothing to do.
+    }
+
+    private void keepPartialUnit(final byte[] bytes, final int offset, final int length, final int eventCount) {
+        partialUnitEventCount += eventCount;
+        if (partialUnitTooLarge) {
+            return;
+        }
+        final int partialLength = partialUnit != null ? partialUnit.position() : 0;
+        if (partialLength + length > getMaxPendingBytes()) {
+            // The rest of the unit is discarded as well, and the unit is dropped once complete.
+            partialUnitTooLarge = true;
+            partialUnit = null;
+            return;
+        }
+        if (partialUnit == null || partialUnit.remaining() < length) {
+            final int capacity = Math.min(getMaxPendingBytes(),
+                    Math.max(partialLength + length, 2 * (partialUnit != null ? partialUnit.capacity() : segmentSize)));
+            final ByteBuffer grown = ByteBuffer.allocate(capacity);
+            if (partialUnit != null) {
+                ((Buffer) partialUnit).flip();
+                grown.put(partialUnit);
+            }
+            partialUnit = grown;
+        }
+        partialUnit.put(bytes, offset, length);
+    }
+
+    /**
+     * Copies a complete unit, preceded by the partial unit kept aside, into the buffer segments, waiting or dropping
+     * it according to the {@link OverflowPolicy} if there is not enough room. Never writes to the network itself.
+     *
+     * @param eventCount the number of events of the unit, without those of the partial unit
+     */
+    private void enqueue(final byte[] bytes, final int offset, final int length, final int eventCount) {
+        final ByteBuffer partial = partialUnit;
+        final int unitEventCount = Math.max(1, partialUnitEventCount + eventCount);
+        final boolean tooLarge = partialUnitTooLarge;
+        partialUnit = null;
+        partialUnitEventCount = 0;
+        partialUnitTooLarge = false;
+        final int partialLength = partial != null ? partial.position() : 0;
+        if (partialLength + length == 0) {
+            return;
+        }
+        if (tooLarge || partialLength + length > getMaxPendingBytes()) {
+            droppedEventCount.add(unitEventCount);
+            throw new AppenderLoggingException(String.format(
+                    "Error writing to %s: event exceeds the maximum of %d pending bytes", getName(),
+                    getMaxPendingBytes()));
+        }
+        lock.lock();
+        try {
+            while (!shutdown && getAvailableBytes() < partialLength + length) {
+                if (overflowPolicy == OverflowPolicy.DROP || closing) {
+                    droppedEventCount.add(unitEventCount);
+                    return;
+                }
+                try {
+                    spaceAvailable.await();
+                } catch (final InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                    droppedEventCount.add(unitEventCount);
+                    return;
+                }
+            }
+            if (shutdown) {
+                droppedEventCount.add(unitEventCount);
+                return;
+            }
+            if (partial != null) {
+                copyToSegments(partial.array(), partial.arrayOffset(), partialLength);
+            }
+            copyToSegments(bytes, offset, length);
+            currentSegment.endEvents(unitEventCount);
+            dataAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // guarded by lock
+    private void copyToSegments(final byte[] bytes, final int offset, final int length) {
+        int position = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            if (!currentSegment.buffer.hasRemaining()) {
+                filledSegments.add(currentSegment);
+                currentSegment = takeFreeSegment();
+            }
+            final int chunkLength = Math.min(remaining, currentSegment.buffer.remaining());
+            currentSegment.buffer.put(bytes, position, chunkLength);
+            position += chunkLength;
+            remaining -= chunkLength;
+        }
+    }
+
+    private int getMaxPendingBytes() {
+        return maxSegments * segmentSize;
+    }
+
+    // guarded by lock
+    private int getAvailableBytes() {
+        return currentSegment.buffer.remaining() + (maxSegments - usedSegmentCount) * segmentSize;
+    }
+
+    // guarded by lock
+    private Segment takeFreeSegment() {
+        usedSegmentCount++;
+        final Segment segment = freeSegments.poll();
+        return segment != null ? segment : new Segment(segmentSize);
+    }
+
+    // guarded by lock
+    private long countQueuedEvents() {
+        long eventCount = currentSegment.countEventsEndingAfter(0);
+        for (final Segment segment : filledSegments) {
+            eventCount += segment.countEventsEndingAfter(0);
+        }
+        return eventCount;
+    }
+
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        lock.lock();
+        try {
+            closing = true;
+            spaceAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        writeFooter();
+        // Queue the last buffered events before the queue is closed.
+        flush();
+        lock.lock();
+        try {
+            shutdown = true;
+            dataAvailable.signal();
+            spaceAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        final long timeoutMillis = timeout > 0 ? timeUnit.toMillis(timeout) : DEFAULT_SHUTDOWN_TIMEOUT_MILLIS;
+        boolean stopped = true;
+        try {
+            ioThread.join(timeoutMillis);
+        } catch (final InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+        if (ioThread.isAlive()) {
+            LOGGER.warn("{} could not send all buffered events within {} ms", getName(), timeoutMillis);
+            // Closing the channel and the selector makes the I/O thread give up.
+            ioThread.closeChannel();
+            ioThread.closeSelector();
+            stopped = false;
+            try {
+                // Wait for the I/O thread to count the events it gave up.
+                ioThread.join(timeoutMillis);
+            } catch (final InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return closeOutputStream() && stopped;
+    }
+
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public int getReconnectionDelayMillis() {
+        return reconnectionDelayMillis;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public SocketOptions getSocketOptions() {
+        return socketOptions;
+    }
+
+    /**
+     * Gets the number of events dropped, either because the buffers were full and the {@link OverflowPolicy} is
+     * {@link OverflowPolicy#DROP DROP}, because the manager was shutting down, or because the connection was lost
+     * while they were being sent.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEventCount() {
+        return droppedEventCount.sum();
+    }
+
+    /**
+     * Gets whether the I/O thread is currently connected to the peer.
+     *
+     * @return whether the manager is connected
+     */
+    public boolean isConnected() {
+        final SocketChannel channel = ioThread.channel;
+        return channel != null && channel.isConnected();
+    }
+
+    /**
+     * Gets this NioTcpSocketManager's content format. Specified by:
+     * <ul>
+     * <li>Key: "protocol" Value: "tcp"</li>
+     * <li>Key: "direction" Value: "out"</li>
+     * </ul>
+     *
+     * @return Map of content format keys supporting NioTcpSocketManager
+     */
+    @Override
+    public Map<String, String> getContentFormat() {
+        final Map<String, String> result = new HashMap<>(super.getContentFormat());
+        result.put("protocol", "tcp");
+        result.put("direction", "out");
+        return result;
+    }
+
+    /**
+     * Writes the filled buffer segments to the peer, connecting to it first if necessary.
+     */
+    private class IoThread extends Log4jThread {
+
+        private final Segment[] batch = new Segment[maxSegments];
+
+        private final ByteBuffer[] batchBuffers = new ByteBuffer[maxSegments];
+
+        private int batchSize;
+
+        private volatile SocketChannel channel;
+
+        private volatile Selector selector;
+
+        private SelectionKey selectionKey;
+
+        IoThread(final String name) {
+            super("NioTcpSocketManager-" + name);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                selector = Selector.open();
+                // Connect eagerly, failures are retried once there is data to send.
+                connect();
+                while (takeBatch()) {
+                    writeBatch();
+                    releaseBatch();
+                }
+            } catch (final IOException e) {
+                LOGGER.error("{} could not open a selector, no events will be sent", getName(), e);
+            } catch (final InterruptedException ignored) {
+                LOGGER.debug("{} was interrupted", getName());
+            } catch (final ClosedSelectorException | CancelledKeyException ignored) {
+                LOGGER.debug("{} was closed while sending", getName());
+            } finally {
+                closeChannel();
+                closeSelector();
+                discardPendingEvents();
+            }
+        }
+
+        /**
+         * Waits for data and moves all filled segments, including the partially filled current one, to the batch.
+         *
+         * @return {@code false} if the manager is shut down and all data has been sent
+         */
+        private boolean takeBatch() throws InterruptedException {
+            lock.lock();
+            try {
+                while (filledSegments.isEmpty() && currentSegment.buffer.position() == 0) {
+                    if (shutdown) {
+                        return false;
+                    }
+                    dataAvailable.await();
+                }
+                Segment segment;
+                while ((segment = filledSegments.poll()) != null) {
+                    batch[batchSize++] = segment;
+                }
+                if (currentSegment.buffer.position() > 0) {
+                    batch[batchSize++] = currentSegment;
+                    currentSegment = takeFreeSegment();
+                }
+                for (int i = 0; i < batchSize; i++) {
+                    batchBuffers[i] = (ByteBuffer) ((Buffer) batch[i].buffer).flip();
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void releaseBatch() {
+            lock.lock();
+            try {
+                for (int i = 0; i < batchSize; i++) {
+                    batch[i].clear();
+                    freeSegments.add(batch[i]);
+                    batch[i] = null;
+                    batchBuffers[i] = null;
+                }
+                usedSegmentCount -= batchSize;
+                batchSize = 0;
+                spaceAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Counts the events of the batch that have not been sent completely and drops them.
+         */
+        private void discardBatch() {
+            long eventCount = 0;
+            for (int i = 0; i < batchSize; i++) {
+                eventCount += batch[i].countEventsEndingAfter(batch[i].buffer.position());
+            }
+            droppedEventCount.add(eventCount);
+        }
+
+        /**
+         * Drops the events that can no longer be sent once the thread stops, and stops accepting new ones.
+         */
+        private void discardPendingEvents() {
+            discardBatch();
+            lock.lock();
+            try {
+                droppedEventCount.add(countQueuedEvents());
+                filledSegments.clear();
+                currentSegment.clear();
+                shutdown = true;
+                spaceAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void writeBatch() throws InterruptedException {
+            int offset = 0;
+            boolean partiallyWritten = false;
+            while (offset < batchSize) {
+                SocketChannel currentChannel = channel;
+                if (currentChannel == null) {
+                    currentChannel = connect();
+                    if (currentChannel == null) {
+                        if (isShutdown()) {
+                            LOGGER.warn("{} discarded buffered events while shutting down disconnected", getName());
+                            discardBatch();
+                            return;
+                        }
+                        sleep(reconnectionDelayMillis);
+                        continue;
+                    }
+                }
+                try {
+                    final long written = currentChannel.write(batchBuffers, offset, batchSize - offset);
+                    partiallyWritten |= written > 0;
+                    while (offset < batchSize && !batchBuffers[offset].hasRemaining()) {
+                        offset++;
+                    }
+                    if (offset < batchSize && written == 0) {
+                        awaitWritable();
+                    }
+                } catch (final IOException e) {
+                    LOGGER.debug("{} lost its connection to {}:{}", getName(), host, port, e);
+                    closeChannel();
+                    if (partiallyWritten) {
+                        // Resending would duplicate events, resuming would start the new connection mid-event.
+                        LOGGER.warn("{} discarded the remainder of a partially sent batch", getName());
+                        discardBatch();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void awaitWritable() throws IOException {
+            selectionKey.interestOps(SelectionKey.OP_WRITE);
+            selector.select(reconnectionDelayMillis);
+            selector.selectedKeys().clear();
+        }
+
+        /**
+         * Connects to the first reachable resolved address of the host.
+         *
+         * @return the connected channel, or {@code null} if none of the addresses could be connected to
+         */
+        private SocketChannel connect() {
+            final List<InetSocketAddress> socketAddresses;
+            try {
+                socketAddresses = TcpSocketManager.TcpSocketManagerFactory.RESOLVER.resolveHost(host, port);
+            } catch (final UnknownHostException e) {
+                LOGGER.debug("{} could not resolve {}", getName(), host, e);
+                return null;
+            }
+            for (final InetSocketAddress socketAddress : socketAddresses) {
+                SocketChannel newChannel = null;
+                try {
+                    LOGGER.debug("{} connecting to {}", getName(), socketAddress);
+                    newChannel = SocketChannel.open();
+                    if (socketOptions != null) {
+                        socketOptions.apply(newChannel.socket());
+                    }
+                    newChannel.configureBlocking(false);
+                    // Flush the keys of previously closed channels before registering a new one.
+                    selector.selectNow();
+                    selectionKey = newChannel.register(selector, SelectionKey.OP_CONNECT);
+                    if (!newChannel.connect(socketAddress)) {
+                        finishConnect(newChannel);
+                    }
+                    channel = newChannel;
+                    LOGGER.debug("{} connected to {}", getName(), socketAddress);
+                    return newChannel;
+                } catch (final IOException e) {
+                    LOGGER.debug("{} could not connect to {}", getName(), socketAddress, e);
+                    Closer.closeSilently(newChannel);
+                }
+            }
+            return null;
+        }
+
+        private void finishConnect(final SocketChannel newChannel) throws IOException {
+            final long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(connectTimeoutMillis);
+            final long startNanos = System.nanoTime();
+            while (!newChannel.finishConnect()) {
+                final long remainingMillis = connectTimeoutMillis > 0
+                        ? TimeUnit.NANOSECONDS.toMillis(timeoutNanos - (System.nanoTime() - startNanos))
+                        : 0;
+                if (connectTimeoutMillis > 0 && remainingMillis <= 0) {
+                    throw new SocketTimeoutException("connect timed out");
+                }
+                selector.select(remainingMillis);
+                selector.selectedKeys().clear();
+            }
+        }
+
+        private boolean isShutdown() {
+            lock.lock();
+            try {
+                return shutdown;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void closeChannel() {
+            final SocketChannel oldChannel = channel;
+            channel = null;
+            Closer.closeSilently(oldChannel);
+        }
+
+        void closeSelector() {
+            Closer.closeSilently(selector);
+        }
+
+    }
+
+    /**
+     * A buffer segment, with the positions at which the units copied into it end.
+     */
+    private static final class Segment {
+
+        final ByteBuffer buffer;
+
+        private int[] unitEnds = new int[8];
+
+        private int[] unitEventCounts = new int[8];
+
+        private int unitCount;
+
+        Segment(final int size) {
+            this.buffer = ByteBuffer.allocateDirect(size);
+        }
+
+        /**
+         * Records that a unit of the given number of events ends at the current position.
+         */
+        void endEvents(final int eventCount) {
+            if (unitCount == unitEnds.length) {
+                unitEnds = Arrays.copyOf(unitEnds, 2 * unitCount);
+                unitEventCounts = Arrays.copyOf(unitEventCounts, 2 * unitCount);
+            }
+            unitEnds[unitCount] = buffer.position();
+            unitEventCounts[unitCount] = eventCount;
+            unitCount++;
+        }
+
+        /**
+         * Counts the events of the units ending in this segment after the given position.
+         */
+        long countEventsEndingAfter(final int position) {
+            long eventCount = 0;
+            for (int i = 0; i < unitCount; i++) {
+                if (unitEnds[i] > position) {
+                    eventCount += unitEventCounts[i];
+                }
+            }
+            return eventCount;
+        }
+
+        void clear() {
+            ((Buffer) buffer).clear();
+            unitCount = 0;
+        }
+    }
+
+    /**
+     * Data for the factory.
+     */
+    static class FactoryData {
+        protected final String host;
+        protected final int port;
+        protected final int connectTimeoutMillis;
+        protected final int reconnectDelayMillis;
+        protected final Layout<? extends Serializable> layout;
+        protected final int bufferSize;
+        protected final int maxPendingBytes;
+        protected final OverflowPolicy overflowPolicy;
+        protected final SocketOptions socketOptions;
+
+        public FactoryData(final String host, final int port, final int connectTimeoutMillis,
+                final int reconnectDelayMillis, final Layout<? extends Serializable> layout, final int bufferSize,
+                final int maxPendingBytes, final OverflowPolicy overflowPolicy, final SocketOptions socketOptions) {
+            this.host = host;
+            this.port = port;
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            this.reconnectDelayMillis = reconnectDelayMillis;
+            this.layout = layout;
+            this.bufferSize = bufferSize;
+            this.maxPendingBytes = maxPendingBytes;
+            this.overflowPolicy = overflowPolicy;
+            this.socketOptions = socketOptions;
+        }
+
+        @Override
+        public String toString() {
+            return "FactoryData [host=" + host + ", port=" + port + ", connectTimeoutMillis=" + connectTimeoutMillis
+                    + ", reconnectDelayMillis=" + reconnectDelayMillis + ", layout=" + layout + ", bufferSize="
+                    + bufferSize + ", maxPendingBytes=" + maxPendingBytes + ", overflowPolicy=" + overflowPolicy
+                    + ", socketOptions=" + socketOptions + "]";
+        }
+    }
+
+    /**
+     * Factory to create a NioTcpSocketManager.
+     */
+    private static class NioTcpSocketManagerFactory implements ManagerFactory<NioTcpSocketManager, FactoryData> {
+
+        @Override
+        public NioTcpSocketManager createManager(final String name, final FactoryData data) {
+            final InetAddress inetAddress;
+            try {
+                inetAddress = InetAddress.getByName(data.host);
+            } catch (final UnknownHostException ex) {
+                LOGGER.error("Could not find address of {}: {}", data.host, ex, ex);
+                return null;
+            }
+            return new NioTcpSocketManager(name, inetAddress, data.host, data.port, data.connectTimeoutMillis,
+                    data.reconnectDelayMillis, data.layout, data.bufferSize, data.maxPendingBytes,
+                    data.overflowPolicy, data.socketOptions);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NioTcpSocketManager [reconnectionDelayMillis=" + reconnectionDelayMillis + ", connectTimeoutMillis="
+                + connectTimeoutMillis + ", overflowPolicy=" + overflowPolicy + ", segmentSize=" + segmentSize
+                + ", maxSegments=" + maxSegments + ", socketOptions=" + socketOptions + ", inetAddress="
+                + inetAddress + ", host=" + host + ", port=" + port + ", layout=" + layout + ", count=" + count + "]";
+    }
+
+}
@@ -0,0 +1,323 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.pattern;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Fuses a list of {@link PatternFormatter}s into a single method handle that formats an event.
+ * <p>
+ * The formatters are compiled once, when the layout is configured:
+ * </p>
+ * <ul>
+ * <li>adjacent constant converters (literals without variable substitution and line separators) are folded into a
+ * single string that is appended directly,</li>
+ * <li>converters are invoked through a handle bound to their concrete class,</li>
+ * <li>converters with a {@link FormattingInfo} (padding or truncation) are wrapped in handles that record the start
+ * of the field and then call {@link FormattingInfo#format(int, StringBuilder)}, like
+ * {@link PatternFormatter#format(LogEvent, StringBuilder)} does.</li>
+ * </ul>
+ * <p>
+ * The resulting handles are chained with {@link MethodHandles#foldArguments(MethodHandle, MethodHandle)} and invoked
+ * with a single {@link MethodHandle#invokeExact} call per event.
+ * </p>
+ * <p>
+ * The JIT compiler can only inline a method handle that it sees as a constant. The chains of the first formatters are
+ * therefore installed as the target of one of a few {@link MutableCallSite}s, invoked through a {@code static final}
+ * handle. When all sites are in use, the chain is invoked from an instance field, which does not allow inlining
+ * through the chain. Once the formatter owning a site has been garbage collected, the site is reset to a no-op, so that
+ * it no longer references the converters of the formatter, and becomes available again.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+public final class CompiledPatternFormatter {
+
+    private static final MethodType FORMAT_TYPE = MethodType.methodType(void.class, LogEvent.class,
+            StringBuilder.class);
+    private static final MethodHandle APPEND_STRING;
+    private static final MethodHandle BUFFER_LENGTH;
+    private static final MethodHandle CONVERTER_FORMAT;
+    private static final MethodHandle FIELD_FORMAT;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            APPEND_STRING = lookup.findVirtual(StringBuilder.class, "append",
+                    MethodType.methodType(StringBuilder.class, String.class));
+            BUFFER_LENGTH = lookup.findVirtual(StringBuilder.class, "length", MethodType.methodType(int.class));
+            CONVERTER_FORMAT = lookup.findVirtual(LogEventPatternConverter.class, "format", FORMAT_TYPE);
+            FIELD_FORMAT = lookup.findVirtual(FormattingInfo.class, "format",
+                    MethodType.methodType(void.class, int.class, StringBuilder.class));
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final int NO_SITE = -1;
+    private static final MethodHandle NO_OP = MethodHandles.empty(FORMAT_TYPE);
+    private static final MutableCallSite[] SITES = new MutableCallSite[8];
+    private static final boolean[] SITE_IN_USE = new boolean[SITES.length];
+    private static final Cleaner CLEANER =
+            Cleaner.create(Log4jThreadFactory.createDaemonThreadFactory("CompiledPatternCleaner"));
+
+    static {
+        for (int i = 0; i < SITES.length; i++) {
+            SITES[i] = new MutableCallSite(NO_OP);
+        }
+    }
+
+    // each invoker must be a separate constant: an array element would not be constant-folded
+    private static final MethodHandle INVOKER_0 = SITES[0].dynamicInvoker();
+    private static final MethodHandle INVOKER_1 = SITES[1].dynamicInvoker();
+    private static final MethodHandle INVOKER_2 = SITES[2].dynamicInvoker();
+    private static final MethodHandle INVOKER_3 = SITES[3].dynamicInvoker();
+    private static final MethodHandle INVOKER_4 = SITES[4].dynamicInvoker();
+    private static final MethodHandle INVOKER_5 = SITES[5].dynamicInvoker();
+    private static final MethodHandle INVOKER_6 = SITES[6].dynamicInvoker();
+    private static final MethodHandle INVOKER_7 = SITES[7].dynamicInvoker();
+
+    private final PatternFormatter[] formatters;
+    private final MethodHandle handle;
+    private final int segmentCount;
+    private final int site;
+
+    private CompiledPatternFormatter(final PatternFormatter[] formatters, final List<MethodHandle> segments) {
+        this.formatters = formatters;
+        this.segmentCount = segments.size();
+        this.handle = chain(segments);
+        this.site = bindSite(handle);
+        if (site != NO_SITE) {
+            // the action must not reference this formatter, otherwise it would never become unreachable
+            final int boundSite = site;
+            CLEANER.register(this, () -> releaseSite(boundSite));
+        }
+    }
+
+    /**
+     * Compiles the specified formatters.
+     *
+     * @param formatters the formatters produced by the {@link PatternParser}
+     * @return the compiled formatter
+     */
+    public static CompiledPatternFormatter compile(final PatternFormatter[] formatters) {
+        final List<MethodHandle> segments = new ArrayList<>(formatters.length);
+        final StringBuilder constant = new StringBuilder();
+        for (final PatternFormatter formatter : formatters) {
+            final String literal = constantValue(formatter);
+            if (literal != null) {
+                constant.append(literal);
+                continue;
+            }
+            if (constant.length() > 0) {
+                segments.add(appendConstant(constant.toString()));
+                constant.setLength(0);
+            }
+            segments.add(format(formatter));
+        }
+        if (constant.length() > 0) {
+            segments.add(appendConstant(constant.toString()));
+        }
+        return new CompiledPatternFormatter(formatters.clone(), segments);
+    }
+
+    /**
+     * Returns the output of a formatter that does not depend on the event, or {@code null} if it does.
+     */
+    private static String constantValue(final PatternFormatter formatter) {
+        if (formatter.getFormattingInfo() != FormattingInfo.getDefault()) {
+            return null;
+        }
+        final LogEventPatternConverter converter = formatter.getConverter();
+        if (converter instanceof LineSeparatorPatternConverter) {
+            return Strings.LINE_SEPARATOR;
+        }
+        if (converter instanceof SimpleLiteralPatternConverter) {
+            return ((SimpleLiteralPatternConverter) converter).getLiteral();
+        }
+        if (converter instanceof LiteralPatternConverter) {
+            final String literal = ((LiteralPatternConverter) converter).getLiteral();
+            return LiteralPatternConverter.containsSubstitutionSequence(literal) ? null : literal;
+        }
+        return null;
+    }
+
+    private static MethodHandle appendConstant(final String constant) {
+        final MethodHandle append = MethodHandles.insertArguments(APPEND_STRING, 1, constant)
+                .asType(MethodType.methodType(void.class, StringBuilder.class));
+        return MethodHandles.dropArguments(append, 0, LogEvent.class);
+    }
+
+    private static MethodHandle format(final PatternFormatter formatter) {
+        final MethodHandle convert = convert(formatter.getConverter());
+        final FormattingInfo field = formatter.getFormattingInfo();
+        return field == FormattingInfo.getDefault() ? convert : adjust(convert, field);
+    }
+
+    private static MethodHandle convert(final LogEventPatternConverter converter) {
+        try {
+            // dispatch on the concrete class when it is accessible
+            return MethodHandles.publicLookup().findVirtual(converter.getClass(), "format", FORMAT_TYPE)
+                    .bindTo(converter);
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            return CONVERTER_FORMAT.bindTo(converter);
+        }
+    }
+
+    /**
+     * Pads or truncates the output of a converter: records the length of the buffer, runs the converter, then adjusts
+     * the field starting at the recorded length.
+     */
+    private static MethodHandle adjust(final MethodHandle convert, final FormattingInfo field) {
+        // (int fieldStart, LogEvent, StringBuilder)
+        final MethodHandle adjustField = MethodHandles.dropArguments(FIELD_FORMAT.bindTo(field), 1, LogEvent.class);
+        final MethodHandle convertField = MethodHandles.foldArguments(adjustField,
+                MethodHandles.dropArguments(convert, 0, int.class));
+        // (LogEvent, StringBuilder) -> fieldStart
+        final MethodHandle fieldStart = MethodHandles.dropArguments(BUFFER_LENGTH, 0, LogEvent.class);
+        return MethodHandles.foldArguments(convertField, fieldStart);
+    }
+
+    private static MethodHandle chain(final List<MethodHandle> segments) {
+        if (segments.isEmpty()) {
+            return MethodHandles.empty(FORMAT_TYPE);
+        }
+        MethodHandle result = segments.get(segments.size() - 1);
+        for (int i = segments.size() - 2; i >= 0; i--) {
+            // runs segment i, then the rest of the chain
+            result = MethodHandles.foldArguments(result, segments.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Installs the handle as the target of a call site that is not owned by a live formatter.
+     *
+     * @return the index of the site, or {@link #NO_SITE} if all sites are in use
+     */
+    private static synchronized int bindSite(final MethodHandle handle) {
+        for (int i = 0; i < SITES.length; i++) {
+            if (!SITE_IN_USE[i]) {
+                SITES[i].setTarget(handle);
+                MutableCallSite.syncAll(new MutableCallSite[] {SITES[i]});
+                SITE_IN_USE[i] = true;
+                return i;
+            }
+        }
+        return NO_SITE;
+    }
+
+    /**
+     * Resets a call site whose owner has been garbage collected and makes it available again.
+     */
+    private static synchronized void releaseSite(final int site) {
+        SITES[site].setTarget(NO_OP);
+        MutableCallSite.syncAll(new MutableCallSite[] {SITES[site]});
+        SITE_IN_USE[site] = false;
+    }
+
+    /**
+     * Formats the event into the buffer.
+     *
+     * @param event the event to format
+     * @param buffer the buffer to append to
+     */
+    public void format(final LogEvent event, final StringBuilder buffer) {
+        try {
+            switch (site) {
+                case 0:
+                    INVOKER_0.invokeExact(event, buffer);
+                    break;
+                case 1:
+                    INVOKER_1.invokeExact(event, buffer);
+                    break;
+                case 2:
+                    INVOKER_2.invokeExact(event, buffer);
+                    break;
+                case 3:
+                    INVOKER_3.invokeExact(event, buffer);
+                    break;
+                case 4:
+                    INVOKER_4.invokeExact(event, buffer);
+                    break;
+                case 5:
+                    INVOKER_5.invokeExact(event, buffer);
+                    break;
+                case 6:
+                    INVOKER_6.invokeExact(event, buffer);
+                    break;
+                case 7:
+                    INVOKER_7.invokeExact(event, buffer);
+                    break;
+                default:
+                    handle.invokeExact(event, buffer);
+                    break;
+            }
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            // the chained methods do not declare checked exceptions
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Returns whether any of the formatters requires location information.
+     *
+     * @return whether location information is required
+     */
+    public boolean requiresLocation() {
+        for (final PatternFormatter formatter : formatters) {
+            if (formatter.requiresLocation()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of method handles the formatters were compiled to.
+     *
+     * @return the number of compiled segments
+     */
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * Returns whether the compiled handle is invoked through a constant call site.
+     */
+    boolean isBoundToCallSite() {
+        return site != NO_SITE;
+    }
+
+    @Override
+    public String toString() {
+        return CompiledPatternFormatter.class.getSimpleName() + "[segments=" + segmentCount + ", formatters="
+                + formatters.length + "]";
+    }
+}
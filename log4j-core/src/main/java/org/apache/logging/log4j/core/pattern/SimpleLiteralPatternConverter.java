@@ -74,6 +74,8 @@ abstract class SimpleLiteralPatternConverter extends LogEventPatternConverter im
 
     abstract void format(final StringBuilder output);
 
+    abstract String getLiteral();
+
     @Override
     public final boolean isVariable() {
         return false;
@@ -91,6 +93,11 @@ abstract class SimpleLiteralPatternConverter extends LogEventPatternConverter im
         void format(final StringBuilder output) {
             // no-op
         }
+
+        @Override
+        String getLiteral() {
+            return "";
+        }
     }
 
     private static final class Space extends SimpleLiteralPatternConverter {
@@ -100,6 +107,11 @@ abstract class SimpleLiteralPatternConverter extends LogEventPatternConverter im
         void format(final StringBuilder output) {
             output.append(' ');
         }
+
+        @Override
+        String getLiteral() {
+            return " ";
+        }
     }
 
     private static final class StringValue extends SimpleLiteralPatternConverter {
@@ -114,5 +126,10 @@ abstract class SimpleLiteralPatternConverter extends LogEventPatternConverter im
         void format(final StringBuilder output) {
             output.append(literal);
         }
+
+        @Override
+        String getLiteral() {
+            return literal;
+        }
     }
 }
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.AbstractConfiguration;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationFactory;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.apache.logging.log4j.core.config.compiled.CompiledConfigurationFormat;
+
+/**
+ * Compiles a configuration file of any supported format into a compiled configuration, which Log4j loads without
+ * parsing the original format. Properties, lookups and arbiters are kept as is and evaluated when the compiled
+ * configuration is loaded.
+ * <p>
+ * Usage: {@code java org.apache.logging.log4j.core.tools.ConfigurationCompiler configFile [outputFile]}
+ * </p>
+ * <p>
+ * By default the compiled configuration is written next to the configuration file, with the extension replaced by
+ * {@value CompiledConfigurationFormat#SUFFIX}: {@code log4j2.xml} is compiled into {@code log4j2.compiled}, which
+ * takes precedence over {@code log4j2.xml} when Log4j looks for its configuration.
+ * </p>
+ *
+ * @see org.apache.logging.log4j.core.config.compiled.CompiledConfigurationFactory
+ * @since 3.0.0
+ */
+public final class ConfigurationCompiler {
+
+    private ConfigurationCompiler() {
+    }
+
+    /**
+     * Compiles a configuration file.
+     *
+     * @param args the path of the configuration file, optionally followed by the path of the compiled configuration
+     */
+    public static void main(final String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            usage(System.err);
+            System.exit(-1);
+        }
+        final Path configFile = Paths.get(args[0]);
+        final Path outputFile = args.length > 1 ? Paths.get(args[1]) : getDefaultOutputFile(configFile);
+        try {
+            compile(configFile, outputFile);
+        } catch (final IOException ex) {
+            System.err.println("Cannot compile " + configFile + ": " + ex);
+            System.exit(-1);
+        }
+        System.out.println("Compiled " + configFile + " into " + outputFile);
+    }
+
+    private static void usage(final PrintStream out) {
+        out.println("Usage: java " + ConfigurationCompiler.class.getName() + " configFile [outputFile]");
+        out.println("       Where configFile is the configuration to compile and outputFile the compiled");
+        out.println("       configuration to write, by default configFile with the extension replaced by "
+                + CompiledConfigurationFormat.SUFFIX + ".");
+    }
+
+    static Path getDefaultOutputFile(final Path configFile) {
+        final String fileName = configFile.getFileName().toString();
+        final int dot = fileName.lastIndexOf('.');
+        final String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return configFile.resolveSibling(baseName + CompiledConfigurationFormat.SUFFIX);
+    }
+
+    /**
+     * Compiles a configuration file.
+     *
+     * @param configFile the configuration file.
+     * @param outputFile the compiled configuration file to write.
+     * @throws IOException if the configuration cannot be read or parsed, or the compiled configuration cannot be
+     * written.
+     */
+    public static void compile(final Path configFile, final Path outputFile) throws IOException {
+        final File file = configFile.toFile();
+        final ConfigurationSource source = new ConfigurationSource(Files.newInputStream(configFile), file);
+        try (final OutputStream out = Files.newOutputStream(outputFile)) {
+            compile(source, out);
+        }
+    }
+
+    /**
+     * Compiles a configuration.
+     *
+     * @param source the configuration source, whose location determines its format.
+     * @param outputStream the stream to write the compiled configuration to.
+     * @throws IOException if the configuration cannot be parsed or the compiled configuration cannot be written.
+     */
+    public static void compile(final ConfigurationSource source, final OutputStream outputStream) throws IOException {
+        // The context is never started: it only provides the plugins used to parse the configuration.
+        final LoggerContext context = new LoggerContext(ConfigurationCompiler.class.getSimpleName());
+        final Configuration configuration =
+                context.getInjector().getInstance(ConfigurationFactory.KEY).getConfiguration(context, source);
+        if (!(configuration instanceof AbstractConfiguration)) {
+            throw new IOException("No configuration factory can parse " + source.getLocation());
+        }
+        final AbstractConfiguration config = (AbstractConfiguration) configuration;
+        config.setPluginManager(context.getInjector().getInstance(Core.PLUGIN_MANAGER_KEY));
+        config.setup();
+        if (!config.getRootNode().hasChildren()) {
+            throw new IOException("Unable to parse configuration " + source.getLocation());
+        }
+        CompiledConfigurationFormat.write(config.getRootNode(), outputStream);
+    }
+}
@@ -166,6 +166,17 @@ public final class Constants {
      */
     public static final int ENCODER_BYTE_BUFFER_SIZE = size("log4j.encoder.byteBufferSize", 8 * 1024);
 
+    /**
+     * Whether text encoders write US-ASCII, ISO-8859-1 and UTF-8 text directly into the ByteBuffer of the
+     * destination instead of transcoding it through a CharBuffer and a CharsetEncoder.
+     * <p>
+     * Enabled by default, users can disable it with system property "log4j.encoder.directToBytes".
+     * </p>
+     * @since 3.0.0
+     */
+    public static final boolean ENCODER_DIRECT_TO_BYTES = PropertiesUtil.getProperties().getBooleanProperty(
+            "log4j.encoder.directToBytes", true);
+
 
     private static int size(final String property, final int defaultValue) {
         return PropertiesUtil.getProperties().getIntegerProperty(property, defaultValue);
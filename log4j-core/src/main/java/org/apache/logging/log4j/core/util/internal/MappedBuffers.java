@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.util.internal;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+
+/**
+ * Utility methods for memory mapped buffers, shared by the memory mapped file managers. This package is not exported.
+ */
+public final class MappedBuffers {
+
+    private MappedBuffers() {
+    }
+
+    /**
+     * Unmaps the specified buffer immediately instead of waiting for it to be garbage collected. The buffer must not
+     * be used afterwards.
+     *
+     * @param mbb the buffer to unmap
+     * @throws PrivilegedActionException if the buffer cannot be unmapped
+     */
+    public static void unmap(final MappedByteBuffer mbb) throws PrivilegedActionException {
+        AccessController.doPrivileged((PrivilegedExceptionAction<Object>) () -> {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+            final Object unsafe = unsafeField.get(null);
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(unsafe, mbb);
+            return null;
+        });
+    }
+}
@@ -51,6 +51,8 @@ import java.util.Arrays;
 @Plugin(name = "JDBC", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
 public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseManager> {
 
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+
     public static class Builder<B extends Builder<B>> extends AbstractAppender.Builder<B>
         implements org.apache.logging.log4j.plugins.util.Builder<JdbcAppender> {
 
@@ -81,6 +83,15 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
         @PluginBuilderAttribute
         private long reconnectIntervalMillis = DEFAULT_RECONNECT_INTERVAL_MILLIS;
 
+        @PluginBuilderAttribute
+        private boolean asyncWriter;
+
+        @PluginBuilderAttribute
+        private long flushIntervalMillis = DEFAULT_FLUSH_INTERVAL_MILLIS;
+
+        @PluginBuilderAttribute
+        private int maxPendingEvents;
+
         @Override
         public JdbcAppender build() {
             if (Assert.isEmpty(columnConfigs) && Assert.isEmpty(columnMappings)) {
@@ -89,10 +100,10 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
             }
             final String managerName = "JdbcManager{name=" + getName() + ", bufferSize=" + bufferSize + ", tableName="
                     + tableName + ", columnConfigs=" + Arrays.toString(columnConfigs) + ", columnMappings="
-                    + Arrays.toString(columnMappings) + '}';
+                    + Arrays.toString(columnMappings) + ", asyncWriter=" + asyncWriter + '}';
             final JdbcDatabaseManager manager = JdbcDatabaseManager.getManager(managerName, bufferSize, getLayout(),
                     connectionSource, tableName, columnConfigs, columnMappings, immediateFail, reconnectIntervalMillis,
-                    truncateStrings);
+                    truncateStrings, asyncWriter, flushIntervalMillis, maxPendingEvents);
             if (manager == null) {
                 return null;
             }
@@ -108,6 +119,56 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
             return immediateFail;
         }
 
+        public boolean isAsyncWriter() {
+            return asyncWriter;
+        }
+
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+
+        public int getMaxPendingEvents() {
+            return maxPendingEvents;
+        }
+
+        /**
+         * If true, events are committed by a dedicated thread, once {@code bufferSize} events are pending, at the end
+         * of a batch of events or every {@code flushIntervalMillis}.
+         *
+         * @param asyncWriter whether to commit events on a dedicated thread.
+         *
+         * @return this
+         */
+        public B setAsyncWriter(final boolean asyncWriter) {
+            this.asyncWriter = asyncWriter;
+            return asBuilder();
+        }
+
+        /**
+         * The maximum time events wait for the asynchronous writer to commit them.
+         *
+         * @param flushIntervalMillis flush interval in milliseconds.
+         *
+         * @return this
+         */
+        public B setFlushIntervalMillis(final long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+            return asBuilder();
+        }
+
+        /**
+         * The maximum number of events waiting for the asynchronous writer before logging threads wait for it. Values
+         * lower than the buffer size are raised to the buffer size.
+         *
+         * @param maxPendingEvents maximum number of pending events.
+         *
+         * @return this
+         */
+        public B setMaxPendingEvents(final int maxPendingEvents) {
+            this.maxPendingEvents = maxPendingEvents;
+            return asBuilder();
+        }
+
         /**
          * If an integer greater than 0, this causes the appender to buffer log events and flush whenever the buffer
          * reaches this size.
@@ -73,11 +73,15 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         private final boolean retry;
         private final long reconnectIntervalMillis;
         private final boolean truncateStrings;
+        private final boolean asyncWriter;
+        private final long flushIntervalMillis;
+        private final int maxPendingEvents;
 
         protected FactoryData(final int bufferSize, final Layout<? extends Serializable> layout,
                 final ConnectionSource connectionSource, final String tableName, final ColumnConfig[] columnConfigs,
                 final ColumnMapping[] columnMappings, final boolean immediateFail, final long reconnectIntervalMillis,
-                final boolean truncateStrings) {
+                final boolean truncateStrings, final boolean asyncWriter, final long flushIntervalMillis,
+                final int maxPendingEvents) {
             super(bufferSize, layout);
             this.connectionSource = connectionSource;
             this.tableName = tableName;
@@ -87,14 +91,18 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             this.retry = reconnectIntervalMillis > 0;
             this.reconnectIntervalMillis = reconnectIntervalMillis;
             this.truncateStrings = truncateStrings;
+            this.asyncWriter = asyncWriter;
+            this.flushIntervalMillis = flushIntervalMillis;
+            this.maxPendingEvents = maxPendingEvents;
         }
 
         @Override
         public String toString() {
             return String.format(
-                    "FactoryData [connectionSource=%s, tableName=%s, columnConfigs=%s, columnMappings=%s, immediateFail=%s, retry=%s, reconnectIntervalMillis=%s, truncateStrings=%s]",
+                    "FactoryData [connectionSource=%s, tableName=%s, columnConfigs=%s, columnMappings=%s, immediateFail=%s, retry=%s, reconnectIntervalMillis=%s, truncateStrings=%s, asyncWriter=%s, flushIntervalMillis=%s, maxPendingEvents=%s]",
                     connectionSource, tableName, Arrays.toString(columnConfigs), Arrays.toString(columnMappings),
-                    immediateFail, retry, reconnectIntervalMillis, truncateStrings);
+                    immediateFail, retry, reconnectIntervalMillis, truncateStrings, asyncWriter, flushIntervalMillis,
+                    maxPendingEvents);
         }
     }
 
@@ -111,7 +119,10 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             // so this gets a little more complicated now that there are two ways to configure column mappings, but
             // both mappings follow the same exact pattern for the prepared statement
             appendColumnNames("INSERT", data, sb);
-            sb.append(") values (");
+            sb.append(") values ");
+            final int valuesIndex = sb.length();
+            sb.append('(');
+            int parameterCount = 0;
             int i = 1;
             if (data.columnMappings != null) {
                 for (final ColumnMapping mapping : data.columnMappings) {
@@ -124,10 +135,12 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
                         logger().trace("Adding INSERT VALUES parameter for ColumnMapping[{}]: {}={} ", i, mappingName,
                                 mapping.getParameter());
                         sb.append(mapping.getParameter());
+                        parameterCount += countParameterMarkers(mapping.getParameter());
                     } else {
                         logger().trace("Adding INSERT VALUES parameter marker for ColumnMapping[{}]: {}={} ", i,
                                 mappingName, PARAMETER_MARKER);
                         sb.append(PARAMETER_MARKER);
+                        parameterCount++;
                     }
                     sb.append(',');
                     i++;
@@ -141,6 +154,7 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
                         sb.append(config.getLiteralValue());
                     } else {
                         sb.append(PARAMETER_MARKER);
+                        parameterCount++;
                         columnConfigs.add(config);
                     }
                     sb.append(',');
@@ -150,7 +164,17 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             sb.setCharAt(sb.length() - 1, ')');
             final String sqlStatement = sb.toString();
 
-            return new JdbcDatabaseManager(name, sqlStatement, columnConfigs, data);
+            return new JdbcDatabaseManager(name, sqlStatement, valuesIndex, parameterCount, columnConfigs, data);
+        }
+
+        private static int countParameterMarkers(final String parameter) {
+            int count = 0;
+            for (int i = 0; i < parameter.length(); i++) {
+                if (parameter.charAt(i) == PARAMETER_MARKER) {
+                    count++;
+                }
+            }
+            return count;
         }
     }
 
@@ -334,6 +358,16 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
 
     private static final JdbcDatabaseManagerFactory INSTANCE = new JdbcDatabaseManagerFactory();
 
+    /**
+     * The maximum number of parameters of a multi-row insert statement, some databases accept no more than 2100.
+     */
+    private static final int MAX_MULTI_ROW_PARAMETERS = 2000;
+
+    /**
+     * The maximum number of rows of a multi-row insert statement.
+     */
+    private static final int MAX_MULTI_ROWS = 1000;
+
     private static void appendColumnName(final int i, final String columnName, final StringBuilder sb) {
         if (i > 1) {
             sb.append(',');
@@ -393,13 +427,46 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             final Layout<? extends Serializable> layout, final ConnectionSource connectionSource,
             final String tableName, final ColumnConfig[] columnConfigs, final ColumnMapping[] columnMappings,
             final boolean immediateFail, final long reconnectIntervalMillis, final boolean truncateStrings) {
+        return getManager(name, bufferSize, layout, connectionSource, tableName, columnConfigs, columnMappings,
+                immediateFail, reconnectIntervalMillis, truncateStrings, false, 0, 0);
+    }
+
+    /**
+     * Creates a JDBC manager for use within the {@link JdbcAppender}, or returns a suitable one if it already exists.
+     *
+     * @param name The name of the manager, which should include connection details and hashed passwords where possible.
+     * @param bufferSize The size of the log event buffer.
+     * @param layout The Appender-level layout
+     * @param connectionSource The source for connections to the database.
+     * @param tableName The name of the database table to insert log events into.
+     * @param columnConfigs Configuration information about the log table columns.
+     * @param columnMappings column mapping configuration (including type conversion).
+     * @param immediateFail Whether or not to fail immediately with a {@link AppenderLoggingException} when connecting
+     * to JDBC fails.
+     * @param reconnectIntervalMillis How often to reconnect to the database when a SQL exception is detected.
+     * @param truncateStrings Whether or not to truncate strings to match column metadata.
+     * @param asyncWriter Whether to commit events on a dedicated thread.
+     * @param flushIntervalMillis The maximum time events wait for the asynchronous writer.
+     * @param maxPendingEvents The maximum number of events waiting for the asynchronous writer.
+     * @return a new or existing JDBC manager as applicable.
+     * @since 3.0.0
+     */
+    public static JdbcDatabaseManager getManager(final String name, final int bufferSize,
+            final Layout<? extends Serializable> layout, final ConnectionSource connectionSource,
+            final String tableName, final ColumnConfig[] columnConfigs, final ColumnMapping[] columnMappings,
+            final boolean immediateFail, final long reconnectIntervalMillis, final boolean truncateStrings,
+            final boolean asyncWriter, final long flushIntervalMillis, final int maxPendingEvents) {
         return getManager(name, new FactoryData(bufferSize, layout, connectionSource, tableName, columnConfigs,
-                columnMappings, immediateFail, reconnectIntervalMillis, truncateStrings), getFactory());
+                columnMappings, immediateFail, reconnectIntervalMillis, truncateStrings, asyncWriter,
+                flushIntervalMillis, maxPendingEvents), getFactory());
     }
 
     // NOTE: prepared statements are prepared in this order: column mappings, then column configs
     private final List<ColumnConfig> columnConfigs;
     private final String sqlStatement;
+    private final String sqlInsertPrefix;
+    private final String sqlInsertRow;
+    private final int rowParameterCount;
     private final FactoryData factoryData;
     private volatile Connection connection;
     private volatile PreparedStatement statement;
@@ -407,10 +474,14 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
     private volatile boolean isBatchSupported;
     private volatile Map<String, ResultSetColumnMetaData> columnMetaData;
 
-    private JdbcDatabaseManager(final String name, final String sqlStatement, final List<ColumnConfig> columnConfigs,
-            final FactoryData factoryData) {
-        super(name, factoryData.getBufferSize());
+    private JdbcDatabaseManager(final String name, final String sqlStatement, final int valuesIndex,
+            final int rowParameterCount, final List<ColumnConfig> columnConfigs, final FactoryData factoryData) {
+        super(name, factoryData.getBufferSize(), null, factoryData.asyncWriter, factoryData.flushIntervalMillis,
+                factoryData.maxPendingEvents);
         this.sqlStatement = sqlStatement;
+        this.sqlInsertPrefix = sqlStatement.substring(0, valuesIndex);
+        this.sqlInsertRow = sqlStatement.substring(valuesIndex);
+        this.rowParameterCount = rowParameterCount;
         this.columnConfigs = columnConfigs;
         this.factoryData = factoryData;
     }
@@ -477,7 +548,7 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         final boolean closed = true;
         try {
             if (this.connection != null && !this.connection.isClosed()) {
-                if (isBuffered() && this.isBatchSupported && this.statement != null) {
+                if (isBatched() && this.statement != null) {
                     logger().debug("Executing batch PreparedStatement {}", this.statement);
                     int[] result;
                     try {
@@ -630,6 +701,13 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         return connection == null || connection.isClosed();
     }
 
+    /**
+     * Indicates whether events are added to a JDBC batch executed on commit.
+     */
+    private boolean isBatched() {
+        return (isBuffered() || isAsyncWriter()) && this.isBatchSupported;
+    }
+
     private void reconnectOn(final Exception exception) {
         if (!factoryData.retry) {
             throw new AppenderLoggingException("Cannot connect and prepare", exception);
@@ -651,10 +729,11 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         }
     }
 
-    private void setFields(final MapMessage<?, ?> mapMessage) throws SQLException {
+    private void setFields(final PreparedStatement statement, final int offset, final MapMessage<?, ?> mapMessage)
+            throws SQLException {
         final IndexedReadOnlyStringMap map = mapMessage.getIndexedReadOnlyStringMap();
         final String simpleName = statement.getClass().getName();
-        int j = 1; // JDBC indices start at 1
+        int j = offset + 1; // JDBC indices start at 1
         for (final ColumnMapping mapping : this.factoryData.columnMappings) {
             if (mapping.getLiteralValue() == null) {
                 final String source = mapping.getSource();
@@ -666,7 +745,7 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
                     logger().trace("{} setObject({}, {}) for key '{}' and mapping '{}'", simpleName, j, valueStr, key,
                             mapping.getName());
                 }
-                setStatementObject(j, mapping.getNameKey(), value);
+                setStatementObject(statement, j, mapping.getNameKey(), value);
                 j++;
             }
         }
@@ -675,7 +754,8 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
     /**
      * Sets the given Object in the prepared statement. The value is truncated if needed.
      */
-    private void setStatementObject(final int j, final String nameKey, final Object value) throws SQLException {
+    private void setStatementObject(final PreparedStatement statement, final int j, final String nameKey,
+            final Object value) throws SQLException {
         if (statement == null) {
             throw new AppenderLoggingException("Cannot set a value when the PreparedStatement is null.");
         }
@@ -686,7 +766,7 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             // [LOG4J2-2762] [JDBC] MS-SQL Server JDBC driver throws SQLServerException when
             // inserting a null value for a VARBINARY column.
             // Calling setNull() instead of setObject() for null values fixes [LOG4J2-2762].
-            this.statement.setNull(j, columnMetaData.get(nameKey).getType());
+            statement.setNull(j, columnMetaData.get(nameKey).getType());
         } else {
             statement.setObject(j, truncate(nameKey, value));
         }
@@ -725,9 +805,60 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         return value;
     }
 
+    /**
+     * Sets the parameters of one row, starting after the given number of parameters.
+     */
+    private void setParameters(final PreparedStatement statement, final int offset, final LogEvent event,
+            final Serializable serializable) throws SQLException {
+        if (serializable instanceof MapMessage) {
+            setFields(statement, offset, (MapMessage<?, ?>) serializable);
+        }
+        int j = offset + 1; // JDBC indices start at 1
+        for (final ColumnMapping mapping : this.factoryData.columnMappings) {
+            if (ThreadContextMap.class.isAssignableFrom(mapping.getType())
+                    || ReadOnlyStringMap.class.isAssignableFrom(mapping.getType())) {
+                statement.setObject(j++, event.getContextData().toMap());
+            } else if (ThreadContextStack.class.isAssignableFrom(mapping.getType())) {
+                statement.setObject(j++, event.getContextStack().asList());
+            } else if (Date.class.isAssignableFrom(mapping.getType())) {
+                statement.setObject(j++, DateTypeConverter.fromMillis(event.getTimeMillis(),
+                        mapping.getType().asSubclass(Date.class)));
+            } else {
+                final StringLayout layout = mapping.getLayout();
+                if (layout != null) {
+                    if (Clob.class.isAssignableFrom(mapping.getType())) {
+                        statement.setClob(j++, new StringReader(layout.toSerializable(event)));
+                    } else if (NClob.class.isAssignableFrom(mapping.getType())) {
+                        statement.setNClob(j++, new StringReader(layout.toSerializable(event)));
+                    } else {
+                        final Object value = mapping.getTypeConverter().convert(layout.toSerializable(event), null);
+                        setStatementObject(statement, j++, mapping.getNameKey(), value);
+                    }
+                }
+            }
+        }
+        for (final ColumnConfig column : this.columnConfigs) {
+            if (column.isEventTimestamp()) {
+                statement.setTimestamp(j++, new Timestamp(event.getTimeMillis()));
+            } else if (column.isClob()) {
+                final StringReader reader = new StringReader(column.getLayout().toSerializable(event));
+                if (column.isUnicode()) {
+                    statement.setNClob(j++, reader);
+                } else {
+                    statement.setClob(j++, reader);
+                }
+            } else if (column.isUnicode()) {
+                statement.setNString(j++, Objects.toString(
+                        truncate(column.getColumnNameKey(), column.getLayout().toSerializable(event)), null));
+            } else {
+                statement.setString(j++, Objects.toString(
+                        truncate(column.getColumnNameKey(), column.getLayout().toSerializable(event)), null));
+            }
+        }
+    }
+
     @Override
     protected void writeInternal(final LogEvent event, final Serializable serializable) {
-        StringReader reader = null;
         try {
             if (!this.isRunning() || this.connection == null || this.connection.isClosed() || this.statement == null
                     || this.statement.isClosed()) {
@@ -737,53 +868,9 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             }
             // Clear in case there are leftovers.
             statement.clearParameters();
-            if (serializable instanceof MapMessage) {
-                setFields((MapMessage<?, ?>) serializable);
-            }
-            int j = 1; // JDBC indices start at 1
-            for (final ColumnMapping mapping : this.factoryData.columnMappings) {
-                if (ThreadContextMap.class.isAssignableFrom(mapping.getType())
-                        || ReadOnlyStringMap.class.isAssignableFrom(mapping.getType())) {
-                    this.statement.setObject(j++, event.getContextData().toMap());
-                } else if (ThreadContextStack.class.isAssignableFrom(mapping.getType())) {
-                    this.statement.setObject(j++, event.getContextStack().asList());
-                } else if (Date.class.isAssignableFrom(mapping.getType())) {
-                    this.statement.setObject(j++, DateTypeConverter.fromMillis(event.getTimeMillis(),
-                            mapping.getType().asSubclass(Date.class)));
-                } else {
-                    final StringLayout layout = mapping.getLayout();
-                    if (layout != null) {
-                        if (Clob.class.isAssignableFrom(mapping.getType())) {
-                            this.statement.setClob(j++, new StringReader(layout.toSerializable(event)));
-                        } else if (NClob.class.isAssignableFrom(mapping.getType())) {
-                            this.statement.setNClob(j++, new StringReader(layout.toSerializable(event)));
-                        } else {
-                            final Object value = mapping.getTypeConverter().convert(layout.toSerializable(event), null);
-                            setStatementObject(j++, mapping.getNameKey(), value);
-                        }
-                    }
-                }
-            }
-            for (final ColumnConfig column : this.columnConfigs) {
-                if (column.isEventTimestamp()) {
-                    this.statement.setTimestamp(j++, new Timestamp(event.getTimeMillis()));
-                } else if (column.isClob()) {
-                    reader = new StringReader(column.getLayout().toSerializable(event));
-                    if (column.isUnicode()) {
-                        this.statement.setNClob(j++, reader);
-                    } else {
-                        this.statement.setClob(j++, reader);
-                    }
-                } else if (column.isUnicode()) {
-                    this.statement.setNString(j++, Objects.toString(
-                            truncate(column.getColumnNameKey(), column.getLayout().toSerializable(event)), null));
-                } else {
-                    this.statement.setString(j++, Objects.toString(
-                            truncate(column.getColumnNameKey(), column.getLayout().toSerializable(event)), null));
-                }
-            }
+            setParameters(statement, 0, event, serializable);
 
-            if (isBuffered() && this.isBatchSupported) {
+            if (isBatched()) {
                 logger().debug("addBatch for {}", this.statement);
                 this.statement.addBatch();
             } else {
@@ -807,7 +894,61 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             } catch (final SQLException e) {
                 // Ignore
             }
-            Closer.closeSilently(reader);
+        }
+    }
+
+    /**
+     * Serializes the event with the layout of the appender, which is not passed to the base manager, so that
+     * {@link MapMessage} fields reach the column mappings when events are written by the asynchronous writer.
+     */
+    @Override
+    protected Serializable toSerializable(final LogEvent event) {
+        final Layout<? extends Serializable> layout = factoryData.getLayout();
+        return layout != null ? layout.toSerializable(event) : null;
+    }
+
+    /**
+     * Inserts several events with a single statement when the driver does not support batch updates.
+     */
+    @Override
+    protected void writeBuffered(final List<LogEvent> events) {
+        if (this.isBatchSupported || events.size() < 2) {
+            super.writeBuffered(events);
+            return;
+        }
+        if (!this.isRunning() || this.connection == null) {
+            throw new AppenderLoggingException(
+                    "Cannot write logging events; JDBC manager not connected to the database, running=%s, [%s]).",
+                    isRunning(), fieldsToString());
+        }
+        final int maxRows = Math.min(MAX_MULTI_ROWS,
+                Math.max(1, MAX_MULTI_ROW_PARAMETERS / Math.max(1, rowParameterCount)));
+        for (int from = 0; from < events.size(); from += maxRows) {
+            final int rows = Math.min(maxRows, events.size() - from);
+            final StringBuilder sb = new StringBuilder(sqlInsertPrefix.length() + rows * (sqlInsertRow.length() + 1));
+            sb.append(sqlInsertPrefix);
+            for (int row = 0; row < rows; row++) {
+                if (row > 0) {
+                    sb.append(',');
+                }
+                sb.append(sqlInsertRow);
+            }
+            try (final PreparedStatement multiRowStatement = this.connection.prepareStatement(sb.toString())) {
+                for (int row = 0; row < rows; row++) {
+                    final LogEvent event = events.get(from + row);
+                    setParameters(multiRowStatement, row * rowParameterCount, event, toSerializable(event));
+                }
+                final int executeUpdate = multiRowStatement.executeUpdate();
+                logger().debug("executeUpdate = {} for {} rows", executeUpdate, rows);
+                if (executeUpdate == 0) {
+                    throw new AppenderLoggingException(
+                            "No records inserted in database table for log events in JDBC manager [%s].",
+                            fieldsToString());
+                }
+            } catch (final SQLException e) {
+                throw new DbAppenderLoggingException(e,
+                        "Failed to insert records for log events in JDBC manager: %s [%s]", e, fieldsToString());
+            }
         }
     }
 
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.jdbc.appender;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.db.ColumnMapping;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.MessageLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.message.StringMapMessage;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests {@link JdbcAppender} with an asynchronous writer.
+ */
+public class JdbcAppenderAsyncWriterTest {
+
+    private final List<String> preparedStatements = new CopyOnWriteArrayList<>();
+
+    private volatile boolean batchSupported = true;
+
+    /**
+     * Connections reporting whether batch updates are supported according to {@link #batchSupported} and recording
+     * the statements they prepare.
+     */
+    private final ConnectionSource connectionSource = new AbstractConnectionSource() {
+        @Override
+        public Connection getConnection() throws SQLException {
+            final Connection connection = JdbcH2TestHelper.getConnectionInMemory();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement")) {
+                            preparedStatements.add((String) args[0]);
+                        }
+                        try {
+                            final Object result = method.invoke(connection, args);
+                            if (result instanceof DatabaseMetaData) {
+                                final DatabaseMetaData metaData = (DatabaseMetaData) result;
+                                return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                        new Class<?>[] {DatabaseMetaData.class}, (mdProxy, mdMethod, mdArgs) ->
+                                                mdMethod.getName().equals("supportsBatchUpdates")
+                                                        ? batchSupported
+                                                        : mdMethod.invoke(metaData, mdArgs));
+                            }
+                            return result;
+                        } catch (final InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    };
+
+    @Rule
+    public final JdbcRule jdbcRule = new JdbcRule(connectionSource,
+            "CREATE TABLE asyncLogEntry (id INTEGER IDENTITY, message VARCHAR(255))",
+            "DROP TABLE asyncLogEntry");
+
+    @Test
+    public void testEventsAreCommittedInGroups() throws Exception {
+        final JdbcAppender appender = createAppender(10, 60_000);
+        final JdbcDatabaseManager manager = appender.getManager();
+        for (int i = 0; i < 25; i++) {
+            appender.append(createLogEvent(i));
+        }
+        waitFor(() -> manager.getCommittedEventCount() == 20);
+        assertEquals(20, readMessages().size());
+        assertTrue(appender.stop(10, TimeUnit.SECONDS));
+        assertEquals(expectedMessages(25), readMessages());
+        assertEquals(3, manager.getCommitCount());
+        assertEquals(25, manager.getCommittedEventCount());
+        assertEquals(0, manager.getFailedEventCount());
+        assertTrue(manager.getMaxCommitLatencyNanos() > 0);
+        assertTrue(manager.getAverageCommitLatencyNanos() <= manager.getMaxCommitLatencyNanos());
+    }
+
+    @Test
+    public void testEventsAreCommittedAfterFlushInterval() throws Exception {
+        final JdbcAppender appender = createAppender(1000, 50);
+        try {
+            for (int i = 0; i < 3; i++) {
+                appender.append(createLogEvent(i));
+            }
+            waitFor(() -> appender.getManager().getCommittedEventCount() == 3);
+            assertEquals(expectedMessages(3), readMessages());
+        } finally {
+            appender.stop(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testFlushWaitsForPendingEvents() throws Exception {
+        final JdbcAppender appender = createAppender(1000, 60_000);
+        try {
+            for (int i = 0; i < 3; i++) {
+                appender.append(createLogEvent(i));
+            }
+            appender.getManager().flush();
+            assertEquals(expectedMessages(3), readMessages());
+        } finally {
+            appender.stop(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testMultiRowInsertWithoutBatchSupport() throws Exception {
+        batchSupported = false;
+        final JdbcAppender appender = createAppender(5, 60_000);
+        for (int i = 0; i < 5; i++) {
+            appender.append(createLogEvent(i));
+        }
+        assertTrue(appender.stop(10, TimeUnit.SECONDS));
+        assertEquals(expectedMessages(5), readMessages());
+        assertTrue(preparedStatements.toString(), preparedStatements.stream()
+                .anyMatch(sql -> sql.endsWith("values (?),(?),(?),(?),(?)")));
+    }
+
+    @Test
+    public void testMultiRowInsertOfMapMessages() throws Exception {
+        batchSupported = false;
+        final DefaultConfiguration configuration = new DefaultConfiguration();
+        final JdbcAppender appender = JdbcAppender.newBuilder()
+                .setName("AsyncJdbc")
+                .setConfiguration(configuration)
+                .setConnectionSource(connectionSource)
+                .setTableName("asyncLogEntry")
+                .setColumnConfigs()
+                .setColumnMappings(ColumnMapping.newBuilder()
+                        .setConfiguration(configuration)
+                        .setName("message")
+                        .build())
+                .setLayout(new MessageLayout())
+                .setBufferSize(5)
+                .setAsyncWriter(true)
+                .setFlushIntervalMillis(60_000)
+                .build();
+        appender.start();
+        for (int i = 0; i < 5; i++) {
+            appender.append(Log4jLogEvent.newBuilder()
+                    .setLoggerName(JdbcAppenderAsyncWriterTest.class.getName())
+                    .setLevel(Level.INFO)
+                    .setMessage(new StringMapMessage().with("message", "message-" + i))
+                    .build());
+        }
+        assertTrue(appender.stop(10, TimeUnit.SECONDS));
+        assertEquals(expectedMessages(5), readMessages());
+        assertTrue(preparedStatements.toString(), preparedStatements.stream()
+                .anyMatch(sql -> sql.endsWith("values (?),(?),(?),(?),(?)")));
+    }
+
+    private JdbcAppender createAppender(final int bufferSize, final long flushIntervalMillis) {
+        final DefaultConfiguration configuration = new DefaultConfiguration();
+        final JdbcAppender appender = JdbcAppender.newBuilder()
+                .setName("AsyncJdbc")
+                .setConfiguration(configuration)
+                .setConnectionSource(connectionSource)
+                .setTableName("asyncLogEntry")
+                .setColumnConfigs(ColumnConfig.newBuilder()
+                        .setConfiguration(configuration)
+                        .setName("message")
+                        .setPattern("%m")
+                        .build())
+                .setColumnMappings()
+                .setBufferSize(bufferSize)
+                .setAsyncWriter(true)
+                .setFlushIntervalMillis(flushIntervalMillis)
+                .build();
+        appender.start();
+        return appender;
+    }
+
+    private static LogEvent createLogEvent(final int index) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(JdbcAppenderAsyncWriterTest.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("message-" + index))
+                .build();
+    }
+
+    private static List<String> expectedMessages(final int count) {
+        final List<String> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add("message-" + i);
+        }
+        return messages;
+    }
+
+    private List<String> readMessages() throws SQLException {
+        final List<String> messages = new ArrayList<>();
+        try (final Connection connection = jdbcRule.getConnection();
+                final Statement statement = connection.createStatement();
+                final ResultSet resultSet = statement.executeQuery("SELECT message FROM asyncLogEntry ORDER BY id")) {
+            while (resultSet.next()) {
+                messages.add(resultSet.getString("message"));
+            }
+        }
+        return messages;
+    }
+
+    private static void waitFor(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
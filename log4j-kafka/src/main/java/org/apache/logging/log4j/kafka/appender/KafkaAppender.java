@@ -66,6 +66,18 @@ public final class KafkaAppender extends AbstractAppender {
         @PluginAttribute(value = "eventTimestamp", defaultBoolean = true)
         private boolean sendEventTimestamp;
 
+        @PluginAttribute
+        private boolean pipelined;
+
+        @PluginAttribute(defaultInt = DEFAULT_BUFFER_SIZE)
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+        @PluginAttribute(defaultLong = DEFAULT_MAX_IN_FLIGHT_BYTES)
+        private long maxInFlightBytes = DEFAULT_MAX_IN_FLIGHT_BYTES;
+
+        @PluginAttribute
+        private DropPolicy dropPolicy = DropPolicy.BLOCK;
+
         @SuppressWarnings("resource")
         @Override
         public KafkaAppender build() {
@@ -74,9 +86,31 @@ public final class KafkaAppender extends AbstractAppender {
                 AbstractLifeCycle.LOGGER.error("No layout provided for KafkaAppender");
                 return null;
             }
+            if (pipelined && bufferSize <= 0) {
+                AbstractLifeCycle.LOGGER.error("Invalid bufferSize {} for KafkaAppender {}", bufferSize, getName());
+                return null;
+            }
+            if (pipelined && maxInFlightBytes <= 0) {
+                AbstractLifeCycle.LOGGER.error("Invalid maxInFlightBytes {} for KafkaAppender {}", maxInFlightBytes,
+                        getName());
+                return null;
+            }
             final KafkaManager kafkaManager = KafkaManager.getManager(getConfiguration().getLoggerContext(),
-                    getName(), topic, syncSend, sendEventTimestamp, getPropertyArray(), key, retryCount);
-            return new KafkaAppender(getName(), layout, getFilter(), isIgnoreExceptions(), getPropertyArray(), kafkaManager);
+                    getName(), topic, syncSend, sendEventTimestamp, getPropertyArray(), key, retryCount, pipelined);
+            return new KafkaAppender(getName(), layout, getFilter(), isIgnoreExceptions(), getPropertyArray(),
+                    kafkaManager, bufferSize, maxInFlightBytes, dropPolicy == null ? DropPolicy.BLOCK : dropPolicy);
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public DropPolicy getDropPolicy() {
+            return dropPolicy;
+        }
+
+        public long getMaxInFlightBytes() {
+            return maxInFlightBytes;
         }
 
         public Integer getRetryCount() {
@@ -101,11 +135,35 @@ public final class KafkaAppender extends AbstractAppender {
             return syncSend;
         }
 
+        public boolean isPipelined() {
+            return pipelined;
+        }
+
+        public B setBufferSize(final int bufferSize) {
+            this.bufferSize = bufferSize;
+            return asBuilder();
+        }
+
+        public B setDropPolicy(final DropPolicy dropPolicy) {
+            this.dropPolicy = dropPolicy;
+            return asBuilder();
+        }
+
         public B setKey(final String key) {
             this.key = key;
             return asBuilder();
         }
 
+        public B setMaxInFlightBytes(final long maxInFlightBytes) {
+            this.maxInFlightBytes = maxInFlightBytes;
+            return asBuilder();
+        }
+
+        public B setPipelined(final boolean pipelined) {
+            this.pipelined = pipelined;
+            return asBuilder();
+        }
+
         public B setRetryCount(final String retryCount) {
             this.retryCount = retryCount;
             return asBuilder();
@@ -127,6 +185,26 @@ public final class KafkaAppender extends AbstractAppender {
         }
     }
 
+    /**
+     * Determines what a pipelined KafkaAppender does when its queue is full or the bytes awaiting acknowledgement
+     * from Kafka have reached {@code maxInFlightBytes}.
+     *
+     * @since 3.0.0
+     */
+    public enum DropPolicy {
+
+        /** Blocks the logging thread until there is room again. */
+        BLOCK,
+
+        /** Drops the record and counts it in {@link KafkaAppenderMetrics#getDroppedCount()}. */
+        DROP
+
+    }
+
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 32L * 1024 * 1024;
+
     private static final String[] KAFKA_CLIENT_PACKAGES = new String[] { "org.apache.kafka.common", "org.apache.kafka.clients" };
 
     /**
@@ -151,10 +229,22 @@ public final class KafkaAppender extends AbstractAppender {
 
     private final KafkaManager manager;
 
+    private final KafkaAppenderMetrics metrics = new KafkaAppenderMetrics();
+
+    private final KafkaSendPipeline pipeline;
+
     private KafkaAppender(final String name, final Layout<? extends Serializable> layout, final Filter filter,
-            final boolean ignoreExceptions, Property[] properties, final KafkaManager manager) {
+            final boolean ignoreExceptions, Property[] properties, final KafkaManager manager, final int bufferSize,
+            final long maxInFlightBytes, final DropPolicy dropPolicy) {
         super(name, filter, layout, ignoreExceptions, properties);
         this.manager = Objects.requireNonNull(manager, "manager");
+        if (manager.isPipelined()) {
+            this.pipeline = new KafkaSendPipeline(name, layout, manager, bufferSize, maxInFlightBytes, dropPolicy,
+                    metrics);
+            metrics.bind(pipeline);
+        } else {
+            this.pipeline = null;
+        }
     }
 
     @Override
@@ -163,6 +253,10 @@ public final class KafkaAppender extends AbstractAppender {
             LOGGER.warn("Recursive logging from [{}] for appender [{}].", event.getLoggerName(), getName());
         } else {
             try {
+                if (pipeline != null) {
+                    pipeline.enqueue(event);
+                    return;
+                }
                 tryAppend(event);
             } catch (final Exception e) {
                 error("Unable to write to Kafka in appender [" + getName() + "]", event, e);
@@ -174,17 +268,38 @@ public final class KafkaAppender extends AbstractAppender {
     public void start() {
         super.start();
         manager.startup();
+        if (pipeline != null) {
+            pipeline.start();
+        }
     }
 
     @Override
     public boolean stop(final long timeout, final TimeUnit timeUnit) {
         setStopping();
         boolean stopped = super.stop(timeout, timeUnit, false);
+        if (pipeline != null) {
+            try {
+                pipeline.stop(timeout > 0 ? timeUnit.toMillis(timeout) : manager.getTimeoutMillis());
+            } catch (final InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+                stopped = false;
+            }
+        }
         stopped &= manager.stop(timeout, timeUnit);
         setStopped();
         return stopped;
     }
 
+    /**
+     * Returns the send statistics of this appender, which are only maintained in pipelined mode.
+     *
+     * @return the send statistics of this appender
+     * @since 3.0.0
+     */
+    public KafkaAppenderMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public String toString() {
         return "KafkaAppender{" + "name=" + getName() + ", state=" + getState() + ", topic=" + manager.getTopic() + '}';
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.kafka.appender;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Send statistics of a single {@link KafkaAppender} running in pipelined mode.
+ *
+ * @since 3.0.0
+ */
+public final class KafkaAppenderMetrics {
+
+    private final LongAdder sentCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final LongAdder totalSendLatencyNanos = new LongAdder();
+
+    private final AtomicLong maxSendLatencyNanos = new AtomicLong();
+
+    private volatile LongSupplier inFlightBytesSupplier = () -> 0L;
+
+    private volatile LongSupplier queuedEventCountSupplier = () -> 0L;
+
+    KafkaAppenderMetrics() {
+    }
+
+    void bind(final KafkaSendPipeline pipeline) {
+        this.inFlightBytesSupplier = pipeline::getInFlightBytes;
+        this.queuedEventCountSupplier = pipeline::getQueuedEventCount;
+    }
+
+    void recordSent(final long latencyNanos) {
+        sentCount.increment();
+        totalSendLatencyNanos.add(latencyNanos);
+        maxSendLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    void recordFailed() {
+        failedCount.increment();
+    }
+
+    void recordDropped() {
+        droppedCount.increment();
+    }
+
+    /**
+     * @return the number of records acknowledged by Kafka
+     */
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    /**
+     * @return the number of records that could not be serialized or were rejected by Kafka
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * @return the number of records dropped due to a full queue or an exhausted in-flight budget
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * @return the average time between handing a record to the producer and its acknowledgement, in nanoseconds
+     */
+    public long getAverageSendLatencyNanos() {
+        final long count = sentCount.sum();
+        return count == 0 ? 0 : totalSendLatencyNanos.sum() / count;
+    }
+
+    /**
+     * @return the longest time between handing a record to the producer and its acknowledgement, in nanoseconds
+     */
+    public long getMaxSendLatencyNanos() {
+        return maxSendLatencyNanos.get();
+    }
+
+    /**
+     * @return the number of serialized bytes sent but not yet acknowledged
+     */
+    public long getInFlightBytes() {
+        return inFlightBytesSupplier.getAsLong();
+    }
+
+    /**
+     * @return the number of events waiting to be serialized
+     */
+    public long getQueuedEventCount() {
+        return queuedEventCountSupplier.getAsLong();
+    }
+
+    @Override
+    public String toString() {
+        return "KafkaAppenderMetrics{" + "sent=" + getSentCount() + ", failed=" + getFailedCount() + ", dropped="
+                + getDroppedCount() + ", averageSendLatencyNanos=" + getAverageSendLatencyNanos()
+                + ", maxSendLatencyNanos=" + getMaxSendLatencyNanos() + ", inFlightBytes=" + getInFlightBytes()
+                + ", queuedEvents=" + getQueuedEventCount() + '}';
+    }
+
+}
@@ -52,6 +52,7 @@ public class KafkaManager extends AbstractManager {
     private final String key;
     private final boolean syncSend;
     private final boolean sendTimestamp;
+    private final boolean pipelined;
 
     private static final KafkaManagerFactory factory = new KafkaManagerFactory();
 
@@ -59,14 +60,19 @@ public class KafkaManager extends AbstractManager {
      * The Constructor should have been declared private as all Managers are create by the internal factory;
      */
     private KafkaManager(final LoggerContext loggerContext, final String name, final String topic, final boolean syncSend,
-            final boolean sendTimestamp, final Property[] properties, final String key, final String retryCount) {
+            final boolean sendTimestamp, final Property[] properties, final String key, final String retryCount,
+            final boolean pipelined) {
         super(loggerContext, name);
         this.topic = Objects.requireNonNull(topic, "topic");
         this.syncSend = syncSend;
         this.sendTimestamp = sendTimestamp;
+        this.pipelined = pipelined;
         config.setProperty("key.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
         config.setProperty("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
-        config.setProperty("batch.size", "0");
+        if (!pipelined) {
+            // The pipeline keeps records in flight concurrently, so it benefits from the producer's own batching.
+            config.setProperty("batch.size", "0");
+        }
 
         if(retryCount!=null) {
         	try {
@@ -119,20 +125,7 @@ public class KafkaManager extends AbstractManager {
 
     public void send(final byte[] msg, final Long eventTimestamp) throws ExecutionException, InterruptedException, TimeoutException {
         if (producer != null) {
-            byte[] newKey = null;
-            Long timestamp = null;
-
-            if(key != null && key.contains("${")) {
-                newKey = getLoggerContext().getConfiguration().getStrSubstitutor().replace(key).getBytes(StandardCharsets.UTF_8);
-            } else if (key != null) {
-                newKey = key.getBytes(StandardCharsets.UTF_8);
-            }
-
-            if(sendTimestamp) {
-                timestamp = eventTimestamp;
-            }
-
-            final ProducerRecord<byte[], byte[]> newRecord = new ProducerRecord<>(topic, null, timestamp, newKey, msg);
+            final ProducerRecord<byte[], byte[]> newRecord = createRecord(msg, eventTimestamp);
             if (syncSend) {
                 final Future<RecordMetadata> response = producer.send(newRecord);
                 response.get(timeoutMillis, TimeUnit.MILLISECONDS);
@@ -146,6 +139,41 @@ public class KafkaManager extends AbstractManager {
         }
     }
 
+    /**
+     * Sends a record asynchronously regardless of the {@code syncSend} setting, leaving error handling to the caller.
+     *
+     * @param msg The serialized event.
+     * @param eventTimestamp The event timestamp.
+     * @param callback Invoked once the record has been acknowledged or has failed.
+     * @return {@code false} if the producer has not been started, in which case the callback will not be invoked.
+     */
+    // The outcome of the record is fully handled by the callback.
+    @SuppressWarnings("FutureReturnValueIgnored")
+    public boolean send(final byte[] msg, final Long eventTimestamp, final Callback callback) {
+        if (producer == null) {
+            return false;
+        }
+        producer.send(createRecord(msg, eventTimestamp), callback);
+        return true;
+    }
+
+    private ProducerRecord<byte[], byte[]> createRecord(final byte[] msg, final Long eventTimestamp) {
+        byte[] newKey = null;
+        Long timestamp = null;
+
+        if(key != null && key.contains("${")) {
+            newKey = getLoggerContext().getConfiguration().getStrSubstitutor().replace(key).getBytes(StandardCharsets.UTF_8);
+        } else if (key != null) {
+            newKey = key.getBytes(StandardCharsets.UTF_8);
+        }
+
+        if(sendTimestamp) {
+            timestamp = eventTimestamp;
+        }
+
+        return new ProducerRecord<>(topic, null, timestamp, newKey, msg);
+    }
+
     public void startup() {
         if (producer == null) {
             producer = producerFactory.newKafkaProducer(config);
@@ -156,16 +184,30 @@ public class KafkaManager extends AbstractManager {
         return topic;
     }
 
+    public int getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
     public static KafkaManager getManager(final LoggerContext loggerContext, final String name, final String topic,
             final boolean syncSend, final boolean sendTimestamp, final Property[] properties, final String key,
             final String retryCount) {
+        return getManager(loggerContext, name, topic, syncSend, sendTimestamp, properties, key, retryCount, false);
+    }
+
+    public static KafkaManager getManager(final LoggerContext loggerContext, final String name, final String topic,
+            final boolean syncSend, final boolean sendTimestamp, final Property[] properties, final String key,
+            final String retryCount, final boolean pipelined) {
         StringBuilder sb = new StringBuilder(name);
-        sb.append(" ").append(topic).append(" ").append(syncSend + "");
+        sb.append(" ").append(topic).append(" ").append(syncSend + "").append(" ").append(pipelined + "");
         for (Property prop: properties) {
             sb.append(" ").append(prop.getName()).append("=").append(prop.getValue());
         }
         return getManager(sb.toString(), factory, new FactoryData(loggerContext, topic, syncSend, sendTimestamp,
-                properties, key, retryCount));
+                properties, key, retryCount, pipelined));
     }
 
     private static class FactoryData {
@@ -176,9 +218,11 @@ public class KafkaManager extends AbstractManager {
         private final Property[] properties;
         private final String key;
         private final String retryCount;
+        private final boolean pipelined;
 
         public FactoryData(final LoggerContext loggerContext, final String topic, final boolean syncSend,
-                final boolean sendTimestamp, final Property[] properties, final String key, final String retryCount) {
+                final boolean sendTimestamp, final Property[] properties, final String key, final String retryCount,
+                final boolean pipelined) {
             this.loggerContext = loggerContext;
             this.topic = topic;
             this.syncSend = syncSend;
@@ -186,6 +230,7 @@ public class KafkaManager extends AbstractManager {
             this.properties = properties;
             this.key = key;
             this.retryCount = retryCount;
+            this.pipelined = pipelined;
         }
 
     }
@@ -194,7 +239,7 @@ public class KafkaManager extends AbstractManager {
         @Override
         public KafkaManager createManager(String name, FactoryData data) {
             return new KafkaManager(data.loggerContext, name, data.topic, data.syncSend, data.sendTimestamp,
-                    data.properties, data.key, data.retryCount);
+                    data.properties, data.key, data.retryCount, data.pipelined);
         }
     }
 
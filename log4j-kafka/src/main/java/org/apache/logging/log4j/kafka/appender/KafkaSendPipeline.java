@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.kafka.appender;
+
+import java.io.Serializable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.util.Log4jThread;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * Moves serialization and sending of Kafka records off the logging thread.
+ * <p>
+ * Events are copied into a bounded queue by the caller, serialized by this thread, and handed over to the producer
+ * asynchronously. The number of serialized bytes that have been sent but not yet acknowledged is bounded by
+ * {@code maxInFlightBytes}; once either the queue or the in-flight budget is exhausted, the
+ * {@link KafkaAppender.DropPolicy} decides whether callers are blocked or records are dropped.
+ * </p>
+ */
+class KafkaSendPipeline extends Log4jThread {
+
+    private static final LogEvent STOP_EVENT = new Log4jLogEvent();
+
+    private static final AtomicLong THREAD_COUNTER = new AtomicLong(0);
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private final String appenderName;
+
+    private final Layout<? extends Serializable> layout;
+
+    private final boolean includeLocation;
+
+    private final KafkaManager manager;
+
+    private final BlockingQueue<LogEvent> queue;
+
+    private final long maxInFlightBytes;
+
+    private final KafkaAppender.DropPolicy dropPolicy;
+
+    private final KafkaAppenderMetrics metrics;
+
+    private final Lock inFlightLock = new ReentrantLock();
+
+    private final Condition inFlightReleased = inFlightLock.newCondition();
+
+    // guarded by inFlightLock
+    private long inFlightBytes;
+
+    private final AtomicBoolean stoppedRef = new AtomicBoolean();
+
+    KafkaSendPipeline(
+            final String appenderName,
+            final Layout<? extends Serializable> layout,
+            final KafkaManager manager,
+            final int bufferSize,
+            final long maxInFlightBytes,
+            final KafkaAppender.DropPolicy dropPolicy,
+            final KafkaAppenderMetrics metrics) {
+        super("KafkaSendPipeline-" + THREAD_COUNTER.incrementAndGet() + "-" + appenderName);
+        this.setDaemon(true);
+        this.appenderName = appenderName;
+        this.layout = layout;
+        this.includeLocation = layout.requiresLocation();
+        this.manager = manager;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.dropPolicy = dropPolicy;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Queues a copy of the given event for sending, either blocking or dropping the event when the queue is full.
+     * Events are dropped once the pipeline has been stopped.
+     *
+     * @return {@code true} if the event was queued
+     */
+    boolean enqueue(final LogEvent event) {
+        if (stoppedRef.get()) {
+            metrics.recordDropped();
+            return false;
+        }
+        final Log4jLogEvent memento = Log4jLogEvent.createMemento(event, includeLocation);
+        if (queue.offer(memento)) {
+            return checkQueued(memento);
+        }
+        if (dropPolicy == KafkaAppender.DropPolicy.BLOCK && !stoppedRef.get()) {
+            try {
+                queue.put(memento);
+                return checkQueued(memento);
+            } catch (final InterruptedException ignored) {
+                // Restore the interrupted flag cleared when the exception is caught.
+                Thread.currentThread().interrupt();
+            }
+        }
+        metrics.recordDropped();
+        return false;
+    }
+
+    /**
+     * Takes back an event that was queued after the pipeline thread sent the last events, because the pipeline was
+     * stopped meanwhile.
+     *
+     * @return {@code true} if the event will be sent
+     */
+    private boolean checkQueued(final LogEvent memento) {
+        if (stoppedRef.get() && !isAlive() && queue.remove(memento)) {
+            metrics.recordDropped();
+            return false;
+        }
+        return true;
+    }
+
+    int getQueuedEventCount() {
+        return queue.size();
+    }
+
+    long getInFlightBytes() {
+        inFlightLock.lock();
+        try {
+            return inFlightBytes;
+        } finally {
+            inFlightLock.unlock();
+        }
+    }
+
+    @Override
+    public void run() {
+        LOGGER.trace("{} has started.", getName());
+        while (!stoppedRef.get()) {
+            final LogEvent event;
+            try {
+                event = queue.take();
+            } catch (final InterruptedException ignored) {
+                // Restore the interrupted flag cleared when the exception is caught.
+                interrupt();
+                break;
+            }
+            if (event == STOP_EVENT) {
+                break;
+            }
+            send(event);
+        }
+        sendRemaining();
+        LOGGER.trace("{} has stopped.", getName());
+    }
+
+    private void sendRemaining() {
+        if (isInterrupted()) {
+            // Waiting for the in-flight budget would fail for every event.
+            LOGGER.trace("{} has dropped the last {} remaining event(s).", getName(), dropRemaining());
+            return;
+        }
+        int eventCount = 0;
+        LogEvent event;
+        // Note the non-blocking Queue#poll() method!
+        while ((event = queue.poll()) != null) {
+            // Allow events that managed to be submitted after the sentinel.
+            if (event != STOP_EVENT) {
+                send(event);
+                eventCount++;
+            }
+        }
+        LOGGER.trace("{} has sent the last {} remaining event(s).", getName(), eventCount);
+    }
+
+    /**
+     * Removes the queued events without sending them, counting them as dropped.
+     *
+     * @return the number of dropped events
+     */
+    private int dropRemaining() {
+        int eventCount = 0;
+        LogEvent event;
+        while ((event = queue.poll()) != null) {
+            if (event != STOP_EVENT) {
+                metrics.recordDropped();
+                eventCount++;
+            }
+        }
+        return eventCount;
+    }
+
+    private void send(final LogEvent event) {
+        final byte[] data;
+        try {
+            data = layout.toByteArray(event);
+        } catch (final Exception error) {
+            LOGGER.error("Unable to serialize event for Kafka in appender [{}]", appenderName, error);
+            metrics.recordFailed();
+            return;
+        }
+        final int size = data.length;
+        if (!acquire(size)) {
+            metrics.recordDropped();
+            return;
+        }
+        final long startNanos = System.nanoTime();
+        try {
+            final boolean sent = manager.send(data, event.getTimeMillis(), (metadata, error) -> {
+                release(size);
+                if (error != null) {
+                    metrics.recordFailed();
+                    LOGGER.error("Unable to write to Kafka in appender [{}]", appenderName, error);
+                } else {
+                    metrics.recordSent(System.nanoTime() - startNanos);
+                }
+            });
+            if (!sent) {
+                release(size);
+                metrics.recordDropped();
+            }
+        } catch (final Exception error) {
+            // Producer#send() throws instead of invoking the callback for errors detected up front.
+            release(size);
+            metrics.recordFailed();
+            LOGGER.error("Unable to write to Kafka in appender [{}]", appenderName, error);
+        }
+    }
+
+    /**
+     * Reserves {@code size} bytes of the in-flight budget. A record larger than the whole budget is let through once
+     * nothing else is in flight, so that it cannot stall the pipeline forever.
+     *
+     * @return {@code false} if the record must be dropped
+     */
+    private boolean acquire(final int size) {
+        inFlightLock.lock();
+        try {
+            while (inFlightBytes > 0 && inFlightBytes + size > maxInFlightBytes) {
+                if (dropPolicy == KafkaAppender.DropPolicy.DROP) {
+                    return false;
+                }
+                try {
+                    inFlightReleased.await();
+                } catch (final InterruptedException ignored) {
+                    // Restore the interrupted flag cleared when the exception is caught.
+                    interrupt();
+                    return false;
+                }
+            }
+            inFlightBytes += size;
+            return true;
+        } finally {
+            inFlightLock.unlock();
+        }
+    }
+
+    private void release(final int size) {
+        inFlightLock.lock();
+        try {
+            inFlightBytes -= size;
+            inFlightReleased.signalAll();
+        } finally {
+            inFlightLock.unlock();
+        }
+    }
+
+    void stop(final long timeoutMillis) throws InterruptedException {
+
+        // Mark the completion, if necessary.
+        final boolean stopped = stoppedRef.compareAndSet(false, true);
+        if (stopped) {
+            LOGGER.trace("{} is signaled to stop.", getName());
+        }
+
+        // The thread is not started if the appender was never started or failed to start.
+        if (getState() == State.NEW) {
+            final int eventCount = dropRemaining();
+            if (eventCount > 0) {
+                LOGGER.warn("Dropped {} event(s) queued in the unstarted KafkaAppender [{}]", eventCount,
+                        appenderName);
+            }
+            return;
+        }
+
+        // Prefer the stop event over interruption, which could abort sends in progress.
+        final boolean added = queue.offer(STOP_EVENT);
+        if (!added) {
+            interrupt();
+        }
+
+        // Wait for the completion.
+        join(timeoutMillis);
+
+        // Events queued after the thread sent the last ones are not sent anymore.
+        if (!isAlive()) {
+            dropRemaining();
+        }
+
+    }
+
+}
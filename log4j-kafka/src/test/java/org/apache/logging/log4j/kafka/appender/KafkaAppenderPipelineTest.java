@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.kafka.appender;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.core.test.categories.Appenders;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.experimental.categories.Category;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the pipelined mode of {@link KafkaAppender} against a {@link MockProducer} which only acknowledges records
+ * when told to.
+ */
+@Category(Appenders.Kafka.class)
+class KafkaAppenderPipelineTest {
+
+    private static final MockProducer<byte[], byte[]> kafka = new MockProducer<byte[], byte[]>(false, null, null) {
+
+        @Override
+        public void close(final long timeout, final TimeUnit timeUnit) {
+        }
+
+    };
+
+    private static final String LOG_MESSAGE = "Hello, world!";
+
+    private static final String TOPIC_NAME = "kafka-topic";
+
+    // The producer factory must be replaced before the appenders start, so each test gets its own logger context.
+    private static final String CONFIG = "KafkaAppenderPipelineTest.xml";
+
+    private static KafkaProducerFactory originalProducerFactory;
+
+    @BeforeAll
+    static void setUpClass() {
+        originalProducerFactory = KafkaManager.producerFactory;
+        KafkaManager.producerFactory = new KafkaProducerFactory() {
+            @Override
+            public Producer<byte[], byte[]> newKafkaProducer(final Properties config) {
+                return kafka;
+            }
+        };
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        KafkaManager.producerFactory = originalProducerFactory;
+    }
+
+    @BeforeEach
+    void setUp() {
+        kafka.flush();
+        kafka.clear();
+    }
+
+    private static LogEvent createLogEvent() {
+        return Log4jLogEvent.newBuilder()
+            .setLoggerName(KafkaAppenderPipelineTest.class.getName())
+            .setLoggerFqcn(KafkaAppenderPipelineTest.class.getName())
+            .setLevel(Level.INFO)
+            .setMessage(new SimpleMessage(LOG_MESSAGE))
+            .build();
+    }
+
+    @Test
+    @LoggerContextSource(CONFIG)
+    void events_are_sent_in_the_background(@Named("PipelinedKafkaAppender") final KafkaAppender appender)
+            throws InterruptedException {
+        final int eventCount = 10;
+        for (int i = 0; i < eventCount; i++) {
+            appender.append(createLogEvent());
+        }
+        final KafkaAppenderMetrics metrics = appender.getMetrics();
+        awaitUntil(() -> kafka.history().size() == eventCount);
+        assertEquals(eventCount * LOG_MESSAGE.length(), metrics.getInFlightBytes());
+        assertEquals(0, metrics.getSentCount());
+
+        kafka.flush();
+        assertEquals(eventCount, metrics.getSentCount());
+        assertEquals(0, metrics.getInFlightBytes());
+        assertEquals(0, metrics.getDroppedCount());
+        final List<ProducerRecord<byte[], byte[]>> history = kafka.history();
+        for (final ProducerRecord<byte[], byte[]> item : history) {
+            assertEquals(TOPIC_NAME, item.topic());
+            assertEquals(LOG_MESSAGE, new String(item.value(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @LoggerContextSource(CONFIG)
+    void records_exceeding_the_in_flight_budget_are_dropped(
+            @Named("DroppingKafkaAppender") final KafkaAppender appender) throws InterruptedException {
+        final KafkaAppenderMetrics metrics = appender.getMetrics();
+
+        // The first record is let through although it exceeds the budget on its own, the others are dropped.
+        appender.append(createLogEvent());
+        appender.append(createLogEvent());
+        appender.append(createLogEvent());
+        awaitUntil(() -> metrics.getDroppedCount() == 2);
+        assertEquals(1, kafka.history().size());
+        assertEquals(LOG_MESSAGE.length(), metrics.getInFlightBytes());
+
+        // Once acknowledged, there is room for the next record.
+        assertTrue(kafka.completeNext());
+        assertEquals(1, metrics.getSentCount());
+        assertEquals(0, metrics.getInFlightBytes());
+        appender.append(createLogEvent());
+        awaitUntil(() -> kafka.history().size() == 2);
+        assertEquals(2, metrics.getDroppedCount());
+    }
+
+    @Test
+    @LoggerContextSource(CONFIG)
+    void logging_thread_is_blocked_until_records_are_acknowledged(
+            @Named("BlockingKafkaAppender") final KafkaAppender appender) throws InterruptedException {
+        final KafkaAppenderMetrics metrics = appender.getMetrics();
+        final int eventCount = 4;
+        final Thread loggingThread = new Thread(() -> {
+            for (int i = 0; i < eventCount; i++) {
+                appender.append(createLogEvent());
+            }
+        });
+        loggingThread.start();
+
+        // The first record is in flight, the second waits for budget, the third fills the queue of one event
+        // and the fourth blocks the logging thread.
+        awaitUntil(() -> kafka.history().size() == 1 && loggingThread.getState() == Thread.State.WAITING);
+        assertEquals(1, metrics.getQueuedEventCount());
+        assertTrue(loggingThread.isAlive());
+
+        // Each acknowledgement lets exactly one more record through.
+        assertTrue(kafka.completeNext());
+        awaitUntil(() -> kafka.history().size() == 2);
+        loggingThread.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(loggingThread.isAlive());
+        for (int i = 2; i < eventCount; i++) {
+            assertTrue(kafka.completeNext());
+            final int expectedSize = i + 1;
+            awaitUntil(() -> kafka.history().size() == expectedSize);
+        }
+        assertTrue(kafka.completeNext());
+        assertEquals(eventCount, metrics.getSentCount());
+        assertEquals(0, metrics.getDroppedCount());
+        assertEquals(0, metrics.getInFlightBytes());
+    }
+
+    @Test
+    @LoggerContextSource(CONFIG)
+    void unstarted_appender_stops_and_counts_the_events_it_drops(final LoggerContext context) {
+        final KafkaAppender appender = KafkaAppender.newBuilder()
+                .setName("UnstartedKafkaAppender")
+                .setConfiguration(context.getConfiguration())
+                .setLayout(PatternLayout.newBuilder().setPattern("%m").build())
+                .setTopic(TOPIC_NAME)
+                .setPipelined(true)
+                .setPropertyArray(new Property[] {Property.createProperty("bootstrap.servers", "localhost:9092")})
+                .build();
+        final KafkaAppenderMetrics metrics = appender.getMetrics();
+        appender.append(createLogEvent());
+        appender.append(createLogEvent());
+        assertEquals(2, metrics.getQueuedEventCount());
+
+        // The pipeline thread was never started, so stopping must neither wait for it nor send the queued events.
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> appender.stop(1, TimeUnit.SECONDS));
+        assertEquals(0, metrics.getQueuedEventCount());
+        assertEquals(2, metrics.getDroppedCount());
+
+        // Events appended after stopping are rejected.
+        appender.append(createLogEvent());
+        assertEquals(0, metrics.getQueuedEventCount());
+        assertEquals(3, metrics.getDroppedCount());
+        assertEquals(0, kafka.history().size());
+    }
+
+    private static void awaitUntil(final BooleanSupplier condition) throws InterruptedException {
+        final long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadlineNanos, "timed out");
+            Thread.sleep(10);
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
 import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
 import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.layout.DirectEncoding;
 import org.apache.logging.log4j.core.layout.Encoder;
 import org.apache.logging.log4j.core.layout.TextEncoderHelper;
 import org.apache.logging.log4j.core.util.Constants;
@@ -154,6 +155,7 @@ public class JsonTemplateLayout implements StringLayout {
                 .setCharset(charset)
                 .setJsonWriter(jsonWriter)
                 .setRecyclerFactory(builder.recyclerFactory)
+                .setConstantFoldingEnabled(builder.constantFoldingEnabled)
                 .setMaxStringByteCount(maxStringByteCount)
                 .setTruncatedStringSuffix(builder.truncatedStringSuffix)
                 .setLocationInfoEnabled(builder.locationInfoEnabled)
@@ -218,6 +220,8 @@ public class JsonTemplateLayout implements StringLayout {
 
         private final Charset charset;
 
+        private final DirectEncoding directEncoding;
+
         private final CharsetEncoder charsetEncoder;
 
         private final CharBuffer charBuffer;
@@ -226,12 +230,22 @@ public class JsonTemplateLayout implements StringLayout {
 
         private StringBuilderEncoder(final Charset charset) {
             this.charset = charset;
-            this.charsetEncoder = charset
-                    .newEncoder()
-                    .onMalformedInput(CodingErrorAction.REPLACE)
-                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
-            this.charBuffer = CharBuffer.allocate(Constants.ENCODER_CHAR_BUFFER_SIZE);
-            this.byteBuffer = ByteBuffer.allocate(Constants.ENCODER_BYTE_BUFFER_SIZE);
+            this.directEncoding = Constants.ENCODER_DIRECT_TO_BYTES
+                    ? DirectEncoding.forCharset(charset)
+                    : null;
+            // Buffers are only needed for charsets that cannot be encoded directly.
+            if (directEncoding != null) {
+                this.charsetEncoder = null;
+                this.charBuffer = null;
+                this.byteBuffer = null;
+            } else {
+                this.charsetEncoder = charset
+                        .newEncoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                this.charBuffer = CharBuffer.allocate(Constants.ENCODER_CHAR_BUFFER_SIZE);
+                this.byteBuffer = ByteBuffer.allocate(Constants.ENCODER_BYTE_BUFFER_SIZE);
+            }
         }
 
         @Override
@@ -239,7 +253,12 @@ public class JsonTemplateLayout implements StringLayout {
                 final StringBuilder source,
                 final ByteBufferDestination destination) {
             try {
-                TextEncoderHelper.encodeText(charsetEncoder, charBuffer, byteBuffer, source, destination);
+                if (directEncoding != null) {
+                    // Write the JSON bytes straight into the destination buffer.
+                    directEncoding.encode(source, destination);
+                } else {
+                    TextEncoderHelper.encodeText(charsetEncoder, charBuffer, byteBuffer, source, destination);
+                }
             } catch (final Exception error) {
                 fallbackEncode(charset, source, destination, error);
             }
@@ -401,6 +420,10 @@ public class JsonTemplateLayout implements StringLayout {
         private RecyclerFactory recyclerFactory =
                 JsonTemplateLayoutDefaults.getRecyclerFactory();
 
+        @PluginBuilderAttribute
+        private boolean constantFoldingEnabled =
+                JsonTemplateLayoutDefaults.isConstantFoldingEnabled();
+
         private Builder() {
             // Do nothing.
         }
@@ -544,6 +567,15 @@ public class JsonTemplateLayout implements StringLayout {
             return this;
         }
 
+        public boolean isConstantFoldingEnabled() {
+            return constantFoldingEnabled;
+        }
+
+        public Builder setConstantFoldingEnabled(final boolean constantFoldingEnabled) {
+            this.constantFoldingEnabled = constantFoldingEnabled;
+            return this;
+        }
+
         @Override
         public JsonTemplateLayout build() {
             validate();
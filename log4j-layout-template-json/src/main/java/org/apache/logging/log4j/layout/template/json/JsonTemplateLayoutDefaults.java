@@ -119,6 +119,12 @@ public final class JsonTemplateLayoutDefaults {
                 false);
     }
 
+    public static boolean isConstantFoldingEnabled() {
+        return PROPERTIES.getBooleanProperty(
+                "log4j.layout.jsonTemplate.constantFoldingEnabled",
+                true);
+    }
+
     public static int getMaxStringLength() {
         final int maxStringLength = PROPERTIES.getIntegerProperty(
                 "log4j.layout.jsonTemplate.maxStringLength",
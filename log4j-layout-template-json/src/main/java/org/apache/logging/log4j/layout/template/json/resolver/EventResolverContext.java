@@ -64,6 +64,8 @@ public final class EventResolverContext implements TemplateResolverContext<LogEv
 
     private final EventTemplateAdditionalField[] eventTemplateAdditionalFields;
 
+    private final boolean constantFoldingEnabled;
+
     private EventResolverContext(final Builder builder) {
         this.configuration = builder.configuration;
         this.resolverFactoryByName = builder.resolverFactoryByName;
@@ -79,6 +81,7 @@ public final class EventResolverContext implements TemplateResolverContext<LogEv
         this.stackTraceElementTemplate = builder.stackTraceElementTemplate;
         this.eventTemplateRootObjectKey = builder.eventTemplateRootObjectKey;
         this.eventTemplateAdditionalFields = builder.eventTemplateAdditionalFields;
+        this.constantFoldingEnabled = builder.constantFoldingEnabled;
     }
 
     @Override
@@ -146,6 +149,11 @@ public final class EventResolverContext implements TemplateResolverContext<LogEv
         return eventTemplateAdditionalFields;
     }
 
+    @Override
+    public boolean isConstantFoldingEnabled() {
+        return constantFoldingEnabled;
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -180,6 +188,8 @@ public final class EventResolverContext implements TemplateResolverContext<LogEv
 
         private EventTemplateAdditionalField[] eventTemplateAdditionalFields;
 
+        private boolean constantFoldingEnabled = true;
+
         private Builder() {
             // Do nothing.
         }
@@ -257,6 +267,11 @@ public final class EventResolverContext implements TemplateResolverContext<LogEv
             return this;
         }
 
+        public Builder setConstantFoldingEnabled(final boolean constantFoldingEnabled) {
+            this.constantFoldingEnabled = constantFoldingEnabled;
+            return this;
+        }
+
         public EventResolverContext build() {
             validate();
             return new EventResolverContext(this);
@@ -43,6 +43,15 @@ interface TemplateResolverContext<V, C extends TemplateResolverContext<V, C>> {
 
     JsonWriter getJsonWriter();
 
+    /**
+     * Indicates if the template compiler should pre-serialize the parts of
+     * the template that do not depend on the resolved value, e.g., string,
+     * number, and boolean literals and objects or arrays made of them.
+     */
+    default boolean isConstantFoldingEnabled() {
+        return true;
+    }
+
     /**
      * Process the read template before compiler (i.e.,
      * {@link TemplateResolvers#ofTemplate(TemplateResolverContext, String)}
@@ -181,6 +181,26 @@ public final class TemplateResolvers {
             return emptyArrayResolver;
         }
 
+        // Pre-serialize the array if all its items are constants.
+        if (context.isConstantFoldingEnabled()) {
+            final StringBuilder arrayJson = new StringBuilder("[");
+            boolean constant = true;
+            for (int itemIndex = 0; constant && itemIndex < itemResolvers.size(); itemIndex++) {
+                final String itemJson = constantJson(itemResolvers.get(itemIndex));
+                if (itemJson == null) {
+                    constant = false;
+                } else {
+                    if (itemIndex > 0) {
+                        arrayJson.append(',');
+                    }
+                    arrayJson.append(itemJson);
+                }
+            }
+            if (constant) {
+                return new RawStringResolver<>(arrayJson.append(']').toString());
+            }
+        }
+
         // Create a parent resolver collecting each child resolver execution.
         return new ArrayResolver<>(itemResolvers);
 
@@ -234,11 +254,115 @@ public final class TemplateResolvers {
             return emptyObjectResolver;
         }
 
+        // Fold constant fields into pre-serialized JSON.
+        if (context.isConstantFoldingEnabled()) {
+            fieldResolverContexts = foldConstantFields(fieldResolverContexts);
+            if (fieldResolverContexts.size() == 1) {
+                final TemplateResolver<V> fieldResolver = fieldResolverContexts.get(0).resolver;
+                if (fieldResolver instanceof ConstantFieldsResolver) {
+                    final String fieldsJson = ((ConstantFieldsResolver<V>) fieldResolver).fieldsJson;
+                    return new RawStringResolver<>('{' + fieldsJson + '}');
+                }
+            }
+        }
+
         // Create the resolver.
         return new MapResolver<>(fieldResolverContexts);
 
     }
 
+    /**
+     * Replaces each run of consecutive constant fields with a single field
+     * writing their pre-serialized {@code "name":value} pairs at once.
+     */
+    private static <V> List<FieldResolverContext<V>> foldConstantFields(
+            final List<FieldResolverContext<V>> fieldResolverContexts) {
+        final List<FieldResolverContext<V>> foldedContexts = new ArrayList<>();
+        final StringBuilder fieldsJson = new StringBuilder();
+        for (final FieldResolverContext<V> fieldResolverContext : fieldResolverContexts) {
+            final String fieldJson = fieldResolverContext.constantJson;
+            if (fieldJson == null) {
+                addConstantFields(foldedContexts, fieldsJson);
+                foldedContexts.add(fieldResolverContext);
+            } else {
+                if (fieldsJson.length() > 0) {
+                    fieldsJson.append(',');
+                }
+                fieldsJson.append(fieldJson);
+            }
+        }
+        addConstantFields(foldedContexts, fieldsJson);
+        return foldedContexts;
+    }
+
+    private static <V> void addConstantFields(
+            final List<FieldResolverContext<V>> fieldResolverContexts,
+            final StringBuilder fieldsJson) {
+        if (fieldsJson.length() > 0) {
+            final ConstantFieldsResolver<V> resolver = new ConstantFieldsResolver<>(fieldsJson.toString());
+            final FieldResolverMethod<V> resolverMethod = new ConstantFieldsResolverMethod<>(resolver);
+            fieldResolverContexts.add(new FieldResolverContext<>(resolver, resolverMethod, null));
+            fieldsJson.setLength(0);
+        }
+    }
+
+    /**
+     * Writes a run of pre-serialized constant fields.
+     */
+    private static final class ConstantFieldsResolver<V> implements TemplateResolver<V> {
+
+        private final String fieldsJson;
+
+        private ConstantFieldsResolver(final String fieldsJson) {
+            this.fieldsJson = fieldsJson;
+        }
+
+        @Override
+        public void resolve(final V ignored, final JsonWriter jsonWriter) {
+            jsonWriter.writeRawString(fieldsJson);
+        }
+
+    }
+
+    private static final class ConstantFieldsResolverMethod<V> implements FieldResolverMethod<V> {
+
+        private final ConstantFieldsResolver<V> fieldsResolver;
+
+        private ConstantFieldsResolverMethod(final ConstantFieldsResolver<V> fieldsResolver) {
+            this.fieldsResolver = fieldsResolver;
+        }
+
+        @Override
+        public boolean resolve(final V value, final JsonWriter jsonWriter, final boolean succeedingEntry) {
+            if (succeedingEntry) {
+                jsonWriter.writeSeparator();
+            }
+            fieldsResolver.resolve(value, jsonWriter);
+            return true;
+        }
+
+    }
+
+    /**
+     * Returns the JSON a resolver writes regardless of its input, or {@code null} if its output depends on the input.
+     */
+    private static String constantJson(final TemplateResolver<?> resolver) {
+        if (resolver instanceof RawStringResolver) {
+            return ((RawStringResolver<?>) resolver).rawString;
+        } else if (resolver instanceof NumberResolver) {
+            return ((NumberResolver<?>) resolver).numberString;
+        } else if (resolver instanceof BooleanResolver) {
+            return String.valueOf(((BooleanResolver<?>) resolver).value);
+        } else if (resolver == NULL_RESOLVER) {
+            return "null";
+        } else if (resolver == EMPTY_ARRAY_RESOLVER) {
+            return "[]";
+        } else if (resolver == EMPTY_OBJECT_RESOLVER) {
+            return "{}";
+        }
+        return null;
+    }
+
     private static <V, C extends TemplateResolverContext<V, C>> List<FieldResolverContext<V>> populateFieldResolverMethods(
             final C context,
             final Map<String, Object> map) {
@@ -275,13 +399,17 @@ public final class TemplateResolvers {
                     final TemplateResolver<V> fieldResolver = fieldResolvers.get(fieldIndex);
                     final FieldResolverMethod<V> fieldResolverMethod;
                     final boolean flattening = fieldResolver.isFlattening();
+                    final String fieldJson;
                     if (flattening) {
                         fieldResolverMethod = new FlatteningFieldResolverMethod<>(fieldResolver);
+                        fieldJson = null;
                     } else {
                         final String fieldPrefix = fieldPrefixes.get(fieldIndex);
                         fieldResolverMethod = new PrefixedFieldResolverMethod<>(fieldPrefix, fieldResolver);
+                        final String valueJson = constantJson(fieldResolver);
+                        fieldJson = valueJson != null ? fieldPrefix + valueJson : null;
                     }
-                    return new FieldResolverContext<>(fieldResolver, fieldResolverMethod);
+                    return new FieldResolverContext<>(fieldResolver, fieldResolverMethod, fieldJson);
                 })
                 .collect(Collectors.toList());
 
@@ -293,9 +421,18 @@ public final class TemplateResolvers {
 
         private final FieldResolverMethod<V> resolverMethod;
 
-        private FieldResolverContext(final TemplateResolver<V> resolver, final FieldResolverMethod<V> resolverMethod) {
+        /**
+         * The pre-serialized {@code "name":value} pair, if the field is a constant; {@code null}, otherwise.
+         */
+        private final String constantJson;
+
+        private FieldResolverContext(
+                final TemplateResolver<V> resolver,
+                final FieldResolverMethod<V> resolverMethod,
+                final String constantJson) {
             this.resolver = resolver;
             this.resolverMethod = resolverMethod;
+            this.constantJson = constantJson;
         }
 
     }
@@ -30,6 +30,7 @@ import org.apache.logging.log4j.plugins.Plugin;
 import org.apache.logging.log4j.plugins.PluginFactory;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.layout.ByteBufferDestinationHelper;
 import org.apache.logging.log4j.core.lookup.MainMapLookup;
 import org.apache.logging.log4j.core.net.Severity;
 import org.apache.logging.log4j.core.time.MutableInstant;
@@ -716,6 +717,63 @@ class JsonTemplateLayoutTest {
 
     }
 
+    @Test
+    void test_encode_output_spanning_multiple_drains() {
+
+        // Create the layout.
+        final JsonTemplateLayout layout = JsonTemplateLayout
+                .newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setEventTemplateUri("classpath:LogstashJsonEventLayoutV1.json")
+                .setStackTraceEnabled(true)
+                .build();
+
+        // Create the log event with multi-byte characters.
+        final LogEvent logEvent = Log4jLogEvent
+                .newBuilder()
+                .setLoggerName(LOGGER_NAME)
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("h\u00e9llo \u65e5\u672c \ud83d\ude00"))
+                .setThrown(new RuntimeException("\u00e9chec"))
+                .build();
+
+        // Encode into a destination with a tiny buffer.
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final ByteBuffer byteBuffer = ByteBuffer.allocate(7);
+        final ByteBufferDestination byteBufferDestination = new ByteBufferDestination() {
+
+            @Override
+            public ByteBuffer getByteBuffer() {
+                return byteBuffer;
+            }
+
+            @Override
+            public ByteBuffer drain(final ByteBuffer buffer) {
+                buffer.flip();
+                outputStream.write(buffer.array(), buffer.arrayOffset(), buffer.limit());
+                buffer.clear();
+                return buffer;
+            }
+
+            @Override
+            public void writeBytes(final ByteBuffer data) {
+                ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
+            }
+
+            @Override
+            public void writeBytes(final byte[] buffer, final int offset, final int length) {
+                ByteBufferDestinationHelper.writeToUnsynchronized(buffer, offset, length, this);
+            }
+
+        };
+        layout.encode(logEvent, byteBufferDestination);
+        byteBufferDestination.drain(byteBuffer);
+
+        // Compare outputs.
+        assertThat(outputStream.toByteArray()).isEqualTo(layout.toByteArray(logEvent));
+
+    }
+
     @Test
     void test_maxStringLength() {
 
@@ -893,6 +951,80 @@ class JsonTemplateLayoutTest {
 
     }
 
+    @Test
+    void test_constant_folding() {
+
+        // Create the event template mixing constants and resolvers.
+        final String eventTemplate = writeJson(asMap(
+                "string", "x\"y",
+                "number", 1.5,
+                "boolean", true,
+                "nested", asMap(
+                        "list", Arrays.asList(1, null, Collections.emptyList(), Collections.emptyMap(), "s"),
+                        "empty", Collections.emptyMap()),
+                "message", asMap(
+                        "$resolver", "message",
+                        "stringified", true),
+                "constant", "c",
+                "error", asMap(
+                        "$resolver", "exception",
+                        "field", "className"),
+                "false", false,
+                "mixedList", Arrays.asList("x", asMap(
+                        "$resolver", "level",
+                        "field", "name"))));
+
+        // Create the layouts with and without constant folding.
+        final EventTemplateAdditionalField[] additionalFields = {
+                EventTemplateAdditionalField
+                        .newBuilder()
+                        .setKey("additional")
+                        .setValue("value")
+                        .build()
+        };
+        final JsonTemplateLayout foldingLayout = JsonTemplateLayout
+                .newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setEventTemplate(eventTemplate)
+                .setEventTemplateAdditionalFields(additionalFields)
+                .setConstantFoldingEnabled(true)
+                .build();
+        final JsonTemplateLayout nonFoldingLayout = JsonTemplateLayout
+                .newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setEventTemplate(eventTemplate)
+                .setEventTemplateAdditionalFields(additionalFields)
+                .setConstantFoldingEnabled(false)
+                .build();
+
+        // Check the serialized events with and without an exception.
+        final LogEvent logEvent = Log4jLogEvent
+                .newBuilder()
+                .setLoggerName(LOGGER_NAME)
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("Hello, World!"))
+                .build();
+        final LogEvent errorLogEvent = Log4jLogEvent
+                .newBuilder()
+                .setLoggerName(LOGGER_NAME)
+                .setLevel(Level.ERROR)
+                .setMessage(new SimpleMessage("Hello, World!"))
+                .setThrown(new IllegalStateException())
+                .build();
+        for (final LogEvent event : Arrays.asList(logEvent, errorLogEvent)) {
+            assertThat(foldingLayout.toSerializable(event))
+                    .isEqualTo(nonFoldingLayout.toSerializable(event));
+        }
+        usingSerializedLogEventAccessor(foldingLayout, errorLogEvent, accessor -> {
+            assertThat(accessor.getString("string")).isEqualTo("x\"y");
+            assertThat(accessor.getString("additional")).isEqualTo("value");
+            assertThat(accessor.getString("error")).isEqualTo(IllegalStateException.class.getName());
+            assertThat(accessor.getObject(new String[]{"nested", "list"})).isEqualTo(Arrays.asList(
+                    1, null, Collections.emptyList(), Collections.emptyMap(), "s"));
+        });
+
+    }
+
     @Test
     @SuppressWarnings("FloatingPointLiteralPrecision")
     void test_timestamp_epoch_resolvers() {
@@ -80,6 +80,24 @@ public class JsonTemplateLayoutBenchmark {
                 state.getLiteLogEvents());
     }
 
+    @Benchmark
+    public static int fullJtl4EcsLayoutWithoutConstantFolding(
+            final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(
+                state,
+                state.getJtl4EcsLayoutWithoutConstantFolding(),
+                state.getFullLogEvents());
+    }
+
+    @Benchmark
+    public static int liteJtl4EcsLayoutWithoutConstantFolding(
+            final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(
+                state,
+                state.getJtl4EcsLayoutWithoutConstantFolding(),
+                state.getLiteLogEvents());
+    }
+
     @Benchmark
     public static int fullJtl4GelfLayout(
             final JsonTemplateLayoutBenchmarkState state) {
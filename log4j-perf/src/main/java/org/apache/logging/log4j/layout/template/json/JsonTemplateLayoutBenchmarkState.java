@@ -50,6 +50,8 @@ public class JsonTemplateLayoutBenchmarkState {
 
     private final Layout<?> jtl4EcsLayout;
 
+    private final Layout<?> jtl4EcsLayoutWithoutConstantFolding;
+
     private final Layout<?> jtl4GelfLayout;
 
     private final Layout<?> defaultJsonLayout;
@@ -69,7 +71,8 @@ public class JsonTemplateLayoutBenchmarkState {
     public JsonTemplateLayoutBenchmarkState() {
         this.byteBufferDestination = new BlackHoleByteBufferDestination(1024 * 512);
         this.jtl4JsonLayout = createJtl4JsonLayout();
-        this.jtl4EcsLayout = createJtl4EcsLayout();
+        this.jtl4EcsLayout = createJtl4EcsLayout(true);
+        this.jtl4EcsLayoutWithoutConstantFolding = createJtl4EcsLayout(false);
         this.jtl4GelfLayout = createJtl4GelfLayout();
         this.defaultJsonLayout = createDefaultJsonLayout();
         this.customJsonLayout = createCustomJsonLayout();
@@ -89,7 +92,7 @@ public class JsonTemplateLayoutBenchmarkState {
                 .build();
     }
 
-    private static JsonTemplateLayout createJtl4EcsLayout() {
+    private static JsonTemplateLayout createJtl4EcsLayout(final boolean constantFoldingEnabled) {
         final EventTemplateAdditionalField[] additionalFields =
                 new EventTemplateAdditionalField[]{
                         EventTemplateAdditionalField
@@ -105,6 +108,7 @@ public class JsonTemplateLayoutBenchmarkState {
                 .setEventTemplateUri("classpath:EcsLayout.json")
                 .setRecyclerFactory(ThreadLocalRecyclerFactory.getInstance())
                 .setEventTemplateAdditionalFields(additionalFields)
+                .setConstantFoldingEnabled(constantFoldingEnabled)
                 .build();
     }
 
@@ -185,6 +189,10 @@ public class JsonTemplateLayoutBenchmarkState {
         return jtl4EcsLayout;
     }
 
+    Layout<?> getJtl4EcsLayoutWithoutConstantFolding() {
+        return jtl4EcsLayoutWithoutConstantFolding;
+    }
+
     Layout<?> getJtl4GelfLayout() {
         return jtl4GelfLayout;
     }
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.ThreadContextBenchmarkAccess;
+import org.apache.logging.log4j.core.ContextDataInjector;
+import org.apache.logging.log4j.core.config.AppenderRef;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.ContextDataInjectorFactory;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of handing the ThreadContext of the logging thread over to an asynchronous log event, when the
+ * ThreadContext does not change between events, for various ThreadContext sizes.
+ * <p>
+ * The garbage-free map copies its key-value pairs into each event, so its cost grows with the size of the
+ * ThreadContext. The copy-on-write maps hand over a snapshot instead, and the persistent map also combines it with the
+ * configuration properties without copying it.
+ * </p>
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+// (Quick build: mvn -DskipTests=true clean package -pl log4j-perf -am )
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*AsyncContextDataBenchmark.*"
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncContextDataBenchmark {
+    private static final Map<String, String> IMPLEMENTATIONS = new HashMap<>();
+    static {
+        // package-private
+        IMPLEMENTATIONS.put("NoGcSortedArray", "org.apache.logging.log4j.spi.GarbageFreeSortedArrayThreadContextMap");
+        IMPLEMENTATIONS.put("CopySortedArray", "org.apache.logging.log4j.spi.CopyOnWriteSortedArrayThreadContextMap");
+        IMPLEMENTATIONS.put("Persistent", "org.apache.logging.log4j.spi.PersistentThreadContextMap");
+    }
+
+    private static final int PROPERTIES_COUNT = 3;
+
+    @Param({"NoGcSortedArray", "CopySortedArray", "Persistent"})
+    public String threadContextMapAlias;
+
+    @Param({"1", "20", "100", "1000"})
+    public int count;
+
+    private List<Property> propertyList;
+
+    private ContextDataInjector injector;
+
+    /** The context data of a ring buffer slot of AsyncLogger. */
+    private StringMap reusableContextData;
+
+    /** The event created by the logging thread, as ReusableLogEventFactory does. */
+    private MutableLogEvent logEvent;
+
+    /** A ring buffer slot of AsyncLoggerConfig. */
+    private MutableLogEvent ringBufferEvent;
+
+    @Setup
+    public void setup() {
+        System.setProperty("log4j2.threadContextMap", IMPLEMENTATIONS.get(threadContextMapAlias));
+        ThreadContextBenchmarkAccess.init();
+        injector = ContextDataInjectorFactory.createInjector();
+
+        ThreadContext.clearMap();
+        for (int i = 0; i < count; i++) {
+            ThreadContext.put("key" + i, "value" + i);
+        }
+        final Property[] properties = new Property[PROPERTIES_COUNT];
+        for (int i = 0; i < PROPERTIES_COUNT; i++) {
+            properties[i] = Property.createProperty("property" + i, "value" + i);
+        }
+        // the properties of a logger, as LoggerConfig hands them to the injector
+        propertyList = LoggerConfig.newBuilder()
+                .withLoggerName("benchmark")
+                .withRefs(new AppenderRef[0])
+                .withProperties(properties)
+                .withConfig(new DefaultConfiguration())
+                .build()
+                .getPropertyList();
+
+        reusableContextData = new SortedArrayStringMap();
+        logEvent = new MutableLogEvent();
+        logEvent.setMessage(new SimpleMessage("message"));
+        ringBufferEvent = new MutableLogEvent();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ThreadContext.clearMap();
+        System.clearProperty("log4j2.threadContextMap");
+        ThreadContextBenchmarkAccess.init();
+    }
+
+    /**
+     * The context data of an AsyncLogger event, as created by RingBufferLogEventTranslator.
+     */
+    @Benchmark
+    public StringMap asyncLogger() {
+        reusableContextData.clear();
+        return injector.injectContextData(null, reusableContextData);
+    }
+
+    /**
+     * The context data of an event of a Logger with configuration properties.
+     */
+    @Benchmark
+    public StringMap withProperties() {
+        reusableContextData.clear();
+        return injector.injectContextData(propertyList, reusableContextData);
+    }
+
+    /**
+     * The context data of an event of a Logger with configuration properties, copied into a ring buffer slot of
+     * AsyncLoggerConfig.
+     */
+    @Benchmark
+    public MutableLogEvent asyncLoggerConfig() {
+        final StringMap contextData = (StringMap) logEvent.getContextData();
+        if (contextData != null && !contextData.isFrozen()) {
+            contextData.clear();
+        }
+        logEvent.setContextData(injector.injectContextData(propertyList, contextData));
+        ringBufferEvent.clear();
+        ringBufferEvent.initFrom(logEvent);
+        return ringBufferEvent;
+    }
+}
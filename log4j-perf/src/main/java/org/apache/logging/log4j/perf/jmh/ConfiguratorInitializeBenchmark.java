@@ -18,12 +18,17 @@
 package org.apache.logging.log4j.perf.jmh;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.ConfigurationSource;
 import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.compiled.CompiledConfigurationFormat;
+import org.apache.logging.log4j.core.tools.ConfigurationCompiler;
+import org.apache.logging.log4j.core.util.Source;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
@@ -34,7 +39,8 @@ import org.openjdk.jmh.annotations.State;
 
 /**
  * This benchmark demonstrates how long it takes for a simple XML configuration file to be parsed and initialize a new
- * {@link org.apache.logging.log4j.core.LoggerContext} using that configuration.
+ * {@link org.apache.logging.log4j.core.LoggerContext} using that configuration, compared with the same configuration
+ * compiled ahead of time by the {@link ConfigurationCompiler}.
  */
 // TO RUN THIS TEST:
 // java -jar target/benchmarks.jar '.*ConfiguratorInitializeBenchmark.*'
@@ -55,9 +61,17 @@ public class ConfiguratorInitializeBenchmark {
 
     private ConfigurationSource configurationSource;
 
+    private ConfigurationSource compiledConfigurationSource;
+
     @Setup
     public void setUp() throws IOException {
         configurationSource = new ConfigurationSource(new ByteArrayInputStream(inlineConfigurationXML.getBytes()));
+        final ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+        ConfigurationCompiler.compile(
+                new ConfigurationSource(new ByteArrayInputStream(inlineConfigurationXML.getBytes())), compiled);
+        compiledConfigurationSource = new ConfigurationSource(
+                new Source(Paths.get("ConfiguratorInitializeTest" + CompiledConfigurationFormat.SUFFIX)),
+                compiled.toByteArray(), 0);
     }
 
     @Benchmark
@@ -67,4 +81,11 @@ public class ConfiguratorInitializeBenchmark {
         return Configurator.initialize(null, configurationSource);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LoggerContext initializeLoggerContextFromCompiledConfiguration() {
+        return Configurator.initialize(null, compiledConfigurationSource);
+    }
+
 }
@@ -44,6 +44,9 @@ import org.slf4j.LoggerFactory;
 @State(Scope.Thread)
 public class FileAppenderWithLocationBenchmark {
     public static final String MESSAGE = "This is a debug message";
+    private static final StackTraceElement PRECOMPUTED_LOCATION = new StackTraceElement(
+            FileAppenderWithLocationBenchmark.class.getName(), "log4j2FluentFileWithPrecomputedLocation",
+            "FileAppenderWithLocationBenchmark.java", 119);
     private FileHandler julFileHandler;
 
     Logger log4j2Logger;
@@ -106,6 +109,16 @@ public class FileAppenderWithLocationBenchmark {
         log4j2Logger.atDebug().withLocation().log(MESSAGE);
     }
 
+    /**
+     * Logs with a location computed ahead of time, as a build-time tool could, which does not walk the stack.
+     */
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Benchmark
+    public void log4j2FluentFileWithPrecomputedLocation() {
+        log4j2Logger.atDebug().withLocation(PRECOMPUTED_LOCATION).log(MESSAGE);
+    }
+
     @BenchmarkMode(Mode.Throughput)
     @OutputTimeUnit(TimeUnit.SECONDS)
     @Benchmark
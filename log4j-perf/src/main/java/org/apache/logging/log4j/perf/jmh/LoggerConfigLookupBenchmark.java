@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures how long it takes to resolve the {@link LoggerConfig} of a logger and to (re)configure a configuration
+ * declaring a large number of loggers.
+ * <p>
+ * The configured loggers are named {@code com.example.module<i>.package<j>.Class<k>}, so lookups for names like
+ * {@code com.example.module7.package3.Class12.Inner.Nested} have to walk past several segments that have no
+ * configuration of their own.
+ * </p>
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*LoggerConfigLookupBenchmark.*" -f 1 -wi 5 -i 10 -p loggerCount=10000
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@State(Scope.Benchmark)
+public class LoggerConfigLookupBenchmark {
+
+    private static final int MODULES = 100;
+    private static final int PACKAGES = 10;
+    private static final int LOOKUP_NAMES = 1024;
+
+    @Param({"100", "10000", "50000"})
+    public int loggerCount;
+
+    private ConfigurationBuilder<BuiltConfiguration> builder;
+    private Configuration configuration;
+    private String[] configuredNames;
+    private String[] nestedNames;
+    private String[] unconfiguredNames;
+    private int index;
+
+    @Setup
+    public void setup() {
+        builder = ConfigurationBuilderFactory.newConfigurationBuilder();
+        builder.setStatusLevel(Level.OFF);
+        builder.setConfigurationName("LoggerConfigLookupBenchmark");
+        builder.add(builder.newRootLogger(Level.ERROR));
+        for (int i = 0; i < loggerCount; i++) {
+            builder.add(builder.newLogger(loggerName(i), Level.INFO));
+        }
+        configuration = reconfigure();
+
+        configuredNames = new String[LOOKUP_NAMES];
+        nestedNames = new String[LOOKUP_NAMES];
+        unconfiguredNames = new String[LOOKUP_NAMES];
+        for (int i = 0; i < LOOKUP_NAMES; i++) {
+            final int logger = (int) ((i * 7919L) % loggerCount);
+            configuredNames[i] = loggerName(logger);
+            nestedNames[i] = loggerName(logger) + ".Inner.Nested";
+            unconfiguredNames[i] = "org.example.module" + i + ".package" + i + ".Class" + i;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        configuration.stop();
+    }
+
+    private static String loggerName(final int i) {
+        return "com.example.module" + (i % MODULES) + ".package" + (i / MODULES % PACKAGES) + ".Class" + i;
+    }
+
+    private String next(final String[] names) {
+        return names[index++ & (LOOKUP_NAMES - 1)];
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public LoggerConfig lookupConfigured() {
+        return configuration.getLoggerConfig(next(configuredNames));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public LoggerConfig lookupNested() {
+        return configuration.getLoggerConfig(next(nestedNames));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public LoggerConfig lookupUnconfigured() {
+        return configuration.getLoggerConfig(next(unconfiguredNames));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Configuration reconfigure() {
+        final Configuration config = builder.build(false);
+        config.initialize();
+        return config;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark logging with logging disabled when a context-wide filter is configured.
+ * <ul>
+ * <li>{@code log4j2-perf2.xml}: no filter, for reference.</li>
+ * <li>{@code log4j2-disabledFilter-perf.xml}: a ThresholdFilter accepting FATAL events and a BurstFilter. Neither can
+ * accept DEBUG events, so disabled calls are decided by the logger level alone.</li>
+ * <li>{@code log4j2-disabledMarkerFilter-perf.xml}: a MarkerFilter accepting the events with another marker.
+ * Disabled calls without a marker are decided by the logger level alone, calls with a marker still consult the
+ * filter.</li>
+ * </ul>
+ * // ============================== HOW TO RUN THIS TEST: ====================================
+ * //
+ * // single thread:
+ * // java -jar log4j-perf/target/benchmarks.jar ".*LoggingDisabledFilterBenchmark.*" -f 1 -wi 5 -i 10
+ * //
+ * // multiple threads (for example, 4 threads):
+ * // java -jar log4j-perf/target/benchmarks.jar ".*LoggingDisabledFilterBenchmark.*" -f 1 -wi 5 -i 10 -t 4 -si true
+ * //
+ * // Usage help:
+ * // java -jar log4j-perf/target/benchmarks.jar -help
+ * //
+ */
+@State(Scope.Thread)
+public class LoggingDisabledFilterBenchmark {
+
+    private static final Marker MARKER = MarkerManager.getMarker("TestMarker");
+
+    @Param({"log4j2-perf2.xml", "log4j2-disabledFilter-perf.xml", "log4j2-disabledMarkerFilter-perf.xml"})
+    public String configFile;
+
+    Logger log4j2Logger;
+
+    @Setup
+    public void setUp() throws Exception {
+        System.setProperty("log4j.configurationFile", configFile);
+
+        deleteLogFiles();
+
+        log4j2Logger = LogManager.getLogger(LoggingDisabledFilterBenchmark.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.clearProperty("log4j.configurationFile");
+
+        deleteLogFiles();
+    }
+
+    private void deleteLogFiles() {
+        final File log4j2File = new File ("target/testlog4j2.log");
+        log4j2File.delete();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void baseline() {
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void log4j2() {
+        log4j2Logger.debug("This won't be logged");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void log4j2Param() {
+        log4j2Logger.debug("This won't be logged {}", configFile);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void log4j2Marker() {
+        log4j2Logger.debug(MARKER, "This won't be logged");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void log4j2IsDebugEnabled() {
+        if (log4j2Logger.isDebugEnabled()) {
+            log4j2Logger.debug("This won't be logged");
+        }
+    }
+}
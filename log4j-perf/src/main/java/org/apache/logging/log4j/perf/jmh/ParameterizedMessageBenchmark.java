@@ -19,7 +19,10 @@ package org.apache.logging.log4j.perf.jmh;
 
 import java.util.concurrent.TimeUnit;
 
+import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.message.ReusableMessageFactory;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
@@ -28,12 +31,18 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 
 /**
+ * Benchmarks the creation and formatting of parameterized messages. The message patterns are cached once parsed,
+ * except in the {@code dynamicPattern} benchmarks which use a different pattern instance for every message.
  */
 // ============================== HOW TO RUN THIS TEST: ====================================
 //
 // single thread:
 // java -jar log4j-perf/target/benchmarks.jar ".*ParameterizedMessageBench.*" -f 1 -wi 5 -i 10
 //
+// without the message pattern cache:
+// java -jar log4j-perf/target/benchmarks.jar ".*ParameterizedMessageBench.*" -f 1 -wi 5 -i 10 \
+//     -jvmArgs -Dlog4j2.messagePatternCacheSize=0
+//
 // multiple threads (for example, 4 threads):
 // java -jar log4j-perf/target/benchmarks.jar ".*ParameterizedMessageBench.*" -f 1 -wi 5 -i 10 -t 4 -si true
 //
@@ -43,10 +52,26 @@ import org.openjdk.jmh.annotations.State;
 @State(Scope.Benchmark)
 public class ParameterizedMessageBenchmark {
     private static final Object[] ARGS = { "arg1", "arg2" };
+    private static final String LONG_PATTERN = "pattern {} with {} two parameters and a longer text, as found in the "
+            + "messages of the applications that explain what they do in more than a few words";
+    private static final int DYNAMIC_PATTERN_COUNT = 1 << 16;
 
     @State(Scope.Thread)
     public static class ThreadState {
         StringBuilder buffer = new StringBuilder(256);
+        ReusableMessageFactory reusableMessageFactory = new ReusableMessageFactory();
+        String[] dynamicPatterns = new String[DYNAMIC_PATTERN_COUNT];
+        int dynamicPatternIndex;
+
+        public ThreadState() {
+            for (int i = 0; i < dynamicPatterns.length; i++) {
+                dynamicPatterns[i] = "pattern " + i + " {} with {} two parameters and some text";
+            }
+        }
+
+        String nextDynamicPattern() {
+            return dynamicPatterns[dynamicPatternIndex++ & (DYNAMIC_PATTERN_COUNT - 1)];
+        }
     }
 
     @Benchmark
@@ -74,4 +99,51 @@ public class ParameterizedMessageBenchmark {
                 formatTo(state.buffer);
         return state.buffer.length();
     }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int refactoredFormatToLongPattern(final ThreadState state) {
+        state.buffer.setLength(0);
+        new ParameterizedMessage(LONG_PATTERN, ARGS).formatTo(state.buffer);
+        return state.buffer.length();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int refactoredFormatToDynamicPattern(final ThreadState state) {
+        state.buffer.setLength(0);
+        new ParameterizedMessage(state.nextDynamicPattern(), ARGS).formatTo(state.buffer);
+        return state.buffer.length();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int reusableFormatTo(final ThreadState state) {
+        return reusableFormatTo(state, "pattern {} with {} two parameters and some text");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int reusableFormatToLongPattern(final ThreadState state) {
+        return reusableFormatTo(state, LONG_PATTERN);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int reusableFormatToDynamicPattern(final ThreadState state) {
+        return reusableFormatTo(state, state.nextDynamicPattern());
+    }
+
+    private static int reusableFormatTo(final ThreadState state, final String pattern) {
+        state.buffer.setLength(0);
+        final Message message = state.reusableMessageFactory.newMessage(pattern, "arg1", "arg2");
+        ((StringBuilderFormattable) message).formatTo(state.buffer);
+        ReusableMessageFactory.release(message);
+        return state.buffer.length();
+    }
 }
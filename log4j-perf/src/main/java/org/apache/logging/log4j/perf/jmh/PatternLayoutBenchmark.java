@@ -205,6 +205,44 @@ public class PatternLayoutBenchmark {
             .setFooter(null)
             .build();
 
+    private final PatternLayout PATTERN_M_C_D_COMPILED = PatternLayout.newBuilder()
+            .setPattern((String) "%d %c %m%n")
+            .setPatternSelector(null)
+            .setConfiguration(null)
+            .setRegexReplacement(null)
+            .setCharset((Charset) CHARSET_DEFAULT)
+            .setAlwaysWriteExceptions(false)
+            .setNoConsoleNoAnsi(true)
+            .setHeader(null)
+            .setFooter(null)
+            .setCompiled(true)
+            .build();
+
+    private final PatternLayout PATTERN_PADDED = PatternLayout.newBuilder()
+            .setPattern((String) "%d [%t] %-5level %c{1.} - %m%n")
+            .setPatternSelector(null)
+            .setConfiguration(null)
+            .setRegexReplacement(null)
+            .setCharset((Charset) CHARSET_DEFAULT)
+            .setAlwaysWriteExceptions(false)
+            .setNoConsoleNoAnsi(true)
+            .setHeader(null)
+            .setFooter(null)
+            .build();
+
+    private final PatternLayout PATTERN_PADDED_COMPILED = PatternLayout.newBuilder()
+            .setPattern((String) "%d [%t] %-5level %c{1.} - %m%n")
+            .setPatternSelector(null)
+            .setConfiguration(null)
+            .setRegexReplacement(null)
+            .setCharset((Charset) CHARSET_DEFAULT)
+            .setAlwaysWriteExceptions(false)
+            .setNoConsoleNoAnsi(true)
+            .setHeader(null)
+            .setFooter(null)
+            .setCompiled(true)
+            .build();
+
     private static LogEvent createLogEvent() {
         final Marker marker = null;
         final String fqcn = "com.mycom.myproject.mypackage.MyClass";
@@ -322,6 +360,27 @@ public class PatternLayoutBenchmark {
     public byte[] byteArrayMCNoSpace() {
         return PATTERN_M_C_NOSPACE.toByteArray(EVENT);
     }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public byte[] byteArrayMCDCompiled() {
+        return PATTERN_M_C_D_COMPILED.toByteArray(EVENT);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public byte[] byteArrayPadded() {
+        return PATTERN_PADDED.toByteArray(EVENT);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public byte[] byteArrayPaddedCompiled() {
+        return PATTERN_PADDED_COMPILED.toByteArray(EVENT);
+    }
 //---
 
     @Benchmark
@@ -408,4 +467,25 @@ public class PatternLayoutBenchmark {
         return PATTERN_M_C_NOSPACE.toSerializable(EVENT);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String serializableMCDCompiled() {
+        return PATTERN_M_C_D_COMPILED.toSerializable(EVENT);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String serializablePadded() {
+        return PATTERN_PADDED.toSerializable(EVENT);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String serializablePaddedCompiled() {
+        return PATTERN_PADDED_COMPILED.toSerializable(EVENT);
+    }
+
 }
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.filter.BurstFilter;
+import org.apache.logging.log4j.core.filter.RateLimitFilter;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of the {@link BurstFilter} and the {@link RateLimitFilter} with one and many threads.
+ * The BurstFilter serializes all threads on its delay queue while the RateLimitFilter only contends on a single
+ * compare-and-set when tokens are available and does not write at all when the bucket is empty.
+ * <p>
+ * The {@code rate} parameter selects whether most events are accepted (a rate well above the achievable throughput)
+ * or rejected (a low rate: after the initial burst nearly all events exceed the limit).
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*RateLimitFilterBenchmark.*" -f 1 -wi 5 -i 5
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RateLimitFilterBenchmark {
+
+    @Param({"10", "1000000000"})
+    private float rate;
+
+    @Param({"BURST", "RATE_LIMIT", "RATE_LIMIT_PER_LOGGER"})
+    private FilterType filterType;
+
+    private Filter filter;
+
+    private LogEvent event;
+
+    public enum FilterType {
+        BURST,
+        RATE_LIMIT,
+        RATE_LIMIT_PER_LOGGER
+    }
+
+    @Setup
+    public void setUp() {
+        final long maxBurst = 100;
+        switch (filterType) {
+            case BURST:
+                filter = BurstFilter.newBuilder().setLevel(Level.INFO).setRate(rate).setMaxBurst(maxBurst).build();
+                break;
+            case RATE_LIMIT:
+                filter = RateLimitFilter.newBuilder().setLevel(Level.INFO).setRate(rate).setMaxBurst(maxBurst)
+                        .setSummaryInterval(0).build();
+                break;
+            default:
+                filter = RateLimitFilter.newBuilder().setLevel(Level.INFO).setRate(rate).setMaxBurst(maxBurst)
+                        .setKey(RateLimitFilter.KeyType.LOGGER).setSummaryInterval(0).build();
+        }
+        filter.start();
+        event = Log4jLogEvent.newBuilder()
+                .setLoggerName(RateLimitFilterBenchmark.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("This is a test"))
+                .build();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Filter.Result filter1Thread() {
+        return filter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Filter.Result filter4Threads() {
+        return filter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Filter.Result filter16Threads() {
+        return filter.filter(event);
+    }
+}
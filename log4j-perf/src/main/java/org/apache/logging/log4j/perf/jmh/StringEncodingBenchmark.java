@@ -22,8 +22,14 @@ import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.layout.ByteBufferDestinationHelper;
+import org.apache.logging.log4j.core.layout.StringBuilderEncoder;
+import org.apache.logging.log4j.core.layout.TextEncoderHelper;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
@@ -60,6 +66,45 @@ public class StringEncodingBenchmark {
     private static final CharsetEncoder ENCODER_SHIFT_JIS = CHARSET_SHIFT_JIS.newEncoder();
     private static final CharsetEncoder ENCODER_ISO8859_1 = CHARSET_ISO8859_1.newEncoder();
 
+    private final StringBuilder logMsgBuilder = new StringBuilder(LOGMSG);
+    private final Destination destination = new Destination();
+    private final StringBuilderEncoder directIso8859_1 = new StringBuilderEncoder(CHARSET_ISO8859_1);
+    private final StringBuilderEncoder directUtf8 = new StringBuilderEncoder(StandardCharsets.UTF_8);
+    private final CharsetEncoder helperEncoderIso8859_1 = CHARSET_ISO8859_1.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharsetEncoder helperEncoderUtf8 = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer helperCharBuffer = CharBuffer.allocate(2048);
+    private final ByteBuffer helperByteBuffer = ByteBuffer.allocate(8 * 1024);
+
+    static class Destination implements ByteBufferDestination {
+        long count = 0;
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[256 * 1024]);
+
+        @Override
+        public ByteBuffer getByteBuffer() {
+            return buffer;
+        }
+
+        @Override
+        public ByteBuffer drain(final ByteBuffer buf) {
+            buf.flip();
+            count += buf.limit();
+            buf.clear();
+            return buf;
+        }
+
+        @Override
+        public void writeBytes(final ByteBuffer data) {
+            ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
+        }
+
+        @Override
+        public void writeBytes(final byte[] data, final int offset, final int length) {
+            ByteBufferDestinationHelper.writeToUnsynchronized(data, offset, length, this);
+        }
+    }
+
     @Benchmark
     @BenchmarkMode(Mode.SampleTime)
     @OutputTimeUnit(TimeUnit.NANOSECONDS)
@@ -273,4 +318,40 @@ public class StringEncodingBenchmark {
         }
         return offset;
     }
+
+    // Text to destination bytes: CharsetEncoder via CharBuffer vs. encoding straight into the destination buffer
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long iso8859_1TextEncoderHelper() {
+        TextEncoderHelper.encodeText(helperEncoderIso8859_1, helperCharBuffer, helperByteBuffer, logMsgBuilder,
+                destination);
+        return destination.count;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long iso8859_1DirectToBytes() {
+        directIso8859_1.encode(logMsgBuilder, destination);
+        return destination.count;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long utf8TextEncoderHelper() {
+        TextEncoderHelper.encodeText(helperEncoderUtf8, helperCharBuffer, helperByteBuffer, logMsgBuilder,
+                destination);
+        return destination.count;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long utf8DirectToBytes() {
+        directUtf8.encode(logMsgBuilder, destination);
+        return destination.count;
+    }
 }
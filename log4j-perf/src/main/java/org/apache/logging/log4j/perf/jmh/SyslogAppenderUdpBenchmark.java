@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.SyslogAppender;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.net.Protocol;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares sending RFC 5424 syslog events over UDP with the classic DatagramSocketManager, which sends one datagram
+ * per event on the logging thread, to the non-blocking NioDatagramSocketManager with and without datagram packing.
+ * <p>
+ * Datagrams are sent to local receivers that discard them.
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf/target/benchmarks.jar ".*SyslogAppenderUdpBenchmark.*" -f 1 -wi 10 -i 20
+//
+// RUNNING THIS TEST WITH 4 THREADS:
+// java -jar log4j-perf/target/benchmarks.jar ".*SyslogAppenderUdpBenchmark.*" -f 1 -wi 10 -i 20 -t 4
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SyslogAppenderUdpBenchmark {
+
+    private static final String HOST = InetAddress.getLoopbackAddress().getHostAddress();
+
+    private final LogEvent event = Log4jLogEvent.newBuilder()
+            .setLoggerName(SyslogAppenderUdpBenchmark.class.getName())
+            .setLevel(Level.INFO)
+            .setMessage(new SimpleMessage("This is a syslog message sent over UDP"))
+            .build();
+
+    private Receiver blockingReceiver;
+    private Receiver nonBlockingReceiver;
+    private Receiver packingReceiver;
+
+    private SyslogAppender blockingAppender;
+    private SyslogAppender nonBlockingAppender;
+    private SyslogAppender packingAppender;
+
+    @Setup
+    public void setUp() throws IOException {
+        blockingReceiver = new Receiver();
+        nonBlockingReceiver = new Receiver();
+        packingReceiver = new Receiver();
+        blockingAppender = createAppender("Blocking", blockingReceiver, false, false);
+        nonBlockingAppender = createAppender("NonBlocking", nonBlockingReceiver, true, false);
+        packingAppender = createAppender("Packing", packingReceiver, true, true);
+    }
+
+    private static SyslogAppender createAppender(final String name, final Receiver receiver,
+            final boolean nonBlocking, final boolean packDatagrams) {
+        final SyslogAppender appender = SyslogAppender.newSyslogAppenderBuilder()
+                .setName(name)
+                .setConfiguration(new DefaultConfiguration())
+                .setHost(HOST)
+                .setPort(receiver.getPort())
+                .setProtocol(Protocol.UDP)
+                .setFormat("RFC5424")
+                .setAppName("benchmark")
+                .setNewLine(true)
+                .setNonBlocking(nonBlocking)
+                .setPackDatagrams(packDatagrams)
+                .build();
+        appender.start();
+        return appender;
+    }
+
+    @TearDown
+    public void tearDown() {
+        blockingAppender.stop();
+        nonBlockingAppender.stop();
+        packingAppender.stop();
+        blockingReceiver.close();
+        nonBlockingReceiver.close();
+        packingReceiver.close();
+    }
+
+    @Benchmark
+    public void blocking() {
+        blockingAppender.append(event);
+    }
+
+    @Benchmark
+    public void nonBlocking() {
+        nonBlockingAppender.append(event);
+    }
+
+    @Benchmark
+    public void nonBlockingPacked() {
+        packingAppender.append(event);
+    }
+
+    /**
+     * Receives and discards datagrams on a background thread.
+     */
+    private static final class Receiver extends Thread {
+
+        private final DatagramChannel channel;
+
+        private Receiver() throws IOException {
+            super("SyslogAppenderUdpBenchmark-Receiver");
+            setDaemon(true);
+            channel = DatagramChannel.open();
+            channel.bind(new InetSocketAddress(HOST, 0));
+            start();
+        }
+
+        private int getPort() {
+            return channel.socket().getLocalPort();
+        }
+
+        @Override
+        public void run() {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(65536);
+            try {
+                while (true) {
+                    buffer.clear();
+                    channel.receive(buffer);
+                }
+            } catch (final IOException ignored) {
+                // Closed.
+            }
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (final IOException ignored) {
+                // Ignored.
+            }
+        }
+
+    }
+
+}
@@ -19,6 +19,9 @@ package org.apache.logging.log4j.perf.jmh;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.Level;
@@ -30,6 +33,7 @@ import org.apache.logging.log4j.core.layout.ByteBufferDestination;
 import org.apache.logging.log4j.core.layout.ByteBufferDestinationHelper;
 import org.apache.logging.log4j.core.layout.PatternLayout;
 import org.apache.logging.log4j.core.layout.StringBuilderEncoder;
+import org.apache.logging.log4j.core.layout.TextEncoderHelper;
 import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.message.SimpleMessage;
 import org.apache.logging.log4j.util.StringMap;
@@ -156,6 +160,54 @@ public class TextEncoderHelperBenchmark {
         return destination.count;
     }
 
+    private final StringBuilderEncoder utf8Encoder = new StringBuilderEncoder(StandardCharsets.UTF_8);
+    private final StringBuilderEncoder iso8859_1Encoder = new StringBuilderEncoder(StandardCharsets.ISO_8859_1);
+    private final CharsetEncoder utf8CharsetEncoder = newCharsetEncoder(StandardCharsets.UTF_8);
+    private final CharsetEncoder iso8859_1CharsetEncoder = newCharsetEncoder(StandardCharsets.ISO_8859_1);
+    private final CharBuffer charBuffer = CharBuffer.allocate(2048);
+    private final ByteBuffer byteBuffer = ByteBuffer.allocate(8 * 1024);
+
+    private static CharsetEncoder newCharsetEncoder(final Charset charset) {
+        return charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /** UTF-8 text encoded straight into the destination buffer. */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long textEncoderEncodeUtf8() {
+        utf8Encoder.encode(BUFF_TEXT, destination);
+        return destination.count;
+    }
+
+    /** UTF-8 text copied into a CharBuffer and transcoded with a CharsetEncoder. */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long charsetEncoderEncodeUtf8() {
+        TextEncoderHelper.encodeText(utf8CharsetEncoder, charBuffer, byteBuffer, BUFF_TEXT, destination);
+        return destination.count;
+    }
+
+    /** ISO-8859-1 text encoded straight into the destination buffer. */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long textEncoderEncodeIso8859_1() {
+        iso8859_1Encoder.encode(BUFF_TEXT, destination);
+        return destination.count;
+    }
+
+    /** ISO-8859-1 text copied into a CharBuffer and transcoded with a CharsetEncoder. */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long charsetEncoderEncodeIso8859_1() {
+        TextEncoderHelper.encodeText(iso8859_1CharsetEncoder, charBuffer, byteBuffer, BUFF_TEXT, destination);
+        return destination.count;
+    }
+
 //    @Benchmark
 //    @BenchmarkMode(Mode.SampleTime)
 //    @OutputTimeUnit(TimeUnit.NANOSECONDS)
@@ -23,6 +23,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.ThreadContext;
@@ -36,12 +39,12 @@ import org.apache.logging.log4j.spi.DefaultThreadContextMap;
 import org.apache.logging.log4j.spi.GarbageFreeOpenHashMapThreadContextMap;
 import org.apache.logging.log4j.util.SortedArrayStringMap;
 import org.apache.logging.log4j.util.StringMap;
-import org.apache.logging.log4j.spi.ThreadContextMap;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
@@ -62,6 +65,9 @@ import org.openjdk.jmh.annotations.Warmup;
 // four threads:
 // java -jar log4j-perf/target/benchmarks.jar ".*ThreadContextBench.*" -f 1 -wi 10 -i 20 -tu ns -bm sample -t 4
 //
+// many short-lived tasks on platform vs virtual threads (virtual threads require Java 21):
+// java -jar log4j-perf/target/benchmarks.jar ".*ThreadContextBench.*tasks" -p threadType=platform,virtual
+//
 // Usage help:
 // java -jar log4j-perf/target/benchmarks.jar -help
 //
@@ -77,16 +83,24 @@ public class ThreadContextBenchmark {
     private static final String COPY_ARRAY_MAP = "CopySortedArray";
     private static final String NO_GC_OPENHASH_MAP = "NoGcOpenHash";
     private static final String NO_GC_ARRAY_MAP = "NoGcSortedArray";
-    private static final Map<String, Class<? extends ThreadContextMap>> IMPLEMENTATIONS = new HashMap<>();
+    private static final String PERSISTENT_MAP = "Persistent";
+    private static final Map<String, String> IMPLEMENTATIONS = new HashMap<>();
     static {
-        IMPLEMENTATIONS.put(DEFAULT_CONTEXT_MAP, DefaultThreadContextMap.class);
-        IMPLEMENTATIONS.put(COPY_OPENHASH_MAP, CopyOnWriteOpenHashMapThreadContextMap.class);
-        IMPLEMENTATIONS.put(COPY_ARRAY_MAP, CopyOnWriteOpenHashMapThreadContextMap.SUPER); //CopyOnWriteSortedArrayThreadContextMap.class);
-        IMPLEMENTATIONS.put(NO_GC_OPENHASH_MAP, GarbageFreeOpenHashMapThreadContextMap.class);
-        IMPLEMENTATIONS.put(NO_GC_ARRAY_MAP, GarbageFreeOpenHashMapThreadContextMap.SUPER); //GarbageFreeSortedArrayThreadContextMap.class);
+        IMPLEMENTATIONS.put(DEFAULT_CONTEXT_MAP, DefaultThreadContextMap.class.getName());
+        IMPLEMENTATIONS.put(COPY_OPENHASH_MAP, CopyOnWriteOpenHashMapThreadContextMap.class.getName());
+        IMPLEMENTATIONS.put(COPY_ARRAY_MAP, CopyOnWriteOpenHashMapThreadContextMap.SUPER.getName()); //CopyOnWriteSortedArrayThreadContextMap.class);
+        IMPLEMENTATIONS.put(NO_GC_OPENHASH_MAP, GarbageFreeOpenHashMapThreadContextMap.class.getName());
+        IMPLEMENTATIONS.put(NO_GC_ARRAY_MAP, GarbageFreeOpenHashMapThreadContextMap.SUPER.getName()); //GarbageFreeSortedArrayThreadContextMap.class);
+        // package-private
+        IMPLEMENTATIONS.put(PERSISTENT_MAP, "org.apache.logging.log4j.spi.PersistentThreadContextMap");
     }
 
-    @Param({ "Default", "CopyOpenHash", "CopySortedArray", "NoGcOpenHash", "NoGcSortedArray"})
+    /**
+     * Number of tasks submitted by each invocation of {@link #tasks(ThreadState)}.
+     */
+    private static final int TASK_COUNT = 1000;
+
+    @Param({ "Default", "CopyOpenHash", "CopySortedArray", "NoGcOpenHash", "NoGcSortedArray", "Persistent"})
     //@Param({ "Default", }) // for legecyInject benchmarks
     public String threadContextMapAlias;
 
@@ -103,7 +117,7 @@ public class ThreadContextBenchmark {
 
     @Setup
     public void setup() {
-        System.setProperty("log4j2.threadContextMap", IMPLEMENTATIONS.get(threadContextMapAlias).getName());
+        System.setProperty("log4j2.threadContextMap", IMPLEMENTATIONS.get(threadContextMapAlias));
         ThreadContextBenchmarkAccess.init();
 
         injector = ContextDataInjectorFactory.createInjector();
@@ -173,6 +187,61 @@ public class ThreadContextBenchmark {
         return injector.injectContextData(propertyList, reusableContextData);
     }
 
+    /**
+     * Runs many short-lived tasks that each populate the ThreadContext of their thread, create the context data of a
+     * log event and clear the ThreadContext, as a server handling requests on a thread per request would do.
+     */
+    @Benchmark
+    @OperationsPerInvocation(TASK_COUNT)
+    public int tasks(final ThreadState threadState) throws Exception {
+        @SuppressWarnings("unchecked")
+        final Future<Integer>[] futures = new Future[TASK_COUNT];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = threadState.executor.submit(() -> {
+                for (int j = 0; j < count; j++) {
+                    ThreadContext.put(keys[j], values[j]);
+                }
+                final int size = injector.injectContextData(null, new SortedArrayStringMap()).size();
+                ThreadContext.clearMap();
+                return size;
+            });
+        }
+        int result = 0;
+        for (final Future<Integer> future : futures) {
+            result += future.get();
+        }
+        return result;
+    }
+
+    @State(Scope.Benchmark)
+    public static class ThreadState {
+
+        @Param({"platform", "virtual"})
+        public String threadType;
+
+        ExecutorService executor;
+
+        @Setup
+        public void setup() throws Exception {
+            if ("virtual".equals(threadType)) {
+                try {
+                    // Java 21+
+                    executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                            .invoke(null);
+                } catch (final NoSuchMethodException e) {
+                    throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+                }
+            } else {
+                executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            executor.shutdownNow();
+        }
+    }
+
     @Benchmark
     public Map<String, String> legacyInjectWithoutProperties() {
         return createMap(null);
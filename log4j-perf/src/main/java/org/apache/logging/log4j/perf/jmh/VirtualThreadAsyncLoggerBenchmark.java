@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LifeCycle;
+import org.apache.logging.log4j.perf.util.BenchmarkMessageParams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tests Log4j2 Async Loggers performance with 100,000 concurrent virtual threads, each logging a few events while
+ * the background thread persists events to disk. Requires Java 21 or later.
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*VirtualThreadAsyncLoggerBenchmark.*"
+//
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class VirtualThreadAsyncLoggerBenchmark {
+
+    private static final int PRODUCERS = 100_000;
+    private static final int EVENTS_PER_PRODUCER = 10;
+
+    @Param({"DEFAULT", "VIRTUAL_THREADS"})
+    private AsyncLoggerMode asyncLoggerMode;
+
+    private Logger logger;
+
+    @Setup
+    public void before() {
+        new File("target/ConcurrentAsyncLoggerToFileBenchmark.log").delete();
+        System.setProperty("log4j2.is.webapp", "false");
+        System.setProperty("log4j.configurationFile", "ConcurrentAsyncLoggerToFileBenchmark.xml");
+        System.setProperty("Log4jContextSelector", "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector");
+        System.setProperty("AsyncLogger.VirtualThreads",
+                String.valueOf(asyncLoggerMode == AsyncLoggerMode.VIRTUAL_THREADS));
+        logger = LogManager.getLogger(VirtualThreadAsyncLoggerBenchmark.class);
+    }
+
+    @TearDown
+    public void after() {
+        ((LifeCycle) LogManager.getContext(false)).stop();
+        new File("target/ConcurrentAsyncLoggerToFileBenchmark.log").delete();
+        logger = null;
+    }
+
+    /**
+     * Starts a virtual thread per producer and waits for all of them to terminate.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(PRODUCERS * EVENTS_PER_PRODUCER)
+    public void virtualThreadProducers() throws Exception {
+        final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < PRODUCERS; i++) {
+            final String transactionId = Integer.toString(i);
+            executor.execute(() -> {
+                ThreadContext.put("transactionId", transactionId);
+                for (int j = 0; j < EVENTS_PER_PRODUCER; j++) {
+                    logger.info(BenchmarkMessageParams.TEST);
+                }
+                ThreadContext.clearMap();
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Producers did not terminate");
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws Exception {
+        try {
+            // Java 21+
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+        }
+    }
+
+    @SuppressWarnings("unused") // Used by JMH
+    public enum AsyncLoggerMode {
+        DEFAULT,
+        VIRTUAL_THREADS
+    }
+}